@@ -89,4 +89,28 @@ public interface OgmProperties {
 	 * database will have the name defined with {@link #DATABASE}. Accepts "true" or "false".
 	 */
 	String CREATE_DATABASE = "hibernate.ogm.datastore.create_database";
+
+	/**
+	 * Property for setting the maximum number of operations queued during a flush when using a grid dialect which
+	 * supports the batched execution of operations. Once this number is reached, the queued operations are written to
+	 * the datastore before the flush continues, limiting the memory required for large units of work. The updates of
+	 * associations are not counted and are still written once at the end of the flush. Accepts non-negative integers;
+	 * 0 (the default) means that all the operations of a flush are written at its end.
+	 */
+	String MAX_QUEUED_OPERATIONS = "hibernate.ogm.datastore.max_queued_operations";
+
+	/**
+	 * Property for setting the maximum number of independent groups of writes, e.g. the writes to different
+	 * collections, which a grid dialect supporting the batched execution of operations sends to the datastore
+	 * concurrently when executing a batch. Accepts integers greater than 0; 1 (the default) means that all writes are
+	 * sent one after the other by the flushing thread.
+	 */
+	String FLUSH_PARALLELISM = "hibernate.ogm.datastore.flush_parallelism";
+
+	/**
+	 * Property for setting the {@link java.util.concurrent.ExecutorService} used for sending groups of writes
+	 * concurrently if {@link #FLUSH_PARALLELISM} is greater than 1. Accepts an instance, a class object or a fully
+	 * qualified class name. If not given, a fixed thread pool is created and shut down with the datastore provider.
+	 */
+	String FLUSH_EXECUTOR = "hibernate.ogm.datastore.flush_executor";
 }
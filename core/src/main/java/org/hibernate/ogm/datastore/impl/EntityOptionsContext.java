@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.ogm.datastore.spi.OptionsContext;
+import org.hibernate.ogm.options.spi.Option;
+import org.hibernate.ogm.options.spi.OptionsService.OptionsServiceContext;
+import org.hibernate.ogm.options.spi.UniqueOption;
+
+/**
+ * Provides access to the options effectively applying for a given entity type.
+ */
+public class EntityOptionsContext implements OptionsContext {
+
+	private final OptionsServiceContext optionsServiceContext;
+	private final Class<?> entityType;
+	private final List<Class<?>> hierarchy;
+
+	public EntityOptionsContext(OptionsServiceContext optionsServiceContext, Class<?> entityType) {
+		this.optionsServiceContext = optionsServiceContext;
+		this.entityType = entityType;
+		this.hierarchy = PropertyOptionsContext.getClassHierarchy( entityType );
+	}
+
+	@Override
+	public <I, V> V get(Class<? extends Option<I, V>> optionType, I identifier) {
+		for ( Class<?> clazz : hierarchy ) {
+			V optionValue = optionsServiceContext.getEntityOptions( clazz ).get( optionType, identifier );
+			if ( optionValue != null ) {
+				return optionValue;
+			}
+		}
+
+		return optionsServiceContext.getGlobalOptions().get( optionType, identifier );
+	}
+
+	@Override
+	public <V> V getUnique(Class<? extends UniqueOption<V>> optionType) {
+		for ( Class<?> clazz : hierarchy ) {
+			V optionValue = optionsServiceContext.getEntityOptions( clazz ).getUnique( optionType );
+			if ( optionValue != null ) {
+				return optionValue;
+			}
+		}
+
+		return optionsServiceContext.getGlobalOptions().getUnique( optionType );
+	}
+
+	@Override
+	public <I, V, T extends Option<I, V>> Map<I, V> getAll(Class<T> optionType) {
+		for ( Class<?> clazz : hierarchy ) {
+			Map<I, V> optionValues = optionsServiceContext.getEntityOptions( clazz ).getAll( optionType );
+			if ( optionValues != null ) {
+				return optionValues;
+			}
+		}
+
+		return optionsServiceContext.getGlobalOptions().getAll( optionType );
+	}
+
+	@Override
+	public String toString() {
+		return "EntityOptionsContext [optionsServiceContext=" + optionsServiceContext + ", entityType=" + entityType + "]";
+	}
+}
@@ -118,7 +118,7 @@ public <I, V, T extends Option<I, V>> Map<I, V> getAll(Class<T> optionType) {
 	 * @param clazz the class of interest
 	 * @return the class hierarchy of the given class
 	 */
-	private static List<Class<?>> getClassHierarchy(Class<?> clazz) {
+	static List<Class<?>> getClassHierarchy(Class<?> clazz) {
 		List<Class<?>> hierarchy = new ArrayList<Class<?>>( 4 );
 
 		for ( Class<?> current = clazz; current != null; current = current.getSuperclass() ) {
@@ -20,8 +20,12 @@
  */
 package org.hibernate.ogm.datastore.map;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.LockMode;
@@ -41,7 +45,9 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
-import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.PartitionableGridDialect;
+import org.hibernate.ogm.dialect.TuplePartition;
+import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
@@ -56,7 +62,7 @@
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2011 Red Hat Inc.
  */
-public class MapDialect implements GridDialect {
+public class MapDialect implements PartitionableGridDialect {
 
 	private final MapDatastoreProvider provider;
 
@@ -92,15 +98,20 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 			return null;
 		}
 		else {
-			return new Tuple( new MapTupleSnapshot( entityMap ) );
+			return new Tuple( new MapTupleSnapshot( entityMap ), tupleContext.getTupleSchema() );
 		}
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		return GridDialects.getTuplesOneByOne( this, keys, tupleContext );
+	}
+
+	@Override
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
 		HashMap<String,Object> tuple = new HashMap<String,Object>();
 		provider.putEntity( key, tuple );
-		return new Tuple( new MapTupleSnapshot( tuple ) );
+		return new Tuple( new MapTupleSnapshot( tuple ), tupleContext.getTupleSchema() );
 	}
 
 	@Override
@@ -120,6 +131,11 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return associationMap == null ? null : new Association( new MapAssociationSnapshot( associationMap ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		return GridDialects.getAssociationsOneByOne( this, keys, associationContext );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 		Map<RowKey, Map<String, Object>> associationMap = new HashMap<RowKey, Map<String,Object>>();
@@ -170,8 +186,114 @@ public void forEachTuple(Consumer consumer, EntityKeyMetadata... metadatas) {
 		}
 	}
 
+	/**
+	 * Groups the keys of the entities by their hash code, so that a partition contains the same keys in every scan.
+	 */
+	@Override
+	public List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... metadatas) {
+		List<List<EntityKey>> keysPerBucket = new ArrayList<List<EntityKey>>( partitions );
+		for ( int i = 0; i < partitions; i++ ) {
+			keysPerBucket.add( new ArrayList<EntityKey>() );
+		}
+		for ( EntityKey key : getKeys( metadatas ) ) {
+			keysPerBucket.get( getBucket( key, partitions ) ).add( key );
+		}
+
+		List<TuplePartition> result = new ArrayList<TuplePartition>( partitions );
+		for ( int i = 0; i < partitions; i++ ) {
+			if ( !keysPerBucket.get( i ).isEmpty() ) {
+				result.add( new KeysPartition( new BucketCursor( partitions, i ), keysPerBucket.get( i ) ) );
+			}
+		}
+		if ( result.isEmpty() ) {
+			result.add( new KeysPartition( new BucketCursor( 1, 0 ), Collections.<EntityKey>emptyList() ) );
+		}
+		return result;
+	}
+
+	@Override
+	public List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... metadatas) {
+		List<EntityKey> allKeys = getKeys( metadatas );
+		List<TuplePartition> result = new ArrayList<TuplePartition>( cursors.size() );
+		for ( Serializable cursor : cursors ) {
+			BucketCursor bucketCursor = (BucketCursor) cursor;
+			List<EntityKey> keys = new ArrayList<EntityKey>();
+			for ( EntityKey key : allKeys ) {
+				if ( getBucket( key, bucketCursor.buckets ) == bucketCursor.bucket ) {
+					keys.add( key );
+				}
+			}
+			result.add( new KeysPartition( bucketCursor, keys ) );
+		}
+		return result;
+	}
+
+	private List<EntityKey> getKeys(EntityKeyMetadata... metadatas) {
+		List<EntityKey> keys = new ArrayList<EntityKey>();
+		for ( EntityKey key : provider.getEntityMap().keySet() ) {
+			for ( EntityKeyMetadata metadata : metadatas ) {
+				if ( key.getTable().equals( metadata.getTable() ) ) {
+					keys.add( key );
+				}
+			}
+		}
+		return keys;
+	}
+
+	private static int getBucket(EntityKey key, int buckets) {
+		return ( key.hashCode() & Integer.MAX_VALUE ) % buckets;
+	}
+
 	@Override
 	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
 		throw new UnsupportedOperationException( "Native queries not supported for Map" );
 	}
+
+	/**
+	 * The keys of a bucket; as the keys are not sorted, a scan of the partition can only be resumed from the beginning.
+	 */
+	private class KeysPartition implements TuplePartition {
+
+		private final BucketCursor cursor;
+		private final List<EntityKey> keys;
+
+		public KeysPartition(BucketCursor cursor, List<EntityKey> keys) {
+			this.cursor = cursor;
+			this.keys = keys;
+		}
+
+		@Override
+		public void forEachTuple(Consumer consumer) {
+			Map<EntityKey, Map<String, Object>> entityMap = provider.getEntityMap();
+			for ( EntityKey key : keys ) {
+				Map<String, Object> entity = entityMap.get( key );
+				// might have been removed since the partitions have been created
+				if ( entity != null ) {
+					consumer.consume( new Tuple( new MapTupleSnapshot( entity ) ) );
+				}
+			}
+		}
+
+		@Override
+		public Serializable getCursor() {
+			return cursor;
+		}
+
+		@Override
+		public Serializable getCursorAfter(Tuple tuple) {
+			return cursor;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class BucketCursor implements Serializable {
+
+		private final int buckets;
+		private final int bucket;
+
+		public BucketCursor(int buckets, int bucket) {
+			this.buckets = buckets;
+			this.bucket = bucket;
+		}
+	}
 }
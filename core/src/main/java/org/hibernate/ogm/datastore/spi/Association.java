@@ -21,14 +21,16 @@
 package org.hibernate.ogm.datastore.spi;
 
 import static org.hibernate.ogm.datastore.spi.AssociationOperationType.PUT;
-import static org.hibernate.ogm.datastore.spi.AssociationOperationType.PUT_NULL;
 import static org.hibernate.ogm.datastore.spi.AssociationOperationType.REMOVE;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.hibernate.ogm.datastore.impl.EmptyAssociationSnapshot;
@@ -44,13 +46,29 @@
  * list of AssociationOperation. It is intended that GridDialects retrieve to these actions and
  * reproduce them to the datastore. The list of changes is computed based off the snapshot.
  *
+ * The changes are kept as the rows put and the keys removed since the creation of the association, the size
+ * of the association is maintained while they are applied. {@link #size()}, {@link #isEmpty()} and
+ * {@link #getKeys()} therefore don't need to go through the changes.
+ *
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  */
 public class Association {
 	private final AssociationSnapshot snapshot;
-	private final Map<RowKey, AssociationOperation> currentState = new HashMap<RowKey, AssociationOperation>();
+	private final Map<RowKey, Tuple> putRows = new HashMap<RowKey, Tuple>();
+	private final Set<RowKey> removedRows = new HashSet<RowKey>();
+	private final Set<RowKey> keys = new KeyView();
 	private boolean cleared;
 
+	/**
+	 * Difference between the number of rows of the association and the number of rows of the snapshot
+	 */
+	private int sizeDelta;
+
+	/**
+	 * Number of rows of the snapshot, retrieved the first time it is needed
+	 */
+	private int snapshotSize = -1;
+
 	/**
 	 * Creates a new association, based on an empty association snapshot.
 	 */
@@ -63,25 +81,34 @@ public Association(AssociationSnapshot snapshot) {
 	}
 
 	public Tuple get(RowKey key) {
-		AssociationOperation result = currentState.get( key );
-		if ( result == null ) {
-			return cleared ? null : snapshot.get( key );
+		Tuple result = putRows.get( key );
+		if ( result == null && !putRows.containsKey( key ) ) {
+			return cleared || removedRows.contains( key ) ? null : snapshot.get( key );
 		}
-		else if ( result.getType() == PUT_NULL || result.getType() == REMOVE ) {
-			return null;
-		}
-		return result.getValue();
+		return result;
 	}
 
 	public void put(RowKey key, Tuple value) {
-		if ( value == null ) {
-			currentState.put( key, new AssociationOperation( key, null, PUT_NULL )  );
+		if ( !containsKey( key ) ) {
+			sizeDelta++;
 		}
-		currentState.put( key, new AssociationOperation( key, value, PUT ) );
+		removedRows.remove( key );
+		putRows.put( key, value );
 	}
 
 	public void remove(RowKey key) {
-		currentState.put( key, new AssociationOperation( key, null, REMOVE ) );
+		if ( containsKey( key ) ) {
+			sizeDelta--;
+		}
+		putRows.remove( key );
+		removedRows.add( key );
+	}
+
+	private boolean containsKey(RowKey key) {
+		if ( putRows.containsKey( key ) ) {
+			return true;
+		}
+		return !cleared && !removedRows.contains( key ) && snapshot.containsKey( key );
 	}
 
 	/**
@@ -91,11 +118,16 @@ public void remove(RowKey key) {
 	 * Note that the global CLEAR operation is put at the top of the list.
 	 */
 	public List<AssociationOperation> getOperations() {
-		List<AssociationOperation> result = new ArrayList<AssociationOperation>(  );
+		List<AssociationOperation> result = new ArrayList<AssociationOperation>( putRows.size() + removedRows.size() + 1 );
 		if (cleared) {
 			result.add( new AssociationOperation( null, null, AssociationOperationType.CLEAR ) );
 		}
-		result.addAll( currentState.values() );
+		for ( Map.Entry<RowKey, Tuple> row : putRows.entrySet() ) {
+			result.add( new AssociationOperation( row.getKey(), row.getValue(), PUT ) );
+		}
+		for ( RowKey key : removedRows ) {
+			result.add( new AssociationOperation( key, null, REMOVE ) );
+		}
 		return result;
 	}
 
@@ -104,59 +136,111 @@ public AssociationSnapshot getSnapshot() {
 	}
 
 	public boolean isEmpty() {
-		int snapshotSize = cleared ? 0 : snapshot.size();
-		//nothing in both
-		if ( snapshotSize == 0 && currentState.isEmpty() ) {
-			return true;
-		}
-		//snapshot bigger than changeset
-		if ( snapshotSize > currentState.size() ) {
-			return false;
-		}
 		return size() == 0;
 	}
 
 	public int size() {
-		int size = cleared ? 0 : snapshot.size();
-		for ( Map.Entry<RowKey,AssociationOperation> op : currentState.entrySet() ) {
-			switch ( op.getValue().getType() ) {
-				case PUT:
-				case PUT_NULL:
-					if ( cleared || !snapshot.containsKey( op.getKey() ) ) {
-						size++;
-					}
-					break;
-				case REMOVE:
-					if ( !cleared && snapshot.containsKey( op.getKey() ) ) {
-						size--;
-					}
-					break;
-			}
+		return snapshotSize() + sizeDelta;
+	}
+
+	private int snapshotSize() {
+		if ( cleared ) {
+			return 0;
 		}
-		return size;
+		if ( snapshotSize == -1 ) {
+			snapshotSize = snapshot.size();
+		}
+		return snapshotSize;
 	}
 
+	/**
+	 * Returns a read-only view of the keys of the association, reflecting the changes applied later on.
+	 *
+	 * @return the keys of the rows of the association
+	 */
 	public Set<RowKey> getKeys() {
-		Set<RowKey> keys = new HashSet<RowKey>();
-		if (!cleared) {
-			keys.addAll( snapshot.getRowKeys() );
-		}
-		for ( Map.Entry<RowKey,AssociationOperation> op : currentState.entrySet() ) {
-			switch ( op.getValue().getType() ) {
-				case PUT:
-				case PUT_NULL:
-					keys.add( op.getKey() );
-					break;
-				case REMOVE:
-					keys.remove( op.getKey() );
-					break;
-			}
-		}
 		return keys;
 	}
 
 	public void clear() {
 		cleared = true;
-		currentState.clear();
+		sizeDelta = 0;
+		putRows.clear();
+		removedRows.clear();
+	}
+
+	private class KeyView extends AbstractSet<RowKey> {
+
+		@Override
+		public int size() {
+			return Association.this.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return Association.this.isEmpty();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return o instanceof RowKey && containsKey( (RowKey) o );
+		}
+
+		@Override
+		public Iterator<RowKey> iterator() {
+			return new KeyIterator();
+		}
+	}
+
+	/**
+	 * Iterates over the rows put first and then over the rows of the snapshot which have been neither put nor removed.
+	 */
+	private class KeyIterator implements Iterator<RowKey> {
+
+		private final Iterator<RowKey> putKeys = putRows.keySet().iterator();
+		private Iterator<RowKey> snapshotKeys;
+		private RowKey next;
+
+		@Override
+		public boolean hasNext() {
+			if ( next == null ) {
+				next = fetchNext();
+			}
+			return next != null;
+		}
+
+		@Override
+		public RowKey next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			RowKey result = next;
+			next = null;
+			return result;
+		}
+
+		private RowKey fetchNext() {
+			if ( putKeys.hasNext() ) {
+				return putKeys.next();
+			}
+			if ( cleared ) {
+				return null;
+			}
+			if ( snapshotKeys == null ) {
+				snapshotKeys = snapshot.getRowKeys().iterator();
+			}
+			while ( snapshotKeys.hasNext() ) {
+				RowKey key = snapshotKeys.next();
+				if ( !putRows.containsKey( key ) && !removedRows.contains( key ) ) {
+					return key;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException( "The keys of an association are read-only" );
+		}
 	}
 }
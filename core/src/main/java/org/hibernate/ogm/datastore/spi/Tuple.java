@@ -24,9 +24,11 @@
 import static org.hibernate.ogm.datastore.spi.TupleOperationType.PUT_NULL;
 import static org.hibernate.ogm.datastore.spi.TupleOperationType.REMOVE;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -43,23 +45,53 @@
  * list of TupleOperation. It is intended that GridDialects retrieve to these actions and
  * reproduce them to the datastore. The list of changes is computed based off the snapshot.
  *
+ * If a {@link TupleSchema} is given, the changes of the columns it contains are kept in arrays
+ * indexed by the schema; the operations are only materialized when {@link #getOperations()} is called.
+ *
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  * @author Sanne Grinovero  <sanne@hibernate.org>
  */
 public class Tuple {
 
 	private final TupleSnapshot snapshot;
+	private final TupleSchema schema;
+
+	//changes of the columns of the schema, lazily initialized
+	private Object[] values;
+	private TupleOperationType[] types;
+	private int changedColumns;
+
+	//changes of the columns not contained in the schema (all changes if there is no schema)
 	private Map<String, TupleOperation> currentState = null; //lazy initialize the Map as it costs quite some memory
 
+	private Set<String> columnNames;
+
 	public Tuple() {
-		this.snapshot = EmptyTupleSnapshot.INSTANCE;
+		this( EmptyTupleSnapshot.INSTANCE, null );
 	}
 
 	public Tuple(TupleSnapshot snapshot) {
+		this( snapshot, null );
+	}
+
+	/**
+	 * @param snapshot the state of the tuple at creation time
+	 * @param schema the schema used to index the columns of the tuple; may be {@code null}
+	 */
+	public Tuple(TupleSnapshot snapshot, TupleSchema schema) {
 		this.snapshot = snapshot;
+		this.schema = schema;
 	}
 
 	public Object get(String column) {
+		int index = indexOf( column );
+		if ( index >= 0 ) {
+			TupleOperationType type = types == null ? null : types[index];
+			if ( type == null ) {
+				return snapshot.get( column );
+			}
+			return type == PUT ? values[index] : null;
+		}
 		if ( currentState == null ) {
 			return snapshot.get( column );
 		}
@@ -76,22 +108,42 @@ else if ( result.getType() == PUT_NULL || result.getType() == REMOVE ) {
 	}
 
 	public void put(String column, Object value) {
-		if ( currentState == null ) {
-			currentState = new HashMap<String, TupleOperation>();
-		}
 		if ( value == null ) {
-			currentState.put( column, new TupleOperation( column, null, PUT_NULL ) );
+			apply( column, null, PUT_NULL );
 		}
 		else {
-			currentState.put( column, new TupleOperation( column, value, PUT ) );
+			apply( column, value, PUT );
 		}
 	}
 
 	public void remove(String column) {
-		if ( currentState == null ) {
-			currentState = new HashMap<String, TupleOperation>();
+		apply( column, null, REMOVE );
+	}
+
+	private void apply(String column, Object value, TupleOperationType type) {
+		columnNames = null;
+		int index = indexOf( column );
+		if ( index >= 0 ) {
+			if ( types == null ) {
+				types = new TupleOperationType[schema.size()];
+				values = new Object[schema.size()];
+			}
+			if ( types[index] == null ) {
+				changedColumns++;
+			}
+			types[index] = type;
+			values[index] = value;
+		}
+		else {
+			if ( currentState == null ) {
+				currentState = new HashMap<String, TupleOperation>();
+			}
+			currentState.put( column, new TupleOperation( column, value, type ) );
 		}
-		currentState.put( column, new TupleOperation( column, null, REMOVE ) );
+	}
+
+	private int indexOf(String column) {
+		return schema == null ? -1 : schema.indexOf( column );
 	}
 
 	/**
@@ -99,12 +151,23 @@ public void remove(String column) {
 	 * Inherently deduplicated operations
 	 */
 	public Set<TupleOperation> getOperations() {
-		if ( currentState == null ) {
-			return Collections.emptySet();
-		}
-		else {
+		if ( changedColumns == 0 ) {
+			if ( currentState == null ) {
+				return Collections.emptySet();
+			}
 			return new SetFromCollection<TupleOperation>( currentState.values() );
 		}
+
+		List<TupleOperation> operations = new ArrayList<TupleOperation>( changedColumns + ( currentState == null ? 0 : currentState.size() ) );
+		for ( int index = 0; index < types.length; index++ ) {
+			if ( types[index] != null ) {
+				operations.add( new TupleOperation( schema.getColumnName( index ), values[index], types[index] ) );
+			}
+		}
+		if ( currentState != null ) {
+			operations.addAll( currentState.values() );
+		}
+		return new SetFromCollection<TupleOperation>( operations );
 	}
 
 	public TupleSnapshot getSnapshot() {
@@ -112,21 +175,38 @@ public TupleSnapshot getSnapshot() {
 	}
 
 	public Set<String> getColumnNames() {
-		if ( currentState == null ) {
+		if ( changedColumns == 0 && currentState == null ) {
 			return snapshot.getColumnNames();
 		}
-		Set<String> columnNames = new HashSet<String>( snapshot.getColumnNames() );
-		for ( TupleOperation op : currentState.values() ) {
-			switch ( op.getType() ) {
-				case PUT :
-				case PUT_NULL :
-					columnNames.add( op.getColumn() );
-					break;
-				case REMOVE:
-					columnNames.remove( op.getColumn() );
-					break;
+		//cached until the next change as it is requested repeatedly when writing the tuple
+		if ( columnNames == null ) {
+			Set<String> names = new HashSet<String>( snapshot.getColumnNames() );
+			if ( types != null ) {
+				for ( int index = 0; index < types.length; index++ ) {
+					if ( types[index] != null ) {
+						applyToColumnNames( names, schema.getColumnName( index ), types[index] );
+					}
+				}
 			}
+			if ( currentState != null ) {
+				for ( TupleOperation op : currentState.values() ) {
+					applyToColumnNames( names, op.getColumn(), op.getType() );
+				}
+			}
+			columnNames = Collections.unmodifiableSet( names );
 		}
 		return columnNames;
 	}
+
+	private void applyToColumnNames(Set<String> names, String column, TupleOperationType type) {
+		switch ( type ) {
+			case PUT :
+			case PUT_NULL :
+				names.add( column );
+				break;
+			case REMOVE:
+				names.remove( column );
+				break;
+		}
+	}
 }
@@ -33,16 +33,55 @@
  */
 public class TupleContext {
 	private final List<String> selectableColumns;
+	private final TupleSchema tupleSchema;
+	private final OptionsContext optionsContext;
 	private OperationsQueue operationsQueue;
 
 	public TupleContext(List<String> selectableColumns) {
+		this( selectableColumns, new TupleSchema( selectableColumns ) );
+	}
+
+	/**
+	 * @param selectableColumns the columns to load
+	 * @param tupleSchema the schema to be used by the tuples created in this context
+	 */
+	public TupleContext(List<String> selectableColumns, TupleSchema tupleSchema) {
+		this( selectableColumns, tupleSchema, null );
+	}
+
+	/**
+	 * @param selectableColumns the columns to load
+	 * @param tupleSchema the schema to be used by the tuples created in this context
+	 * @param optionsContext the options applying for the entity the tuples belong to; may be {@code null}
+	 */
+	public TupleContext(List<String> selectableColumns, TupleSchema tupleSchema, OptionsContext optionsContext) {
 		this.selectableColumns = selectableColumns;
+		this.tupleSchema = tupleSchema;
+		this.optionsContext = optionsContext;
 	}
 
 	public List<String> getSelectableColumns() {
 		return selectableColumns;
 	}
 
+	/**
+	 * Returns the schema to be passed to the {@link Tuple}s created in this context.
+	 *
+	 * @return the schema for the tuples created in this context
+	 */
+	public TupleSchema getTupleSchema() {
+		return tupleSchema;
+	}
+
+	/**
+	 * A context object providing access to the options effectively applying for the entity the tuples belong to.
+	 *
+	 * @return the options of the entity or {@code null} if the tuples are not bound to an entity type
+	 */
+	public OptionsContext getOptionsContext() {
+		return optionsContext;
+	}
+
 	public OperationsQueue getOperationsQueue() {
 		return operationsQueue;
 	}
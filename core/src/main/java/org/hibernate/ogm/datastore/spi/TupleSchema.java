@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.spi;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns a fixed index to each column of an entity, allowing {@link Tuple}s of that entity to keep their changes in
+ * arrays instead of maps. Instances are immutable and shared by all tuples of an entity type, see
+ * {@link TupleContext#getTupleSchema()}.
+ */
+public final class TupleSchema {
+
+	private final String[] columnNames;
+	private final Map<String, Integer> indexes;
+
+	/**
+	 * @param columnNames the columns of the entity; duplicates are ignored
+	 */
+	public TupleSchema(Collection<String> columnNames) {
+		this.indexes = new HashMap<String, Integer>( columnNames.size() * 2 );
+		for ( String columnName : columnNames ) {
+			if ( !indexes.containsKey( columnName ) ) {
+				indexes.put( columnName, indexes.size() );
+			}
+		}
+		this.columnNames = new String[indexes.size()];
+		for ( Map.Entry<String, Integer> entry : indexes.entrySet() ) {
+			this.columnNames[entry.getValue()] = entry.getKey();
+		}
+	}
+
+	/**
+	 * @param columnName the name of a column
+	 * @return the index of the given column or -1 if the column is not part of this schema
+	 */
+	public int indexOf(String columnName) {
+		Integer index = indexes.get( columnName );
+		return index == null ? -1 : index;
+	}
+
+	public String getColumnName(int index) {
+		return columnNames[index];
+	}
+
+	public int size() {
+		return columnNames.length;
+	}
+
+	@Override
+	public String toString() {
+		return "TupleSchema" + indexes.keySet();
+	}
+}
@@ -20,7 +20,10 @@
  */
 package org.hibernate.ogm.dialect;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
@@ -30,17 +33,21 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.batch.Operation;
 import org.hibernate.ogm.dialect.batch.OperationsQueue;
 import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
 import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
 import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
 import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.hibernate.ogm.type.GridType;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.type.Type;
 
@@ -51,17 +58,47 @@
  * The {@link TupleContext} and {@link AssociationContext} are also populated with the {@link OperationsQueue}
  * before looking for element in the db. This way the underlying datastore can make assumptions about elements
  * that are in the queue but not in the db.
+ * <p>
+ * While a batch is prepared, each association is read from the delegate at most once: the association objects are
+ * registered with the queue and returned again to all the callers asking for the same {@link AssociationKey}, so the
+ * changes made to an association during a flush end up in a single update operation.
+ * <p>
+ * If a maximum number of queued operations is given, the queued operations are drained into a separate queue and
+ * passed to the delegate for execution as soon as that number is reached, so large flushes are written in several
+ * batches. The state of the batch, i.e. the new entities, the shared associations and their pending updates, is kept
+ * until the end of the flush.
  *
  * @author Davide D'Alto <davide@hibernate.org>
  */
-public class BatchOperationsDelegator implements BatchableGridDialect {
+public class BatchOperationsDelegator implements BatchableGridDialect, PartitionableGridDialect {
+
+	private static final Log log = LoggerFactory.make();
 
 	private final ThreadLocal<OperationsQueue> operationQueueLocal = new ThreadLocal<OperationsQueue>();
 
 	private final BatchableGridDialect dialect;
 
+	private final int maxQueuedOperations;
+
 	public BatchOperationsDelegator(BatchableGridDialect dialect) {
+		this( dialect, 0 );
+	}
+
+	/**
+	 * @param dialect the dialect to delegate to
+	 * @param maxQueuedOperations the number of queued operations triggering the execution of the queue during a
+	 * flush; 0 to execute all operations at the end of the flush
+	 */
+	public BatchOperationsDelegator(BatchableGridDialect dialect, int maxQueuedOperations) {
 		this.dialect = dialect;
+		this.maxQueuedOperations = maxQueuedOperations;
+	}
+
+	/**
+	 * @return the dialect the batches are executed by
+	 */
+	public BatchableGridDialect getGridDialect() {
+		return dialect;
 	}
 
 	public void prepareBatch() {
@@ -92,7 +129,19 @@ public void executeBatch() {
 
 	@Override
 	public void executeBatch(OperationsQueue queue) {
-		dialect.executeBatch( getOperationQueue() );
+		if ( !queue.isClosed() ) {
+			log.executingBatch( queue.getAddedOperations(), queue.getEliminatedOperations() );
+		}
+		dialect.executeBatch( queue );
+	}
+
+	private void addOperation(Operation operation) {
+		OperationsQueue queue = getOperationQueue();
+		queue.add( operation );
+
+		if ( maxQueuedOperations > 0 && queue.getDrainableSize() >= maxQueuedOperations ) {
+			executeBatch( queue.drain() );
+		}
 	}
 
 	@Override
@@ -108,8 +157,18 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
-		return dialect.createTuple( key );
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		OperationsQueue queue = getOperationQueue();
+		tupleContext.setOperationsQueue( queue );
+		return dialect.getTuples( keys, tupleContext );
+	}
+
+	@Override
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
+		if ( !isBatchDisabled() ) {
+			getOperationQueue().markAsNew( key );
+		}
+		return dialect.createTuple( key, tupleContext );
 	}
 
 	@Override
@@ -118,7 +177,7 @@ public void updateTuple(Tuple tuple, EntityKey key) {
 			dialect.updateTuple( tuple, key );
 		}
 		else {
-			getOperationQueue().add( new UpdateTupleOperation( tuple, key ) );
+			addOperation( new UpdateTupleOperation( tuple, key ) );
 		}
 	}
 
@@ -128,19 +187,69 @@ public void removeTuple(EntityKey key) {
 			dialect.removeTuple( key );
 		}
 		else {
-			getOperationQueue().add( new RemoveTupleOperation( key ) );
+			addOperation( new RemoveTupleOperation( key ) );
 		}
 	}
 
 	@Override
 	public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
-		associationContext.setOperationsQueue( getOperationQueue() );
-		return dialect.getAssociation( key, associationContext );
+		OperationsQueue queue = getOperationQueue();
+		Association association = queue.getAssociation( key );
+		if ( association == null ) {
+			associationContext.setOperationsQueue( queue );
+			association = dialect.getAssociation( key, associationContext );
+			share( queue, key, association );
+		}
+		return association;
+	}
+
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		OperationsQueue queue = getOperationQueue();
+		associationContext.setOperationsQueue( queue );
+		if ( queue.isClosed() ) {
+			return dialect.getAssociations( keys, associationContext );
+		}
+
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		List<AssociationKey> keysToLoad = new ArrayList<AssociationKey>( keys.length );
+		for ( AssociationKey key : keys ) {
+			Association association = queue.getAssociation( key );
+			if ( association == null ) {
+				keysToLoad.add( key );
+			}
+			associations.add( association );
+		}
+
+		if ( !keysToLoad.isEmpty() ) {
+			Iterator<Association> loaded = dialect.getAssociations( keysToLoad.toArray( new AssociationKey[keysToLoad.size()] ), associationContext ).iterator();
+			for ( int i = 0; i < keys.length; i++ ) {
+				if ( associations.get( i ) == null ) {
+					Association association = loaded.next();
+					share( queue, keys[i], association );
+					associations.set( i, association );
+				}
+			}
+		}
+		return associations;
 	}
 
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
-		return dialect.createAssociation( key, associationContext );
+		OperationsQueue queue = getOperationQueue();
+		associationContext.setOperationsQueue( queue );
+		Association association = dialect.createAssociation( key, associationContext );
+		share( queue, key, association );
+		return association;
+	}
+
+	/**
+	 * Registers the given association with the queue, so it is returned again when asked for during the same batch.
+	 */
+	private void share(OperationsQueue queue, AssociationKey key, Association association) {
+		if ( association != null && !queue.isClosed() ) {
+			queue.putAssociation( key, association );
+		}
 	}
 
 	@Override
@@ -149,7 +258,7 @@ public void updateAssociation(Association association, AssociationKey key, Assoc
 			dialect.updateAssociation( association, key, associationContext );
 		}
 		else {
-			getOperationQueue().add( new UpdateAssociationOperation( association, key, associationContext ) );
+			addOperation( new UpdateAssociationOperation( association, key, associationContext ) );
 		}
 	}
 
@@ -159,7 +268,7 @@ public void removeAssociation(AssociationKey key, AssociationContext association
 			dialect.removeAssociation( key, associationContext );
 		}
 		else {
-			getOperationQueue().add( new RemoveAssociationOperation( key, associationContext ) );
+			addOperation( new RemoveAssociationOperation( key, associationContext ) );
 		}
 	}
 
@@ -183,6 +292,16 @@ public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetada
 		dialect.forEachTuple( consumer, entityKeyMetadatas );
 	}
 
+	@Override
+	public List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		return GridDialects.partitionTuples( dialect, partitions, entityKeyMetadatas );
+	}
+
+	@Override
+	public List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas) {
+		return GridDialects.resumePartitions( dialect, cursors, entityKeyMetadatas );
+	}
+
 	@Override
 	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
 		return dialect.executeBackendQuery( customQuery, metadatas );
@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect;
+
+import java.util.List;
+
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+
+/**
+ * A {@link CachingGridDialect} for dialects supporting batched operations; the elements written by a batch are removed
+ * from the caches before and after its execution.
+ */
+public class BatchableCachingGridDialect extends CachingGridDialect implements BatchableGridDialect {
+
+	private final BatchableGridDialect gridDialect;
+
+	public BatchableCachingGridDialect(BatchableGridDialect gridDialect) {
+		super( gridDialect );
+		this.gridDialect = gridDialect;
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		List<Operation> operations = queue.getOperations();
+		invalidate( operations );
+		try {
+			gridDialect.executeBatch( queue );
+		}
+		finally {
+			invalidate( operations );
+		}
+	}
+}
@@ -0,0 +1,441 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.LockMode;
+import org.hibernate.dialect.lock.LockingStrategy;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.loader.custom.CustomQuery;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.AssociationSnapshot;
+import org.hibernate.ogm.datastore.spi.OptionsContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.datastore.spi.TupleSnapshot;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.dialect.impl.GridDialects;
+import org.hibernate.ogm.dialect.impl.NearCache;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.massindex.batchindexing.Consumer;
+import org.hibernate.ogm.options.cache.impl.NearCacheConfiguration;
+import org.hibernate.ogm.options.cache.impl.NearCacheOption;
+import org.hibernate.ogm.type.GridType;
+import org.hibernate.persister.entity.Lockable;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.type.Type;
+
+/**
+ * A wrapper dialect keeping the tuples and associations read from the datastore in a bounded in-memory cache, for the
+ * entities configured with {@link org.hibernate.ogm.options.cache.NearCache}. There is one cache per table, its
+ * settings are taken from the options of the first entity or association read from the table.
+ * <p>
+ * The cache holds the snapshots returned by the wrapped dialect, every read served from the cache returns a new
+ * {@link Tuple} or {@link Association} on top of the cached snapshot. Writes executed through this dialect, directly
+ * or within a batch, remove the written elements from the cache. It is only used when a near cache is configured for
+ * at least one entity.
+ */
+public class CachingGridDialect implements PartitionableGridDialect, Configurable, ServiceRegistryAwareService {
+
+	private final GridDialect gridDialect;
+
+	private final ConcurrentMap<String, NearCache> caches = new ConcurrentHashMap<String, NearCache>();
+
+	private final Set<String> uncachedTables = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+
+	public CachingGridDialect(GridDialect gridDialect) {
+		if ( gridDialect == null ) {
+			throw new IllegalArgumentException( "GridDialect should never be null" );
+		}
+		this.gridDialect = gridDialect;
+	}
+
+	/**
+	 * @return the wrapped grid dialect
+	 */
+	public GridDialect getGridDialect() {
+		return gridDialect;
+	}
+
+	/**
+	 * Returns the statistics of the near cache of the given table.
+	 *
+	 * @param table the name of the table
+	 * @return the statistics of the cache or {@code null} if no element of the table has been cached so far
+	 */
+	public NearCacheStatistics getStatistics(String table) {
+		return caches.get( table );
+	}
+
+	@Override
+	public LockingStrategy getLockingStrategy(Lockable lockable, LockMode lockMode) {
+		return gridDialect.getLockingStrategy( lockable, lockMode );
+	}
+
+	@Override
+	public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+		NearCache cache = getCache( key.getTable(), tupleContext.getOptionsContext() );
+		if ( cache == null ) {
+			return gridDialect.getTuple( key, tupleContext );
+		}
+
+		List<Operation> pendingOperations = invalidatePending( tupleContext.getOperationsQueue() );
+		TupleSnapshot snapshot = (TupleSnapshot) cache.get( key, tupleContext.getSelectableColumns() );
+		if ( snapshot != null ) {
+			return new Tuple( snapshot, tupleContext.getTupleSchema() );
+		}
+
+		long version = cache.getVersion();
+		Tuple tuple = gridDialect.getTuple( key, tupleContext );
+		invalidate( pendingOperations );
+		if ( isCacheable( tuple, key, tupleContext ) ) {
+			cache.put( key, tupleContext.getSelectableColumns(), tuple.getSnapshot(), version );
+		}
+		return tuple;
+	}
+
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		NearCache[] keyCaches = new NearCache[keys.length];
+		boolean cached = false;
+		for ( int i = 0; i < keys.length; i++ ) {
+			keyCaches[i] = getCache( keys[i].getTable(), tupleContext.getOptionsContext() );
+			cached = cached || keyCaches[i] != null;
+		}
+		if ( !cached ) {
+			return gridDialect.getTuples( keys, tupleContext );
+		}
+
+		List<Operation> pendingOperations = invalidatePending( tupleContext.getOperationsQueue() );
+		Tuple[] tuples = new Tuple[keys.length];
+		List<Integer> missing = new ArrayList<Integer>( keys.length );
+		long[] versions = new long[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			TupleSnapshot snapshot = keyCaches[i] == null ? null : (TupleSnapshot) keyCaches[i].get( keys[i], tupleContext.getSelectableColumns() );
+			if ( snapshot != null ) {
+				tuples[i] = new Tuple( snapshot, tupleContext.getTupleSchema() );
+			}
+			else {
+				versions[i] = keyCaches[i] == null ? 0 : keyCaches[i].getVersion();
+				missing.add( i );
+			}
+		}
+
+		if ( !missing.isEmpty() ) {
+			EntityKey[] missingKeys = new EntityKey[missing.size()];
+			for ( int i = 0; i < missingKeys.length; i++ ) {
+				missingKeys[i] = keys[missing.get( i )];
+			}
+			List<Tuple> loaded = gridDialect.getTuples( missingKeys, tupleContext );
+			invalidate( pendingOperations );
+			for ( int i = 0; i < missingKeys.length; i++ ) {
+				int index = missing.get( i );
+				Tuple tuple = loaded.get( i );
+				tuples[index] = tuple;
+				if ( keyCaches[index] != null && isCacheable( tuple, missingKeys[i], tupleContext ) ) {
+					keyCaches[index].put( missingKeys[i], tupleContext.getSelectableColumns(), tuple.getSnapshot(), versions[index] );
+				}
+			}
+		}
+		return Arrays.asList( tuples );
+	}
+
+	private boolean isCacheable(Tuple tuple, EntityKey key, TupleContext tupleContext) {
+		// tuples of entities which are only contained in the queue do not exist in the datastore yet
+		OperationsQueue queue = tupleContext.getOperationsQueue();
+		return tuple != null && ( queue == null || !queue.contains( key ) );
+	}
+
+	@Override
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
+		return gridDialect.createTuple( key, tupleContext );
+	}
+
+	@Override
+	public void updateTuple(Tuple tuple, EntityKey key) {
+		invalidate( key );
+		try {
+			gridDialect.updateTuple( tuple, key );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	@Override
+	public void removeTuple(EntityKey key) {
+		invalidate( key );
+		try {
+			gridDialect.removeTuple( key );
+		}
+		finally {
+			invalidate( key );
+		}
+	}
+
+	@Override
+	public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+		NearCache cache = getCache( key.getTable(), associationContext.getOptionsContext() );
+		if ( cache == null ) {
+			return gridDialect.getAssociation( key, associationContext );
+		}
+
+		List<Operation> pendingOperations = invalidatePending( associationContext.getOperationsQueue() );
+		AssociationSnapshot snapshot = (AssociationSnapshot) cache.get( key, null );
+		if ( snapshot != null ) {
+			return new Association( snapshot );
+		}
+
+		long version = cache.getVersion();
+		Association association = gridDialect.getAssociation( key, associationContext );
+		invalidate( pendingOperations );
+		if ( association != null ) {
+			cache.put( key, null, association.getSnapshot(), version );
+		}
+		return association;
+	}
+
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		NearCache[] keyCaches = new NearCache[keys.length];
+		boolean cached = false;
+		for ( int i = 0; i < keys.length; i++ ) {
+			keyCaches[i] = getCache( keys[i].getTable(), associationContext.getOptionsContext() );
+			cached = cached || keyCaches[i] != null;
+		}
+		if ( !cached ) {
+			return gridDialect.getAssociations( keys, associationContext );
+		}
+
+		List<Operation> pendingOperations = invalidatePending( associationContext.getOperationsQueue() );
+		Association[] associations = new Association[keys.length];
+		List<Integer> missing = new ArrayList<Integer>( keys.length );
+		long[] versions = new long[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			AssociationSnapshot snapshot = keyCaches[i] == null ? null : (AssociationSnapshot) keyCaches[i].get( keys[i], null );
+			if ( snapshot != null ) {
+				associations[i] = new Association( snapshot );
+			}
+			else {
+				versions[i] = keyCaches[i] == null ? 0 : keyCaches[i].getVersion();
+				missing.add( i );
+			}
+		}
+
+		if ( !missing.isEmpty() ) {
+			AssociationKey[] missingKeys = new AssociationKey[missing.size()];
+			for ( int i = 0; i < missingKeys.length; i++ ) {
+				missingKeys[i] = keys[missing.get( i )];
+			}
+			List<Association> loaded = gridDialect.getAssociations( missingKeys, associationContext );
+			invalidate( pendingOperations );
+			for ( int i = 0; i < missingKeys.length; i++ ) {
+				int index = missing.get( i );
+				Association association = loaded.get( i );
+				associations[index] = association;
+				if ( keyCaches[index] != null && association != null ) {
+					keyCaches[index].put( missingKeys[i], null, association.getSnapshot(), versions[index] );
+				}
+			}
+		}
+		return Arrays.asList( associations );
+	}
+
+	@Override
+	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
+		return gridDialect.createAssociation( key, associationContext );
+	}
+
+	@Override
+	public void updateAssociation(Association association, AssociationKey key, AssociationContext associationContext) {
+		List<Operation> pendingOperations = invalidatePending( associationContext.getOperationsQueue() );
+		invalidate( key, associationContext );
+		try {
+			gridDialect.updateAssociation( association, key, associationContext );
+		}
+		finally {
+			invalidate( key, associationContext );
+			invalidate( pendingOperations );
+		}
+	}
+
+	@Override
+	public void removeAssociation(AssociationKey key, AssociationContext associationContext) {
+		List<Operation> pendingOperations = invalidatePending( associationContext.getOperationsQueue() );
+		invalidate( key, associationContext );
+		try {
+			gridDialect.removeAssociation( key, associationContext );
+		}
+		finally {
+			invalidate( key, associationContext );
+			invalidate( pendingOperations );
+		}
+	}
+
+	@Override
+	public Tuple createTupleAssociation(AssociationKey associationKey, RowKey rowKey) {
+		return gridDialect.createTupleAssociation( associationKey, rowKey );
+	}
+
+	@Override
+	public void nextValue(RowKey key, IntegralDataTypeHolder value, int increment, int initialValue) {
+		gridDialect.nextValue( key, value, increment, initialValue );
+	}
+
+	@Override
+	public GridType overrideType(Type type) {
+		return gridDialect.overrideType( type );
+	}
+
+	@Override
+	public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetadatas) {
+		gridDialect.forEachTuple( consumer, entityKeyMetadatas );
+	}
+
+	@Override
+	public List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		return GridDialects.partitionTuples( gridDialect, partitions, entityKeyMetadatas );
+	}
+
+	@Override
+	public List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas) {
+		return GridDialects.resumePartitions( gridDialect, cursors, entityKeyMetadatas );
+	}
+
+	@Override
+	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
+		return gridDialect.executeBackendQuery( customQuery, metadatas );
+	}
+
+	@Override
+	public boolean isStoredInEntityStructure(AssociationKey associationKey, AssociationContext associationContext) {
+		return gridDialect.isStoredInEntityStructure( associationKey, associationContext );
+	}
+
+	@Override
+	public void configure(Map configurationValues) {
+		if ( gridDialect instanceof Configurable ) {
+			( (Configurable) gridDialect ).configure( configurationValues );
+		}
+	}
+
+	@Override
+	public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+		if ( gridDialect instanceof ServiceRegistryAwareService ) {
+			( (ServiceRegistryAwareService) gridDialect ).injectServices( serviceRegistry );
+		}
+	}
+
+	/**
+	 * Removes the elements written by the given operations from the caches.
+	 *
+	 * @param operations the operations which have been or are about to be executed
+	 */
+	protected void invalidate(List<Operation> operations) {
+		for ( Operation operation : operations ) {
+			if ( operation instanceof UpdateTupleOperation ) {
+				invalidate( ( (UpdateTupleOperation) operation ).getEntityKey() );
+			}
+			else if ( operation instanceof RemoveTupleOperation ) {
+				invalidate( ( (RemoveTupleOperation) operation ).getEntityKey() );
+			}
+			else if ( operation instanceof UpdateAssociationOperation ) {
+				UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
+				invalidate( update.getAssociationKey(), update.getContext() );
+			}
+			else if ( operation instanceof RemoveAssociationOperation ) {
+				RemoveAssociationOperation removal = (RemoveAssociationOperation) operation;
+				invalidate( removal.getAssociationKey(), removal.getContext() );
+			}
+		}
+	}
+
+	/**
+	 * Many dialects execute the operations queued so far before reading from the datastore, so the elements they
+	 * write are removed from the caches before and after accessing the wrapped dialect.
+	 *
+	 * @return the pending operations of the given queue, which have been invalidated
+	 */
+	private List<Operation> invalidatePending(OperationsQueue queue) {
+		if ( queue == null || queue.size() == 0 ) {
+			return Collections.emptyList();
+		}
+		List<Operation> operations = queue.getOperations();
+		invalidate( operations );
+		return operations;
+	}
+
+	private void invalidate(EntityKey key) {
+		NearCache cache = caches.get( key.getTable() );
+		if ( cache != null ) {
+			cache.invalidate( key );
+		}
+	}
+
+	private void invalidate(AssociationKey key, AssociationContext associationContext) {
+		NearCache cache = caches.get( key.getTable() );
+		if ( cache != null ) {
+			cache.invalidate( key );
+		}
+		// the association is written into the document of its owner
+		if ( key.getEntityKey() != null && gridDialect.isStoredInEntityStructure( key, associationContext ) ) {
+			invalidate( key.getEntityKey() );
+		}
+	}
+
+	private NearCache getCache(String table, OptionsContext optionsContext) {
+		NearCache cache = caches.get( table );
+		if ( cache != null || optionsContext == null || uncachedTables.contains( table ) ) {
+			return cache;
+		}
+
+		NearCacheConfiguration configuration = optionsContext.getUnique( NearCacheOption.class );
+		if ( configuration == null ) {
+			uncachedTables.add( table );
+			return null;
+		}
+
+		cache = new NearCache( configuration );
+		NearCache previous = caches.putIfAbsent( table, cache );
+		return previous != null ? previous : cache;
+	}
+}
@@ -21,6 +21,7 @@
 package org.hibernate.ogm.dialect;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
@@ -55,11 +56,29 @@ public interface GridDialect extends Service {
 	 */
 	Tuple getTuple(EntityKey key, TupleContext tupleContext);
 
+	/**
+	 * Return the tuples with the given keys, ideally in a single round-trip to the datastore.
+	 * <p>
+	 * The returned list has the same size and order as the given array of keys; its element for a key without a
+	 * corresponding tuple is {@code null}. Dialects without a native multi-get operation can fall back to
+	 * {@link org.hibernate.ogm.dialect.impl.GridDialects#getTuplesOneByOne(GridDialect, EntityKey[], TupleContext)}.
+	 *
+	 * @param keys the keys of the tuples to return
+	 * @param tupleContext the context of the tuples to return
+	 * @return the tuples with the given keys
+	 */
+	List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext);
+
 	/**
 	 * Return a new tuple for a given key
 	 * Only used if the tuple is not present
+	 *
+	 * @param key the key of the new tuple
+	 * @param tupleContext the context of the new tuple; the tuple should be created with the
+	 * {@link TupleContext#getTupleSchema() schema} given by it
+	 * @return the new tuple
 	 */
-	Tuple createTuple(EntityKey key);
+	Tuple createTuple(EntityKey key, TupleContext tupleContext);
 
 	/**
 	 * Update the tuple for a given key or null if not present
@@ -76,6 +95,20 @@ public interface GridDialect extends Service {
 	 */
 	Association getAssociation(AssociationKey key, AssociationContext associationContext);
 
+	/**
+	 * Return the associations with the given keys, ideally in a single round-trip to the datastore. All the keys
+	 * refer to the same association role, i.e. they only differ in the owning entity.
+	 * <p>
+	 * The returned list has the same size and order as the given array of keys; its element for a key without a
+	 * corresponding association is {@code null}. Dialects without a native multi-get operation can fall back to
+	 * {@link org.hibernate.ogm.dialect.impl.GridDialects#getAssociationsOneByOne(GridDialect, AssociationKey[], AssociationContext)}.
+	 *
+	 * @param keys the keys of the associations to return
+	 * @param associationContext the context of the associations to return
+	 * @return the associations with the given keys
+	 */
+	List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext);
+
 	/**
 	 * Create an empty container for the list of tuples corresponding to a given association
 	 * Only used if the association data is not present
@@ -106,6 +139,11 @@ public interface GridDialect extends Service {
 
 	/**
 	 * Update value with the guaranteed next value with the defined increment
+	 * <p>
+	 * The first call for a given key stores and returns {@code initialValue}, each further call atomically
+	 * returns the value handed out by the previous call plus {@code increment}. Every call therefore reserves a range of
+	 * {@code increment} values for the caller, which identifier generators hand out without accessing the datastore
+	 * again (see {@link org.hibernate.ogm.id.impl.ConcurrentPooledOptimizer}).
 	 *
 	 * Especially experimental
 	 */
@@ -20,7 +20,10 @@
  */
 package org.hibernate.ogm.dialect;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.LockMode;
@@ -31,6 +34,7 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
@@ -54,7 +58,7 @@
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  * @see org.hibernate.ogm.dialect.impl.GridDialectFactoryImpl#buildGridDialect(java.util.Map, org.hibernate.service.ServiceRegistry)
  */
-public class GridDialectLogger implements GridDialect, Configurable, ServiceRegistryAwareService {
+public class GridDialectLogger implements PartitionableGridDialect, Configurable, ServiceRegistryAwareService {
 
 	private static final Log log = Logger.getMessageLogger( Log.class, CoreLogCategories.DATASTORE_ACCESS.toString() );
 
@@ -76,6 +80,13 @@ public static boolean activationNeeded() {
 		return log.isTraceEnabled();
 	}
 
+	/**
+	 * @return the wrapped grid dialect
+	 */
+	public GridDialect getGridDialect() {
+		return gridDialect;
+	}
+
 	@Override
 	public LockingStrategy getLockingStrategy(Lockable lockable, LockMode lockMode) {
 		return gridDialect.getLockingStrategy( lockable, lockMode );
@@ -88,9 +99,15 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		log.tracef( "Reading %1$s Tuples with keys %2$s and context %3$s", keys.length, Arrays.toString( keys ), tupleContext.toString() );
+		return gridDialect.getTuples( keys, tupleContext );
+	}
+
+	@Override
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
 		log.tracef( "Build Tuple object with key %1$s (does not trigger access to the datastore)", key );
-		return gridDialect.createTuple( key );
+		return gridDialect.createTuple( key, tupleContext );
 	}
 
 	@Override
@@ -116,6 +133,12 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return gridDialect.getAssociation( key, associationContext );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		log.tracef( "Reading %1$s associations with keys %2$s from datastore and context %3$s", keys.length, Arrays.toString( keys ), associationContext );
+		return gridDialect.getAssociations( keys, associationContext );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 		log.tracef( "Build association object with key %1$s (does not trigger access to the datastore)", key );
@@ -165,6 +188,16 @@ public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetada
 		gridDialect.forEachTuple( consumer, entityKeyMetadatas );
 	}
 
+	@Override
+	public List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		return GridDialects.partitionTuples( gridDialect, partitions, entityKeyMetadatas );
+	}
+
+	@Override
+	public List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas) {
+		return GridDialects.resumePartitions( gridDialect, cursors, entityKeyMetadatas );
+	}
+
 	@Override
 	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
 		log.tracef( "Executing native backend query: %1$s", customQuery.getSQL() );
@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect;
+
+/**
+ * Statistics of the near cache kept by a {@link CachingGridDialect} for the tuples and associations of one table.
+ */
+public interface NearCacheStatistics {
+
+	/**
+	 * @return the number of reads served from the cache
+	 */
+	long getHitCount();
+
+	/**
+	 * @return the number of reads which had to go to the datastore
+	 */
+	long getMissCount();
+
+	/**
+	 * @return the number of elements removed from the cache because it was full or because they expired
+	 */
+	long getEvictionCount();
+
+	/**
+	 * @return the number of elements removed from the cache because they have been written
+	 */
+	long getInvalidationCount();
+
+	/**
+	 * @return the number of elements currently contained in the cache
+	 */
+	int getSize();
+}
@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+
+/**
+ * A {@link GridDialect} that can split the tuples of a set of entities into partitions that can be scanned
+ * concurrently.
+ * <p>
+ * How the tuples are split depends on the underlying database.
+ */
+public interface PartitionableGridDialect extends GridDialect {
+
+	/**
+	 * Splits the tuples of the given entities in partitions; every tuple belongs to exactly one partition. Scanning
+	 * all the returned partitions is the equivalent of {@link #forEachTuple(org.hibernate.ogm.massindex.batchindexing.Consumer, EntityKeyMetadata...)}.
+	 *
+	 * @param partitions the number of partitions the tuples of each entity should be split into; the dialect may
+	 * return less partitions, e.g. if there are not enough tuples
+	 * @param entityKeyMetadatas the key metadata of the entities whose tuples should be scanned
+	 * @return the partitions of the tuples, never empty
+	 */
+	List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... entityKeyMetadatas);
+
+	/**
+	 * Re-creates partitions from cursors returned by {@link TuplePartition#getCursor()} or
+	 * {@link TuplePartition#getCursorAfter(org.hibernate.ogm.datastore.spi.Tuple)}, possibly by another instance of the
+	 * dialect. The cursors of a scan are passed at once, so that the work needed to re-create the partitions is only
+	 * done once.
+	 *
+	 * @param cursors the cursors on the tuples to scan
+	 * @param entityKeyMetadatas the key metadata of the entities the partitions have been created for
+	 * @return the partitions scanning the tuples of the cursors, in the order of the cursors
+	 */
+	List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas);
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect;
+
+import java.io.Serializable;
+
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.massindex.batchindexing.Consumer;
+
+/**
+ * A part of the tuples of one or more entities, as returned by
+ * {@link PartitionableGridDialect#partitionTuples(int, org.hibernate.ogm.grid.EntityKeyMetadata...)}.
+ * <p>
+ * The partitions of a scan can be consumed concurrently. The tuples a partition has still to scan can be described by a
+ * serializable cursor, from which a later scan can re-create the partition using
+ * {@link PartitionableGridDialect#resumePartitions(java.util.List, org.hibernate.ogm.grid.EntityKeyMetadata...)}.
+ */
+public interface TuplePartition {
+
+	/**
+	 * Passes each tuple of the partition to the given consumer.
+	 *
+	 * @param consumer the consumer of the tuples
+	 */
+	void forEachTuple(Consumer consumer);
+
+	/**
+	 * Returns a cursor on all the tuples of this partition.
+	 *
+	 * @return a cursor from which this partition can be re-created
+	 */
+	Serializable getCursor();
+
+	/**
+	 * Returns a cursor on the tuples of this partition scanned after the given one. Dialects which cannot start a scan
+	 * after a given tuple may return a cursor on tuples which have already been scanned, e.g. the one returned by
+	 * {@link #getCursor()}.
+	 *
+	 * @param tuple a tuple passed by this partition to the consumer
+	 * @return a cursor from which the rest of this partition can be re-created
+	 */
+	Serializable getCursorAfter(Tuple tuple);
+
+}
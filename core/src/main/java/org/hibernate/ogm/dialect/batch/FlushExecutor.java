@@ -0,0 +1,206 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.massindex.batchindexing.Executors;
+import org.hibernate.ogm.util.configurationreader.impl.ConfigurationPropertyReader;
+import org.hibernate.ogm.util.configurationreader.impl.Validators;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
+
+/**
+ * Sends independent groups of writes of a batch, e.g. the writes to different collections, to the datastore.
+ * <p>
+ * Unless {@link OgmProperties#FLUSH_PARALLELISM} is greater than 1, the groups are written one after the other by the
+ * calling thread. Otherwise up to that many groups are written concurrently, one of them by the calling thread, and
+ * {@link #execute(List)} returns once all of them are done. If only one group fails, its exception is re-thrown
+ * unchanged, otherwise all failures are reported with one exception.
+ * <p>
+ * Instances are created and stopped by the datastore providers of the dialects using them.
+ */
+public class FlushExecutor {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final int parallelism;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+
+	public FlushExecutor(Map<?, ?> configurationValues, ClassLoaderService classLoaderService) {
+		ConfigurationPropertyReader propertyReader = new ConfigurationPropertyReader( configurationValues );
+
+		this.parallelism = propertyReader.property( OgmProperties.FLUSH_PARALLELISM, int.class )
+				.withDefault( 1 )
+				.withValidator( Validators.FLUSH_PARALLELISM )
+				.getValue();
+
+		if ( parallelism > 1 ) {
+			ExecutorService configuredExecutor = propertyReader.property( OgmProperties.FLUSH_EXECUTOR, ExecutorService.class )
+					.instantiate()
+					.withClassLoaderService( classLoaderService )
+					.getValue();
+
+			this.ownsExecutor = configuredExecutor == null;
+			// the calling thread always writes one of the groups itself
+			this.executor = ownsExecutor ? Executors.newFixedThreadPool( parallelism - 1, "flush" ) : configuredExecutor;
+		}
+		else {
+			this.ownsExecutor = false;
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Runs the given tasks and returns once all of them are done.
+	 *
+	 * @param tasks the tasks to run; they must not depend on each other
+	 */
+	public void execute(List<? extends Runnable> tasks) {
+		if ( executor == null || tasks.size() < 2 ) {
+			for ( Runnable task : tasks ) {
+				task.run();
+			}
+			return;
+		}
+
+		Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<Runnable>( tasks );
+		List<Throwable> failures = Collections.synchronizedList( new ArrayList<Throwable>() );
+
+		int workers = Math.min( parallelism, tasks.size() );
+		List<Worker> submittedWorkers = new ArrayList<Worker>( workers - 1 );
+		List<Future<?>> futures = new ArrayList<Future<?>>( workers - 1 );
+		for ( int i = 1; i < workers; i++ ) {
+			Worker worker = new Worker( pendingTasks, failures );
+			submittedWorkers.add( worker );
+			futures.add( executor.submit( worker ) );
+		}
+		new Worker( pendingTasks, failures ).run();
+
+		for ( int i = 0; i < futures.size(); i++ ) {
+			// workers which have not been started yet have nothing left to do
+			if ( submittedWorkers.get( i ).claim() ) {
+				futures.get( i ).cancel( false );
+			}
+			else {
+				await( futures.get( i ), failures );
+			}
+		}
+
+		rethrow( failures );
+	}
+
+	/**
+	 * Shuts down the thread pool created by this executor, if any.
+	 */
+	public void stop() {
+		if ( ownsExecutor ) {
+			executor.shutdown();
+		}
+	}
+
+	private void await(Future<?> future, List<Throwable> failures) {
+		try {
+			future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw log.interruptedWhileExecutingBatch( e );
+		}
+		catch (ExecutionException e) {
+			failures.add( e.getCause() );
+		}
+	}
+
+	private void rethrow(List<Throwable> failures) {
+		if ( failures.isEmpty() ) {
+			return;
+		}
+		Throwable first = failures.get( 0 );
+		if ( failures.size() == 1 ) {
+			if ( first instanceof RuntimeException ) {
+				throw (RuntimeException) first;
+			}
+			if ( first instanceof Error ) {
+				throw (Error) first;
+			}
+		}
+
+		StringBuilder messages = new StringBuilder();
+		for ( Throwable failure : failures ) {
+			if ( messages.length() > 0 ) {
+				messages.append( "; " );
+			}
+			messages.append( failure );
+		}
+		throw log.errorsWhileExecutingBatch( failures.size(), messages.toString(), first );
+	}
+
+	private static class Worker implements Runnable {
+
+		private final Queue<Runnable> pendingTasks;
+		private final List<Throwable> failures;
+		private final AtomicBoolean claimed = new AtomicBoolean();
+
+		public Worker(Queue<Runnable> pendingTasks, List<Throwable> failures) {
+			this.pendingTasks = pendingTasks;
+			this.failures = failures;
+		}
+
+		/**
+		 * Makes sure the worker runs at most once, either in the pool or not at all.
+		 *
+		 * @return {@code true} if the worker had not been started yet
+		 */
+		public boolean claim() {
+			return claimed.compareAndSet( false, true );
+		}
+
+		@Override
+		public void run() {
+			if ( !claim() ) {
+				return;
+			}
+			Runnable task = pendingTasks.poll();
+			while ( task != null ) {
+				try {
+					task.run();
+				}
+				catch (Throwable t) {
+					failures.add( t );
+				}
+				task = pendingTasks.poll();
+			}
+		}
+	}
+}
@@ -20,11 +20,20 @@
  */
 package org.hibernate.ogm.dialect.batch;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleOperation;
+import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
@@ -34,6 +43,22 @@
  * <p>
  * It keeps track of the element that are going to be affected by an {@link UpdateTupleOperation}.
  * The queue can be closed, in that case it will throw an exception when trying to add or poll an operation.
+ * <p>
+ * The queue compacts the operations added to it:
+ * <ul>
+ * <li>an {@link UpdateTupleOperation} on an entity which is already going to be updated is merged into the pending
+ * operation</li>
+ * <li>a {@link RemoveTupleOperation} discards the pending update of the entity; if the entity has been created within
+ * the unit of work represented by this queue (see {@link #markAsNew(EntityKey)}), the removal is discarded as
+ * well</li>
+ * <li>an {@link UpdateAssociationOperation} for an association which is already going to be updated is discarded;
+ * a {@link RemoveAssociationOperation} discards the pending update of the association</li>
+ * </ul>
+ * Consecutive operations of the same type are grouped by table (entity operations) or collection role (association
+ * operations) when polled, so dialects receive operations ready to be batched.
+ * <p>
+ * The queue also keeps the {@link Association} objects read or created within its unit of work, so that all the
+ * changes applied to one association are collected by the same object and written with a single operation.
  *
  * @author Guillaume Scheibel <guillaume.scheibel@gmail.com>
  * @author Davide D'Alto <davide@hibernate.com>
@@ -52,21 +77,160 @@ public boolean isClosed() {
 
 	private static final Log log = LoggerFactory.make();
 
-	private final Queue<Operation> operations = new LinkedList<Operation>();
+	private final LinkedList<Segment> segments = new LinkedList<Segment>();
+
+	private final Map<EntityKey, Entry> tupleUpdates = new HashMap<EntityKey, Entry>();
+
+	private final Map<AssociationKey, Entry> associationUpdates = new HashMap<AssociationKey, Entry>();
+
+	private final Set<EntityKey> newEntityKeys = new HashSet<EntityKey>();
+
+	private final Map<AssociationKey, Association> associations = new HashMap<AssociationKey, Association>();
+	private int size = 0;
+
+	// the number of association updates among the queued operations
+	private int associationUpdatesSize = 0;
 
-	private final Set<EntityKey> entityKeys = new HashSet<EntityKey>();
+	private int addedOperations = 0;
+
+	private int eliminatedOperations = 0;
 
 	private boolean closed = false;
 
 	public void add(UpdateTupleOperation operation) {
 		validate();
-		entityKeys.add( operation.getEntityKey() );
-		addOperation( operation );
+		log.debug( "Add batched operation " + operation );
+		addedOperations++;
+
+		Entry pending = tupleUpdates.get( operation.getEntityKey() );
+		if ( pending != null ) {
+			merge( ( (UpdateTupleOperation) pending.operation ).getTuple(), operation.getTuple() );
+			eliminatedOperations++;
+		}
+		else {
+			tupleUpdates.put( operation.getEntityKey(), append( operation, table( operation.getEntityKey() ), operation.getEntityKey() ) );
+		}
 	}
 
 	public void add(Operation operation) {
+		if ( operation instanceof UpdateTupleOperation ) {
+			add( (UpdateTupleOperation) operation );
+			return;
+		}
+
 		validate();
-		addOperation( operation );
+		log.debug( "Add batched operation " + operation );
+		addedOperations++;
+
+		if ( operation instanceof RemoveTupleOperation ) {
+			addRemoveTuple( (RemoveTupleOperation) operation );
+		}
+		else if ( operation instanceof UpdateAssociationOperation ) {
+			addUpdateAssociation( (UpdateAssociationOperation) operation );
+		}
+		else if ( operation instanceof RemoveAssociationOperation ) {
+			addRemoveAssociation( (RemoveAssociationOperation) operation );
+		}
+		else {
+			append( operation, null, operation );
+		}
+	}
+
+	private void addRemoveTuple(RemoveTupleOperation operation) {
+		EntityKey key = operation.getEntityKey();
+		Entry pending = tupleUpdates.remove( key );
+		if ( pending != null ) {
+			discard( pending );
+			if ( newEntityKeys.remove( key ) ) {
+				// the entity has never been written to the datastore, so there is nothing to remove
+				eliminatedOperations++;
+				return;
+			}
+		}
+		append( operation, table( key ), key );
+	}
+
+	private void addUpdateAssociation(UpdateAssociationOperation operation) {
+		AssociationKey key = operation.getAssociationKey();
+		Entry pending = associationUpdates.get( key );
+		// the pending operation will apply all the changes made to the same association object
+		if ( pending != null && ( (UpdateAssociationOperation) pending.operation ).getAssociation() == operation.getAssociation() ) {
+			eliminatedOperations++;
+		}
+		else {
+			// several association objects for one key may be pending, so the operation itself is used as key
+			associationUpdates.put( key, append( operation, role( key ), operation ) );
+		}
+	}
+
+	private void addRemoveAssociation(RemoveAssociationOperation operation) {
+		AssociationKey key = operation.getAssociationKey();
+		associations.remove( key );
+		Entry pending = associationUpdates.remove( key );
+		if ( pending != null ) {
+			discard( pending );
+		}
+		append( operation, role( key ), key );
+	}
+
+	/**
+	 * Applies the changes of the given tuple onto the tuple of a pending update.
+	 */
+	private void merge(Tuple pendingTuple, Tuple tuple) {
+		if ( pendingTuple == null || tuple == null || pendingTuple == tuple ) {
+			return;
+		}
+		for ( TupleOperation operation : tuple.getOperations() ) {
+			switch ( operation.getType() ) {
+				case PUT:
+					pendingTuple.put( operation.getColumn(), operation.getValue() );
+					break;
+				case PUT_NULL:
+					pendingTuple.put( operation.getColumn(), null );
+					break;
+				case REMOVE:
+					pendingTuple.remove( operation.getColumn() );
+					break;
+			}
+		}
+	}
+
+	private Entry append(Operation operation, String group, Object key) {
+		Segment segment = segments.peekLast();
+		if ( segment == null || segment.type != operation.getClass() ) {
+			segment = new Segment( operation.getClass() );
+			segments.add( segment );
+		}
+
+		Entry entry = new Entry( operation, segment, group, key );
+		if ( segment.add( entry ) ) {
+			size++;
+			if ( operation instanceof UpdateAssociationOperation ) {
+				associationUpdatesSize++;
+			}
+		}
+		else {
+			// the same element is already going to be removed
+			eliminatedOperations++;
+		}
+		return entry;
+	}
+
+	private void discard(Entry entry) {
+		entry.segment.remove( entry );
+		size--;
+		if ( entry.operation instanceof UpdateAssociationOperation ) {
+			associationUpdatesSize--;
+		}
+		eliminatedOperations++;
+	}
+
+	private static String table(EntityKey key) {
+		return key != null ? key.getTable() : null;
+	}
+
+	private static String role(AssociationKey key) {
+		return key != null ? key.getCollectionRole() : null;
 	}
 
 	private void validate() {
@@ -75,21 +239,103 @@ private void validate() {
 		}
 	}
 
-	private void addOperation(Operation operation) {
-		log.debug( "Add batched operation " + operation );
-		operations.add( operation );
+	/**
+	 * Marks the entity with the given key as created within the unit of work represented by this queue, i.e. it
+	 * doesn't exist in the datastore unless an update of it has been polled from this queue.
+	 *
+	 * @param key the {@link EntityKey} of the new entity
+	 */
+	public void markAsNew(EntityKey key) {
+		validate();
+		newEntityKeys.add( key );
+	}
+
+	/**
+	 * Registers the association object read or created for the given key within the unit of work represented by this
+	 * queue, so it can be shared by all the changes applied to that association.
+	 *
+	 * @param key the {@link AssociationKey} of the association
+	 * @param association the association object
+	 */
+	public void putAssociation(AssociationKey key, Association association) {
+		validate();
+		associations.put( key, association );
+	}
+
+	/**
+	 * @param key the {@link AssociationKey} of the association
+	 * @return the association object registered for the given key, {@code null} if there is none or if a
+	 * {@link RemoveAssociationOperation} has been added for the key since its registration
+	 */
+	public Association getAssociation(AssociationKey key) {
+		return associations.get( key );
 	}
 
 	public Operation poll() {
 		validate();
-		Operation operation = operations.poll();
-		entityKeys.remove( operation );
-		return operation;
+		while ( !segments.isEmpty() ) {
+			Operation operation = segments.getFirst().poll();
+			if ( operation != null ) {
+				size--;
+				if ( operation instanceof UpdateTupleOperation ) {
+					EntityKey key = ( (UpdateTupleOperation) operation ).getEntityKey();
+					tupleUpdates.remove( key );
+					newEntityKeys.remove( key );
+				}
+				else if ( operation instanceof UpdateAssociationOperation ) {
+					associationUpdatesSize--;
+					AssociationKey key = ( (UpdateAssociationOperation) operation ).getAssociationKey();
+					Entry pending = associationUpdates.get( key );
+					if ( pending != null && pending.operation == operation ) {
+						associationUpdates.remove( key );
+					}
+				}
+				return operation;
+			}
+			segments.removeFirst();
+		}
+		return null;
+	}
+
+	/**
+	 * Moves the queued operations to a new queue, so they can be executed while the unit of work represented by this
+	 * queue goes on.
+	 * <p>
+	 * The updates of associations are not moved: the association objects are shared by the whole unit of work (see
+	 * {@link #putAssociation(AssociationKey, Association)}) and may still be changed, so each of them is written once,
+	 * when this queue is eventually executed. The entities marked as new remain marked unless their update is moved.
+	 *
+	 * @return a queue with the operations moved out of this queue
+	 */
+	public OperationsQueue drain() {
+		validate();
+		OperationsQueue drained = new OperationsQueue();
+		List<UpdateAssociationOperation> associationUpdatesToKeep = new ArrayList<UpdateAssociationOperation>( associationUpdatesSize );
+		Operation operation = poll();
+		while ( operation != null ) {
+			if ( operation instanceof UpdateAssociationOperation ) {
+				associationUpdatesToKeep.add( (UpdateAssociationOperation) operation );
+			}
+			else {
+				drained.add( operation );
+			}
+			operation = poll();
+		}
+		for ( UpdateAssociationOperation update : associationUpdatesToKeep ) {
+			AssociationKey key = update.getAssociationKey();
+			associationUpdates.put( key, append( update, role( key ), update ) );
+		}
+		return drained;
 	}
 
 	public void close() {
-		entityKeys.clear();
-		operations.clear();
+		segments.clear();
+		tupleUpdates.clear();
+		associationUpdates.clear();
+		newEntityKeys.clear();
+		associations.clear();
+		size = 0;
+		associationUpdatesSize = 0;
 		closed = true;
 	}
 
@@ -97,19 +343,129 @@ public boolean isClosed() {
 		return closed;
 	}
 
+	/**
+	 * Returns the operations of this queue in the order they will be polled, without removing them.
+	 *
+	 * @return the pending operations; empty if the queue is closed
+	 */
+	public List<Operation> getOperations() {
+		List<Operation> operations = new ArrayList<Operation>( size );
+		for ( Segment segment : segments ) {
+			for ( Map<Object, Operation> group : segment.groups.values() ) {
+				operations.addAll( group.values() );
+			}
+		}
+		return operations;
+	}
+
 	/**
 	 * @param key the {@link EntityKey} that identify the element
 	 * @return true if an {@link UpdateTupleOperation} is bound to the key, false otherwise
 	 */
 	public boolean contains(EntityKey key) {
-		return entityKeys.contains( key );
+		return tupleUpdates.containsKey( key );
 	}
 
 	/**
 	 * @return the length of the queue
 	 */
 	public int size() {
-		return operations.size();
+		return size;
 	}
 
+	/**
+	 * @return the number of queued operations which would be moved by {@link #drain()}
+	 */
+	public int getDrainableSize() {
+		return size - associationUpdatesSize;
+	}
+
+	/**
+	 * @return the number of operations added to this queue since its creation
+	 */
+	public int getAddedOperations() {
+		return addedOperations;
+	}
+
+	/**
+	 * @return the number of operations added to this queue which have been merged with or cancelled out by other
+	 * operations
+	 */
+	public int getEliminatedOperations() {
+		return eliminatedOperations;
+	}
+
+	/**
+	 * An operation in the queue together with its location.
+	 */
+	private static class Entry {
+
+		private final Operation operation;
+		private final Segment segment;
+		private final String group;
+		private final Object key;
+
+		private Entry(Operation operation, Segment segment, String group, Object key) {
+			this.operation = operation;
+			this.segment = segment;
+			this.group = group;
+			this.key = key;
+		}
+	}
+
+	/**
+	 * Consecutive operations of one type, grouped by table or collection role in order of their first occurrence.
+	 */
+	private static class Segment {
+
+		private final Class<?> type;
+		private final Map<String, Map<Object, Operation>> groups = new LinkedHashMap<String, Map<Object, Operation>>();
+
+		private Segment(Class<?> type) {
+			this.type = type;
+		}
+
+		/**
+		 * @return {@code false} if an operation on the same element is already contained in the group
+		 */
+		private boolean add(Entry entry) {
+			Map<Object, Operation> group = groups.get( entry.group );
+			if ( group == null ) {
+				group = new LinkedHashMap<Object, Operation>();
+				groups.put( entry.group, group );
+			}
+			else if ( group.containsKey( entry.key ) ) {
+				return false;
+			}
+			group.put( entry.key, entry.operation );
+			return true;
+		}
+
+		private void remove(Entry entry) {
+			Map<Object, Operation> group = groups.get( entry.group );
+			if ( group != null && group.get( entry.key ) == entry.operation ) {
+				group.remove( entry.key );
+				if ( group.isEmpty() ) {
+					groups.remove( entry.group );
+				}
+			}
+		}
+
+		private Operation poll() {
+			Iterator<Map<Object, Operation>> groupIterator = groups.values().iterator();
+			while ( groupIterator.hasNext() ) {
+				Iterator<Operation> operations = groupIterator.next().values().iterator();
+				if ( operations.hasNext() ) {
+					Operation operation = operations.next();
+					operations.remove();
+					if ( !operations.hasNext() ) {
+						groupIterator.remove();
+					}
+					return operation;
+				}
+				groupIterator.remove();
+			}
+			return null;
+		}
+	}
 }
@@ -21,23 +21,32 @@
 package org.hibernate.ogm.dialect.impl;
 
 import java.lang.reflect.Constructor;
+import java.util.Iterator;
 
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.EventType;
+import org.hibernate.mapping.PersistentClass;
 import org.hibernate.metamodel.source.MetadataImplementor;
 import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.impl.EntityOptionsContext;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.BatchOperationsDelegator;
+import org.hibernate.ogm.dialect.BatchableCachingGridDialect;
 import org.hibernate.ogm.dialect.BatchableGridDialect;
+import org.hibernate.ogm.dialect.CachingGridDialect;
 import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.dialect.GridDialectLogger;
+import org.hibernate.ogm.options.cache.impl.NearCacheOption;
+import org.hibernate.ogm.options.spi.OptionsService;
+import org.hibernate.ogm.options.spi.OptionsService.OptionsServiceContext;
 import org.hibernate.ogm.service.impl.AutoFlushBatchManagerEventListener;
 import org.hibernate.ogm.service.impl.FlushBatchManagerEventListener;
 import org.hibernate.ogm.util.configurationreader.impl.ConfigurationPropertyReader;
 import org.hibernate.ogm.util.configurationreader.impl.Instantiator;
+import org.hibernate.ogm.util.configurationreader.impl.Validators;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
@@ -66,14 +75,36 @@ public GridDialect initiateService(SessionFactoryImplementor sessionFactory, Con
 		DatastoreProvider datastore = registry.getService( DatastoreProvider.class );
 		ConfigurationPropertyReader propertyReader = new ConfigurationPropertyReader( configuration );
 
+		int maxQueuedOperations = propertyReader.property( OgmProperties.MAX_QUEUED_OPERATIONS, int.class )
+				.withDefault( 0 )
+				.withValidator( Validators.MAX_QUEUED_OPERATIONS )
+				.getValue();
+
 		return propertyReader.property( OgmProperties.GRID_DIALECT, GridDialect.class )
 				.instantiate()
 				.withClassLoaderService( registry.getService( ClassLoaderService.class ) )
 				.withDefaultImplementation( registry.getService( DatastoreProvider.class ).getDefaultDialect() )
-				.withInstantiator( new GridDialectInstantiator( datastore, registry.getService( EventListenerRegistry.class ) ) )
+				.withInstantiator( new GridDialectInstantiator( datastore, registry.getService( EventListenerRegistry.class ), maxQueuedOperations,
+						isNearCacheConfigured( configuration, registry ) ) )
 				.getValue();
 	}
 
+	/**
+	 * Whether a near cache is configured for at least one of the mapped entities, either on the entity itself or
+	 * globally.
+	 */
+	private static boolean isNearCacheConfigured(Configuration configuration, ServiceRegistryImplementor registry) {
+		OptionsServiceContext options = registry.getService( OptionsService.class ).context();
+		Iterator<PersistentClass> classMappings = configuration.getClassMappings();
+		while ( classMappings.hasNext() ) {
+			Class<?> mappedClass = classMappings.next().getMappedClass();
+			if ( mappedClass != null && new EntityOptionsContext( options, mappedClass ).getUnique( NearCacheOption.class ) != null ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public GridDialect initiateService(SessionFactoryImplementor sessionFactory, MetadataImplementor metadata, ServiceRegistryImplementor registry) {
 		throw new UnsupportedOperationException( "Cannot create " + GridDialect.class.getName() + " service using metadata" );
@@ -83,10 +114,14 @@ private static class GridDialectInstantiator implements Instantiator<GridDialect
 
 		private final DatastoreProvider datastore;
 		private EventListenerRegistry eventListenerRegistry;
+		private final int maxQueuedOperations;
+		private final boolean nearCache;
 
-		public GridDialectInstantiator(DatastoreProvider datastore, EventListenerRegistry eventListenerRegistry) {
+		public GridDialectInstantiator(DatastoreProvider datastore, EventListenerRegistry eventListenerRegistry, int maxQueuedOperations, boolean nearCache) {
 			this.datastore = datastore;
 			this.eventListenerRegistry = eventListenerRegistry;
+			this.maxQueuedOperations = maxQueuedOperations;
+			this.nearCache = nearCache;
 		}
 
 		@Override
@@ -108,8 +143,19 @@ public GridDialect newInstance(Class<? extends GridDialect> clazz) {
 				}
 				GridDialect gridDialect = (GridDialect) injector.newInstance( datastore );
 
+				// the cache has to see the operations actually executed against the datastore, so it comes before batching
+				if ( nearCache ) {
+					if ( gridDialect instanceof BatchableGridDialect ) {
+						gridDialect = new BatchableCachingGridDialect( (BatchableGridDialect) gridDialect );
+					}
+					else {
+						gridDialect = new CachingGridDialect( gridDialect );
+					}
+					log.info( "Near cache is active" );
+				}
+
 				if ( gridDialect instanceof BatchableGridDialect ) {
-					BatchOperationsDelegator delegator = new BatchOperationsDelegator( (BatchableGridDialect) gridDialect );
+					BatchOperationsDelegator delegator = new BatchOperationsDelegator( (BatchableGridDialect) gridDialect, maxQueuedOperations );
 					addListeners( delegator );
 					gridDialect = delegator;
 				}
@@ -0,0 +1,195 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.BatchOperationsDelegator;
+import org.hibernate.ogm.dialect.CachingGridDialect;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.GridDialectLogger;
+import org.hibernate.ogm.dialect.PartitionableGridDialect;
+import org.hibernate.ogm.dialect.TuplePartition;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.massindex.batchindexing.Consumer;
+
+/**
+ * Helper methods shared by {@link GridDialect} implementations.
+ */
+public class GridDialects {
+
+	private GridDialects() {
+	}
+
+	/**
+	 * Returns the given dialect or the dialect of the given type wrapped by it, looking through the wrappers applied
+	 * when the grid dialect service is initiated (e.g. {@link GridDialectLogger}).
+	 *
+	 * @param gridDialect the grid dialect service
+	 * @param type the type of the dialect of interest
+	 * @return the dialect of the given type or {@code null} if there is none
+	 */
+	public static <T extends GridDialect> T getDialectOfType(GridDialect gridDialect, Class<T> type) {
+		GridDialect current = gridDialect;
+		while ( current != null ) {
+			if ( type.isInstance( current ) ) {
+				return type.cast( current );
+			}
+			else if ( current instanceof GridDialectLogger ) {
+				current = ( (GridDialectLogger) current ).getGridDialect();
+			}
+			else if ( current instanceof BatchOperationsDelegator ) {
+				current = ( (BatchOperationsDelegator) current ).getGridDialect();
+			}
+			else if ( current instanceof CachingGridDialect ) {
+				current = ( (CachingGridDialect) current ).getGridDialect();
+			}
+			else {
+				current = null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Fetches the tuples with the given keys by invoking {@link GridDialect#getTuple(EntityKey, TupleContext)} for each
+	 * key. Meant to be used by dialects for stores which don't provide a native operation for fetching several
+	 * entries in one go.
+	 *
+	 * @param gridDialect the dialect to fetch the tuples from
+	 * @param keys the keys of the tuples to fetch
+	 * @param tupleContext the context of the tuples to fetch
+	 * @return a list with the tuples, in the order of the given keys; {@code null} for keys without tuple
+	 */
+	public static List<Tuple> getTuplesOneByOne(GridDialect gridDialect, EntityKey[] keys, TupleContext tupleContext) {
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( EntityKey key : keys ) {
+			tuples.add( gridDialect.getTuple( key, tupleContext ) );
+		}
+		return tuples;
+	}
+
+	/**
+	 * Fetches the associations with the given keys by invoking
+	 * {@link GridDialect#getAssociation(AssociationKey, AssociationContext)} for each key.
+	 *
+	 * @param gridDialect the dialect to fetch the associations from
+	 * @param keys the keys of the associations to fetch
+	 * @param associationContext the context of the associations to fetch
+	 * @return a list with the associations, in the order of the given keys; {@code null} for keys without association
+	 */
+	public static List<Association> getAssociationsOneByOne(GridDialect gridDialect, AssociationKey[] keys, AssociationContext associationContext) {
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( AssociationKey key : keys ) {
+			associations.add( gridDialect.getAssociation( key, associationContext ) );
+		}
+		return associations;
+	}
+
+	/**
+	 * Splits the tuples of the given entities using {@link PartitionableGridDialect#partitionTuples(int, EntityKeyMetadata...)}
+	 * if the dialect supports it; returns a single partition scanning all the tuples with
+	 * {@link GridDialect#forEachTuple(Consumer, EntityKeyMetadata...)} otherwise.
+	 *
+	 * @param gridDialect the dialect to scan the tuples from
+	 * @param partitions the number of partitions the tuples of each entity should be split into
+	 * @param entityKeyMetadatas the key metadata of the entities whose tuples should be scanned
+	 * @return the partitions of the tuples
+	 */
+	public static List<TuplePartition> partitionTuples(GridDialect gridDialect, int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		if ( gridDialect instanceof PartitionableGridDialect ) {
+			return ( (PartitionableGridDialect) gridDialect ).partitionTuples( partitions, entityKeyMetadatas );
+		}
+		return Collections.<TuplePartition>singletonList( new AllTuplesPartition( gridDialect, entityKeyMetadatas ) );
+	}
+
+	/**
+	 * Re-creates partitions from their cursors using {@link PartitionableGridDialect#resumePartitions(List, EntityKeyMetadata...)},
+	 * except for the cursor returned by the single partition created by
+	 * {@link #partitionTuples(GridDialect, int, EntityKeyMetadata...)} for a dialect which does not support partitions.
+	 *
+	 * @param gridDialect the dialect to scan the tuples from
+	 * @param cursors the cursors on the tuples to scan
+	 * @param entityKeyMetadatas the key metadata of the entities whose tuples should be scanned
+	 * @return the partitions scanning the tuples of the cursors, in the order of the cursors
+	 */
+	public static List<TuplePartition> resumePartitions(GridDialect gridDialect, List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas) {
+		List<Serializable> dialectCursors = new ArrayList<Serializable>( cursors.size() );
+		for ( Serializable cursor : cursors ) {
+			if ( !( cursor instanceof AllTuplesCursor ) ) {
+				dialectCursors.add( cursor );
+			}
+		}
+		Iterator<TuplePartition> resumed = dialectCursors.isEmpty()
+				? Collections.<TuplePartition>emptyList().iterator()
+				: ( (PartitionableGridDialect) gridDialect ).resumePartitions( dialectCursors, entityKeyMetadatas ).iterator();
+
+		List<TuplePartition> partitions = new ArrayList<TuplePartition>( cursors.size() );
+		for ( Serializable cursor : cursors ) {
+			partitions.add( cursor instanceof AllTuplesCursor ? new AllTuplesPartition( gridDialect, entityKeyMetadatas ) : resumed.next() );
+		}
+		return partitions;
+	}
+
+	/**
+	 * Scans all the tuples with {@link GridDialect#forEachTuple(Consumer, EntityKeyMetadata...)}; as this can't start
+	 * after a given tuple, a scan is always resumed from the beginning.
+	 */
+	private static class AllTuplesPartition implements TuplePartition {
+
+		private final GridDialect gridDialect;
+		private final EntityKeyMetadata[] entityKeyMetadatas;
+
+		public AllTuplesPartition(GridDialect gridDialect, EntityKeyMetadata[] entityKeyMetadatas) {
+			this.gridDialect = gridDialect;
+			this.entityKeyMetadatas = entityKeyMetadatas;
+		}
+
+		@Override
+		public void forEachTuple(Consumer consumer) {
+			gridDialect.forEachTuple( consumer, entityKeyMetadatas );
+		}
+
+		@Override
+		public Serializable getCursor() {
+			return new AllTuplesCursor();
+		}
+
+		@Override
+		public Serializable getCursorAfter(Tuple tuple) {
+			return getCursor();
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class AllTuplesCursor implements Serializable {
+	}
+}
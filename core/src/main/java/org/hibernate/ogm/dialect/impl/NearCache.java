@@ -0,0 +1,191 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.impl;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap.Eviction;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap.EvictionListener;
+import org.hibernate.ogm.dialect.NearCacheStatistics;
+import org.hibernate.ogm.options.cache.impl.NearCacheConfiguration;
+
+/**
+ * A bounded cache of the snapshots of the tuples and associations of one table.
+ * <p>
+ * Elements are evicted in LRU order once the maximum number of entries is reached. In order to never keep a snapshot
+ * read before a concurrent write, every invalidation increments the version of the cache and an element is only added
+ * if the version did not change since the read of its snapshot began.
+ */
+public class NearCache implements NearCacheStatistics {
+
+	private static final int CONCURRENCY_LEVEL = 16;
+
+	private final long timeToLive;
+	private final BoundedConcurrentHashMap<Object, CachedElement> elements;
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+	private final AtomicLong invalidationCount = new AtomicLong();
+
+	public NearCache(NearCacheConfiguration configuration) {
+		this.timeToLive = configuration.getTimeToLive();
+		this.elements = new BoundedConcurrentHashMap<Object, CachedElement>( configuration.getMaxEntries(), CONCURRENCY_LEVEL, Eviction.LRU,
+				new EvictionCounter() );
+	}
+
+	/**
+	 * Returns the cached snapshot of the element with the given key.
+	 *
+	 * @param key the key of the element
+	 * @param discriminator describes the shape of the snapshot (e.g. the selected columns); the cached snapshot is only
+	 * returned if it has been read with an equal discriminator. May be {@code null}
+	 * @return the cached snapshot or {@code null} if it must be read from the datastore
+	 */
+	public Object get(Object key, Object discriminator) {
+		CachedElement element = elements.get( key );
+		if ( element != null ) {
+			if ( element.isExpired() ) {
+				if ( elements.remove( key, element ) ) {
+					evictionCount.incrementAndGet();
+				}
+			}
+			else if ( element.matches( discriminator ) ) {
+				hitCount.incrementAndGet();
+				return element.snapshot;
+			}
+		}
+		missCount.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Returns the current version of the cache, to be passed to {@link #put(Object, Object, Object, long)} once the
+	 * snapshot of an element has been read.
+	 *
+	 * @return the current version of the cache
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Adds the snapshot of an element to the cache, unless an element has been invalidated since the given version has
+	 * been obtained.
+	 *
+	 * @param key the key of the element
+	 * @param discriminator describes the shape of the snapshot; may be {@code null}
+	 * @param snapshot the snapshot to cache
+	 * @param readVersion the version of the cache before the snapshot has been read
+	 */
+	public void put(Object key, Object discriminator, Object snapshot, long readVersion) {
+		if ( version.get() == readVersion ) {
+			CachedElement element = new CachedElement( snapshot, discriminator, expiryTime() );
+			elements.put( key, element );
+			// an invalidation may have happened in between
+			if ( version.get() != readVersion ) {
+				elements.remove( key, element );
+			}
+		}
+	}
+
+	/**
+	 * Removes the element with the given key from the cache.
+	 *
+	 * @param key the key of the element which has been or is about to be written
+	 */
+	public void invalidate(Object key) {
+		version.incrementAndGet();
+		if ( elements.remove( key ) != null ) {
+			invalidationCount.incrementAndGet();
+		}
+	}
+
+	private long expiryTime() {
+		return timeToLive > 0 ? System.currentTimeMillis() + timeToLive : Long.MAX_VALUE;
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	@Override
+	public long getInvalidationCount() {
+		return invalidationCount.get();
+	}
+
+	@Override
+	public int getSize() {
+		return elements.size();
+	}
+
+	@Override
+	public String toString() {
+		return "NearCache [size=" + getSize() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount()
+				+ ", invalidations=" + getInvalidationCount() + "]";
+	}
+
+	private static class CachedElement {
+
+		private final Object snapshot;
+		private final Object discriminator;
+		private final long expiryTime;
+
+		private CachedElement(Object snapshot, Object discriminator, long expiryTime) {
+			this.snapshot = snapshot;
+			this.discriminator = discriminator;
+			this.expiryTime = expiryTime;
+		}
+
+		private boolean isExpired() {
+			return expiryTime != Long.MAX_VALUE && System.currentTimeMillis() >= expiryTime;
+		}
+
+		private boolean matches(Object otherDiscriminator) {
+			return discriminator == null ? otherDiscriminator == null : discriminator.equals( otherDiscriminator );
+		}
+	}
+
+	private class EvictionCounter implements EvictionListener<Object, CachedElement> {
+
+		@Override
+		public void onEntryEviction(Map<Object, CachedElement> evicted) {
+			evictionCount.addAndGet( evicted.size() );
+		}
+
+		@Override
+		public void onEntryChosenForEviction(CachedElement element) {
+		}
+	}
+}
@@ -24,28 +24,43 @@
 
 /**
  *A key representing an association row or identifier sequence.
+ * <p>
+ * The table and the column names are kept in a {@link RowKeyMetadata}; keys created with
+ * {@link #RowKey(RowKeyMetadata, Object[])} share the given instance. The value of a single-column key is kept as is
+ * rather than wrapped in an array.
  *
  * @author Emmanuel Bernard
  */
 public final class RowKey implements Key {
 
-	private final String table;
-	private final String[] columnNames;
+	private final RowKeyMetadata metadata;
 	//column value types do have to be serializable so RowKey can be serializable
 	//should it be a Serializable[] type? It seems to be more pain than anything else
-	private final Object[] columnValues;
+	//the value itself for single-column keys, the Object[] of the values otherwise
+	private final Object columnValues;
 	private final int hashCode;
 
 	public RowKey(String table, String[] columnNames, Object[] columnValues) {
-		this.table = table;
-		this.columnNames = columnNames;
-		this.columnValues = columnValues;
+		this( new RowKeyMetadata( table, columnNames ), columnValues );
+	}
+
+	public RowKey(RowKeyMetadata metadata, Object[] columnValues) {
+		this.metadata = metadata;
+		this.columnValues = isSingleColumn( metadata ) ? columnValues[0] : columnValues;
 		this.hashCode = generateHashCode();
 	}
 
+	private static boolean isSingleColumn(RowKeyMetadata metadata) {
+		return metadata.getColumnNames() != null && metadata.getColumnNames().length == 1;
+	}
+
+	public RowKeyMetadata getMetadata() {
+		return metadata;
+	}
+
 	@Override
 	public String getTable() {
-		return table;
+		return metadata.getTable();
 	}
 
 	/**
@@ -55,17 +70,22 @@ public String getTable() {
 	 */
 	@Override
 	public String[] getColumnNames() {
-		return columnNames;
+		return metadata.getColumnNames();
 	}
 
 	/**
 	 * This class should be treated as immutable. While we expose this array,
 	 * you should never make changes to it!
 	 * This is a design tradeoff vs. raw performance and memory usage.
+	 * <p>
+	 * A new array is returned for single-column keys.
 	 */
 	@Override
 	public Object[] getColumnValues() {
-		return columnValues;
+		if ( isSingleColumn( metadata ) ) {
+			return new Object[] { columnValues };
+		}
+		return (Object[]) columnValues;
 	}
 
 	@Override
@@ -79,19 +99,17 @@ public boolean equals(Object o) {
 
 		RowKey that = (RowKey) o;
 
-		if ( !table.equals( that.table ) ) {
+		// metadata instances are shared, comparing them is cheap most of the time
+		if ( metadata != that.metadata && !metadata.equals( that.metadata ) ) {
 			return false;
 		}
 
-		// Probably incorrect - comparing Object[] arrays with Arrays.equals
-		if ( !Arrays.equals( columnValues, that.columnValues ) ) {
-			return false;
-		}
-		if ( !Arrays.equals( columnNames, that.columnNames ) ) {
-			return false;
+		if ( isSingleColumn( metadata ) ) {
+			return columnValues == null ? that.columnValues == null : columnValues.equals( that.columnValues );
 		}
 
-		return true;
+		// Probably incorrect - comparing Object[] arrays with Arrays.equals
+		return Arrays.equals( (Object[]) columnValues, (Object[]) that.columnValues );
 	}
 
 	@Override
@@ -100,18 +118,23 @@ public int hashCode() {
 	}
 
 	private int generateHashCode() {
-		final int result = table.hashCode();
-		return 31 * result + Arrays.hashCode( columnValues );
+		final int result = metadata.hashCode();
+		if ( isSingleColumn( metadata ) ) {
+			// same as Arrays.hashCode() on the single element array
+			return 31 * result + 31 + ( columnValues == null ? 0 : columnValues.hashCode() );
+		}
+		return 31 * result + Arrays.hashCode( (Object[]) columnValues );
 	}
 
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder();
+		String[] columnNames = metadata.getColumnNames();
 		sb.append( "RowKey" );
-		sb.append( "{table='" ).append( table ).append( '\'' );
+		sb.append( "{table='" ).append( metadata.getTable() ).append( '\'' );
 		sb.append( ", columnNames=" ).append( columnNames == null ? "null" : Arrays.asList( columnNames ).toString() );
-		sb.append( ", columnValues=" )
-				.append( columnValues == null ? "null" : Arrays.asList( columnValues ).toString() );
+		Object[] values = getColumnValues();
+		sb.append( ", columnValues=" ).append( values == null ? "null" : Arrays.asList( values ).toString() );
 		sb.append( '}' );
 		return sb.toString();
 	}
@@ -26,6 +26,7 @@
 
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.grid.RowKeyMetadata;
 
 /**
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
@@ -34,6 +35,7 @@ public class RowKeyBuilder {
 	private List<String> columnNames = new ArrayList<String>();
 	private Map<String,Object> values;
 	private String tableName;
+	private RowKeyMetadata metadata;
 	private Tuple tuple;
 
 	public RowKeyBuilder addColumns(String... columns) {
@@ -53,8 +55,16 @@ public RowKeyBuilder tableName(String tableName) {
 		return this;
 	}
 
+	/**
+	 * Sets the table and the columns of the keys from metadata shared by all of them.
+	 */
+	public RowKeyBuilder metadata(RowKeyMetadata metadata) {
+		this.metadata = metadata;
+		return this;
+	}
+
 	public RowKey build() {
-		final String[] columnNamesArray = columnNames.toArray( new String[columnNames.size()] );
+		final String[] columnNamesArray = metadata != null ? metadata.getColumnNames() : columnNames.toArray( new String[columnNames.size()] );
 		final int length = columnNamesArray.length;
 		Object[] columnValuesArray = new Object[length];
 		if (values != null) {
@@ -67,6 +77,9 @@ public RowKey build() {
 				columnValuesArray[index] = tuple.get( columnNamesArray[index] );
 			}
 		}
+		if ( metadata != null ) {
+			return new RowKey( metadata, columnValuesArray );
+		}
 		return new RowKey( tableName, columnNamesArray, columnValuesArray );
 	}
 
@@ -33,6 +33,7 @@
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.engine.query.spi.ParameterMetadata;
+import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.internal.AbstractQueryImpl;
 import org.hibernate.ogm.exception.NotSupportedException;
 import org.hibernate.ogm.service.impl.QueryParserService;
@@ -86,7 +87,27 @@ public List list() throws HibernateException {
 	 */
 	private Query getExecutingQuery() {
 		Map<String,Object> namedParameters = toUntypedParameters();
-		return queryParserService.getParsedQueryExecutor( session, getQueryString(), namedParameters );
+		Query executingQuery = queryParserService.getParsedQueryExecutor( session, getQueryString(), namedParameters );
+		applySelection( executingQuery );
+		return executingQuery;
+	}
+
+	/**
+	 * Passes the first result, maximum results and fetch size of this query on to the executing query, so they can be
+	 * applied by the datastore instead of being applied to the complete result.
+	 */
+	private void applySelection(Query executingQuery) {
+		RowSelection selection = getRowSelection();
+
+		if ( selection.getFirstRow() != null ) {
+			executingQuery.setFirstResult( selection.getFirstRow() );
+		}
+		if ( selection.getMaxRows() != null ) {
+			executingQuery.setMaxResults( selection.getMaxRows() );
+		}
+		if ( selection.getFetchSize() != null ) {
+			executingQuery.setFetchSize( selection.getFetchSize() );
+		}
 	}
 
 	/**
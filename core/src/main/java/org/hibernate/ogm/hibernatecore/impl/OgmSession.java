@@ -92,6 +92,16 @@ public OgmSession(OgmSessionFactory factory, EventSource delegate) {
 		this.factory = factory;
 	}
 
+	/**
+	 * Returns the session wrapped by this session. Entities and collections loaded by OGM directly rather than through
+	 * the event system must be associated with it.
+	 *
+	 * @return the wrapped session
+	 */
+	public EventSource getDelegate() {
+		return delegate;
+	}
+
 	//Overridden methods
 	@Override
 	public SessionFactoryImplementor getFactory() {
@@ -135,9 +145,8 @@ public Query createQuery(String queryString) throws HibernateException {
 		// I think we have the same details in our AST already, but I keep this for now to not
 		// diverge too much from ORM code.
 		try {
-			HQLQueryPlan plan = new HQLQueryPlan( queryString, false, enabledFilters, factory );
+			HQLQueryPlan plan = factory.getQueryPlanCache().getHQLQueryPlan( queryString, false, enabledFilters );
 			ParameterMetadata parameterMetadata = plan.getParameterMetadata();
-			//TODO make sure the HQLQueryPlan et al are cached at some level
 			OgmQuery query = new OgmQuery( queryString, getFlushMode(), this, parameterMetadata, getQueryParserService() );
 			query.setComment( queryString );
 			return query;
@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.id.impl;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+
+/**
+ * A pooled {@link Optimizer} handing out the values of the block reserved last without any locking.
+ * <p>
+ * Each value obtained from the datastore reserves a block of {@code incrementSize} values, the value itself being the
+ * upper bound of the block. This is the interpretation of Hibernate ORM's pooled optimizer, so both can be used for
+ * the same generator row. The initial value of a row is the only exception: it is handed out on its own, so that, in
+ * contrast to the ORM optimizer, no second call to the datastore is needed when the row is created.
+ * <p>
+ * Threads only synchronize on this optimizer when the current block is exhausted and the next one needs to be
+ * reserved.
+ */
+public class ConcurrentPooledOptimizer implements Optimizer {
+
+	private final Class<?> returnClass;
+	private final int incrementSize;
+	private final long initialValue;
+
+	private volatile Block block = new Block( 1, 0 );
+	private volatile IntegralDataTypeHolder lastSourceValue;
+
+	/**
+	 * @param returnClass the type of the generated identifiers
+	 * @param incrementSize the number of values reserved with each call to the datastore
+	 * @param initialValue the value a generator row is created with
+	 */
+	public ConcurrentPooledOptimizer(Class<?> returnClass, int incrementSize, long initialValue) {
+		this.returnClass = returnClass;
+		this.incrementSize = incrementSize;
+		this.initialValue = initialValue;
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		while ( true ) {
+			Block current = block;
+			long value = current.next();
+			if ( value <= current.upperBound ) {
+				return (Serializable) IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( value ).makeValue();
+			}
+			reserveBlock( current, callback );
+		}
+	}
+
+	/**
+	 * Reserves the next block unless another thread did so since the given block has been found to be exhausted.
+	 */
+	private synchronized void reserveBlock(Block exhausted, AccessCallback callback) {
+		if ( block == exhausted ) {
+			IntegralDataTypeHolder sourceValue = callback.getNextValue();
+			long upperBound = sourceValue.makeValue().longValue();
+			long lowerBound = upperBound == initialValue ? upperBound : upperBound - incrementSize + 1;
+
+			lastSourceValue = sourceValue;
+			block = new Block( lowerBound, upperBound );
+		}
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		return lastSourceValue;
+	}
+
+	@Override
+	public int getIncrementSize() {
+		return incrementSize;
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+
+	/**
+	 * A range of values, handed out in ascending order.
+	 */
+	private static class Block {
+
+		private final AtomicLong nextValue;
+		private final long upperBound;
+
+		private Block(long lowerBound, long upperBound) {
+			this.nextValue = new AtomicLong( lowerBound );
+			this.upperBound = upperBound;
+		}
+
+		private long next() {
+			return nextValue.getAndIncrement();
+		}
+	}
+}
@@ -29,6 +29,7 @@
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -52,6 +53,7 @@
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.grid.RowKeyMetadata;
 import org.hibernate.ogm.type.GridType;
 import org.hibernate.ogm.type.StringType;
 import org.hibernate.ogm.type.TypeTranslator;
@@ -131,6 +133,11 @@
  * <td>Allows explicit definition of which optimization strategy to use</td>
  * </tr>
  * </table>
+ * <p/>
+ * The pooled strategy is implemented by {@link ConcurrentPooledOptimizer}: every call to
+ * {@link GridDialect#nextValue(RowKey, IntegralDataTypeHolder, int, int)} reserves a block of {@link #INCREMENT_PARAM}
+ * values which are then handed out without locking; the other strategies are serialized. The block size is thus configured per generator, e.g. via the
+ * {@code allocationSize} of {@code @TableGenerator} and {@code @SequenceGenerator}.
  *
  * @author Steve Ebersole
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
@@ -169,6 +176,7 @@ public class OgmTableGenerator implements PersistentIdentifierGenerator, Configu
 	private String tableName;
 
 	private String segmentColumnName;
+	private RowKeyMetadata segmentRowKeyMetadata;
 	private String segmentValue;
 	private int segmentValueLength;
 
@@ -181,7 +189,7 @@ public class OgmTableGenerator implements PersistentIdentifierGenerator, Configu
 	private String updateQuery;
 
 	private Optimizer optimizer;
-	private long accessCount = 0;
+	private final AtomicLong accessCount = new AtomicLong();
 	private volatile GridType identifierValueGridType;
 	private final GridType segmentGridType = StringType.INSTANCE;
 	private volatile GridDialect gridDialect;
@@ -291,7 +299,7 @@ public final Optimizer getOptimizer() {
 	 * @return Value for property 'tableAccessCount'.
 	 */
 	public final long getTableAccessCount() {
-		return accessCount;
+		return accessCount.get();
 	}
 
 	/**
@@ -303,6 +311,7 @@ public void configure(Type type, Properties params, Dialect dialect) throws Mapp
 
 		tableName = determineGeneratorTableName( params, dialect );
 		segmentColumnName = determineSegmentColumnName( params, dialect );
+		segmentRowKeyMetadata = new RowKeyMetadata( tableName, new String[] { segmentColumnName } );
 		valueColumnName = determineValueColumnName( params, dialect );
 
 		segmentValue = determineSegmentValue( params );
@@ -324,12 +333,17 @@ public void configure(Type type, Properties params, Dialect dialect) throws Mapp
 				: OptimizerFactory.POOL;
 		final String defaultOptimizerStrategy = incrementSize <= 1 ? OptimizerFactory.NONE : defaultPooledOptimizerStrategy;
 		final String optimizationStrategy = ConfigurationHelper.getString( OPT_PARAM, params, defaultOptimizerStrategy );
-		optimizer = OptimizerFactory.buildOptimizer(
-				optimizationStrategy,
-				identifierType.getReturnedClass(),
-				incrementSize,
-				ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
-		);
+		if ( OptimizerFactory.POOL.equals( optimizationStrategy ) ) {
+			optimizer = new ConcurrentPooledOptimizer( identifierType.getReturnedClass(), incrementSize, initialValue );
+		}
+		else {
+			optimizer = OptimizerFactory.buildOptimizer(
+					optimizationStrategy,
+					identifierType.getReturnedClass(),
+					incrementSize,
+					ConfigurationHelper.getInt( INITIAL_PARAM, params, -1 )
+			);
+		}
 	}
 
 	/**
@@ -486,20 +500,27 @@ protected String buildInsertQuery() {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public synchronized Serializable generate(final SessionImplementor session, Object obj) {
-		return optimizer.generate(
-				new AccessCallback() {
-					@Override
-					public IntegralDataTypeHolder getNextValue() {
-						return (IntegralDataTypeHolder) doWorkInIsolationTransaction( session );
-					}
-
-					@Override
-					public String getTenantIdentifier() {
-						return session.getTenantIdentifier();
-					}
-				}
-		);
+	public Serializable generate(final SessionImplementor session, Object obj) {
+		AccessCallback callback = new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				return (IntegralDataTypeHolder) doWorkInIsolationTransaction( session );
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return session.getTenantIdentifier();
+			}
+		};
+
+		if ( optimizer instanceof ConcurrentPooledOptimizer ) {
+			return optimizer.generate( callback );
+		}
+
+		// the optimizers of ORM are not thread-safe
+		synchronized ( this ) {
+			return optimizer.generate( callback );
+		}
 	}
 
 	//copied and altered from TransactionHelper
@@ -530,17 +551,13 @@ public IntegralDataTypeHolder doWorkInCurrentTransactionIfAny(SessionImplementor
 		final Object segmentColumnValue = nullSafeSet(
 				segmentGridType, segmentValue, segmentColumnName, session
 		);
-		RowKey key = new RowKey(
-				tableName,
-				new String[] { segmentColumnName },
-				new Object[] { segmentColumnValue }
-		);
+		RowKey key = new RowKey( segmentRowKeyMetadata, new Object[] { segmentColumnValue } );
 
 		GridDialect dialect = getDialect( session );
 		IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( identifierType.getReturnedClass() );
 		dialect.nextValue( key, value, optimizer.applyIncrementSizeToSourceValues() ? incrementSize : 1, initialValue );
 
-		accessCount++;
+		accessCount.incrementAndGet();
 
 		return value;
 	}
@@ -21,14 +21,22 @@
 package org.hibernate.ogm.loader;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.hibernate.HibernateException;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.loader.collection.CollectionInitializer;
 import org.hibernate.ogm.persister.OgmCollectionPersister;
 import org.hibernate.type.Type;
 
 /**
+ * Initializes collections. If the collection has a batch size or uses {@code FetchMode.SUBSELECT}, the uninitialized
+ * collections of the same role of other owners in the session are initialized together with the requested one.
+ *
  * @author Emmanuel Bernard
  */
 public class OgmBasicCollectionLoader extends OgmLoader implements CollectionInitializer {
@@ -39,7 +47,50 @@ public OgmBasicCollectionLoader(OgmCollectionPersister collectionPersister) {
 	@Override
 	public void initialize(Serializable id, SessionImplementor session)
 	throws HibernateException {
-		loadCollection( session, id, getKeyType() );
+		Serializable[] ids = getKeysToInitialize( id, session );
+		if ( ids.length == 1 ) {
+			loadCollection( session, id, getKeyType() );
+		}
+		else {
+			loadCollectionBatch( session, ids, getKeyType() );
+		}
+	}
+
+	/**
+	 * Returns the keys of the collections to initialize together with the one with the given key. There are no
+	 * subselects with OGM; instead, all the uninitialized collections of the role present in the session are
+	 * initialized for {@code FetchMode.SUBSELECT}.
+	 */
+	private Serializable[] getKeysToInitialize(Serializable id, SessionImplementor session) {
+		OgmCollectionPersister persister = (OgmCollectionPersister) getCollectionPersisters()[0];
+
+		if ( persister.isSubselectLoadable() ) {
+			List<Serializable> ids = new ArrayList<Serializable>();
+			ids.add( id );
+			@SuppressWarnings("unchecked")
+			Map<PersistentCollection, CollectionEntry> collectionEntries = session.getPersistenceContext().getCollectionEntries();
+			for ( Map.Entry<PersistentCollection, CollectionEntry> entry : collectionEntries.entrySet() ) {
+				PersistentCollection collection = entry.getKey();
+				CollectionEntry collectionEntry = entry.getValue();
+				if ( !collection.wasInitialized() && collectionEntry.getLoadedPersister() == persister
+						&& !persister.getKeyType().isEqual( id, collectionEntry.getLoadedKey(), session.getFactory() ) ) {
+					ids.add( collectionEntry.getLoadedKey() );
+				}
+			}
+			return ids.toArray( new Serializable[ids.size()] );
+		}
+		else if ( persister.getBatchSize() > 1 ) {
+			List<Serializable> ids = new ArrayList<Serializable>( persister.getBatchSize() );
+			for ( Serializable batchId : session.getPersistenceContext().getBatchFetchQueue().getCollectionBatch( persister, id, persister.getBatchSize() ) ) {
+				if ( batchId != null ) {
+					ids.add( batchId );
+				}
+			}
+			return ids.toArray( new Serializable[ids.size()] );
+		}
+		else {
+			return new Serializable[] { id };
+		}
 	}
 
 	protected Type getKeyType() {
@@ -24,6 +24,8 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.hibernate.HibernateException;
@@ -45,8 +47,10 @@
 import org.hibernate.loader.CollectionAliases;
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.jdbc.TupleAsMapResultSet;
@@ -82,6 +86,7 @@ public class OgmLoader implements UniqueEntityLoader {
 	private final LockMode[] defaultLockModes;
 	private final CollectionAliases[] collectionAliases;
 	private final GridDialect gridDialect;
+	private final int batchSize;
 
 	/**
 	 * Load a collection
@@ -94,6 +99,7 @@ public OgmLoader(OgmCollectionPersister[] collectionPersisters) {
 		this.collectionPersisters = collectionPersisters;
 		this.factory = collectionPersisters[0].getFactory();
 		this.gridDialect = this.factory.getServiceRegistry().getService( GridDialect.class );
+		this.batchSize = 1;
 
 		//NONE, because its the requested lock mode, not the actual!
 		final int fromSize = 1;
@@ -115,6 +121,7 @@ public OgmLoader(OgmEntityPersister[] entityPersisters) {
 		this.collectionPersisters = new OgmCollectionPersister[] {};
 		this.factory = entityPersisters[0].getFactory();
 		this.gridDialect = this.factory.getServiceRegistry().getService( GridDialect.class );
+		this.batchSize = entityPersisters[0].getBatchSize();
 
 		// NONE, because its the requested lock mode, not the actual!
 		final int fromSize = 1;
@@ -144,6 +151,10 @@ public Object load(Serializable id, Object optionalObject, SessionImplementor se
 	 */
 	@Override
 	public Object load(Serializable id, Object optionalObject, SessionImplementor session, LockOptions lockOptions) {
+		if ( optionalObject == null && batchSize > 1 ) {
+			return loadEntityBatch( id, session, lockOptions );
+		}
+
 		List results = loadEntity( id, optionalObject, session, lockOptions, OgmLoadingContext.EMPTY_CONTEXT );
 		if ( results.size() == 1 ) {
 			return results.get( 0 );
@@ -159,6 +170,64 @@ else if ( results.size() == 0 ) {
 		}
 	}
 
+	/**
+	 * Loads the entity with the given id together with other uninitialized proxies of the same type registered for
+	 * batch fetching in the current session, fetching all the corresponding tuples with one call to the datastore.
+	 */
+	private Object loadEntityBatch(Serializable id, SessionImplementor session, LockOptions lockOptions) {
+		final OgmEntityPersister persister = entityPersisters[0];
+		Serializable[] ids = session.getPersistenceContext()
+				.getBatchFetchQueue()
+				.getEntityBatch( persister, id, batchSize, persister.getEntityMode() );
+
+		if ( log.isDebugEnabled() ) {
+			log.debug( "Batch loading entity: " + MessageHelper.infoString( persister, ids, getFactory() ) );
+		}
+
+		List<Object> results = loadEntities( session, lockOptions, ids );
+
+		for ( Object result : results ) {
+			if ( persister.getIdentifierType().isEqual( id, persister.getIdentifier( result, session ), getFactory() ) ) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Loads the entities with the given ids, fetching all the corresponding tuples with one call to the datastore.
+	 * {@code null} ids and ids without a corresponding tuple are ignored.
+	 *
+	 * @param session the session to load the entities into
+	 * @param lockOptions the lock options to apply
+	 * @param ids the ids of the entities to load
+	 * @return the loaded entities
+	 */
+	public List<Object> loadEntities(SessionImplementor session, LockOptions lockOptions, Serializable[] ids) {
+		final OgmEntityPersister persister = entityPersisters[0];
+		List<EntityKey> keys = new ArrayList<EntityKey>( ids.length );
+		for ( Serializable id : ids ) {
+			if ( id != null ) {
+				keys.add( EntityKeyBuilder.fromPersister( persister, id, session ) );
+			}
+		}
+
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.size() );
+		for ( Tuple tuple : gridDialect.getTuples( keys.toArray( new EntityKey[keys.size()] ), persister.getTupleContext() ) ) {
+			if ( tuple != null ) {
+				tuples.add( tuple );
+			}
+		}
+
+		if ( tuples.isEmpty() ) {
+			return Collections.emptyList();
+		}
+
+		OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
+		ogmLoadingContext.setTuples( tuples );
+		return loadEntity( null, null, session, lockOptions, ogmLoadingContext );
+	}
+
 	private List<Object> loadEntity(
 			Serializable id,
 			Object optionalObject,
@@ -233,6 +302,36 @@ public final void loadCollection(
 
 	}
 
+	/**
+	 * Called by subclasses that batch initialize collections; the associations of all the given owners are fetched
+	 * with one call to the datastore
+	 */
+	public final void loadCollectionBatch(
+		final SessionImplementor session,
+		final Serializable[] ids,
+		final Type type) throws HibernateException {
+
+		if ( log.isDebugEnabled() ) {
+			log.debug(
+					"batch loading collection: " +
+					MessageHelper.collectionInfoString( getCollectionPersisters()[0], ids, getFactory() )
+				);
+		}
+
+		Type[] idTypes = new Type[ids.length];
+		Arrays.fill( idTypes, type );
+		QueryParameters qp = new QueryParameters( idTypes, ids, ids );
+		doQueryAndInitializeNonLazyCollections(
+				session,
+				qp,
+				OgmLoadingContext.EMPTY_CONTEXT,
+				true
+			);
+
+		log.debug( "done batch load" );
+
+	}
+
 	OgmEntityPersister[] getEntityPersisters() {
 		return entityPersisters;
 	}
@@ -301,7 +400,7 @@ else if ( ogmLoadingContext.hasResultSet() ) {
 		else {
 			id = qp.getCollectionKeys()[0];
 		}
-		TupleAsMapResultSet resultset = getResultSet( id, ogmLoadingContext, session );
+		TupleAsMapResultSet resultset = getResultSet( id, qp.getCollectionKeys(), ogmLoadingContext, session );
 
 		//Todo implement lockmode
 		//final LockMode[] lockModesArray = getLockModes( queryParameters.getLockOptions() );
@@ -459,7 +558,7 @@ private void extractKeysFromResultSet(
 		}
 	}
 
-	private TupleAsMapResultSet getResultSet(Serializable id, OgmLoadingContext ogmLoadingContext, SessionImplementor session) {
+	private TupleAsMapResultSet getResultSet(Serializable id, Serializable[] collectionKeys, OgmLoadingContext ogmLoadingContext, SessionImplementor session) {
 		if ( id == null && ogmLoadingContext.hasResultSet() ) {
 			return ogmLoadingContext.getResultSet();
 		}
@@ -480,7 +579,38 @@ private TupleAsMapResultSet getResultSet(Serializable id, OgmLoadingContext ogmL
 				throw new AssertionFailure( "Found an unexpected number of collection persisters: " + getCollectionPersisters().length );
 			}
 			final OgmCollectionPersister persister = (OgmCollectionPersister) getCollectionPersisters()[0];
-			AssociationPersister associationPersister = new AssociationPersister(
+			if ( collectionKeys.length == 1 ) {
+				Association assoc = getAssociationPersister( persister, id, session ).getAssociationOrNull();
+				addAssociationTuples( resultset, assoc );
+			}
+			else {
+				for ( Association assoc : getAssociations( persister, collectionKeys, session ) ) {
+					addAssociationTuples( resultset, assoc );
+				}
+			}
+		}
+		return resultset;
+	}
+
+	/**
+	 * Fetches the associations of the given collection owners with one call to the datastore.
+	 */
+	private List<Association> getAssociations(OgmCollectionPersister persister, Serializable[] ids, SessionImplementor session) {
+		AssociationKey[] keys = new AssociationKey[ids.length];
+		AssociationContext associationContext = null;
+		for ( int i = 0; i < ids.length; i++ ) {
+			AssociationPersister associationPersister = getAssociationPersister( persister, ids[i], session );
+			keys[i] = associationPersister.getAssociationKey();
+			// the context only depends on the collection role, so it is the same for all the owners
+			if ( associationContext == null ) {
+				associationContext = associationPersister.getAssociationContext();
+			}
+		}
+		return gridDialect.getAssociations( keys, associationContext );
+	}
+
+	private AssociationPersister getAssociationPersister(OgmCollectionPersister persister, Serializable id, SessionImplementor session) {
+		return new AssociationPersister(
 					persister.getOwnerEntityPersister().getMappedClass()
 				)
 				.gridDialect( gridDialect )
@@ -489,14 +619,14 @@ private TupleAsMapResultSet getResultSet(Serializable id, OgmLoadingContext ogmL
 				.collectionPersister( persister )
 				.associationKeyMetadata( persister.getAssociationKeyMetadata() )
 				.session( session );
-			Association assoc = associationPersister.getAssociationOrNull();
-			if ( assoc != null ) {
-				for ( RowKey rowKey : assoc.getKeys() ) {
-					resultset.addTuple( assoc.get( rowKey ) );
-				}
+	}
+
+	private void addAssociationTuples(TupleAsMapResultSet resultset, Association assoc) {
+		if ( assoc != null ) {
+			for ( RowKey rowKey : assoc.getKeys() ) {
+				resultset.addTuple( assoc.get( rowKey ) );
 			}
 		}
-		return resultset;
 	}
 
 	private Object getResultColumnOrRow(Object[] row) {
@@ -20,16 +20,20 @@
  */
 package org.hibernate.ogm.massindex;
 
+import java.io.File;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.CacheMode;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.massindex.batchindexing.BatchCoordinator;
 import org.hibernate.ogm.massindex.batchindexing.Executors;
+import org.hibernate.ogm.massindex.checkpoint.CheckpointStore;
+import org.hibernate.ogm.massindex.checkpoint.FileCheckpointStore;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.search.MassIndexer;
@@ -58,6 +62,13 @@ public class OgmMassIndexer implements MassIndexer {
 	private boolean optimizeAfterPurge = true;
 	private boolean purgeAllOnStart = true;
 	private int typesToIndexInParallel = 1;
+	private int threadsToScanTuples = Runtime.getRuntime().availableProcessors();
+	private int threadsToLoadObjects = 6;
+	private int batchSizeToLoadObjects = 10;
+	private long objectsLimit = 0; //means no limit at all
+	private CheckpointStore checkpointStore;
+	private long checkpointInterval = TimeUnit.SECONDS.toMillis( 30 );
+	private boolean resume = false;
 
 	private final Set<Class<?>> rootEntities;
 
@@ -75,13 +86,17 @@ private MassIndexerProgressMonitor createMonitor(SearchFactoryImplementor search
 
 	@Override
 	public MassIndexer threadsToLoadObjects(int numberOfThreads) {
-		log.unsupportedIndexerConfigurationOption( "threadsToLoadObjects" );
+		atLeastOneValidation( numberOfThreads );
+		this.threadsToLoadObjects = numberOfThreads;
 		return this;
 	}
 
 	@Override
 	public MassIndexer batchSizeToLoadObjects(int batchSize) {
-		log.unsupportedIndexerConfigurationOption( "batchSizeToLoadObjects" );
+		if ( batchSize < 1 ) {
+			throw new IllegalArgumentException( "batchSize must be at least 1" );
+		}
+		this.batchSizeToLoadObjects = batchSize;
 		return this;
 	}
 
@@ -129,7 +144,7 @@ public MassIndexer purgeAllOnStart(boolean purgeAll) {
 
 	@Override
 	public MassIndexer limitIndexedObjectsTo(long maximum) {
-		log.unsupportedIndexerConfigurationOption( "limitIndexedObjectsTo" );
+		this.objectsLimit = maximum;
 		return this;
 	}
 
@@ -146,6 +161,82 @@ public MassIndexer typesToIndexInParallel(int threadsToIndexObjects) {
 		return this;
 	}
 
+	/**
+	 * Sets the number of threads used to scan the tuples of each entity type, if the dialect can split them in
+	 * partitions. Defaults to the number of available processors.
+	 *
+	 * @param numberOfThreads the number of threads scanning the tuples of an entity type
+	 * @return this for method chaining
+	 */
+	public OgmMassIndexer threadsToScanTuples(int numberOfThreads) {
+		atLeastOneValidation( numberOfThreads );
+		this.threadsToScanTuples = numberOfThreads;
+		return this;
+	}
+
+	/**
+	 * Saves the progress of the indexing of each entity type to the given store, so that the mass indexing can be
+	 * continued with {@link #resumeFrom(CheckpointStore)} if it is interrupted. The checkpoints of a previous mass
+	 * indexing are removed from the store when starting.
+	 *
+	 * @param store the store to save the checkpoints to
+	 * @return this for method chaining
+	 */
+	public OgmMassIndexer checkpointTo(CheckpointStore store) {
+		this.checkpointStore = store;
+		this.resume = false;
+		return this;
+	}
+
+	/**
+	 * Saves the progress of the indexing to files of the given directory.
+	 *
+	 * @param directory the directory to save the checkpoints to
+	 * @return this for method chaining
+	 * @see #checkpointTo(CheckpointStore)
+	 */
+	public OgmMassIndexer checkpointTo(File directory) {
+		return checkpointTo( new FileCheckpointStore( directory ) );
+	}
+
+	/**
+	 * Continues an interrupted mass indexing from the checkpoints it saved to the given store: the index is not purged,
+	 * entity types whose indexing was completed are skipped, the others are indexed from their last checkpoint or from
+	 * the beginning if they have none. The progress keeps being saved to the store.
+	 *
+	 * @param store the store containing the checkpoints of the interrupted mass indexing
+	 * @return this for method chaining
+	 */
+	public OgmMassIndexer resumeFrom(CheckpointStore store) {
+		this.checkpointStore = store;
+		this.resume = true;
+		return this;
+	}
+
+	/**
+	 * Continues an interrupted mass indexing from the checkpoints it saved to files of the given directory.
+	 *
+	 * @param directory the directory containing the checkpoints of the interrupted mass indexing
+	 * @return this for method chaining
+	 * @see #resumeFrom(CheckpointStore)
+	 */
+	public OgmMassIndexer resumeFrom(File directory) {
+		return resumeFrom( new FileCheckpointStore( directory ) );
+	}
+
+	/**
+	 * Sets the minimum interval between two checkpoints of an entity type; as the index is flushed before each
+	 * checkpoint, a shorter interval slows the indexing down. Defaults to 30 seconds.
+	 *
+	 * @param interval the minimum interval between two checkpoints
+	 * @param unit the unit of the interval
+	 * @return this for method chaining
+	 */
+	public OgmMassIndexer checkpointInterval(long interval, TimeUnit unit) {
+		this.checkpointInterval = unit.toMillis( interval );
+		return this;
+	}
+
 	@Override
 	public Future<?> start() {
 		ExecutorService executor = Executors.newFixedThreadPool( 1, "batch coordinator" );
@@ -164,8 +255,9 @@ public void startAndWait() throws InterruptedException {
 	}
 
 	protected BatchCoordinator createCoordinator() {
-		return new BatchCoordinator( gridDialect, rootEntities, searchFactory, sessionFactory, typesToIndexInParallel, cacheMode, optimizeOnFinish,
-				purgeAllOnStart, optimizeAfterPurge, monitor );
+		return new BatchCoordinator( gridDialect, rootEntities, searchFactory, sessionFactory, typesToIndexInParallel, threadsToScanTuples,
+				threadsToLoadObjects, batchSizeToLoadObjects, objectsLimit, cacheMode, optimizeOnFinish, purgeAllOnStart, optimizeAfterPurge, monitor,
+				checkpointStore, checkpointInterval, resume );
 	}
 
 	private void atLeastOneValidation(int numberOfThreads) {
@@ -27,6 +27,8 @@
 import org.hibernate.CacheMode;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.massindex.checkpoint.Checkpoint;
+import org.hibernate.ogm.massindex.checkpoint.CheckpointStore;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.search.backend.PurgeAllLuceneWork;
@@ -39,6 +41,9 @@
  * Makes sure that several different BatchIndexingWorkspace(s)
  * can be started concurrently, sharing the same batch-backend
  * and IndexWriters.
+ * <p>
+ * When resuming from the checkpoints of a previous mass indexing, the index is not purged and each entity type is
+ * indexed from its last checkpoint.
  *
  * @author Sanne Grinovero
  * @author Davide D'Alto <davide@hibernate.org>
@@ -51,6 +56,10 @@ public class BatchCoordinator implements Runnable {
 	private final SearchFactoryImplementor searchFactoryImplementor;
 	private final SessionFactoryImplementor sessionFactory;
 	private final int typesToIndexInParallel;
+	private final int threadsToScanTuples;
+	private final int threadsToLoadObjects;
+	private final int batchSizeToLoadObjects;
+	private final long objectsLimit;
 	private final CacheMode cacheMode;
 	private final boolean optimizeAtEnd;
 	private final boolean purgeAtStart;
@@ -58,17 +67,29 @@ public class BatchCoordinator implements Runnable {
 	private final CountDownLatch endAllSignal;
 	private final MassIndexerProgressMonitor monitor;
 	private final ErrorHandler errorHandler;
+	private final CheckpointStore checkpointStore;
+	private final long checkpointInterval;
+	private final boolean resume;
 
 	private final GridDialect gridDialect;
 
 	public BatchCoordinator(GridDialect gridDialect, Set<Class<?>> rootEntities, SearchFactoryImplementor searchFactoryImplementor,
-			SessionFactoryImplementor sessionFactory, int typesToIndexInParallel, CacheMode cacheMode, boolean optimizeAtEnd, boolean purgeAtStart,
-			boolean optimizeAfterPurge, MassIndexerProgressMonitor monitor) {
+			SessionFactoryImplementor sessionFactory, int typesToIndexInParallel, int threadsToScanTuples, int threadsToLoadObjects,
+			int batchSizeToLoadObjects, long objectsLimit, CacheMode cacheMode, boolean optimizeAtEnd, boolean purgeAtStart,
+			boolean optimizeAfterPurge, MassIndexerProgressMonitor monitor, CheckpointStore checkpointStore, long checkpointInterval,
+			boolean resume) {
 		this.gridDialect = gridDialect;
+		this.checkpointStore = checkpointStore;
+		this.checkpointInterval = checkpointInterval;
+		this.resume = resume;
 		this.rootEntities = rootEntities.toArray( new Class<?>[rootEntities.size()] );
 		this.searchFactoryImplementor = searchFactoryImplementor;
 		this.sessionFactory = sessionFactory;
 		this.typesToIndexInParallel = typesToIndexInParallel;
+		this.threadsToScanTuples = threadsToScanTuples;
+		this.threadsToLoadObjects = threadsToLoadObjects;
+		this.batchSizeToLoadObjects = batchSizeToLoadObjects;
+		this.objectsLimit = objectsLimit;
 		this.cacheMode = cacheMode;
 		this.optimizeAtEnd = optimizeAtEnd;
 		this.purgeAtStart = purgeAtStart;
@@ -113,15 +134,31 @@ public void run() {
 	 *             if interrupted while waiting for endAllSignal.
 	 */
 	private void doBatchWork(BatchBackend backend) throws InterruptedException {
+		Checkpoint[] checkpoints = new Checkpoint[rootEntities.length];
+		for ( int i = 0; i < rootEntities.length; i++ ) {
+			checkpoints[i] = loadCheckpoint( rootEntities[i] );
+		}
 		ExecutorService executor = Executors.newFixedThreadPool( typesToIndexInParallel, "BatchIndexingWorkspace" );
-		for ( Class<?> type : rootEntities ) {
-			executor.execute( new BatchIndexingWorkspace( gridDialect, searchFactoryImplementor, sessionFactory, type,
-					cacheMode, endAllSignal, monitor, backend ) );
+		for ( int i = 0; i < rootEntities.length; i++ ) {
+			executor.execute( new BatchIndexingWorkspace( gridDialect, searchFactoryImplementor, sessionFactory, rootEntities[i],
+					cacheMode, endAllSignal, monitor, backend, threadsToScanTuples, threadsToLoadObjects, batchSizeToLoadObjects, objectsLimit,
+					checkpointStore, checkpointInterval, checkpoints[i], resume ) );
 		}
 		executor.shutdown();
 		endAllSignal.await(); // waits for the executor to finish
 	}
 
+	private Checkpoint loadCheckpoint(Class<?> type) {
+		if ( !resume ) {
+			return null;
+		}
+		Checkpoint checkpoint = checkpointStore.load( type.getName() );
+		if ( checkpoint != null ) {
+			log.resumingMassIndexing( type.getName(), checkpoint.getRemainingPartitions().size() );
+		}
+		return checkpoint;
+	}
+
 	/**
 	 * Operations to do after all subthreads finished their work on index
 	 *
@@ -141,7 +178,13 @@ private void afterBatch(BatchBackend backend) {
 	 * @param backend
 	 */
 	private void beforeBatch(BatchBackend backend) {
-		if ( this.purgeAtStart ) {
+		if ( checkpointStore != null && !resume ) {
+			// don't resume a later mass indexing from the checkpoints of a previous one
+			for ( Class<?> type : rootEntities ) {
+				checkpointStore.remove( type.getName() );
+			}
+		}
+		if ( this.purgeAtStart && !resume ) {
 			// purgeAll for affected entities
 			Set<Class<?>> targetedClasses = searchFactoryImplementor.getIndexedTypesPolymorphic( rootEntities );
 			for ( Class<?> clazz : targetedClasses ) {
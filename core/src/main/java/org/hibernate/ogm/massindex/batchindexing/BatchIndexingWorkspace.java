@@ -20,12 +20,20 @@
  */
 package org.hibernate.ogm.massindex.batchindexing;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.CacheMode;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.TuplePartition;
+import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.massindex.checkpoint.Checkpoint;
+import org.hibernate.ogm.massindex.checkpoint.CheckpointStore;
 import org.hibernate.ogm.persister.OgmEntityPersister;
 import org.hibernate.search.backend.impl.batch.BatchBackend;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
@@ -37,6 +45,14 @@
 /**
  * This runnable will prepare a pipeline for batch indexing
  * of entities, managing the lifecycle of several ThreadPools.
+ * <p>
+ * The tuples of the entity are split in partitions by the dialect when it supports it. The partitions are scanned in
+ * parallel by {@link TupleProducer}s, which put the tuples in a bounded queue; several
+ * {@link TupleConsumerDocumentProducer}s take them from the queue to load the entities and build their documents in
+ * batches.
+ * <p>
+ * If a {@link CheckpointStore} is given, the progress of the scan of each partition is saved periodically, and a later
+ * mass indexing can resume the scan from the last {@link Checkpoint}.
  *
  * @author Sanne Grinovero
  * @author Davide D'Alto <davide@hibernate.org>
@@ -62,10 +78,36 @@ public class BatchIndexingWorkspace implements Runnable {
 
 	private final CountDownLatch endAllSignal;
 
+	private final int threadsToScanTuples;
+	private final int threadsToLoadObjects;
+	private final int batchSizeToLoadObjects;
+	private final long objectsLimit;
+
+	private final CheckpointStore checkpointStore;
+	private final long checkpointInterval;
+	private final Checkpoint resumeFrom;
+	private final boolean replaceExistingDocuments;
+
+	/**
+	 * @param checkpointStore the store to save the progress to, {@code null} if it should not be saved
+	 * @param checkpointInterval the minimum interval between two checkpoints, in milliseconds
+	 * @param resumeFrom the checkpoint to resume the indexing from, {@code null} to index all the tuples
+	 * @param replaceExistingDocuments whether the documents of the entities might already be in the index
+	 */
 	public BatchIndexingWorkspace(GridDialect gridDialect, SearchFactoryImplementor searchFactoryImplementor,
 			SessionFactoryImplementor sessionFactory, Class<?> entityType, CacheMode cacheMode, CountDownLatch endAllSignal,
-			MassIndexerProgressMonitor monitor, BatchBackend backend) {
+			MassIndexerProgressMonitor monitor, BatchBackend backend, int threadsToScanTuples, int threadsToLoadObjects,
+			int batchSizeToLoadObjects, long objectsLimit, CheckpointStore checkpointStore, long checkpointInterval,
+			Checkpoint resumeFrom, boolean replaceExistingDocuments) {
 		this.gridDialect = gridDialect;
+		this.checkpointStore = checkpointStore;
+		this.checkpointInterval = checkpointInterval;
+		this.resumeFrom = resumeFrom;
+		this.replaceExistingDocuments = replaceExistingDocuments;
+		this.threadsToScanTuples = threadsToScanTuples;
+		this.threadsToLoadObjects = threadsToLoadObjects;
+		this.batchSizeToLoadObjects = batchSizeToLoadObjects;
+		this.objectsLimit = objectsLimit;
 		this.indexedType = entityType;
 		this.searchFactory = searchFactoryImplementor;
 		this.sessionFactory = sessionFactory;
@@ -80,13 +122,65 @@ private EntityKeyMetadata getEntityKeyMetadata() {
 		return new EntityKeyMetadata( persister.getTableName(), persister.getRootTableIdentifierColumnNames() );
 	}
 
+	private List<TuplePartition> getPartitions(EntityKeyMetadata keyMetadata) {
+		if ( resumeFrom == null ) {
+			return GridDialects.partitionTuples( gridDialect, threadsToScanTuples, keyMetadata );
+		}
+		return GridDialects.resumePartitions( gridDialect, resumeFrom.getRemainingPartitions(), keyMetadata );
+	}
+
+	private Checkpointer createCheckpointer(List<TuplePartition> partitions, ErrorHandler errorHandler) {
+		if ( checkpointStore == null ) {
+			return null;
+		}
+		return new Checkpointer( indexedType.getName(), partitions, checkpointStore, checkpointInterval, batchBackend,
+				searchFactory.getIndexedTypesPolymorphic( new Class<?>[] { indexedType } ), errorHandler );
+	}
+
 	@Override
 	public void run() {
 		ErrorHandler errorHandler = searchFactory.getErrorHandler();
 		try {
 			final EntityKeyMetadata keyMetadata = getEntityKeyMetadata();
-			final SessionAwareRunnable consumer = new TupleIndexer( indexedType, monitor, sessionFactory, searchFactory, cacheMode, batchBackend, errorHandler );
-			gridDialect.forEachTuple( new OptionallyWrapInJTATransaction( sessionFactory, errorHandler, consumer ), keyMetadata );
+			final List<TuplePartition> partitions = getPartitions( keyMetadata );
+			if ( partitions.isEmpty() ) {
+				// all the tuples have been indexed by the mass indexing we resume from
+				return;
+			}
+			final Checkpointer checkpointer = createCheckpointer( partitions, errorHandler );
+			final StageThroughputMonitor stageMonitor = new StageThroughputMonitor( indexedType, monitor );
+			final SessionAwareRunnable indexer = new TupleIndexer( indexedType, stageMonitor, sessionFactory, searchFactory, cacheMode, batchBackend,
+					errorHandler, replaceExistingDocuments );
+			final ProducerConsumerQueue<ScannedTuple> tuples = new ProducerConsumerQueue<ScannedTuple>( partitions.size() );
+			final AtomicLong remainingTuples = new AtomicLong( objectsLimit > 0 ? objectsLimit : Long.MAX_VALUE );
+
+			ExecutorService producers = Executors.newFixedThreadPool( Math.min( threadsToScanTuples, partitions.size() ), "TupleProducer" );
+			ExecutorService consumers = Executors.newFixedThreadPool( threadsToLoadObjects, "TupleConsumerDocumentProducer" );
+			try {
+				for ( int i = 0; i < threadsToLoadObjects; i++ ) {
+					consumers.execute( new TupleConsumerDocumentProducer( tuples, new OptionallyWrapInJTATransaction( sessionFactory, errorHandler, indexer ),
+							batchSizeToLoadObjects, checkpointer ) );
+				}
+				for ( int i = 0; i < partitions.size(); i++ ) {
+					PartitionProgress progress = checkpointer != null ? checkpointer.getProgress( i ) : null;
+					producers.execute( new TupleProducer( partitions.get( i ), progress, tuples, remainingTuples, stageMonitor, errorHandler ) );
+				}
+				producers.shutdown();
+				consumers.shutdown();
+				producers.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+				consumers.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+				stageMonitor.logThroughput();
+			}
+			catch ( InterruptedException e ) {
+				producers.shutdownNow();
+				consumers.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				if ( checkpointer != null ) {
+					checkpointer.checkpoint();
+				}
+			}
 		}
 		catch ( RuntimeException re ) {
 			// being this an async thread we want to make sure everything is somehow reported
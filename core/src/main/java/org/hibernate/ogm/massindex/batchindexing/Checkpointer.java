@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.batchindexing;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.ogm.dialect.TuplePartition;
+import org.hibernate.ogm.massindex.checkpoint.Checkpoint;
+import org.hibernate.ogm.massindex.checkpoint.CheckpointStore;
+import org.hibernate.search.backend.impl.batch.BatchBackend;
+import org.hibernate.search.exception.ErrorHandler;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Saves the progress of the mass indexing of an entity type to a {@link CheckpointStore}, at most once per interval
+ * while the tuples are indexed and once at the end.
+ * <p>
+ * The index is flushed before each checkpoint, so that the documents of the tuples a checkpoint reports as indexed
+ * are not lost if the mass indexing is interrupted.
+ */
+public class Checkpointer {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final String entityName;
+	private final List<PartitionProgress> partitions;
+	private final CheckpointStore store;
+	private final long intervalNanos;
+	private final BatchBackend backend;
+	private final Set<Class<?>> indexedTypes;
+	private final ErrorHandler errorHandler;
+
+	private long lastCheckpoint = System.nanoTime();
+
+	/**
+	 * @param entityName the name of the entity type whose progress is saved
+	 * @param partitions the partitions the tuples of the entity type are scanned from
+	 * @param store the store the checkpoints are saved to
+	 * @param intervalMillis the minimum interval between two checkpoints, in milliseconds
+	 * @param backend the backend to flush before each checkpoint
+	 * @param indexedTypes the types whose indexes must be flushed before each checkpoint
+	 * @param errorHandler the handler of the exceptions raised while saving a checkpoint during the indexing
+	 */
+	public Checkpointer(String entityName, List<TuplePartition> partitions, CheckpointStore store, long intervalMillis,
+			BatchBackend backend, Set<Class<?>> indexedTypes, ErrorHandler errorHandler) {
+		this.entityName = entityName;
+		this.partitions = new ArrayList<PartitionProgress>( partitions.size() );
+		for ( TuplePartition partition : partitions ) {
+			this.partitions.add( new PartitionProgress( partition ) );
+		}
+		this.store = store;
+		this.intervalNanos = intervalMillis * 1000000L;
+		this.backend = backend;
+		this.indexedTypes = indexedTypes;
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * @param partition the index of the partition in the list passed to the constructor
+	 * @return the progress of the partition
+	 */
+	public PartitionProgress getProgress(int partition) {
+		return partitions.get( partition );
+	}
+
+	/**
+	 * Saves a checkpoint if the last one is older than the interval.
+	 */
+	public synchronized void batchIndexed() {
+		if ( System.nanoTime() - lastCheckpoint >= intervalNanos ) {
+			try {
+				checkpoint();
+			}
+			catch ( RuntimeException e ) {
+				// the next checkpoint will be tried after another interval
+				lastCheckpoint = System.nanoTime();
+				errorHandler.handleException( log.massIndexerUnexpectedErrorMessage(), e );
+			}
+		}
+	}
+
+	/**
+	 * Saves the current progress of the entity type.
+	 */
+	public synchronized void checkpoint() {
+		List<Serializable> remainingPartitions = new ArrayList<Serializable>( partitions.size() );
+		for ( PartitionProgress partition : partitions ) {
+			Serializable cursor = partition.getRemainingTuples();
+			if ( cursor != null ) {
+				remainingPartitions.add( cursor );
+			}
+		}
+		backend.flush( indexedTypes );
+		store.save( entityName, new Checkpoint( remainingPartitions ) );
+		lastCheckpoint = System.nanoTime();
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.batchindexing;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.LockOptions;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.loader.OgmBasicCollectionLoader;
+import org.hibernate.ogm.loader.OgmLoader;
+import org.hibernate.ogm.persister.OgmCollectionPersister;
+import org.hibernate.ogm.persister.OgmEntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.search.engine.metadata.impl.EmbeddedTypeMetadata;
+import org.hibernate.search.engine.metadata.impl.TypeMetadata;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+
+/**
+ * Initializes the associations of a chunk of entities that contribute to their documents via
+ * {@link org.hibernate.search.annotations.IndexedEmbedded}.
+ * <p>
+ * Without it, each entity would hit the datastore once per lazy association while its document is built. Instead, the
+ * uninitialized collections of a role are loaded for the whole chunk with a single call to
+ * {@link GridDialect#getAssociations(org.hibernate.ogm.grid.AssociationKey[], org.hibernate.ogm.datastore.spi.AssociationContext)}
+ * and the uninitialized proxies of the to-one associations with a single call to
+ * {@link GridDialect#getTuples(org.hibernate.ogm.grid.EntityKey[], org.hibernate.ogm.datastore.spi.TupleContext)}.
+ * Only the associations of the indexed entity itself are considered, the ones of the embedded entities are still
+ * loaded lazily.
+ */
+public class IndexedEmbeddedInitializer {
+
+	private final OgmEntityPersister persister;
+	private final Map<String, OgmCollectionPersister> collectionPersisters = new LinkedHashMap<String, OgmCollectionPersister>();
+	private final Map<String, OgmBasicCollectionLoader> collectionLoaders = new LinkedHashMap<String, OgmBasicCollectionLoader>();
+	private final List<String> toOneProperties = new ArrayList<String>();
+
+	public IndexedEmbeddedInitializer(OgmEntityPersister persister, TypeMetadata metadata, SessionFactoryImplementor sessionFactory) {
+		this.persister = persister;
+		if ( metadata != null ) {
+			for ( EmbeddedTypeMetadata embeddedMetadata : metadata.getEmbeddedTypeMetadata() ) {
+				String propertyName = embeddedMetadata.getEmbeddedGetter().getName();
+				Integer index = persister.getEntityMetamodel().getPropertyIndexOrNull( propertyName );
+				if ( index != null ) {
+					Type type = persister.getPropertyTypes()[index];
+					if ( type.isCollectionType() ) {
+						String role = ( (CollectionType) type ).getRole();
+						OgmCollectionPersister collectionPersister = (OgmCollectionPersister) sessionFactory.getCollectionPersister( role );
+						collectionPersisters.put( propertyName, collectionPersister );
+						collectionLoaders.put( propertyName, new OgmBasicCollectionLoader( collectionPersister ) );
+					}
+					else if ( type.isEntityType() ) {
+						toOneProperties.add( propertyName );
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Loads the uninitialized {@link org.hibernate.search.annotations.IndexedEmbedded} associations of the given
+	 * entities, all of them loaded in the given session.
+	 *
+	 * @param session the session the entities belong to
+	 * @param entities the entities about to be indexed
+	 */
+	public void initialize(SessionImplementor session, List<Object> entities) {
+		for ( String propertyName : collectionLoaders.keySet() ) {
+			initializeCollections( session, entities, propertyName );
+		}
+		if ( !toOneProperties.isEmpty() ) {
+			initializeProxies( session, entities );
+		}
+	}
+
+	private void initializeCollections(SessionImplementor session, List<Object> entities, String propertyName) {
+		List<Serializable> keys = new ArrayList<Serializable>( entities.size() );
+		for ( Object entity : entities ) {
+			Object value = persister.getPropertyValue( entity, propertyName );
+			if ( value instanceof PersistentCollection && !( (PersistentCollection) value ).wasInitialized() ) {
+				keys.add( ( (PersistentCollection) value ).getKey() );
+			}
+		}
+		if ( !keys.isEmpty() ) {
+			Type keyType = collectionPersisters.get( propertyName ).getKeyType();
+			collectionLoaders.get( propertyName ).loadCollectionBatch( session, keys.toArray( new Serializable[keys.size()] ), keyType );
+		}
+	}
+
+	private void initializeProxies(SessionImplementor session, List<Object> entities) {
+		Map<String, Set<Serializable>> idsByEntityName = new LinkedHashMap<String, Set<Serializable>>();
+		for ( Object entity : entities ) {
+			for ( String propertyName : toOneProperties ) {
+				Object value = persister.getPropertyValue( entity, propertyName );
+				if ( value instanceof HibernateProxy ) {
+					LazyInitializer initializer = ( (HibernateProxy) value ).getHibernateLazyInitializer();
+					if ( initializer.isUninitialized() ) {
+						Set<Serializable> ids = idsByEntityName.get( initializer.getEntityName() );
+						if ( ids == null ) {
+							ids = new LinkedHashSet<Serializable>();
+							idsByEntityName.put( initializer.getEntityName(), ids );
+						}
+						ids.add( initializer.getIdentifier() );
+					}
+				}
+			}
+		}
+		for ( Map.Entry<String, Set<Serializable>> entry : idsByEntityName.entrySet() ) {
+			OgmEntityPersister targetPersister = (OgmEntityPersister) session.getFactory().getEntityPersister( entry.getKey() );
+			loadEntities( session, targetPersister, entry.getValue() );
+		}
+	}
+
+	private void loadEntities(SessionImplementor session, OgmEntityPersister targetPersister, Set<Serializable> ids) {
+		// the loaded entities are registered in the persistence context, where the proxies will find them
+		new OgmLoader( new OgmEntityPersister[] { targetPersister } )
+				.loadEntities( session, LockOptions.NONE, ids.toArray( new Serializable[ids.size()] ) );
+	}
+}
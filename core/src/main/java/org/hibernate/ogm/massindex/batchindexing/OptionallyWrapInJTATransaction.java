@@ -20,6 +20,8 @@
  */
 package org.hibernate.ogm.massindex.batchindexing;
 
+import java.util.List;
+
 import javax.transaction.Status;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
@@ -35,7 +37,7 @@
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
- * Wrap the subsequent Runnable in a JTA Transaction if necessary:
+ * Wrap the subsequent Runnable in a JTA Transaction if necessary, one transaction for each batch of tuples:
  * - if the existing Hibernate Core transaction strategy requires a TransactionManager
  * - if no JTA transaction is already started
  *
@@ -43,7 +45,7 @@
  *
  * @author Emmanuel Bernard
  */
-public class OptionallyWrapInJTATransaction implements Consumer {
+public class OptionallyWrapInJTATransaction {
 
 	private static final Log log = LoggerFactory.make();
 
@@ -98,34 +100,40 @@ boolean wrapInTransaction() {
 		return false;
 	}
 
-	@Override
-	public void consume(Tuple tuple) {
+	/**
+	 * @param tuples the batch of tuples to index
+	 * @return {@code true} if the tuples have been indexed, {@code false} if it failed
+	 */
+	public boolean consume(List<Tuple> tuples) {
 		try {
 			final boolean wrapInTransaction = wrapInTransaction();
 			if ( wrapInTransaction ) {
-				consumeInTransaction( tuple );
+				return consumeInTransaction( tuples );
 			}
 			else {
-				delegate.run( null, null );
+				return delegate.run( null, tuples );
 			}
 		}
 		catch ( Throwable e ) {
 			errorHandler.handleException( log.massIndexerUnexpectedErrorMessage(), e );
+			return false;
 		}
 	}
 
-	private void consumeInTransaction(Tuple tuple) {
+	private boolean consumeInTransaction(List<Tuple> tuples) {
 		TransactionManager transactionManager = getTransactionManager();
 		try {
 			final Session session = factory.openSession();
 			transactionManager.begin();
-			delegate.run( session, tuple );
+			boolean indexed = delegate.run( session, tuples );
 			transactionManager.commit();
 			session.close();
+			return indexed;
 		}
 		catch ( Throwable e ) {
 			errorHandler.handleException( log.massIndexerUnexpectedErrorMessage(), e );
 			rollback( transactionManager, e );
+			return false;
 		}
 	}
 
@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.batchindexing;
+
+import java.io.Serializable;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.dialect.TuplePartition;
+
+/**
+ * Tracks which tuples of a {@link TuplePartition} have been indexed, to know from which cursor the scan of the
+ * partition should be resumed.
+ * <p>
+ * As the tuples are indexed out of order by several threads, the cursor to resume from is the one following the last
+ * tuple whose predecessors have all been indexed.
+ */
+public class PartitionProgress {
+
+	private final TuplePartition partition;
+
+	/**
+	 * The tuples scanned but not indexed yet, by sequence number; the value is the cursor from which the scan should
+	 * be resumed to index the tuple again.
+	 */
+	private final SortedMap<Long, Serializable> pendingTuples = new TreeMap<Long, Serializable>();
+
+	private Serializable cursorAfterLastTuple;
+	private long scannedTuples;
+	private boolean scanCompleted;
+
+	public PartitionProgress(TuplePartition partition) {
+		this.partition = partition;
+		this.cursorAfterLastTuple = partition.getCursor();
+	}
+
+	/**
+	 * Registers a tuple scanned by the partition.
+	 *
+	 * @param tuple the scanned tuple
+	 * @return the sequence number to pass to {@link #tupleIndexed(long)} once the tuple has been indexed
+	 */
+	public synchronized long tupleScanned(Tuple tuple) {
+		long sequence = scannedTuples++;
+		pendingTuples.put( sequence, cursorAfterLastTuple );
+		cursorAfterLastTuple = partition.getCursorAfter( tuple );
+		return sequence;
+	}
+
+	public synchronized void tupleIndexed(long sequence) {
+		pendingTuples.remove( sequence );
+	}
+
+	/**
+	 * Notifies that all the tuples of the partition have been scanned.
+	 */
+	public synchronized void scanCompleted() {
+		scanCompleted = true;
+	}
+
+	/**
+	 * Returns the cursor on the tuples of the partition which have still to be indexed.
+	 *
+	 * @return the cursor to resume the scan from, {@code null} if all the tuples of the partition have been indexed
+	 */
+	public synchronized Serializable getRemainingTuples() {
+		if ( !pendingTuples.isEmpty() ) {
+			return pendingTuples.get( pendingTuples.firstKey() );
+		}
+		return scanCompleted ? null : cursorAfterLastTuple;
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.batchindexing;
+
+import org.hibernate.ogm.datastore.spi.Tuple;
+
+/**
+ * A {@link Tuple} in the queue between the {@link TupleProducer}s and the {@link TupleConsumerDocumentProducer}s,
+ * with what is needed to report its indexing to the progress of its partition.
+ */
+public class ScannedTuple {
+
+	private final Tuple tuple;
+	private final PartitionProgress progress;
+	private final long sequence;
+
+	/**
+	 * @param tuple the scanned tuple
+	 * @param progress the progress of the partition the tuple comes from, {@code null} if it is not tracked
+	 * @param sequence the sequence number of the tuple in its partition
+	 */
+	public ScannedTuple(Tuple tuple, PartitionProgress progress, long sequence) {
+		this.tuple = tuple;
+		this.progress = progress;
+		this.sequence = sequence;
+	}
+
+	public Tuple getTuple() {
+		return tuple;
+	}
+
+	public void indexed() {
+		if ( progress != null ) {
+			progress.tupleIndexed( sequence );
+		}
+	}
+}
@@ -20,6 +20,8 @@
  */
 package org.hibernate.ogm.massindex.batchindexing;
 
+import java.util.List;
+
 import org.hibernate.Session;
 import org.hibernate.ogm.datastore.spi.Tuple;
 
@@ -28,6 +30,12 @@
  */
 public interface SessionAwareRunnable {
 
-	void run(Session upperSession, Tuple tuple);
+	/**
+	 * @param upperSession the session to use, {@code null} to open a new one
+	 * @param tuples the tuples to process
+	 * @return {@code true} if all the tuples have been processed, {@code false} if the processing failed and has been
+	 * reported to the error handler
+	 */
+	boolean run(Session upperSession, List<Tuple> tuples);
 
 }
@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.batchindexing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
+import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+
+/**
+ * Counts the elements going through each stage of the indexing pipeline of an entity type: the tuples scanned, the
+ * entities loaded and the documents built. The events are forwarded to the {@link MassIndexerProgressMonitor} set on
+ * the mass indexer.
+ */
+public class StageThroughputMonitor implements MassIndexerProgressMonitor {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final Class<?> indexedType;
+	private final MassIndexerProgressMonitor delegate;
+	private final AtomicLong tuplesScanned = new AtomicLong();
+	private final AtomicLong entitiesLoaded = new AtomicLong();
+	private final AtomicLong documentsBuilt = new AtomicLong();
+	private final long startTime = System.nanoTime();
+
+	public StageThroughputMonitor(Class<?> indexedType, MassIndexerProgressMonitor delegate) {
+		this.indexedType = indexedType;
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Notifies that a tuple has been read from the datastore.
+	 */
+	public void tupleScanned() {
+		tuplesScanned.incrementAndGet();
+	}
+
+	@Override
+	public void documentsAdded(long increment) {
+		delegate.documentsAdded( increment );
+	}
+
+	@Override
+	public void documentsBuilt(int number) {
+		documentsBuilt.addAndGet( number );
+		delegate.documentsBuilt( number );
+	}
+
+	@Override
+	public void entitiesLoaded(int size) {
+		entitiesLoaded.addAndGet( size );
+		delegate.entitiesLoaded( size );
+	}
+
+	@Override
+	public void addToTotalCount(long count) {
+		delegate.addToTotalCount( count );
+	}
+
+	/**
+	 * The completion of the whole mass indexing is notified by the coordinator, see {@link #logThroughput()} for the
+	 * completion of the indexing of the entity type.
+	 */
+	@Override
+	public void indexingCompleted() {
+		delegate.indexingCompleted();
+	}
+
+	/**
+	 * Logs how many elements went through each stage and at which rate.
+	 */
+	public void logThroughput() {
+		long elapsedMillis = Math.max( 1, TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime ) );
+		log.massIndexingThroughput( indexedType.getName(),
+				tuplesScanned.get(), perSecond( tuplesScanned.get(), elapsedMillis ),
+				entitiesLoaded.get(), perSecond( entitiesLoaded.get(), elapsedMillis ),
+				documentsBuilt.get(), perSecond( documentsBuilt.get(), elapsedMillis ),
+				elapsedMillis );
+	}
+
+	private static double perSecond(long count, long elapsedMillis) {
+		return count * 1000d / elapsedMillis;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.batchindexing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.ogm.datastore.spi.Tuple;
+
+/**
+ * Second stage of the batch-indexing pipeline: takes the tuples from the queue filled by the {@link TupleProducer}s
+ * and passes them in batches to the indexer, which loads the entities of a batch in one session and builds their
+ * documents.
+ */
+public class TupleConsumerDocumentProducer implements Runnable {
+
+	private final ProducerConsumerQueue<ScannedTuple> source;
+	private final OptionallyWrapInJTATransaction indexer;
+	private final int batchSize;
+	private final Checkpointer checkpointer;
+
+	/**
+	 * @param source the queue of the scanned tuples
+	 * @param indexer the indexer of the batches of tuples
+	 * @param batchSize the number of tuples to index in a single session
+	 * @param checkpointer the checkpointer to notify of the indexed batches, {@code null} if the progress is not saved
+	 */
+	public TupleConsumerDocumentProducer(ProducerConsumerQueue<ScannedTuple> source, OptionallyWrapInJTATransaction indexer, int batchSize,
+			Checkpointer checkpointer) {
+		this.source = source;
+		this.indexer = indexer;
+		this.batchSize = batchSize;
+		this.checkpointer = checkpointer;
+	}
+
+	@Override
+	public void run() {
+		List<ScannedTuple> batch = new ArrayList<ScannedTuple>( batchSize );
+		try {
+			ScannedTuple tuple = source.take();
+			while ( tuple != null ) {
+				batch.add( tuple );
+				if ( batch.size() == batchSize ) {
+					consume( batch );
+					batch = new ArrayList<ScannedTuple>( batchSize );
+				}
+				tuple = source.take();
+			}
+			if ( !batch.isEmpty() ) {
+				consume( batch );
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void consume(List<ScannedTuple> batch) {
+		List<Tuple> tuples = new ArrayList<Tuple>( batch.size() );
+		for ( ScannedTuple scannedTuple : batch ) {
+			tuples.add( scannedTuple.getTuple() );
+		}
+		// the tuples of a failed batch will be indexed again when resuming
+		if ( indexer.consume( tuples ) ) {
+			for ( ScannedTuple scannedTuple : batch ) {
+				scannedTuple.indexed();
+			}
+			if ( checkpointer != null ) {
+				checkpointer.batchIndexed();
+			}
+		}
+	}
+}
@@ -22,7 +22,6 @@
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -37,12 +36,13 @@
 import org.hibernate.ogm.loader.OgmLoader;
 import org.hibernate.ogm.loader.OgmLoadingContext;
 import org.hibernate.ogm.persister.OgmEntityPersister;
-import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.impl.batch.BatchBackend;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
 import org.hibernate.search.bridge.spi.ConversionContext;
 import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
 import org.hibernate.search.engine.impl.HibernateSessionLoadingInitializer;
+import org.hibernate.search.engine.metadata.impl.TypeMetadata;
 import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
 import org.hibernate.search.engine.spi.EntityIndexBinder;
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
@@ -57,8 +57,9 @@
 /**
  * Component of batch-indexing pipeline, using chained producer-consumers.
  * <p>
- * This Runnable will consume {@link Tuple} objects taken one-by-one and it will create an {@link AddLuceneWork} for the
- * corresponding entity.
+ * This Runnable will consume batches of {@link Tuple} objects, load the corresponding entities in a single session and
+ * create an {@link org.hibernate.search.backend.AddLuceneWork} for each of them, or an
+ * {@link org.hibernate.search.backend.UpdateLuceneWork} if their documents might already be in the index.
  *
  * @author Sanne Grinovero
  * @author Davide D'Alto <davide@hibernate.org>
@@ -73,19 +74,30 @@ public class TupleIndexer implements SessionAwareRunnable {
 	private final CacheMode cacheMode;
 	private final BatchBackend backend;
 	private final ErrorHandler errorHandler;
+	private final boolean replaceExistingDocuments;
 
 	private final Class<?> indexedType;
+	private final OgmEntityPersister persister;
+	private final IndexedEmbeddedInitializer indexedEmbeddedInitializer;
 
 	public TupleIndexer(Class<?> indexedType, MassIndexerProgressMonitor monitor,
 			SessionFactoryImplementor sessionFactory, SearchFactoryImplementor searchFactory,
-			CacheMode cacheMode, BatchBackend backend, ErrorHandler errorHandler) {
+			CacheMode cacheMode, BatchBackend backend, ErrorHandler errorHandler, boolean replaceExistingDocuments) {
 		this.indexedType = indexedType;
+		this.replaceExistingDocuments = replaceExistingDocuments;
 		this.monitor = monitor;
 		this.sessionFactory = sessionFactory;
 		this.cacheMode = cacheMode;
 		this.backend = backend;
 		this.errorHandler = errorHandler;
 		this.entityIndexBinders = searchFactory.getIndexBindingForEntity();
+		this.persister = (OgmEntityPersister) sessionFactory.getEntityPersister( indexedType.getName() );
+		this.indexedEmbeddedInitializer = new IndexedEmbeddedInitializer( persister, metadata( indexedType ), sessionFactory );
+	}
+
+	private TypeMetadata metadata(Class<?> indexedType) {
+		EntityIndexBinder entityIndexBinding = entityIndexBinders.get( indexedType );
+		return entityIndexBinding == null ? null : entityIndexBinding.getDocumentBuilder().getMetadata();
 	}
 
 	private void index(Session session, Object entity) {
@@ -94,11 +106,8 @@ private void index(Session session, Object entity) {
 					(SessionImplementor) session );
 			final ConversionContext contextualBridge = new ContextualExceptionBridgeHelper();
 
-			// trick to attach the objects to session:
-			session.buildLockRequest( LockOptions.NONE ).lock( entity );
 			index( entity, session, sessionInitializer, contextualBridge );
 			monitor.documentsBuilt( 1 );
-			session.clear();
 		}
 		catch ( InterruptedException e ) {
 			Thread.currentThread().interrupt();
@@ -116,20 +125,23 @@ private void index(Object entity, Session session, InstanceInitializer sessionIn
 			EntityIndexingInterceptor interceptor = entityIndexBinding.getEntityIndexingInterceptor();
 			if ( isNotSkippable( interceptor, entity ) ) {
 				Serializable id = session.getIdentifier( entity );
-				AddLuceneWork addWork = createAddLuceneWork( entity, sessionInitializer, conversionContext, id, clazz,
+				LuceneWork work = createLuceneWork( entity, sessionInitializer, conversionContext, id, clazz,
 						entityIndexBinding );
-				backend.enqueueAsyncWork( addWork );
+				backend.enqueueAsyncWork( work );
 			}
 		}
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private AddLuceneWork createAddLuceneWork(Object entity, InstanceInitializer sessionInitializer,
+	private LuceneWork createLuceneWork(Object entity, InstanceInitializer sessionInitializer,
 			ConversionContext conversionContext, Serializable id, Class<?> clazz, EntityIndexBinder entityIndexBinding) {
 		DocumentBuilderIndexedEntity docBuilder = entityIndexBinding.getDocumentBuilder();
 		String idInString = idInString( conversionContext, id, clazz, docBuilder );
 		// depending on the complexity of the object graph going to be indexed it's possible
 		// that we hit the database several times during work construction.
+		if ( replaceExistingDocuments ) {
+			return docBuilder.createUpdateWork( clazz, entity, id, idInString, sessionInitializer, conversionContext );
+		}
 		return docBuilder.createAddWork( clazz, entity, id, idInString, sessionInitializer, conversionContext );
 	}
 
@@ -190,15 +202,24 @@ private void close(Session upperSession, Session session) {
 	}
 
 	@Override
-	public void run(Session upperSession, Tuple tuple) {
+	public boolean run(Session upperSession, List<Tuple> tuples) {
 		Session session = openSession( upperSession );
 		try {
 			Transaction transaction = beginTransaction( session );
-			index( session, entity( session, tuple ) );
+			List<Object> entities = entities( session, tuples );
+			monitor.entitiesLoaded( entities.size() );
+			indexedEmbeddedInitializer.initialize( (SessionImplementor) session, entities );
+			for ( Object entity : entities ) {
+				index( session, entity );
+			}
 			transaction.commit();
+			session.clear();
+			// if interrupted, the documents of some entities might not have been enqueued
+			return !Thread.currentThread().isInterrupted();
 		}
 		catch ( Throwable e ) {
 			errorHandler.handleException( log.massIndexerUnexpectedErrorMessage(), e );
+			return false;
 		}
 		finally {
 			close( upperSession, session );
@@ -206,15 +227,14 @@ public void run(Session upperSession, Tuple tuple) {
 		}
 	}
 
-	private Object entity(Session session, Tuple tuple) {
-		OgmEntityPersister persister = (OgmEntityPersister) sessionFactory.getEntityPersister( indexedType.getName() );
+	/**
+	 * Hydrates the entities straight from the scanned tuples, without reading them again from the datastore.
+	 */
+	private List<Object> entities(Session session, List<Tuple> tuples) {
 		OgmLoader loader = new OgmLoader( new OgmEntityPersister[] { persister } );
-		List<Tuple> tuples = new ArrayList<Tuple>();
-		tuples.add( tuple );
 		OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
 		ogmLoadingContext.setTuples( tuples );
-		List<Object> entities = loader.loadEntities( (SessionImplementor) session, LockOptions.NONE, ogmLoadingContext );
-		return entities.get( 0 );
+		return loader.loadEntities( (SessionImplementor) session, LockOptions.NONE, ogmLoadingContext );
 	}
 
 }
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.batchindexing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.dialect.TuplePartition;
+import org.hibernate.search.exception.ErrorHandler;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * First stage of the batch-indexing pipeline: scans a partition of the tuples of an entity type and puts them in the
+ * queue read by the {@link TupleConsumerDocumentProducer}s.
+ */
+public class TupleProducer implements Runnable {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final TuplePartition partition;
+	private final PartitionProgress progress;
+	private final ProducerConsumerQueue<ScannedTuple> destination;
+	private final AtomicLong remainingTuples;
+	private final StageThroughputMonitor monitor;
+	private final ErrorHandler errorHandler;
+
+	/**
+	 * @param partition the tuples to scan
+	 * @param progress the progress of the partition, {@code null} if it is not tracked
+	 * @param destination the queue the tuples are put into
+	 * @param remainingTuples the number of tuples the producers of the entity type can still put in the queue
+	 * @param monitor the monitor notified of the tuples scanned
+	 * @param errorHandler the handler of the exceptions raised during the scan
+	 */
+	public TupleProducer(TuplePartition partition, PartitionProgress progress, ProducerConsumerQueue<ScannedTuple> destination,
+			AtomicLong remainingTuples, StageThroughputMonitor monitor, ErrorHandler errorHandler) {
+		this.partition = partition;
+		this.progress = progress;
+		this.destination = destination;
+		this.remainingTuples = remainingTuples;
+		this.monitor = monitor;
+		this.errorHandler = errorHandler;
+	}
+
+	@Override
+	public void run() {
+		try {
+			partition.forEachTuple( new QueueingConsumer() );
+			if ( progress != null ) {
+				progress.scanCompleted();
+			}
+		}
+		catch ( StopScanningException e ) {
+			log.trace( "Stopped scanning tuples" );
+		}
+		catch ( RuntimeException re ) {
+			errorHandler.handleException( log.massIndexerUnexpectedErrorMessage(), re );
+		}
+		finally {
+			destination.producerStopping();
+		}
+	}
+
+	private class QueueingConsumer implements Consumer {
+
+		@Override
+		public void consume(Tuple tuple) {
+			if ( remainingTuples.decrementAndGet() < 0 ) {
+				throw new StopScanningException();
+			}
+			long sequence = progress != null ? progress.tupleScanned( tuple ) : 0;
+			try {
+				destination.put( new ScannedTuple( tuple, progress, sequence ) );
+				monitor.tupleScanned();
+			}
+			catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new StopScanningException();
+			}
+		}
+	}
+
+	/**
+	 * Aborts the scan once the maximum number of tuples to index is reached or when interrupted.
+	 */
+	@SuppressWarnings("serial")
+	private static class StopScanningException extends RuntimeException {
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.checkpoint;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The progress of the mass indexing of an entity type: the cursors of the partitions of its tuples which have still
+ * to be indexed.
+ *
+ * @see org.hibernate.ogm.dialect.TuplePartition#getCursor()
+ */
+public class Checkpoint implements Serializable {
+
+	private final List<Serializable> remainingPartitions;
+
+	public Checkpoint(List<Serializable> remainingPartitions) {
+		this.remainingPartitions = Collections.unmodifiableList( remainingPartitions );
+	}
+
+	/**
+	 * Returns the cursors on the tuples which have still to be indexed; some of these tuples might have been indexed
+	 * already.
+	 *
+	 * @return the cursors of the partitions left to index, empty if all the tuples have been indexed
+	 */
+	public List<Serializable> getRemainingPartitions() {
+		return remainingPartitions;
+	}
+
+	public boolean isCompleted() {
+		return remainingPartitions.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "Checkpoint [remainingPartitions=" + remainingPartitions.size() + "]";
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.checkpoint;
+
+/**
+ * Persists the {@link Checkpoint}s saved during a mass indexing, so that an interrupted mass indexing can be resumed
+ * with {@link org.hibernate.ogm.massindex.OgmMassIndexer#resumeFrom(CheckpointStore)}.
+ * <p>
+ * Implementations must be thread-safe, the checkpoints of different entity types being saved concurrently.
+ */
+public interface CheckpointStore {
+
+	/**
+	 * Returns the last checkpoint saved for the given entity type.
+	 *
+	 * @param entityName the name of the entity type
+	 * @return the last checkpoint of the entity type or {@code null} if none has been saved
+	 */
+	Checkpoint load(String entityName);
+
+	/**
+	 * Saves the checkpoint of the given entity type, replacing the previous one.
+	 *
+	 * @param entityName the name of the entity type
+	 * @param checkpoint the progress of the mass indexing of the entity type
+	 */
+	void save(String entityName, Checkpoint checkpoint);
+
+	/**
+	 * Removes the checkpoint of the given entity type, if any.
+	 *
+	 * @param entityName the name of the entity type
+	 */
+	void remove(String entityName);
+
+}
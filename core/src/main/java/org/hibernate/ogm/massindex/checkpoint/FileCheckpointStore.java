@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.massindex.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
+
+/**
+ * Serializes the checkpoint of each entity type to a file of the given directory.
+ * <p>
+ * A checkpoint is first written to a temporary file, which then replaces the previous checkpoint, so that a crash
+ * while saving leaves the previous checkpoint intact.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+	private static final Log log = LoggerFactory.make();
+
+	private static final String CHECKPOINT_EXTENSION = ".checkpoint";
+	private static final String TEMPORARY_EXTENSION = ".tmp";
+
+	private final File directory;
+
+	public FileCheckpointStore(File directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public Checkpoint load(String entityName) {
+		File file = getFile( entityName );
+		if ( !file.exists() ) {
+			return null;
+		}
+		try {
+			ObjectInputStream in = new ObjectInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+			try {
+				return (Checkpoint) in.readObject();
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch ( IOException e ) {
+			throw log.cannotLoadCheckpoint( entityName, file.getAbsolutePath(), e );
+		}
+		catch ( ClassNotFoundException e ) {
+			throw log.cannotLoadCheckpoint( entityName, file.getAbsolutePath(), e );
+		}
+	}
+
+	@Override
+	public void save(String entityName, Checkpoint checkpoint) {
+		File file = getFile( entityName );
+		File temporaryFile = new File( directory.getPath(), file.getName() + TEMPORARY_EXTENSION );
+		try {
+			directory.mkdirs();
+			FileOutputStream fileOut = new FileOutputStream( temporaryFile );
+			try {
+				ObjectOutputStream out = new ObjectOutputStream( new BufferedOutputStream( fileOut ) );
+				out.writeObject( checkpoint );
+				out.flush();
+				// the checkpoint must survive a crash of the node
+				fileOut.getFD().sync();
+			}
+			finally {
+				fileOut.close();
+			}
+		}
+		catch ( IOException e ) {
+			throw log.cannotSaveCheckpoint( entityName, file.getAbsolutePath(), e );
+		}
+		if ( !temporaryFile.renameTo( file ) ) {
+			// some platforms can't rename a file over an existing one
+			file.delete();
+			if ( !temporaryFile.renameTo( file ) ) {
+				throw log.cannotSaveCheckpoint( entityName, file.getAbsolutePath(), null );
+			}
+		}
+	}
+
+	@Override
+	public void remove(String entityName) {
+		getFile( entityName ).delete();
+	}
+
+	private File getFile(String entityName) {
+		return new File( directory.getPath(), entityName + CHECKPOINT_EXTENSION );
+	}
+
+	@Override
+	public String toString() {
+		return "FileCheckpointStore [directory=" + directory + "]";
+	}
+}
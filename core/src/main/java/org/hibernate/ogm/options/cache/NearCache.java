@@ -0,0 +1,76 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.options.cache;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.ogm.options.cache.impl.NearCacheConfiguration;
+import org.hibernate.ogm.options.cache.impl.NearCacheOption;
+import org.hibernate.ogm.options.spi.AnnotationConverter;
+import org.hibernate.ogm.options.spi.MappingOption;
+import org.hibernate.ogm.options.spi.OptionValuePair;
+
+/**
+ * Keeps the tuples and associations of the annotated entity read from the datastore in a bounded in-memory cache
+ * in front of the grid dialect, saving the round trips to remote datastores for data which hardly ever changes.
+ * <p>
+ * Writes executed through the same session factory invalidate the cached elements; changes applied to the datastore by
+ * other means are only seen once the cached elements expired.
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+@MappingOption(NearCache.NearCacheConverter.class)
+public @interface NearCache {
+
+	/**
+	 * The maximum number of tuples and associations of the annotated entity kept in the cache
+	 *
+	 * @return the maximum number of cached elements
+	 */
+	int maxEntries() default 1000;
+
+	/**
+	 * The time after which a cached element expires; 0 means that elements only leave the cache when they are
+	 * evicted or invalidated
+	 *
+	 * @return the time to live of the cached elements
+	 */
+	long ttl() default 0;
+
+	/**
+	 * @return the unit of {@link #ttl()}
+	 */
+	TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+	public static class NearCacheConverter implements AnnotationConverter<NearCache> {
+
+		@Override
+		public OptionValuePair<?> convert(NearCache annotation) {
+			NearCacheConfiguration configuration = new NearCacheConfiguration( annotation.maxEntries(), annotation.timeUnit().toMillis( annotation.ttl() ) );
+			return OptionValuePair.getInstance( new NearCacheOption(), configuration );
+		}
+	}
+}
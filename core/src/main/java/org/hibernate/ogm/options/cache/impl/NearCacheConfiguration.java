@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.options.cache.impl;
+
+/**
+ * The settings of the near cache of an entity.
+ */
+public class NearCacheConfiguration {
+
+	private final int maxEntries;
+	private final long timeToLive;
+
+	/**
+	 * @param maxEntries the maximum number of cached elements
+	 * @param timeToLive the time in milliseconds after which a cached element expires; 0 if elements never expire
+	 */
+	public NearCacheConfiguration(int maxEntries, long timeToLive) {
+		this.maxEntries = maxEntries;
+		this.timeToLive = timeToLive;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	@Override
+	public String toString() {
+		return "NearCacheConfiguration [maxEntries=" + maxEntries + ", timeToLive=" + timeToLive + "]";
+	}
+}
@@ -21,6 +21,7 @@
 package org.hibernate.ogm.options.navigation;
 
 import java.lang.annotation.ElementType;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Entity level to the options navigation API. Let's you define entity level options as well as navigate to a specific
@@ -51,4 +52,16 @@
 	 * {@link ElementType#METHOD}).
 	 */
 	P property(String propertyName, ElementType target);
+
+	/**
+	 * Keeps the tuples and associations of the current entity in a bounded in-memory cache in front of the datastore.
+	 * Overrides any settings on the global level.
+	 *
+	 * @param maxEntries the maximum number of cached elements
+	 * @param timeToLive the time after which a cached element expires; 0 if elements should not expire
+	 * @param timeUnit the unit of {@code timeToLive}
+	 * @return this context, allowing for further fluent API invocations
+	 * @see org.hibernate.ogm.options.cache.NearCache
+	 */
+	E nearCache(int maxEntries, long timeToLive, TimeUnit timeUnit);
 }
@@ -20,6 +20,8 @@
  */
 package org.hibernate.ogm.options.navigation;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Entry point to the options navigation API. Let's you define global level options as well as navigate to a specific
  * entity level.
@@ -40,4 +42,16 @@
 	 */
 	E entity(Class<?> type);
 
+	/**
+	 * Keeps the tuples and associations of all entities in a bounded in-memory cache in front of the datastore, unless
+	 * configured differently on the entity level.
+	 *
+	 * @param maxEntries the maximum number of cached elements per entity
+	 * @param timeToLive the time after which a cached element expires; 0 if elements should not expire
+	 * @param timeUnit the unit of {@code timeToLive}
+	 * @return this context, allowing for further fluent API invocations
+	 * @see org.hibernate.ogm.options.cache.NearCache
+	 */
+	G nearCache(int maxEntries, long timeToLive, TimeUnit timeUnit);
+
 }
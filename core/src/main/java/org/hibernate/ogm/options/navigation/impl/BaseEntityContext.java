@@ -20,6 +20,10 @@
  */
 package org.hibernate.ogm.options.navigation.impl;
 
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.ogm.options.cache.impl.NearCacheConfiguration;
+import org.hibernate.ogm.options.cache.impl.NearCacheOption;
 import org.hibernate.ogm.options.navigation.EntityContext;
 import org.hibernate.ogm.options.navigation.PropertyContext;
 
@@ -35,4 +39,13 @@ public BaseEntityContext(ConfigurationContext context) {
 		super( context );
 	}
 
+	@Override
+	public E nearCache(int maxEntries, long timeToLive, TimeUnit timeUnit) {
+		addEntityOption( new NearCacheOption(), new NearCacheConfiguration( maxEntries, timeUnit.toMillis( timeToLive ) ) );
+
+		// ok; an error would only occur for inconsistently defined context types
+		@SuppressWarnings("unchecked")
+		E context = (E) this;
+		return context;
+	}
 }
@@ -20,6 +20,10 @@
  */
 package org.hibernate.ogm.options.navigation.impl;
 
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.ogm.options.cache.impl.NearCacheConfiguration;
+import org.hibernate.ogm.options.cache.impl.NearCacheOption;
 import org.hibernate.ogm.options.navigation.EntityContext;
 import org.hibernate.ogm.options.navigation.GlobalContext;
 
@@ -34,4 +38,14 @@
 	public BaseGlobalContext(ConfigurationContext context) {
 		super( context );
 	}
+
+	@Override
+	public G nearCache(int maxEntries, long timeToLive, TimeUnit timeUnit) {
+		addGlobalOption( new NearCacheOption(), new NearCacheConfiguration( maxEntries, timeUnit.toMillis( timeToLive ) ) );
+
+		// ok; an error would only occur for inconsistently defined context types
+		@SuppressWarnings("unchecked")
+		G context = (G) this;
+		return context;
+	}
 }
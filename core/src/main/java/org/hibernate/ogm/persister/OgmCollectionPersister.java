@@ -49,6 +49,7 @@
 import org.hibernate.ogm.grid.AssociationKeyMetadata;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.grid.RowKeyMetadata;
 import org.hibernate.ogm.grid.impl.RowKeyBuilder;
 import org.hibernate.ogm.jdbc.TupleAsMapResultSet;
 import org.hibernate.ogm.loader.OgmBasicCollectionLoader;
@@ -85,6 +86,8 @@ public class OgmCollectionPersister extends AbstractCollectionPersister implemen
 	private final GridDialect gridDialect;
 	private final AssociationKeyMetadata associationKeyMetadata;
 	private final AssociationKeyMetadata associationKeyMetadataFromElement;
+	// shared by all the row keys of the collection
+	private final RowKeyMetadata rowKeyMetadata;
 
 	private final String nodeName;
 
@@ -121,11 +124,13 @@ else if ( getElementType().isAssociationType() && getElementType().isEntityType(
 			gridTypeOfAssociatedId = null;
 			associationType = AssociationType.OTHER;
 		}
+		rowKeyMetadata = new RowKeyMetadata( getTableName(), getRowKeyColumnNames() );
+
 		associationKeyMetadata = new AssociationKeyMetadata( getTableName(), getKeyColumnNames() );
-		associationKeyMetadata.setRowKeyColumnNames( getRowKeyColumnNames() );
+		associationKeyMetadata.setRowKeyColumnNames( rowKeyMetadata.getColumnNames() );
 
 		associationKeyMetadataFromElement = new AssociationKeyMetadata( getTableName(), getElementColumnNames() );
-		associationKeyMetadataFromElement.setRowKeyColumnNames( getRowKeyColumnNames() );
+		associationKeyMetadataFromElement.setRowKeyColumnNames( rowKeyMetadata.getColumnNames() );
 
 		nodeName = collection.getNodeName();
 	}
@@ -295,7 +300,7 @@ private void completeTuple(RowKeyAndTuple keyAndTuple, PersistentCollection coll
 
 	private RowKeyAndTuple createAndPutTupleforInsert(Serializable key, PersistentCollection collection,
 			AssociationPersister associationPersister, SessionImplementor session, int i, Object entry) {
-		RowKeyBuilder rowKeyBuilder = initializeRowKeyBuilder();
+		RowKeyBuilder rowKeyBuilder = new RowKeyBuilder().metadata( rowKeyMetadata );
 		Tuple tuple = new Tuple();
 		if ( hasIdentifier ) {
 			final Object identifier = collection.getIdentifier( entry, i );
@@ -353,7 +358,7 @@ public String[] getRowKeyColumnNames() {
 	}
 
 	private RowKey getTupleKeyForUpdate(Serializable key, PersistentCollection collection, SessionImplementor session, int i, Object entry) {
-		RowKeyBuilder rowKeyBuilder = initializeRowKeyBuilder();
+		RowKeyBuilder rowKeyBuilder = new RowKeyBuilder().metadata( rowKeyMetadata );
 		Tuple tuple = new Tuple();
 		if ( hasIdentifier ) {
 			final Object identifier = collection.getIdentifier( entry, i );
@@ -379,7 +384,7 @@ private RowKey getTupleKeyForUpdate(Serializable key, PersistentCollection colle
 	}
 
 	private RowKey getTupleKeyForDelete(Serializable key, PersistentCollection collection, SessionImplementor session, Object entry, boolean findByIndex) {
-		RowKeyBuilder rowKeyBuilder = initializeRowKeyBuilder();
+		RowKeyBuilder rowKeyBuilder = new RowKeyBuilder().metadata( rowKeyMetadata );
 		Tuple tuple = new Tuple();
 		if ( hasIdentifier ) {
 			final Object identifier = entry;
@@ -24,6 +24,7 @@
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -55,15 +56,18 @@
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Table;
+import org.hibernate.ogm.datastore.impl.EntityOptionsContext;
 import org.hibernate.ogm.datastore.spi.Association;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.datastore.spi.TupleSchema;
 import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.exception.NotSupportedException;
 import org.hibernate.ogm.grid.AssociationKeyMetadata;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.loader.OgmLoader;
+import org.hibernate.ogm.options.spi.OptionsService;
 import org.hibernate.ogm.type.GridType;
 import org.hibernate.ogm.type.TypeTranslator;
 import org.hibernate.ogm.util.impl.ArrayHelper;
@@ -110,6 +114,7 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 	private final GridType gridIdentifierType;
 	private final String jpaEntityName;
 	private final TupleContext tupleContext;
+	private final int batchSize;
 
 	//service references
 	private final GridDialect gridDialect;
@@ -223,8 +228,11 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 		if ( discriminator.getColumnName() != null ) {
 			columnNames.add( discriminator.getColumnName() );
 		}
-		this.tupleContext = new TupleContext( columnNames );
+		List<String> schemaColumnNames = new ArrayList<String>( Arrays.asList( getIdentifierColumnNames() ) );
+		schemaColumnNames.addAll( columnNames );
+		this.tupleContext = new TupleContext( columnNames, new TupleSchema( schemaColumnNames ), getOptionsContext( persistentClass, serviceRegistry ) );
 		jpaEntityName = persistentClass.getJpaEntityName();
+		batchSize = persistentClass.getBatchSize() == -1 ? factory.getSettings().getDefaultBatchFetchSize() : persistentClass.getBatchSize();
 		entityKeyMetadata = new EntityKeyMetadata( getTableName(), getIdentifierColumnNames() );
 		//load unique key association key metadata
 		associationKeyMetadataPerPropertyName = new HashMap<String,AssociationKeyMetadata>();
@@ -239,6 +247,13 @@ private void initCustomSQLStrings() {
 		customSQLDelete = new String[TABLE_SPAN];
 	}
 
+	private static EntityOptionsContext getOptionsContext(PersistentClass persistentClass, ServiceRegistryImplementor serviceRegistry) {
+		if ( persistentClass.getMappedClass() == null ) {
+			return null;
+		}
+		return new EntityOptionsContext( serviceRegistry.getService( OptionsService.class ).context(), persistentClass.getMappedClass() );
+	}
+
 	private void initAssociationKeyMetadata() {
 		for (int index = 0 ; index < getPropertySpan() ; index++) {
 			final Type uniqueKeyType = getPropertyTypes()[index];
@@ -952,7 +967,7 @@ private Tuple createNewResultSetIfNull(
 			Serializable id,
 			SessionImplementor session) {
 		if (resultset == null) {
-			resultset = gridDialect.createTuple( key );
+			resultset = gridDialect.createTuple( key, getTupleContext() );
 			gridIdentifierType.nullSafeSet( resultset, id, getIdentifierColumnNames(), session );
 		}
 		return resultset;
@@ -1203,6 +1218,14 @@ public Serializable[] getPropertySpaces() {
 		return spaces;
 	}
 
+	/**
+	 * Returns the maximum number of entities of this type to be fetched at once when loading uninitialized proxies,
+	 * as given via {@code @BatchSize} or the {@code hibernate.default_batch_fetch_size} property.
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
 	public TupleContext getTupleContext() {
 		return this.tupleContext;
 	}
@@ -0,0 +1,200 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.query.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.engine.query.spi.ParameterMetadata;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.AbstractQueryImpl;
+import org.hibernate.ogm.loader.OgmLoader;
+import org.hibernate.ogm.persister.OgmEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.ProjectionConstants;
+
+/**
+ * Query implementation based on Hibernate Search, used for queries returning entities.
+ * <p>
+ * Instead of letting Hibernate Search load the matching entities one by one, only their ids and types are retrieved
+ * from the index. The entities which are not yet part of the persistence context are then fetched with one call to
+ * {@link org.hibernate.ogm.dialect.GridDialect#getTuples(org.hibernate.ogm.grid.EntityKey[], org.hibernate.ogm.datastore.spi.TupleContext)}
+ * per entity type, unless they can be taken from the second-level cache.
+ */
+public class LuceneBasedQueryImpl extends AbstractQueryImpl {
+
+	private static final int ID = 0;
+	private static final int OBJECT_CLASS = 1;
+
+	private final FullTextQuery fullTextQuery;
+
+	public LuceneBasedQueryImpl(FullTextQuery fullTextQuery, String queryString, SessionImplementor session) {
+		super( queryString, null, session, new ParameterMetadata( null, null ) );
+		this.fullTextQuery = fullTextQuery;
+	}
+
+	@Override
+	public Iterator<?> iterate() throws HibernateException {
+		return list().iterator();
+	}
+
+	@Override
+	public ScrollableResults scroll() throws HibernateException {
+		applySelection();
+		return fullTextQuery.scroll();
+	}
+
+	@Override
+	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException {
+		applySelection();
+		return fullTextQuery.scroll( scrollMode );
+	}
+
+	@Override
+	public List<?> list() throws HibernateException {
+		applySelection();
+		fullTextQuery.setProjection( ProjectionConstants.ID, ProjectionConstants.OBJECT_CLASS );
+
+		@SuppressWarnings("unchecked")
+		List<Object[]> hits = fullTextQuery.list();
+		loadMissingEntities( hits );
+
+		List<Object> results = new ArrayList<Object>( hits.size() );
+		for ( Object[] hit : hits ) {
+			Object entity = getFromPersistenceContext( hit );
+			// the index may refer to entities which don't exist anymore
+			if ( entity != null ) {
+				results.add( entity );
+			}
+		}
+
+		return results;
+	}
+
+	private void applySelection() {
+		RowSelection selection = getRowSelection();
+
+		if ( selection.getFirstRow() != null ) {
+			fullTextQuery.setFirstResult( selection.getFirstRow() );
+		}
+		if ( selection.getMaxRows() != null ) {
+			fullTextQuery.setMaxResults( selection.getMaxRows() );
+		}
+		if ( selection.getFetchSize() != null ) {
+			fullTextQuery.setFetchSize( selection.getFetchSize() );
+		}
+	}
+
+	private void loadMissingEntities(List<Object[]> hits) {
+		Map<String, List<Serializable>> missingIds = new LinkedHashMap<String, List<Serializable>>();
+		for ( Object[] hit : hits ) {
+			EntityPersister persister = getPersister( hit );
+			EntityKey key = session.generateEntityKey( (Serializable) hit[ID], persister );
+
+			if ( session.getPersistenceContext().getEntity( key ) == null && !loadFromSecondLevelCache( persister, key ) ) {
+				List<Serializable> ids = missingIds.get( persister.getEntityName() );
+				if ( ids == null ) {
+					ids = new ArrayList<Serializable>();
+					missingIds.put( persister.getEntityName(), ids );
+				}
+				ids.add( key.getIdentifier() );
+			}
+		}
+
+		for ( Map.Entry<String, List<Serializable>> entry : missingIds.entrySet() ) {
+			OgmEntityPersister persister = (OgmEntityPersister) session.getFactory().getEntityPersister( entry.getKey() );
+			List<Serializable> ids = entry.getValue();
+
+			new OgmLoader( new OgmEntityPersister[] { persister } )
+					.loadEntities( session, LockOptions.NONE, ids.toArray( new Serializable[ids.size()] ) );
+		}
+	}
+
+	/**
+	 * Loads the entity with the given key into the persistence context if the second-level cache contains it.
+	 *
+	 * @return {@code true} if the entity has been loaded, {@code false} if it still needs to be fetched from the
+	 * datastore
+	 */
+	private boolean loadFromSecondLevelCache(EntityPersister persister, EntityKey key) {
+		if ( !persister.hasCache() || !session.getCacheMode().isGetEnabled() ) {
+			return false;
+		}
+
+		CacheKey cacheKey = session.generateCacheKey( key.getIdentifier(), persister.getIdentifierType(), persister.getRootEntityName() );
+		if ( !persister.getCacheAccessStrategy().getRegion().contains( cacheKey ) ) {
+			return false;
+		}
+
+		return session.internalLoad( persister.getEntityName(), key.getIdentifier(), true, true ) != null;
+	}
+
+	/**
+	 * Returns the entity of the given hit from the persistence context, or the proxy referring to it, if there is one.
+	 */
+	private Object getFromPersistenceContext(Object[] hit) {
+		EntityPersister persister = getPersister( hit );
+		EntityKey key = session.generateEntityKey( (Serializable) hit[ID], persister );
+		PersistenceContext persistenceContext = session.getPersistenceContext();
+
+		Object entity = persistenceContext.getEntity( key );
+		return entity == null ? null : persistenceContext.proxyFor( persister, key, entity );
+	}
+
+	private EntityPersister getPersister(Object[] hit) {
+		return session.getFactory().getEntityPersister( ( (Class<?>) hit[OBJECT_CLASS] ).getName() );
+	}
+
+	@Override
+	public int executeUpdate() throws HibernateException {
+		throw new UnsupportedOperationException( "Not implemented yet" );
+	}
+
+	@Override
+	public Query setLockOptions(LockOptions lockOptions) {
+		throw new UnsupportedOperationException( "Not implemented yet" );
+	}
+
+	@Override
+	public Query setLockMode(String alias, LockMode lockMode) {
+		throw new UnsupportedOperationException( "Not implemented yet" );
+	}
+
+	@Override
+	public LockOptions getLockOptions() {
+		throw new UnsupportedOperationException( "Not implemented yet" );
+	}
+}
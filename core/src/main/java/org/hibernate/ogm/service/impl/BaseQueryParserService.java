@@ -20,18 +20,123 @@
  */
 package org.hibernate.ogm.service.impl;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.hibernate.Filter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.query.spi.ParameterMetadata;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.hql.QueryParser;
+import org.hibernate.hql.ast.spi.AstProcessingChain;
+import org.hibernate.ogm.datastore.spi.StartStoppable;
+import org.hibernate.ogm.util.configurationreader.impl.ConfigurationPropertyReader;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
+import org.hibernate.service.spi.Configurable;
 
 /**
  * Common base functionality for {@link QueryParserService} implementations.
+ * <p>
+ * The results of parsing the queries are kept in a {@link ParsingResultCache}, whose size is given by
+ * {@link AvailableSettings#QUERY_PLAN_CACHE_MAX_SIZE} as for the query plans of Hibernate ORM. The named queries are
+ * pre-compiled when the service is started.
  *
+ * @param <R> the type of the results of parsing a query
  * @author Gunnar Morling
  */
-public abstract class BaseQueryParserService implements QueryParserService {
+public abstract class BaseQueryParserService<R> implements QueryParserService, Configurable, StartStoppable {
+
+	private static final Log log = LoggerFactory.make();
+
+	private volatile ParsingResultCache<R> parsingResults = new ParsingResultCache<R>( QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT );
+
+	@Override
+	public void configure(@SuppressWarnings("rawtypes") Map configurationValues) {
+		int maxSize = new ConfigurationPropertyReader( configurationValues )
+				.property( AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE, int.class )
+				.withDefault( QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT )
+				.getValue();
+
+		parsingResults = new ParsingResultCache<R>( maxSize );
+	}
+
+	@Override
+	public void start(Configuration configuration, SessionFactoryImplementor sessionFactory) {
+		for ( NamedQueryDefinition namedQuery : configuration.getNamedQueries().values() ) {
+			precompile( sessionFactory, namedQuery );
+		}
+	}
+
+	@Override
+	public void stop() {
+		parsingResults.clear();
+	}
+
+	/**
+	 * Caches the query plan of Hibernate ORM for the given named query, which provides the parameter metadata, and the
+	 * result of parsing it if it has no parameters.
+	 */
+	private void precompile(SessionFactoryImplementor sessionFactory, NamedQueryDefinition namedQuery) {
+		try {
+			ParameterMetadata parameterMetadata = sessionFactory.getQueryPlanCache()
+					.getHQLQueryPlan( namedQuery.getQueryString(), false, Collections.<String, Filter>emptyMap() )
+					.getParameterMetadata();
+
+			if ( parameterMetadata.getNamedParameterNames().isEmpty() && parameterMetadata.getOrdinalParameterCount() == 0 ) {
+				parseQuery( sessionFactory, namedQuery.getQueryString(), Collections.<String, Object>emptyMap() );
+			}
+		}
+		catch (RuntimeException e) {
+			// the same error will be raised when the query is used
+			log.debugf( e, "Could not pre-compile named query %s", namedQuery.getName() );
+		}
+	}
+
+	/**
+	 * Returns the result of parsing the given query with the given parameters, parsing it only if it has not been
+	 * cached yet.
+	 *
+	 * @param sessionFactory the session factory
+	 * @param queryString the JP-QL query
+	 * @param namedParameters the named parameters of the query, possibly wrapped into {@link TypedValue}s
+	 * @return the result of parsing the query
+	 */
+	protected R parseQuery(SessionFactoryImplementor sessionFactory, String queryString, Map<String, Object> namedParameters) {
+		Map<String, Object> parameters = unwrap( namedParameters );
+		R result = parsingResults.get( queryString, parameters );
+
+		if ( result == null ) {
+			result = new QueryParser().parseQuery( queryString, createProcessingChain( sessionFactory, parameters ) );
+			parsingResults.put( queryString, parameters, result );
+		}
+
+		return result;
+	}
+
+	/**
+	 * Creates the processing chain transforming the given query into the query of the store.
+	 *
+	 * @param sessionFactory the session factory
+	 * @param namedParameters the unwrapped named parameters of the query
+	 * @return the processing chain for the query
+	 */
+	protected abstract AstProcessingChain<R> createProcessingChain(SessionFactoryImplementor sessionFactory, Map<String, Object> namedParameters);
+
+	/**
+	 * Returns the cache of the parsed queries, e.g. to get its hit and miss counts.
+	 *
+	 * @return the cache of the parsed queries
+	 */
+	public ParsingResultCache<R> getParsingResultCache() {
+		return parsingResults;
+	}
 
 	/**
 	 * Unwraps the given named parameters if they are wrapped into {@link TypedValue}s.
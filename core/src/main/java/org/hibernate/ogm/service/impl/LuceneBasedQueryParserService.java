@@ -23,13 +23,13 @@
 import java.util.Map;
 
 import org.hibernate.Query;
-import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.hql.QueryParser;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.hql.ast.spi.EntityNamesResolver;
 import org.hibernate.hql.lucene.LuceneProcessingChain;
 import org.hibernate.hql.lucene.LuceneQueryParsingResult;
 import org.hibernate.ogm.hibernatecore.impl.OgmSession;
+import org.hibernate.ogm.query.impl.LuceneBasedQueryImpl;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.search.FullTextQuery;
@@ -38,6 +38,7 @@
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
+import org.hibernate.search.util.impl.ContextHelper;
 
 /**
  * QueryParserService using the ANTLR3-powered LuceneJPQLWalker.
@@ -46,7 +47,7 @@
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2012 Red Hat Inc.
  */
-public class LuceneBasedQueryParserService extends BaseQueryParserService {
+public class LuceneBasedQueryParserService extends BaseQueryParserService<LuceneQueryParsingResult> {
 
 	private static final Log log = LoggerFactory.make();
 
@@ -61,8 +62,7 @@ public LuceneBasedQueryParserService() {
 	public Query getParsedQueryExecutor(OgmSession session, String queryString, Map<String, Object> namedParameters) {
 		FullTextSession fullTextSession = Search.getFullTextSession( session );
 
-		LuceneQueryParsingResult parsingResult = new QueryParser().parseQuery( queryString,
-				createProcessingChain( session, unwrap( namedParameters ), fullTextSession ) );
+		LuceneQueryParsingResult parsingResult = parseQuery( session.getFactory(), queryString, namedParameters );
 
 		log.createdQuery( queryString, parsingResult.getQuery() );
 
@@ -71,13 +71,21 @@ public Query getParsedQueryExecutor(OgmSession session, String queryString, Map<
 
 		// Following options are mandatory to load matching entities without using a query
 		// (chicken and egg problem)
-		fullTextQuery.initializeObjectsWith( ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.FIND_BY_ID );
-		return fullTextQuery;
+		fullTextQuery.initializeObjectsWith( ObjectLookupMethod.PERSISTENCE_CONTEXT, DatabaseRetrievalMethod.FIND_BY_ID );
+
+		if ( parsingResult.getProjections().isEmpty() ) {
+			// loads the matching entities in bulk rather than one by one
+			return new LuceneBasedQueryImpl( fullTextQuery, queryString, session.getDelegate() );
+		}
+		else {
+			return fullTextQuery;
+		}
 	}
 
-	private LuceneProcessingChain createProcessingChain(Session session, Map<String, Object> namedParameters, FullTextSession fullTextSession) {
-		EntityNamesResolver entityNamesResolver = getDefinedEntityNames( session.getSessionFactory() );
-		SearchFactoryImplementor searchFactory = (SearchFactoryImplementor) fullTextSession.getSearchFactory();
+	@Override
+	protected LuceneProcessingChain createProcessingChain(SessionFactoryImplementor sessionFactory, Map<String, Object> namedParameters) {
+		EntityNamesResolver entityNamesResolver = getDefinedEntityNames( sessionFactory );
+		SearchFactoryImplementor searchFactory = ContextHelper.getSearchFactoryBySFI( sessionFactory );
 
 		return new LuceneProcessingChain.Builder( searchFactory, entityNamesResolver )
 				.namedParameters( namedParameters )
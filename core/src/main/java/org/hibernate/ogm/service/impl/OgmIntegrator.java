@@ -20,11 +20,14 @@
  */
 package org.hibernate.ogm.service.impl;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.integrator.spi.ServiceContributingIntegrator;
+import org.hibernate.internal.SessionFactoryImpl;
 import org.hibernate.metamodel.source.MetadataImplementor;
 import org.hibernate.ogm.cfg.impl.Version;
 import org.hibernate.ogm.dialect.OgmDialectFactoryInitiator;
@@ -46,6 +49,12 @@ public class OgmIntegrator implements Integrator, ServiceContributingIntegrator
 	@Override
 	public void integrate(Configuration configuration, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
 		doIntegrate( serviceRegistry );
+
+		// starts the query parser service once the persisters are available, so that the named queries get pre-compiled
+		if ( serviceRegistry.getService( ConfigurationService.class ).isOgmOn() && !configuration.getNamedQueries().isEmpty()
+				&& sessionFactory instanceof SessionFactoryImpl ) {
+			( (SessionFactoryImpl) sessionFactory ).addObserver( new QueryParserServiceStarter( serviceRegistry ) );
+		}
 	}
 
 	@Override
@@ -75,4 +84,22 @@ public void prepareServices(StandardServiceRegistryBuilder serviceRegistryBuilde
 		serviceRegistryBuilder.addInitiator( OgmJtaPlatformInitiator.INSTANCE );
 		serviceRegistryBuilder.addInitiator( OgmJdbcServicesInitiator.INSTANCE );
 	}
+
+	private static class QueryParserServiceStarter implements SessionFactoryObserver {
+
+		private final SessionFactoryServiceRegistry serviceRegistry;
+
+		public QueryParserServiceStarter(SessionFactoryServiceRegistry serviceRegistry) {
+			this.serviceRegistry = serviceRegistry;
+		}
+
+		@Override
+		public void sessionFactoryCreated(SessionFactory factory) {
+			serviceRegistry.getService( QueryParserService.class );
+		}
+
+		@Override
+		public void sessionFactoryClosed(SessionFactory factory) {
+		}
+	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.service.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * A bounded cache for the results of parsing JP-QL queries.
+ * <p>
+ * The query parser renders the values of the named parameters into the queries it creates, so the results are keyed
+ * by the query string and the parameter values. Queries whose parameters are not all of an immutable basic type (e.g.
+ * entities or collections) are not cached.
+ *
+ * @param <R> the type of the parsing results
+ */
+public class ParsingResultCache<R> {
+
+	private final BoundedConcurrentHashMap<Key, R> results;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	public ParsingResultCache(int maxSize) {
+		this.results = new BoundedConcurrentHashMap<Key, R>( maxSize, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+	}
+
+	/**
+	 * Returns the cached result of parsing the given query with the given parameters.
+	 *
+	 * @param queryString the JP-QL query
+	 * @param namedParameters the values of the named parameters of the query
+	 * @return the cached result or {@code null} if the query must be parsed
+	 */
+	public R get(String queryString, Map<String, Object> namedParameters) {
+		Key key = key( queryString, namedParameters );
+		R result = key == null ? null : results.get( key );
+		if ( result == null ) {
+			missCount.incrementAndGet();
+		}
+		else {
+			hitCount.incrementAndGet();
+		}
+		return result;
+	}
+
+	/**
+	 * Caches the result of parsing the given query with the given parameters, if they allow it.
+	 *
+	 * @param queryString the JP-QL query
+	 * @param namedParameters the values of the named parameters of the query
+	 * @param result the result of parsing the query
+	 */
+	public void put(String queryString, Map<String, Object> namedParameters, R result) {
+		Key key = key( queryString, namedParameters );
+		if ( key != null ) {
+			results.put( key, result );
+		}
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public int size() {
+		return results.size();
+	}
+
+	public void clear() {
+		results.clear();
+	}
+
+	private Key key(String queryString, Map<String, Object> namedParameters) {
+		for ( Object value : namedParameters.values() ) {
+			if ( !isImmutable( value ) ) {
+				return null;
+			}
+		}
+		return new Key( queryString, namedParameters );
+	}
+
+	private boolean isImmutable(Object value) {
+		return value == null
+				|| value instanceof String
+				|| value instanceof Boolean
+				|| value instanceof Character
+				|| value instanceof Enum
+				|| value instanceof Integer
+				|| value instanceof Long
+				|| value instanceof Short
+				|| value instanceof Byte
+				|| value instanceof Double
+				|| value instanceof Float
+				|| value instanceof BigInteger
+				|| value instanceof BigDecimal;
+	}
+
+	private static class Key {
+
+		private final String queryString;
+		private final Map<String, Object> namedParameters;
+		private final int hashCode;
+
+		public Key(String queryString, Map<String, Object> namedParameters) {
+			this.queryString = queryString;
+			this.namedParameters = namedParameters;
+			this.hashCode = 31 * queryString.hashCode() + namedParameters.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( this == obj ) {
+				return true;
+			}
+			if ( obj == null || getClass() != obj.getClass() ) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return queryString.equals( other.queryString ) && namedParameters.equals( other.namedParameters );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -44,6 +44,32 @@ public void validate(Integer value) throws HibernateException {
 		}
 	};
 
+	/**
+	 * A {@link PropertyValidator} which asserts that a given number is a valid maximum number of queued operations.
+	 */
+	public static final PropertyValidator<Integer> MAX_QUEUED_OPERATIONS = new PropertyValidator<Integer>() {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value < 0 ) {
+				throw log.illegalMaxQueuedOperationsValue( value );
+			}
+		}
+	};
+
+	/**
+	 * A {@link PropertyValidator} which asserts that a given number is a valid flush parallelism.
+	 */
+	public static final PropertyValidator<Integer> FLUSH_PARALLELISM = new PropertyValidator<Integer>() {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value < 1 ) {
+				throw log.illegalFlushParallelismValue( value );
+			}
+		}
+	};
+
 	private static final Log log = LoggerFactory.make();
 
 	private Validators() {
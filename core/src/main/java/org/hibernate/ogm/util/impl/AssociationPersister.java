@@ -148,7 +148,7 @@ public AssociationPersister associationKeyMetadata(AssociationKeyMetadata associ
 
 	//action methods
 
-	private AssociationKey getAssociationKey() {
+	public AssociationKey getAssociationKey() {
 		if ( associationKey == null ) {
 			final Object[] columnValues = getKeyColumnValues();
 			String collectionRole = null;
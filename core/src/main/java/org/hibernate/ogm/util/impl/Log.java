@@ -187,4 +187,35 @@ public interface Log extends BasicLogger {
 
 	@Message(id = 56, value = "Unable to load record for retrieval of generated properties; Entity type: %1$s, id: %2$s")
 	HibernateException couldNotRetrieveEntityForRetrievalOfGeneratedProperties(String entityType, Serializable id);
+
+	@LogMessage(level = DEBUG)
+	@Message(id = 57, value = "Executing batch of %1$d operations; %2$d operations have been eliminated by merging or cancelling out operations")
+	void executingBatch(int addedOperations, int eliminatedOperations);
+
+	@Message(id = 58, value = "The value set for the configuration property '" + OgmProperties.MAX_QUEUED_OPERATIONS + "' must be a non-negative number. Found '%s'.")
+	HibernateException illegalMaxQueuedOperationsValue(int value);
+
+	@Message(id = 59, value = "The value set for the configuration property '" + OgmProperties.FLUSH_PARALLELISM + "' must be a number greater than 0. Found '%s'.")
+	HibernateException illegalFlushParallelismValue(int value);
+
+	@Message(id = 60, value = "%1$d groups of writes failed while executing a batch: %2$s")
+	HibernateException errorsWhileExecutingBatch(int failures, String messages, @Cause Throwable firstFailure);
+
+	@Message(id = 61, value = "Interrupted while waiting for the execution of a batch")
+	HibernateException interruptedWhileExecutingBatch(@Cause InterruptedException e);
+
+	@LogMessage(level = INFO)
+	@Message(id = 62, value = "Mass indexing of %1$s: %2$d tuples scanned (%3$.1f/s), %4$d entities loaded (%5$.1f/s), %6$d documents built (%7$.1f/s) in %8$d ms")
+	void massIndexingThroughput(String entityName, long tuplesScanned, double tuplesScannedPerSecond, long entitiesLoaded, double entitiesLoadedPerSecond,
+			long documentsBuilt, double documentsBuiltPerSecond, long elapsedMillis);
+
+	@Message(id = 63, value = "Unable to save the mass indexing checkpoint of %1$s to %2$s")
+	HibernateException cannotSaveCheckpoint(String entityName, String file, @Cause Exception e);
+
+	@Message(id = 64, value = "Unable to load the mass indexing checkpoint of %1$s from %2$s")
+	HibernateException cannotLoadCheckpoint(String entityName, String file, @Cause Exception e);
+
+	@LogMessage(level = INFO)
+	@Message(id = 65, value = "Resuming the mass indexing of %1$s from its checkpoint: %2$d partitions left to index")
+	void resumingMassIndexing(String entityName, int partitions);
 }
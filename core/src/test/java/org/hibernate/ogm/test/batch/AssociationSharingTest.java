@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.batch;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.dialect.BatchOperationsDelegator;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.AssociationKeyMetadata;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.test.batch.BatchExecutionTest.SampleBatchableDialect;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link BatchOperationsDelegator} reads each association at most once per batch and collects all
+ * the changes to it in a single operation.
+ */
+public class AssociationSharingTest {
+
+	private CountingDialect dialect;
+	private BatchOperationsDelegator delegator;
+
+	@Before
+	public void init() {
+		dialect = new CountingDialect();
+		delegator = new BatchOperationsDelegator( dialect );
+	}
+
+	@Test
+	public void testAssociationIsReadOnceDuringBatch() throws Exception {
+		delegator.prepareBatch();
+		Association first = delegator.getAssociation( associationKey( "owner" ), context() );
+		Association second = delegator.getAssociation( associationKey( "owner" ), context() );
+		delegator.clearBatch();
+
+		assertThat( second ).isSameAs( first );
+		assertThat( dialect.reads ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testChangesToTheSameAssociationAreWrittenOnce() throws Exception {
+		delegator.prepareBatch();
+		for ( String child : new String[] { "child-1", "child-2", "child-3" } ) {
+			Association association = delegator.getAssociation( associationKey( "owner" ), context() );
+			association.put( rowKey( child ), null );
+			delegator.updateAssociation( association, associationKey( "owner" ), context() );
+		}
+		delegator.executeBatch();
+		delegator.clearBatch();
+
+		assertThat( dialect.reads ).isEqualTo( 1 );
+		assertThat( dialect.executedOperations ).hasSize( 1 );
+		UpdateAssociationOperation update = (UpdateAssociationOperation) dialect.executedOperations.get( 0 );
+		assertThat( update.getAssociation().size() ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void testCreatedAssociationIsShared() throws Exception {
+		delegator.prepareBatch();
+		Association created = delegator.createAssociation( associationKey( "owner" ), context() );
+		Association read = delegator.getAssociation( associationKey( "owner" ), context() );
+		delegator.clearBatch();
+
+		assertThat( read ).isSameAs( created );
+		assertThat( dialect.reads ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testRemovedAssociationIsNoLongerShared() throws Exception {
+		delegator.prepareBatch();
+		Association removed = delegator.getAssociation( associationKey( "owner" ), context() );
+		delegator.removeAssociation( associationKey( "owner" ), context() );
+		Association read = delegator.getAssociation( associationKey( "owner" ), context() );
+		delegator.clearBatch();
+
+		assertThat( read ).isNotSameAs( removed );
+		assertThat( dialect.reads ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testMultiGetOnlyReadsUnknownAssociations() throws Exception {
+		delegator.prepareBatch();
+		Association known = delegator.getAssociation( associationKey( "owner-1" ), context() );
+		List<Association> associations = delegator.getAssociations(
+				new AssociationKey[] { associationKey( "owner-1" ), associationKey( "owner-2" ) }, context() );
+		delegator.clearBatch();
+
+		assertThat( associations.get( 0 ) ).isSameAs( known );
+		assertThat( associations.get( 1 ) ).isNotNull();
+		assertThat( dialect.reads ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testAssociationsAreNotSharedOutsideOfBatch() throws Exception {
+		Association first = delegator.getAssociation( associationKey( "owner" ), context() );
+		Association second = delegator.getAssociation( associationKey( "owner" ), context() );
+
+		assertThat( second ).isNotSameAs( first );
+		assertThat( dialect.reads ).isEqualTo( 2 );
+	}
+
+	private AssociationContext context() {
+		return new AssociationContext( null );
+	}
+
+	private AssociationKey associationKey(String ownerId) {
+		AssociationKeyMetadata keyMetadata = new AssociationKeyMetadata( "Owner_Children", new String[] { "owner_id" } );
+		EntityKey ownerKey = new EntityKey( new EntityKeyMetadata( "Owner", new String[] { "id" } ), new Object[] { ownerId } );
+		return new AssociationKey( keyMetadata, new Object[] { ownerId }, "children", ownerKey, null );
+	}
+
+	private RowKey rowKey(String childId) {
+		return new RowKey( "Owner_Children", new String[] { "child_id" }, new Object[] { childId } );
+	}
+
+	private static class CountingDialect extends SampleBatchableDialect {
+
+		private int reads = 0;
+		private final List<Operation> executedOperations = new ArrayList<Operation>();
+
+		public CountingDialect() {
+			super( null );
+		}
+
+		@Override
+		public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+			reads++;
+			return new Association();
+		}
+
+		@Override
+		public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+			List<Association> associations = new ArrayList<Association>( keys.length );
+			for ( AssociationKey key : keys ) {
+				associations.add( getAssociation( key, associationContext ) );
+			}
+			return associations;
+		}
+
+		@Override
+		public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
+			return new Association();
+		}
+
+		@Override
+		public void executeBatch(OperationsQueue queue) {
+			Operation operation = queue.poll();
+			while ( operation != null ) {
+				executedOperations.add( operation );
+				operation = queue.poll();
+			}
+		}
+	}
+}
@@ -21,6 +21,7 @@
 package org.hibernate.ogm.test.batch;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.fest.assertions.Assertions;
 import org.hibernate.LockMode;
@@ -139,7 +140,12 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		}
 
 		@Override
-		public Tuple createTuple(EntityKey key) {
+		public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+			return null;
+		}
+
+		@Override
+		public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
 			return null;
 		}
 
@@ -156,6 +162,11 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 			return null;
 		}
 
+		@Override
+		public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+			return null;
+		}
+
 		@Override
 		public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 			return null;
@@ -0,0 +1,174 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.batch;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.HibernateException;
+import org.hibernate.StaleObjectStateException;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.dialect.batch.FlushExecutor;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test for {@link FlushExecutor}.
+ */
+public class FlushExecutorTest {
+
+	private FlushExecutor executor;
+
+	@After
+	public void stopExecutor() {
+		if ( executor != null ) {
+			executor.stop();
+		}
+	}
+
+	@Test
+	public void testTasksAreRunByCallingThreadByDefault() throws Exception {
+		executor = new FlushExecutor( new HashMap<String, String>(), null );
+		Set<Thread> threads = Collections.synchronizedSet( new HashSet<Thread>() );
+
+		executor.execute( tasks( 5, threads, null ) );
+
+		assertThat( threads ).containsOnly( Thread.currentThread() );
+	}
+
+	@Test
+	public void testTasksAreRunConcurrently() throws Exception {
+		executor = new FlushExecutor( parallelism( 3 ), null );
+		Set<Thread> threads = Collections.synchronizedSet( new HashSet<Thread>() );
+		// each task waits until all three have been started
+		CountDownLatch started = new CountDownLatch( 3 );
+
+		executor.execute( tasks( 3, threads, started ) );
+
+		assertThat( threads ).hasSize( 3 );
+		assertThat( threads ).contains( Thread.currentThread() );
+	}
+
+	@Test
+	public void testAllTasksAreRunWithLowerParallelism() throws Exception {
+		executor = new FlushExecutor( parallelism( 2 ), null );
+		final List<Integer> executed = Collections.synchronizedList( new ArrayList<Integer>() );
+		List<Runnable> tasks = new ArrayList<Runnable>();
+		for ( int i = 0; i < 10; i++ ) {
+			final int number = i;
+			tasks.add( new Runnable() {
+
+				@Override
+				public void run() {
+					executed.add( number );
+				}
+			} );
+		}
+
+		executor.execute( tasks );
+
+		assertThat( executed ).hasSize( 10 );
+		assertThat( executed ).containsOnly( 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 );
+	}
+
+	@Test(expected = StaleObjectStateException.class)
+	public void testSingleFailureIsRethrownUnchanged() throws Exception {
+		executor = new FlushExecutor( parallelism( 2 ), null );
+		List<Runnable> tasks = new ArrayList<Runnable>( tasks( 3, null, null ) );
+		tasks.add( failingTask( new StaleObjectStateException( "Hypothesis", "1" ) ) );
+
+		executor.execute( tasks );
+	}
+
+	@Test
+	public void testFailuresAreAggregated() throws Exception {
+		executor = new FlushExecutor( parallelism( 2 ), null );
+		List<Runnable> tasks = new ArrayList<Runnable>();
+		tasks.add( failingTask( new IllegalStateException( "first" ) ) );
+		tasks.add( failingTask( new IllegalStateException( "second" ) ) );
+
+		try {
+			executor.execute( tasks );
+		}
+		catch (HibernateException e) {
+			assertThat( e.getMessage() ).startsWith( "OGM000060" );
+			assertThat( e.getMessage() ).contains( "first" ).contains( "second" );
+			assertThat( e.getCause() ).isInstanceOf( IllegalStateException.class );
+			return;
+		}
+		throw new AssertionError( "Expected exception hasn't been raised" );
+	}
+
+	@Test(expected = HibernateException.class)
+	public void testInvalidParallelism() throws Exception {
+		new FlushExecutor( parallelism( 0 ), null );
+	}
+
+	private Map<String, String> parallelism(int parallelism) {
+		Map<String, String> configuration = new HashMap<String, String>();
+		configuration.put( OgmProperties.FLUSH_PARALLELISM, String.valueOf( parallelism ) );
+		return configuration;
+	}
+
+	private List<Runnable> tasks(int count, final Set<Thread> threads, final CountDownLatch started) {
+		List<Runnable> tasks = new ArrayList<Runnable>( count );
+		for ( int i = 0; i < count; i++ ) {
+			tasks.add( new Runnable() {
+
+				@Override
+				public void run() {
+					if ( threads != null ) {
+						threads.add( Thread.currentThread() );
+					}
+					if ( started != null ) {
+						started.countDown();
+						try {
+							started.await( 10, TimeUnit.SECONDS );
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+				}
+			} );
+		}
+		return tasks;
+	}
+
+	private Runnable failingTask(final RuntimeException failure) {
+		return new Runnable() {
+
+			@Override
+			public void run() {
+				throw failure;
+			}
+		};
+	}
+}
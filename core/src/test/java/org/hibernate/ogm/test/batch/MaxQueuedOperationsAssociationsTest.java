@@ -0,0 +1,212 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.batch;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.map.MapDialect;
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.dialect.BatchableGridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.test.associations.collection.unidirectional.Cloud;
+import org.hibernate.ogm.test.associations.collection.unidirectional.SnowFlake;
+import org.hibernate.ogm.test.associations.manytoone.SalesForce;
+import org.hibernate.ogm.test.associations.manytoone.SalesGuy;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the associations written by a flush are read and written once, even if the queued operations are
+ * executed in several batches because the maximum number of queued operations is reached.
+ */
+public class MaxQueuedOperationsAssociationsTest extends OgmTestCase {
+
+	static int executedBatches;
+	static final Map<AssociationKey, Integer> associationReads = new HashMap<AssociationKey, Integer>();
+	static final Map<AssociationKey, Integer> associationWrites = new HashMap<AssociationKey, Integer>();
+
+	@Before
+	public void before() {
+		executedBatches = 0;
+		associationReads.clear();
+		associationWrites.clear();
+	}
+
+	@Test
+	public void testNavigationalAssociationIsWrittenOnce() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		SalesForce force = new SalesForce();
+		force.setCorporation( "Red Hat" );
+		session.persist( force );
+		for ( int i = 0; i < 5; i++ ) {
+			SalesGuy guy = new SalesGuy();
+			guy.setName( "Guy " + i );
+			guy.setSalesForce( force );
+			force.getSalesGuys().add( guy );
+			session.persist( guy );
+		}
+		transaction.commit();
+		session.clear();
+
+		assertThat( executedBatches ).as( "The flush should be executed in several batches" ).isGreaterThan( 2 );
+		assertReadAndWrittenOnce();
+
+		transaction = session.beginTransaction();
+		force = (SalesForce) session.get( SalesForce.class, force.getId() );
+		assertThat( force.getSalesGuys() ).hasSize( 5 );
+		for ( SalesGuy guy : force.getSalesGuys() ) {
+			session.delete( guy );
+		}
+		session.delete( force );
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testAssociationsOfOneEntityAreWrittenOnce() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Cloud cloud = new Cloud();
+		cloud.setLength( 23 );
+		for ( int i = 0; i < 3; i++ ) {
+			SnowFlake produced = new SnowFlake();
+			produced.setDescription( "Produced " + i );
+			session.persist( produced );
+			cloud.getProducedSnowFlakes().add( produced );
+			SnowFlake backup = new SnowFlake();
+			backup.setDescription( "Backup " + i );
+			session.persist( backup );
+			cloud.getBackupSnowFlakes().add( backup );
+		}
+		session.persist( cloud );
+		transaction.commit();
+		session.clear();
+
+		assertThat( executedBatches ).as( "The flush should be executed in several batches" ).isGreaterThan( 2 );
+		assertReadAndWrittenOnce();
+
+		transaction = session.beginTransaction();
+		cloud = (Cloud) session.get( Cloud.class, cloud.getId() );
+		assertThat( cloud.getProducedSnowFlakes() ).hasSize( 3 );
+		assertThat( cloud.getBackupSnowFlakes() ).hasSize( 3 );
+		for ( SnowFlake snowFlake : cloud.getProducedSnowFlakes() ) {
+			session.delete( snowFlake );
+		}
+		for ( SnowFlake snowFlake : cloud.getBackupSnowFlakes() ) {
+			session.delete( snowFlake );
+		}
+		session.delete( cloud );
+		transaction.commit();
+		session.close();
+	}
+
+	private void assertReadAndWrittenOnce() {
+		assertThat( associationWrites ).isNotEmpty();
+		for ( Map.Entry<AssociationKey, Integer> entry : associationWrites.entrySet() ) {
+			assertThat( entry.getValue() ).as( "Writes of " + entry.getKey() ).isEqualTo( 1 );
+		}
+		for ( Map.Entry<AssociationKey, Integer> entry : associationReads.entrySet() ) {
+			assertThat( entry.getValue() ).as( "Reads of " + entry.getKey() ).isEqualTo( 1 );
+		}
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmProperties.DATASTORE_PROVIDER, MapDatastoreProvider.class.getName() );
+		cfg.setProperty( OgmProperties.GRID_DIALECT, BatchableMapDialect.class.getName() );
+		cfg.setProperty( OgmProperties.MAX_QUEUED_OPERATIONS, "2" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SalesForce.class, SalesGuy.class, Cloud.class, SnowFlake.class };
+	}
+
+	private static void increment(Map<AssociationKey, Integer> counts, AssociationKey key) {
+		Integer count = counts.get( key );
+		counts.put( key, count == null ? 1 : count + 1 );
+	}
+
+	public static class BatchableMapDialect extends MapDialect implements BatchableGridDialect {
+
+		public BatchableMapDialect(MapDatastoreProvider provider) {
+			super( provider );
+		}
+
+		@Override
+		public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+			Association association = super.getAssociation( key, associationContext );
+			if ( association != null ) {
+				increment( associationReads, key );
+			}
+			return association;
+		}
+
+		@Override
+		public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
+			increment( associationReads, key );
+			return super.createAssociation( key, associationContext );
+		}
+
+		@Override
+		public void executeBatch(OperationsQueue queue) {
+			executedBatches++;
+			Operation operation = queue.poll();
+			while ( operation != null ) {
+				if ( operation instanceof UpdateTupleOperation ) {
+					UpdateTupleOperation update = (UpdateTupleOperation) operation;
+					updateTuple( update.getTuple(), update.getEntityKey() );
+				}
+				else if ( operation instanceof RemoveTupleOperation ) {
+					removeTuple( ( (RemoveTupleOperation) operation ).getEntityKey() );
+				}
+				else if ( operation instanceof UpdateAssociationOperation ) {
+					UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
+					increment( associationWrites, update.getAssociationKey() );
+					updateAssociation( update.getAssociation(), update.getAssociationKey(), update.getContext() );
+				}
+				else if ( operation instanceof RemoveAssociationOperation ) {
+					RemoveAssociationOperation remove = (RemoveAssociationOperation) operation;
+					removeAssociation( remove.getAssociationKey(), remove.getContext() );
+				}
+				operation = queue.poll();
+			}
+			queue.close();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fest.assertions.Assertions;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.test.batch.BatchExecutionTest.SampleBatchableDatastoreProvider;
+import org.hibernate.ogm.test.batch.BatchExecutionTest.SampleBatchableDialect;
+import org.hibernate.ogm.test.simpleentity.Hypothesis;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the queued operations are executed in several batches when the maximum number of queued operations is
+ * reached during a flush.
+ */
+public class MaxQueuedOperationsTest extends OgmTestCase {
+
+	static final List<Integer> executedBatchSizes = new ArrayList<Integer>();
+
+	@Before
+	public void before() {
+		executedBatchSizes.clear();
+	}
+
+	@Test
+	public void testQueueIsExecutedWhenMaximumIsReached() throws Exception {
+		final Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( int i = 0; i < 7; i++ ) {
+			session.persist( hypothesis( i ) );
+		}
+		transaction.commit();
+		session.close();
+
+		Assertions.assertThat( executedBatchSizes ).as( "Operations should be executed in chunks of three" ).isEqualTo( sizes( 3, 3, 1 ) );
+	}
+
+	@Test
+	public void testEmptyQueueIsExecutedAtTheEndOfTheFlush() throws Exception {
+		final Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( int i = 0; i < 3; i++ ) {
+			session.persist( hypothesis( i ) );
+		}
+		transaction.commit();
+		session.close();
+
+		Assertions.assertThat( executedBatchSizes ).isEqualTo( sizes( 3, 0 ) );
+	}
+
+	private Hypothesis hypothesis(int position) {
+		Hypothesis hypothesis = new Hypothesis();
+		hypothesis.setId( String.valueOf( position ) );
+		hypothesis.setDescription( "Hypothesis " + position );
+		hypothesis.setPosition( position );
+		return hypothesis;
+	}
+
+	private List<Integer> sizes(Integer... sizes) {
+		List<Integer> list = new ArrayList<Integer>();
+		for ( Integer size : sizes ) {
+			list.add( size );
+		}
+		return list;
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmProperties.DATASTORE_PROVIDER, CountingDatastoreProvider.class.getName() );
+		cfg.setProperty( OgmProperties.MAX_QUEUED_OPERATIONS, "3" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Hypothesis.class };
+	}
+
+	public static class CountingDatastoreProvider extends SampleBatchableDatastoreProvider {
+
+		@Override
+		public Class<? extends GridDialect> getDefaultDialect() {
+			return CountingDialect.class;
+		}
+	}
+
+	public static class CountingDialect extends SampleBatchableDialect {
+
+		public CountingDialect(SampleBatchableDatastoreProvider provider) {
+			super( provider );
+		}
+
+		@Override
+		public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
+			return new Tuple();
+		}
+
+		@Override
+		public void executeBatch(OperationsQueue queue) {
+			executedBatchSizes.add( queue.size() );
+			while ( queue.poll() != null ) {
+				// discard the operations
+			}
+			queue.close();
+		}
+	}
+}
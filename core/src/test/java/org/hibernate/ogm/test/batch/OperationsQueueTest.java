@@ -20,11 +20,22 @@
  */
 package org.hibernate.ogm.test.batch;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.fest.assertions.Assertions;
 import org.hibernate.HibernateException;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.dialect.batch.Operation;
 import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
 import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
 import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.AssociationKeyMetadata;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.junit.Before;
@@ -117,9 +128,179 @@ public void testQueueSizeWhenAddingRemoveTupleOperation() throws Exception {
 		Assertions.assertThat( 1 ).isEqualTo( queue.size() );
 	}
 
+	@Test
+	public void testContainsKeyIsFalseAfterPollingUpdateTupleOperation() throws Exception {
+		EntityKey key = entityKey();
+		queue.add( new UpdateTupleOperation( null, key ) );
+		queue.poll();
+
+		Assertions.assertThat( queue.contains( key ) ).isFalse();
+	}
+
+	@Test
+	public void testUpdateTupleOperationsOnSameKeyAreMerged() throws Exception {
+		EntityKey key = entityKey( "Table", 1 );
+		Tuple first = new Tuple();
+		first.put( "name", "Bob" );
+		first.put( "age", 41 );
+		Tuple second = new Tuple();
+		second.put( "age", 42 );
+		second.remove( "nickname" );
+
+		UpdateTupleOperation expected = new UpdateTupleOperation( first, key );
+		queue.add( expected );
+		queue.add( new UpdateTupleOperation( second, key ) );
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 1 );
+		Assertions.assertThat( queue.getEliminatedOperations() ).isEqualTo( 1 );
+		Assertions.assertThat( queue.poll() ).isSameAs( expected );
+		Assertions.assertThat( first.get( "name" ) ).isEqualTo( "Bob" );
+		Assertions.assertThat( first.get( "age" ) ).isEqualTo( 42 );
+		Assertions.assertThat( first.getColumnNames() ).excludes( "nickname" );
+	}
+
+	@Test
+	public void testInsertAndRemoveOfNewEntityCancelOut() throws Exception {
+		EntityKey key = entityKey( "Table", 1 );
+		queue.markAsNew( key );
+		queue.add( new UpdateTupleOperation( new Tuple(), key ) );
+		queue.add( new RemoveTupleOperation( key ) );
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 0 );
+		Assertions.assertThat( queue.contains( key ) ).isFalse();
+		Assertions.assertThat( queue.getEliminatedOperations() ).isEqualTo( 2 );
+		Assertions.assertThat( queue.poll() ).isNull();
+	}
+
+	@Test
+	public void testRemoveDiscardsUpdateOfExistingEntity() throws Exception {
+		EntityKey key = entityKey( "Table", 1 );
+		RemoveTupleOperation expected = new RemoveTupleOperation( key );
+		queue.add( new UpdateTupleOperation( new Tuple(), key ) );
+		queue.add( expected );
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 1 );
+		Assertions.assertThat( queue.poll() ).isSameAs( expected );
+		Assertions.assertThat( queue.poll() ).isNull();
+	}
+
+	@Test
+	public void testUpdateAfterRemoveIsPolledAfterRemove() throws Exception {
+		EntityKey key = entityKey( "Table", 1 );
+		RemoveTupleOperation remove = new RemoveTupleOperation( key );
+		UpdateTupleOperation update = new UpdateTupleOperation( new Tuple(), key );
+		queue.add( remove );
+		queue.add( update );
+
+		Assertions.assertThat( queue.poll() ).isSameAs( remove );
+		Assertions.assertThat( queue.poll() ).isSameAs( update );
+	}
+
+	@Test
+	public void testUpdatesOfSameAssociationAreFolded() throws Exception {
+		AssociationKey key = associationKey( 1 );
+		Association association = new Association();
+		UpdateAssociationOperation expected = new UpdateAssociationOperation( association, key, null );
+		queue.add( expected );
+		queue.add( new UpdateAssociationOperation( association, key, null ) );
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 1 );
+		Assertions.assertThat( queue.poll() ).isSameAs( expected );
+	}
+
+	@Test
+	public void testRemoveOfAssociationDiscardsPendingUpdate() throws Exception {
+		AssociationKey key = associationKey( 1 );
+		RemoveAssociationOperation expected = new RemoveAssociationOperation( key, null );
+		queue.add( new UpdateAssociationOperation( new Association(), key, null ) );
+		queue.add( expected );
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 1 );
+		Assertions.assertThat( queue.poll() ).isSameAs( expected );
+	}
+
+	@Test
+	public void testConsecutiveOperationsAreGroupedByTable() throws Exception {
+		UpdateTupleOperation foo1 = new UpdateTupleOperation( new Tuple(), entityKey( "Foo", 1 ) );
+		UpdateTupleOperation bar1 = new UpdateTupleOperation( new Tuple(), entityKey( "Bar", 1 ) );
+		UpdateTupleOperation foo2 = new UpdateTupleOperation( new Tuple(), entityKey( "Foo", 2 ) );
+		RemoveTupleOperation removeBar2 = new RemoveTupleOperation( entityKey( "Bar", 2 ) );
+		UpdateTupleOperation bar3 = new UpdateTupleOperation( new Tuple(), entityKey( "Bar", 3 ) );
+		queue.add( foo1 );
+		queue.add( bar1 );
+		queue.add( foo2 );
+		queue.add( removeBar2 );
+		queue.add( bar3 );
+
+		Assertions.assertThat( pollAll() ).isEqualTo( Arrays.<Operation>asList( foo1, foo2, bar1, removeBar2, bar3 ) );
+	}
+
+	@Test
+	public void testDrainMovesOperationsButKeepsAssociationUpdates() throws Exception {
+		UpdateTupleOperation update = new UpdateTupleOperation( new Tuple(), entityKey( "Foo", 1 ) );
+		RemoveTupleOperation remove = new RemoveTupleOperation( entityKey( "Foo", 2 ) );
+		Association association = new Association();
+		UpdateAssociationOperation associationUpdate = new UpdateAssociationOperation( association, associationKey( 1 ), null );
+		queue.putAssociation( associationKey( 1 ), association );
+		queue.add( update );
+		queue.add( associationUpdate );
+		queue.add( remove );
+
+		Assertions.assertThat( queue.getDrainableSize() ).isEqualTo( 2 );
+
+		OperationsQueue drained = queue.drain();
+
+		Assertions.assertThat( drained.getOperations() ).isEqualTo( Arrays.<Operation>asList( update, remove ) );
+		Assertions.assertThat( queue.getOperations() ).isEqualTo( Arrays.<Operation>asList( associationUpdate ) );
+		Assertions.assertThat( queue.getDrainableSize() ).isEqualTo( 0 );
+		Assertions.assertThat( queue.getAssociation( associationKey( 1 ) ) ).isSameAs( association );
+
+		// further changes to the association are still folded into the kept update
+		queue.add( new UpdateAssociationOperation( association, associationKey( 1 ), null ) );
+		Assertions.assertThat( queue.size() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testEntityStaysNewAfterDrainUntilItsUpdateIsDrained() throws Exception {
+		EntityKey pending = entityKey( "Foo", 1 );
+		EntityKey written = entityKey( "Foo", 2 );
+		queue.markAsNew( pending );
+		queue.markAsNew( written );
+		queue.add( new UpdateTupleOperation( new Tuple(), written ) );
+
+		queue.drain();
+		queue.add( new UpdateTupleOperation( new Tuple(), pending ) );
+		queue.add( new RemoveTupleOperation( pending ) );
+		RemoveTupleOperation remove = new RemoveTupleOperation( written );
+		queue.add( remove );
+
+		// the insert and removal of the entity not written yet cancel out, the written one has to be removed
+		Assertions.assertThat( pollAll() ).isEqualTo( Arrays.<Operation>asList( remove ) );
+	}
+
+	private List<Operation> pollAll() {
+		List<Operation> operations = new ArrayList<Operation>();
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			operations.add( operation );
+			operation = queue.poll();
+		}
+		return operations;
+	}
+
 	private EntityKey entityKey() {
 		EntityKeyMetadata keyMetadata = new EntityKeyMetadata( "MetadataTable", new String[] {} );
 		EntityKey key = new EntityKey( keyMetadata, new Object[] {} );
 		return key;
 	}
+
+	private EntityKey entityKey(String table, Object id) {
+		EntityKeyMetadata keyMetadata = new EntityKeyMetadata( table, new String[] { "id" } );
+		return new EntityKey( keyMetadata, new Object[] { id } );
+	}
+
+	private AssociationKey associationKey(Object ownerId) {
+		AssociationKeyMetadata keyMetadata = new AssociationKeyMetadata( "Owner_Items", new String[] { "owner_id" } );
+		return new AssociationKey( keyMetadata, new Object[] { ownerId }, "items", entityKey( "Owner", ownerId ), null );
+	}
 }
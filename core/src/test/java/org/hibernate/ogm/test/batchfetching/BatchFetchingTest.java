@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.batchfetching;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the batch loading of entities annotated with {@code @BatchSize}.
+ */
+public class BatchFetchingTest extends OgmTestCase {
+
+	@Before
+	public void insertTowers() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		for ( int i = 0; i < 5; i++ ) {
+			Tower tower = new Tower( "tower-" + i, "Tower " + i );
+			session.persist( tower );
+			session.persist( new Visitor( "visitor-" + i, tower ) );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	@After
+	public void deleteTowers() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		for ( int i = 0; i < 5; i++ ) {
+			session.delete( session.get( Visitor.class, "visitor-" + i ) );
+			session.delete( session.get( Tower.class, "tower-" + i ) );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void shouldInitializeProxiesInOneBatch() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		Tower[] towers = new Tower[5];
+		for ( int i = 0; i < towers.length; i++ ) {
+			towers[i] = (Tower) session.load( Tower.class, "tower-" + i );
+			assertThat( Hibernate.isInitialized( towers[i] ) ).isFalse();
+		}
+
+		assertThat( session.getStatistics().getEntityCount() ).isEqualTo( 0 );
+		assertThat( towers[2].getName() ).isEqualTo( "Tower 2" );
+
+		// all the towers have been loaded with the first one
+		assertThat( session.getStatistics().getEntityCount() ).isEqualTo( 5 );
+		for ( int i = 0; i < towers.length; i++ ) {
+			assertThat( towers[i].getName() ).isEqualTo( "Tower " + i );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void shouldInitializeManyToOneProxiesInOneBatch() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		Visitor[] visitors = new Visitor[5];
+		for ( int i = 0; i < visitors.length; i++ ) {
+			visitors[i] = (Visitor) session.get( Visitor.class, "visitor-" + i );
+			assertThat( Hibernate.isInitialized( visitors[i].getTower() ) ).isFalse();
+		}
+
+		assertThat( session.getStatistics().getEntityCount() ).isEqualTo( 5 );
+		assertThat( visitors[0].getTower().getName() ).isEqualTo( "Tower 0" );
+
+		// all the towers have been loaded with the first one
+		assertThat( session.getStatistics().getEntityCount() ).isEqualTo( 10 );
+		for ( int i = 0; i < visitors.length; i++ ) {
+			assertThat( visitors[i].getTower().getName() ).isEqualTo( "Tower " + i );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void shouldReturnNullForMissingEntityInBatch() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		session.load( Tower.class, "tower-1" );
+		session.load( Tower.class, "tower-3" );
+
+		assertThat( session.get( Tower.class, "unknown" ) ).isNull();
+		assertThat( ( (Tower) session.get( Tower.class, "tower-1" ) ).getName() ).isEqualTo( "Tower 1" );
+
+		transaction.commit();
+		session.close();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Tower.class, Visitor.class };
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.batchfetching;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the initialization of the collections of several owners at once, driven by {@code @BatchSize} and
+ * {@code FetchMode.SUBSELECT}.
+ */
+public class CollectionBatchFetchingTest extends OgmTestCase {
+
+	private static final int FORUM_COUNT = 5;
+
+	@Before
+	public void insertForums() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		for ( int i = 0; i < FORUM_COUNT; i++ ) {
+			Forum forum = new Forum( "forum-" + i );
+			for ( int j = 0; j <= i; j++ ) {
+				Topic topic = new Topic( "topic-" + i + "-" + j, "Topic " + j );
+				session.persist( topic );
+				forum.getTopics().add( topic );
+				forum.getTags().add( "tag-" + j );
+			}
+			session.persist( forum );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	@After
+	public void deleteForums() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		for ( int i = 0; i < FORUM_COUNT; i++ ) {
+			Forum forum = (Forum) session.get( Forum.class, "forum-" + i );
+			for ( Topic topic : forum.getTopics() ) {
+				session.delete( topic );
+			}
+			session.delete( forum );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void shouldInitializeCollectionsOfSeveralOwnersInOneBatch() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		Forum[] forums = loadForums( session );
+		assertThat( forums[0].getTopics() ).hasSize( 1 );
+
+		// the batch size is 3, so the topics of the next two forums have been loaded as well
+		assertThat( Hibernate.isInitialized( forums[1].getTopics() ) ).isTrue();
+		assertThat( Hibernate.isInitialized( forums[2].getTopics() ) ).isTrue();
+		assertThat( Hibernate.isInitialized( forums[3].getTopics() ) ).isFalse();
+		assertThat( Hibernate.isInitialized( forums[4].getTopics() ) ).isFalse();
+
+		for ( int i = 0; i < FORUM_COUNT; i++ ) {
+			assertThat( forums[i].getTopics() ).hasSize( i + 1 );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void shouldInitializeCollectionsOfAllOwnersForSubselectFetchMode() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		Forum[] forums = loadForums( session );
+		assertThat( forums[2].getTags() ).containsOnly( "tag-0", "tag-1", "tag-2" );
+
+		for ( int i = 0; i < FORUM_COUNT; i++ ) {
+			assertThat( Hibernate.isInitialized( forums[i].getTags() ) ).isTrue();
+			assertThat( forums[i].getTags() ).hasSize( i + 1 );
+		}
+
+		transaction.commit();
+		session.close();
+	}
+
+	private Forum[] loadForums(Session session) {
+		Forum[] forums = new Forum[FORUM_COUNT];
+		for ( int i = 0; i < FORUM_COUNT; i++ ) {
+			forums[i] = (Forum) session.get( Forum.class, "forum-" + i );
+			assertThat( Hibernate.isInitialized( forums[i].getTopics() ) ).isFalse();
+			assertThat( Hibernate.isInitialized( forums[i].getTags() ) ).isFalse();
+		}
+		return forums;
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Forum.class, Topic.class };
+	}
+}
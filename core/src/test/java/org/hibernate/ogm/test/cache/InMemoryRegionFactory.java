@@ -0,0 +1,336 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * A minimal second-level cache {@link RegionFactory} keeping each region in a local map.
+ * <p>
+ * Writes remove the cached element and put the new state, which is enough to verify that the OGM persisters talk to
+ * the second-level cache; there is no locking, so it is not meant for concurrent use.
+ */
+public class InMemoryRegionFactory implements RegionFactory {
+
+	private static final ConcurrentMap<String, InMemoryRegion> REGIONS = new ConcurrentHashMap<String, InMemoryRegion>();
+
+	/**
+	 * Returns the region with the given name, or {@code null} if it has not been built.
+	 */
+	public static InMemoryRegion getRegion(String name) {
+		return REGIONS.get( name );
+	}
+
+	@Override
+	public void start(Settings settings, Properties properties) throws CacheException {
+	}
+
+	@Override
+	public void stop() {
+		REGIONS.clear();
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		return false;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return System.currentTimeMillis();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata) throws CacheException {
+		return region( regionName, metadata );
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata) throws CacheException {
+		return region( regionName, metadata );
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata) throws CacheException {
+		return region( regionName, metadata );
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return region( regionName, null );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return region( regionName, null );
+	}
+
+	private InMemoryRegion region(String regionName, CacheDataDescription metadata) {
+		InMemoryRegion region = new InMemoryRegion( regionName, metadata );
+		REGIONS.put( regionName, region );
+		return region;
+	}
+
+	/**
+	 * A region acting as its own access strategy, whatever the requested {@link AccessType}.
+	 */
+	public static class InMemoryRegion implements EntityRegion, CollectionRegion, NaturalIdRegion, QueryResultsRegion, TimestampsRegion,
+			EntityRegionAccessStrategy, CollectionRegionAccessStrategy, NaturalIdRegionAccessStrategy {
+
+		private final String name;
+		private final CacheDataDescription metadata;
+		private final ConcurrentMap<Object, Object> elements = new ConcurrentHashMap<Object, Object>();
+
+		private int hitCount = 0;
+		private int missCount = 0;
+		private int putCount = 0;
+
+		InMemoryRegion(String name, CacheDataDescription metadata) {
+			this.name = name;
+			this.metadata = metadata;
+		}
+
+		public int getHitCount() {
+			return hitCount;
+		}
+
+		public int getMissCount() {
+			return missCount;
+		}
+
+		public int getPutCount() {
+			return putCount;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public void destroy() throws CacheException {
+			elements.clear();
+		}
+
+		@Override
+		public boolean contains(Object key) {
+			return elements.containsKey( key );
+		}
+
+		@Override
+		public long getSizeInMemory() {
+			return -1;
+		}
+
+		@Override
+		public long getElementCountInMemory() {
+			return elements.size();
+		}
+
+		@Override
+		public long getElementCountOnDisk() {
+			return 0;
+		}
+
+		@Override
+		public Map<Object, Object> toMap() {
+			return new HashMap<Object, Object>( elements );
+		}
+
+		@Override
+		public long nextTimestamp() {
+			return System.currentTimeMillis();
+		}
+
+		@Override
+		public int getTimeout() {
+			return 0;
+		}
+
+		@Override
+		public boolean isTransactionAware() {
+			return false;
+		}
+
+		@Override
+		public CacheDataDescription getCacheDataDescription() {
+			return metadata;
+		}
+
+		@Override
+		public InMemoryRegion buildAccessStrategy(AccessType accessType) throws CacheException {
+			return this;
+		}
+
+		@Override
+		public InMemoryRegion getRegion() {
+			return this;
+		}
+
+		@Override
+		public Object get(Object key) throws CacheException {
+			return elements.get( key );
+		}
+
+		@Override
+		public void put(Object key, Object value) throws CacheException {
+			elements.put( key, value );
+		}
+
+		@Override
+		public Object get(Object key, long txTimestamp) throws CacheException {
+			Object value = elements.get( key );
+			if ( value == null ) {
+				missCount++;
+			}
+			else {
+				hitCount++;
+			}
+			return value;
+		}
+
+		@Override
+		public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
+			return putFromLoad( key, value, txTimestamp, version, false );
+		}
+
+		@Override
+		public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride) throws CacheException {
+			if ( minimalPutOverride && elements.containsKey( key ) ) {
+				return false;
+			}
+			putCount++;
+			elements.put( key, value );
+			return true;
+		}
+
+		@Override
+		public SoftLock lockItem(Object key, Object version) throws CacheException {
+			elements.remove( key );
+			return null;
+		}
+
+		@Override
+		public SoftLock lockRegion() throws CacheException {
+			return null;
+		}
+
+		@Override
+		public void unlockItem(Object key, SoftLock lock) throws CacheException {
+			elements.remove( key );
+		}
+
+		@Override
+		public void unlockRegion(SoftLock lock) throws CacheException {
+			elements.clear();
+		}
+
+		@Override
+		public void remove(Object key) throws CacheException {
+			elements.remove( key );
+		}
+
+		@Override
+		public void removeAll() throws CacheException {
+			elements.clear();
+		}
+
+		@Override
+		public void evict(Object key) throws CacheException {
+			elements.remove( key );
+		}
+
+		@Override
+		public void evictAll() throws CacheException {
+			elements.clear();
+		}
+
+		@Override
+		public boolean insert(Object key, Object value, Object version) throws CacheException {
+			return false;
+		}
+
+		@Override
+		public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+			putCount++;
+			elements.put( key, value );
+			return true;
+		}
+
+		@Override
+		public boolean update(Object key, Object value, Object currentVersion, Object previousVersion) throws CacheException {
+			return false;
+		}
+
+		@Override
+		public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock) throws CacheException {
+			putCount++;
+			elements.put( key, value );
+			return true;
+		}
+
+		@Override
+		public boolean insert(Object key, Object value) throws CacheException {
+			return false;
+		}
+
+		@Override
+		public boolean afterInsert(Object key, Object value) throws CacheException {
+			elements.put( key, value );
+			return true;
+		}
+
+		@Override
+		public boolean update(Object key, Object value) throws CacheException {
+			return false;
+		}
+
+		@Override
+		public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
+			elements.put( key, value );
+			return true;
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.cache;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.map.MapDialect;
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.test.cache.InMemoryRegionFactory.InMemoryRegion;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that entities and collections are read from and written to the second-level cache.
+ */
+public class SecondLevelCacheTest extends OgmTestCase {
+
+	static int tupleReads = 0;
+	static int associationReads = 0;
+
+	private static final String ENTITY_REGION = Product.class.getName();
+	private static final String COLLECTION_REGION = Product.class.getName() + ".tags";
+
+	@Before
+	public void populateDb() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Product product = new Product( "sku-1", "Kettle" );
+		product.getTags().add( "kitchen" );
+		session.persist( product );
+		transaction.commit();
+		session.close();
+
+		region( ENTITY_REGION ).evictAll();
+		region( COLLECTION_REGION ).evictAll();
+		tupleReads = 0;
+		associationReads = 0;
+	}
+
+	@After
+	public void deleteAll() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Product product = (Product) session.get( Product.class, "sku-1" );
+		if ( product != null ) {
+			session.delete( product );
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testEntitiesAreReadFromTheCache() throws Exception {
+		assertThat( load( "sku-1" ).getName() ).isEqualTo( "Kettle" );
+		assertThat( tupleReads ).isEqualTo( 1 );
+		assertThat( region( ENTITY_REGION ).getElementCountInMemory() ).isEqualTo( 1 );
+
+		int hits = region( ENTITY_REGION ).getHitCount();
+		assertThat( load( "sku-1" ).getName() ).isEqualTo( "Kettle" );
+		assertThat( tupleReads ).isEqualTo( 1 );
+		assertThat( region( ENTITY_REGION ).getHitCount() ).isEqualTo( hits + 1 );
+	}
+
+	@Test
+	public void testQueryResultsAreTakenFromTheCache() throws Exception {
+		load( "sku-1" );
+		int hits = region( ENTITY_REGION ).getHitCount();
+
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		List<?> products = session.createQuery( "from Product p where p.name = 'Kettle'" ).list();
+		assertThat( products ).hasSize( 1 );
+		assertThat( ( (Product) products.get( 0 ) ).getSku() ).isEqualTo( "sku-1" );
+		transaction.commit();
+		session.close();
+
+		assertThat( tupleReads ).isEqualTo( 1 );
+		assertThat( region( ENTITY_REGION ).getHitCount() ).isEqualTo( hits + 1 );
+	}
+
+	@Test
+	public void testCollectionsAreReadFromTheCache() throws Exception {
+		assertThat( load( "sku-1" ).getTags() ).containsOnly( "kitchen" );
+		assertThat( associationReads ).isEqualTo( 1 );
+		assertThat( region( COLLECTION_REGION ).getElementCountInMemory() ).isEqualTo( 1 );
+
+		assertThat( load( "sku-1" ).getTags() ).containsOnly( "kitchen" );
+		assertThat( associationReads ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testUpdatesAreVisibleThroughTheCache() throws Exception {
+		load( "sku-1" );
+
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Product product = (Product) session.get( Product.class, "sku-1" );
+		product.setName( "Electric kettle" );
+		product.getTags().add( "electric" );
+		transaction.commit();
+		session.close();
+
+		Product loaded = load( "sku-1" );
+		assertThat( loaded.getName() ).isEqualTo( "Electric kettle" );
+		assertThat( loaded.getTags() ).containsOnly( "kitchen", "electric" );
+	}
+
+	@Test
+	public void testDeletedEntitiesAreRemovedFromTheCache() throws Exception {
+		load( "sku-1" );
+
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.delete( session.get( Product.class, "sku-1" ) );
+		transaction.commit();
+		session.close();
+
+		assertThat( region( ENTITY_REGION ).getElementCountInMemory() ).isEqualTo( 0 );
+		assertThat( region( COLLECTION_REGION ).getElementCountInMemory() ).isEqualTo( 0 );
+
+		session = openSession();
+		transaction = session.beginTransaction();
+		assertThat( session.get( Product.class, "sku-1" ) ).isNull();
+		transaction.commit();
+		session.close();
+	}
+
+	private Product load(String sku) {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Product product = (Product) session.get( Product.class, sku );
+		product.getTags().size();
+		transaction.commit();
+		session.close();
+		return product;
+	}
+
+	private InMemoryRegion region(String name) {
+		return InMemoryRegionFactory.getRegion( name );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmProperties.DATASTORE_PROVIDER, MapDatastoreProvider.class.getName() );
+		cfg.setProperty( OgmProperties.GRID_DIALECT, CountingDialect.class.getName() );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_FACTORY, InMemoryRegionFactory.class.getName() );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Product.class };
+	}
+
+	public static class CountingDialect extends MapDialect {
+
+		public CountingDialect(MapDatastoreProvider provider) {
+			super( provider );
+		}
+
+		@Override
+		public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+			tupleReads++;
+			return super.getTuple( key, tupleContext );
+		}
+
+		@Override
+		public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+			associationReads++;
+			return super.getAssociation( key, associationContext );
+		}
+	}
+}
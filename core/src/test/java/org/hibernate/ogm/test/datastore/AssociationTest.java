@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.datastore;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.ogm.datastore.map.impl.MapAssociationSnapshot;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationOperation;
+import org.hibernate.ogm.datastore.spi.AssociationOperationType;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.grid.RowKey;
+import org.junit.Test;
+
+/**
+ * Test that the size and the keys of an {@link Association} follow the changes applied to it.
+ */
+public class AssociationTest {
+
+	@Test
+	public void testSizeFollowsChanges() {
+		Association association = new Association( snapshot( 1, 2 ) );
+		assertThat( association.size() ).isEqualTo( 2 );
+
+		association.put( key( 3 ), new Tuple() );
+		association.put( key( 1 ), new Tuple() );
+		assertThat( association.size() ).isEqualTo( 3 );
+
+		association.remove( key( 2 ) );
+		association.remove( key( 2 ) );
+		association.remove( key( 4 ) );
+		assertThat( association.size() ).isEqualTo( 2 );
+
+		association.put( key( 2 ), new Tuple() );
+		assertThat( association.size() ).isEqualTo( 3 );
+
+		association.clear();
+		assertThat( association.isEmpty() ).isTrue();
+
+		association.put( key( 1 ), new Tuple() );
+		assertThat( association.size() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testKeysAreALiveView() {
+		Association association = new Association( snapshot( 1, 2 ) );
+		Iterable<RowKey> keys = association.getKeys();
+		assertThat( keys ).containsOnly( key( 1 ), key( 2 ) );
+
+		association.put( key( 3 ), new Tuple() );
+		association.remove( key( 1 ) );
+		assertThat( keys ).containsOnly( key( 2 ), key( 3 ) );
+		assertThat( association.getKeys().contains( key( 1 ) ) ).isFalse();
+		assertThat( association.getKeys() ).hasSize( 2 );
+
+		association.clear();
+		assertThat( keys ).isEmpty();
+	}
+
+	@Test
+	public void testGetReflectsChanges() {
+		Association association = new Association( snapshot( 1, 2 ) );
+		Tuple tuple = new Tuple();
+
+		association.put( key( 1 ), tuple );
+		association.remove( key( 2 ) );
+
+		assertThat( association.get( key( 1 ) ) ).isSameAs( tuple );
+		assertThat( association.get( key( 2 ) ) ).isNull();
+
+		association.clear();
+		assertThat( association.get( key( 1 ) ) ).isNull();
+	}
+
+	@Test
+	public void testOperations() {
+		Association association = new Association( snapshot( 1, 2 ) );
+		association.put( key( 3 ), new Tuple() );
+		association.remove( key( 3 ) );
+		association.put( key( 1 ), new Tuple() );
+
+		Map<RowKey, AssociationOperationType> operations = new HashMap<RowKey, AssociationOperationType>();
+		for ( AssociationOperation operation : association.getOperations() ) {
+			operations.put( operation.getKey(), operation.getType() );
+		}
+		assertThat( operations ).hasSize( 2 );
+		assertThat( operations.get( key( 1 ) ) ).isEqualTo( AssociationOperationType.PUT );
+		assertThat( operations.get( key( 3 ) ) ).isEqualTo( AssociationOperationType.REMOVE );
+
+		association.clear();
+		assertThat( association.getOperations() ).hasSize( 1 );
+		assertThat( association.getOperations().get( 0 ).getType() ).isEqualTo( AssociationOperationType.CLEAR );
+	}
+
+	private MapAssociationSnapshot snapshot(int... ids) {
+		Map<RowKey, Map<String, Object>> rows = new HashMap<RowKey, Map<String, Object>>();
+		for ( int id : ids ) {
+			Map<String, Object> row = new HashMap<String, Object>();
+			row.put( "id", id );
+			rows.put( key( id ), row );
+		}
+		return new MapAssociationSnapshot( rows );
+	}
+
+	private RowKey key(int id) {
+		return new RowKey( "Association", new String[] { "id" }, new Object[] { id } );
+	}
+}
@@ -21,6 +21,7 @@
 package org.hibernate.ogm.test.datastore;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.cfg.Configuration;
@@ -109,7 +110,12 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		}
 
 		@Override
-		public Tuple createTuple(EntityKey key) {
+		public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+			return null;
+		}
+
+		@Override
+		public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
 			return null;
 		}
 
@@ -126,6 +132,11 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 			return null;
 		}
 
+		@Override
+		public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+			return null;
+		}
+
 		@Override
 		public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 			return null;
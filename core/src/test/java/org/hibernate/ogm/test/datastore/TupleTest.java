@@ -0,0 +1,115 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.datastore;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.ogm.datastore.map.impl.MapTupleSnapshot;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleOperation;
+import org.hibernate.ogm.datastore.spi.TupleOperationType;
+import org.hibernate.ogm.datastore.spi.TupleSchema;
+import org.junit.Test;
+
+/**
+ * Test that tuples using a {@link TupleSchema} behave like tuples without schema.
+ */
+public class TupleTest {
+
+	private final TupleSchema schema = new TupleSchema( Arrays.asList( "id", "name", "description", "name" ) );
+
+	@Test
+	public void testSchemaIgnoresDuplicateColumns() {
+		assertThat( schema.size() ).isEqualTo( 3 );
+		assertThat( schema.getColumnName( schema.indexOf( "description" ) ) ).isEqualTo( "description" );
+		assertThat( schema.indexOf( "unknown" ) ).isEqualTo( -1 );
+	}
+
+	@Test
+	public void testGetReturnsSnapshotValuesUntilChanged() {
+		Tuple tuple = new Tuple( snapshot(), schema );
+
+		assertThat( tuple.get( "name" ) ).isEqualTo( "Bob" );
+		assertThat( tuple.getOperations() ).isEmpty();
+
+		tuple.put( "name", "Alice" );
+		tuple.put( "description", null );
+		tuple.remove( "id" );
+
+		assertThat( tuple.get( "name" ) ).isEqualTo( "Alice" );
+		assertThat( tuple.get( "description" ) ).isNull();
+		assertThat( tuple.get( "id" ) ).isNull();
+		assertThat( tuple.get( "unchanged" ) ).isEqualTo( "value" );
+	}
+
+	@Test
+	public void testOperationsAreEquivalentToTupleWithoutSchema() {
+		Tuple withSchema = new Tuple( snapshot(), schema );
+		Tuple withoutSchema = new Tuple( snapshot() );
+
+		for ( Tuple tuple : Arrays.asList( withSchema, withoutSchema ) ) {
+			tuple.put( "name", "Alice" );
+			tuple.put( "name", "Carl" );
+			tuple.put( "description", null );
+			tuple.put( "notInSchema", 42 );
+			tuple.remove( "unchanged" );
+		}
+
+		assertThat( asMap( withSchema.getOperations() ) ).isEqualTo( asMap( withoutSchema.getOperations() ) );
+		assertThat( withSchema.getOperations() ).hasSize( 4 );
+		assertThat( withSchema.get( "notInSchema" ) ).isEqualTo( 42 );
+		assertThat( withSchema.getColumnNames() ).isEqualTo( withoutSchema.getColumnNames() );
+	}
+
+	@Test
+	public void testColumnNamesReflectChanges() {
+		Tuple tuple = new Tuple( snapshot(), schema );
+		assertThat( tuple.getColumnNames() ).containsOnly( "id", "name", "unchanged" );
+
+		tuple.put( "description", "Some description" );
+		assertThat( tuple.getColumnNames() ).containsOnly( "id", "name", "unchanged", "description" );
+
+		tuple.remove( "name" );
+		assertThat( tuple.getColumnNames() ).containsOnly( "id", "unchanged", "description" );
+	}
+
+	private MapTupleSnapshot snapshot() {
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put( "id", 1 );
+		values.put( "name", "Bob" );
+		values.put( "unchanged", "value" );
+		return new MapTupleSnapshot( values );
+	}
+
+	private Map<String, String> asMap(Set<TupleOperation> operations) {
+		Map<String, String> map = new HashMap<String, String>();
+		for ( TupleOperation operation : operations ) {
+			TupleOperationType type = operation.getType();
+			map.put( operation.getColumn(), type + "=" + operation.getValue() );
+		}
+		return map;
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.grid;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.grid.RowKeyMetadata;
+import org.junit.Test;
+
+/**
+ * Compares the memory footprint of {@link RowKey}s with the one of keys holding references to the table, the column
+ * names and their values array, as row keys did before they shared a {@link RowKeyMetadata}.
+ * <p>
+ * Sizes are estimated assuming compressed references: a 12 bytes object header, 4 bytes per reference, 16 bytes for
+ * an array header, everything aligned on 8 bytes. Strings and column values are the same for both kinds of keys and
+ * are not counted.
+ */
+public class RowKeyFootprintTest {
+
+	private static final int KEYS = 1000;
+
+	@Test
+	public void testKeysCreatedFromTheSameMetadataShareIt() {
+		RowKeyMetadata metadata = new RowKeyMetadata( "Association", new String[] { "owner_id", "element_id" } );
+		RowKey first = new RowKey( metadata, new Object[] { 1, 2 } );
+		RowKey second = new RowKey( metadata, new Object[] { 1, 3 } );
+
+		assertThat( first.getMetadata() ).isSameAs( second.getMetadata() );
+		assertThat( first.getColumnNames() ).isSameAs( second.getColumnNames() );
+		assertThat( first ).isEqualTo( new RowKey( "Association", new String[] { "owner_id", "element_id" }, new Object[] { 1, 2 } ) );
+	}
+
+	@Test
+	public void testSingleColumnKeys() {
+		RowKey key = new RowKey( "Sequence", new String[] { "sequence_name" }, new Object[] { "seq" } );
+
+		assertThat( key ).isEqualTo( new RowKey( "Sequence", new String[] { "sequence_name" }, new Object[] { "seq" } ) );
+		assertThat( key.hashCode() ).isEqualTo( new RowKey( "Sequence", new String[] { "sequence_name" }, new Object[] { "seq" } ).hashCode() );
+		assertThat( key ).isNotEqualTo( new RowKey( "Sequence", new String[] { "sequence_name" }, new Object[] { "other" } ) );
+		assertThat( key.getColumnValues() ).containsOnly( "seq" );
+
+		String[] columnNames = new String[] { "sequence_name" };
+		RowKeyMetadata metadata = new RowKeyMetadata( "Sequence", columnNames );
+		List<Object> keys = new ArrayList<Object>();
+		List<Object> legacyKeys = new ArrayList<Object>();
+		for ( int i = 0; i < KEYS; i++ ) {
+			Object[] values = new Object[] { i };
+			keys.add( new RowKey( metadata, values ) );
+			legacyKeys.add( new LegacyRowKey( "Sequence", columnNames, values ) );
+		}
+
+		long footprint = footprint( keys );
+		long legacyFootprint = footprint( legacyKeys );
+
+		// 24 bytes per key, against 32 for the key and 24 for the values; the column names array (and the metadata)
+		// are shared by all the keys
+		assertThat( footprint ).isEqualTo( KEYS * 24 + 48 );
+		assertThat( legacyFootprint ).isEqualTo( KEYS * 56 + 24 );
+	}
+
+	@Test
+	public void testMultipleColumnsKeys() {
+		String[] columnNames = new String[] { "owner_id", "element_id" };
+		RowKeyMetadata metadata = new RowKeyMetadata( "Association", columnNames );
+		List<Object> keys = new ArrayList<Object>();
+		List<Object> legacyKeys = new ArrayList<Object>();
+		for ( int i = 0; i < KEYS; i++ ) {
+			Object[] values = new Object[] { i, i + 1 };
+			keys.add( new RowKey( metadata, values ) );
+			legacyKeys.add( new LegacyRowKey( "Association", columnNames, values ) );
+		}
+
+		long footprint = footprint( keys );
+		long legacyFootprint = footprint( legacyKeys );
+
+		// 24 bytes per key and 24 for the values, against 32 for the key and 24 for the values
+		assertThat( footprint ).isEqualTo( KEYS * 48 + 48 );
+		assertThat( legacyFootprint ).isEqualTo( KEYS * 56 + 24 );
+	}
+
+	private long footprint(List<Object> keys) {
+		Map<Object, Object> visited = new IdentityHashMap<Object, Object>();
+		long size = 0;
+		for ( Object key : keys ) {
+			size += footprint( key, visited );
+		}
+		return size;
+	}
+
+	private long footprint(Object object, Map<Object, Object> visited) {
+		if ( object == null || object instanceof String || object instanceof Number || visited.containsKey( object ) ) {
+			return 0;
+		}
+		visited.put( object, object );
+
+		if ( object.getClass().isArray() ) {
+			int length = Array.getLength( object );
+			long size = align( 16 + 4 * length );
+			for ( int i = 0; i < length; i++ ) {
+				size += footprint( Array.get( object, i ), visited );
+			}
+			return size;
+		}
+
+		long size = 12;
+		List<Object> references = new ArrayList<Object>();
+		for ( Field field : object.getClass().getDeclaredFields() ) {
+			if ( Modifier.isStatic( field.getModifiers() ) ) {
+				continue;
+			}
+			Class<?> type = field.getType();
+			size += type == long.class || type == double.class ? 8 : 4;
+			if ( !type.isPrimitive() ) {
+				references.add( value( field, object ) );
+			}
+		}
+		size = align( size );
+		for ( Object reference : references ) {
+			size += footprint( reference, visited );
+		}
+		return size;
+	}
+
+	private Object value(Field field, Object object) {
+		try {
+			field.setAccessible( true );
+			return field.get( object );
+		}
+		catch (IllegalAccessException e) {
+			throw new RuntimeException( e );
+		}
+	}
+
+	private long align(long size) {
+		return ( size + 7 ) / 8 * 8;
+	}
+
+	/**
+	 * Same layout as the row keys before the introduction of {@code RowKeyMetadata}.
+	 */
+	@SuppressWarnings("unused")
+	private static class LegacyRowKey {
+
+		private final String table;
+		private final String[] columnNames;
+		private final Object[] columnValues;
+		private final int hashCode;
+
+		public LegacyRowKey(String table, String[] columnNames, Object[] columnValues) {
+			this.table = table;
+			this.columnNames = columnNames;
+			this.columnValues = columnValues;
+			this.hashCode = table.hashCode();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.id;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.ogm.id.impl.ConcurrentPooledOptimizer;
+import org.junit.Test;
+
+/**
+ * Tests the values handed out by the {@link ConcurrentPooledOptimizer}.
+ */
+public class ConcurrentPooledOptimizerTest {
+
+	@Test
+	public void testValuesAreHandedOutFromTheReservedBlocks() throws Exception {
+		SequenceCallback sequence = new SequenceCallback( 1, 10 );
+		ConcurrentPooledOptimizer optimizer = new ConcurrentPooledOptimizer( Long.class, 10, 1 );
+
+		List<Object> values = new ArrayList<Object>();
+		for ( int i = 0; i < 25; i++ ) {
+			values.add( optimizer.generate( sequence ) );
+		}
+
+		assertThat( values.get( 0 ) ).isEqualTo( 1L );
+		assertThat( values.get( 1 ) ).isEqualTo( 2L );
+		assertThat( values.get( 24 ) ).isEqualTo( 25L );
+		// the initial value, then the blocks ending with 11, 21 and 31
+		assertThat( sequence.calls ).isEqualTo( 4 );
+		assertThat( optimizer.getLastSourceValue().makeValue() ).isEqualTo( 31L );
+	}
+
+	@Test
+	public void testValuesHaveTheTypeOfTheIdentifier() throws Exception {
+		ConcurrentPooledOptimizer optimizer = new ConcurrentPooledOptimizer( Integer.class, 10, 5 );
+
+		assertThat( optimizer.generate( new SequenceCallback( 5, 10 ) ) ).isEqualTo( 5 );
+	}
+
+	@Test
+	public void testConcurrentThreadsGetDistinctValues() throws Exception {
+		final SequenceCallback sequence = new SequenceCallback( 1, 50 );
+		final ConcurrentPooledOptimizer optimizer = new ConcurrentPooledOptimizer( Long.class, 50, 1 );
+		final Set<Object> values = Collections.newSetFromMap( new ConcurrentHashMap<Object, Boolean>() );
+
+		int threads = 8;
+		final int valuesPerThread = 1000;
+		ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for ( int i = 0; i < threads; i++ ) {
+				futures.add( executor.submit( new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						for ( int j = 0; j < valuesPerThread; j++ ) {
+							values.add( optimizer.generate( sequence ) );
+						}
+						return null;
+					}
+				} ) );
+			}
+			for ( Future<Void> future : futures ) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat( values ).hasSize( threads * valuesPerThread );
+		assertThat( values ).contains( 1L, (long) threads * valuesPerThread );
+		// no block is reserved without being used
+		assertThat( sequence.calls ).isEqualTo( 1 + ( threads * valuesPerThread - 1 + 49 ) / 50 );
+	}
+
+	/**
+	 * Hands out the values of a generator row the way grid dialects do: the initial value first, then increments it.
+	 */
+	private static class SequenceCallback implements AccessCallback {
+
+		private final int increment;
+		private long nextValue;
+		private int calls = 0;
+
+		private SequenceCallback(long initialValue, int increment) {
+			this.nextValue = initialValue;
+			this.increment = increment;
+		}
+
+		@Override
+		public synchronized IntegralDataTypeHolder getNextValue() {
+			calls++;
+			IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( Long.class ).initialize( nextValue );
+			nextValue += increment;
+			return value;
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return null;
+		}
+	}
+}
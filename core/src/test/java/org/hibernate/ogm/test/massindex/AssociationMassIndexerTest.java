@@ -28,6 +28,9 @@
 
 import javax.persistence.EntityManager;
 
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
 import org.fest.util.Files;
 import org.hibernate.Session;
 import org.hibernate.ogm.test.hsearch.Insurance;
@@ -107,6 +110,20 @@ public void testEntityWithAssociationMassIndexing() throws Exception {
 				commitOrRollback( operationSuccessful );
 			}
 		}
+		{
+			boolean operationSuccessful = false;
+			try {
+				getTransactionManager().begin();
+				// the labels are embedded in the documents of the news
+				FullTextSession session = Search.getFullTextSession( createSession() );
+				Query query = new TermQuery( new Term( "labels.name", "massindex" ) );
+				assertThat( session.createFullTextQuery( query, IndexedNews.class ).getResultSize() ).isEqualTo( 1 );
+				operationSuccessful = true;
+			}
+			finally {
+				commitOrRollback( operationSuccessful );
+			}
+		}
 	}
 
 	private boolean contains(List<IndexedLabel> list, String label) {
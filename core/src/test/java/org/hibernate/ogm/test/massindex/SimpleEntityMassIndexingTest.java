@@ -23,10 +23,13 @@
 import static org.fest.assertions.Assertions.assertThat;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.ogm.massindex.OgmMassIndexer;
 import org.hibernate.ogm.test.hsearch.Insurance;
 import org.hibernate.ogm.test.id.NewsID;
 import org.hibernate.ogm.test.massindex.model.IndexedLabel;
@@ -111,6 +114,177 @@ public void testEntityWithCompositeIdMassIndexing() throws Exception {
 		}
 	}
 
+	@Test
+	public void testEntitiesMassIndexingWithSeveralScanningThreads() throws Exception {
+		final int insurances = 50;
+		final int existingInsurances;
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			existingInsurances = session.createQuery( "FROM Insurance " ).list().size();
+			for ( int i = 0; i < insurances; i++ ) {
+				Insurance insurance = new Insurance();
+				insurance.setName( "Parallel insurance " + i );
+				session.persist( insurance );
+			}
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+		{
+			purgeAll( Insurance.class );
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			OgmMassIndexer indexer = (OgmMassIndexer) session.createIndexer( Insurance.class );
+			indexer.threadsToScanTuples( 4 )
+				.threadsToLoadObjects( 3 )
+				.batchSizeToLoadObjects( 7 )
+				.purgeAllOnStart( true )
+				.startAndWait();
+		}
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			@SuppressWarnings("unchecked")
+			List<Insurance> list = session.createQuery( "FROM Insurance " ).list();
+			assertThat( list ).hasSize( existingInsurances + insurances );
+			// don't interfere with the other tests
+			for ( Insurance insurance : list ) {
+				if ( insurance.getName().startsWith( "Parallel insurance" ) ) {
+					session.delete( insurance );
+				}
+			}
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+	}
+
+	@Test
+	public void testLimitIndexedObjects() throws Exception {
+		final List<String> ids = new ArrayList<String>();
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			for ( int i = 0; i < 20; i++ ) {
+				Insurance insurance = new Insurance();
+				insurance.setName( "Limited insurance " + i );
+				session.persist( insurance );
+				ids.add( insurance.getId() );
+			}
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+		{
+			purgeAll( Insurance.class );
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			session.createIndexer( Insurance.class ).limitIndexedObjectsTo( 5 ).purgeAllOnStart( true ).startAndWait();
+		}
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			@SuppressWarnings("unchecked")
+			List<Insurance> list = session.createQuery( "FROM Insurance " ).list();
+			assertThat( list ).hasSize( 5 );
+			// don't interfere with the other tests
+			for ( String id : ids ) {
+				session.delete( session.get( Insurance.class, id ) );
+			}
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+	}
+
+	@Test
+	public void testResumeInterruptedMassIndexing() throws Exception {
+		final File checkpoints = new File( getBaseIndexDir().getPath(), "checkpoints" );
+		final List<String> ids = new ArrayList<String>();
+		final int allInsurances;
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			for ( int i = 0; i < 20; i++ ) {
+				Insurance insurance = new Insurance();
+				insurance.setName( "Resumed insurance " + i );
+				session.persist( insurance );
+				ids.add( insurance.getId() );
+			}
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+		{
+			// the queries are executed on the index: count the insurances left by the other tests too
+			startAndWaitMassIndexing( Insurance.class );
+			allInsurances = countDocuments( Insurance.class );
+		}
+		{
+			purgeAll( Insurance.class );
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			// stops the indexing after 5 entities as if it had been interrupted
+			OgmMassIndexer indexer = (OgmMassIndexer) session.createIndexer( Insurance.class );
+			indexer.checkpointTo( checkpoints ).threadsToScanTuples( 4 ).limitIndexedObjectsTo( 5 ).startAndWait();
+		}
+		{
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			OgmMassIndexer indexer = (OgmMassIndexer) session.createIndexer( Insurance.class );
+			indexer.resumeFrom( checkpoints ).threadsToScanTuples( 4 ).startAndWait();
+		}
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			// the entities indexed before the interruption must not be indexed twice
+			assertThat( countDocuments( Insurance.class ) ).isEqualTo( allInsurances );
+			// don't interfere with the other tests
+			for ( String id : ids ) {
+				session.delete( session.get( Insurance.class, id ) );
+			}
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+	}
+
+	@Test
+	public void testResumeCompletedMassIndexing() throws Exception {
+		final File checkpoints = new File( getBaseIndexDir().getPath(), "checkpoints" );
+		final String id;
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			Insurance insurance = new Insurance();
+			insurance.setName( "Completed insurance" );
+			session.persist( insurance );
+			id = insurance.getId();
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+		{
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			OgmMassIndexer indexer = (OgmMassIndexer) session.createIndexer( Insurance.class );
+			indexer.checkpointTo( checkpoints ).purgeAllOnStart( true ).startAndWait();
+		}
+		{
+			// nothing is left to index
+			purgeAll( Insurance.class );
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			OgmMassIndexer indexer = (OgmMassIndexer) session.createIndexer( Insurance.class );
+			indexer.resumeFrom( checkpoints ).startAndWait();
+		}
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			assertThat( session.createQuery( "FROM Insurance " ).list() ).isEmpty();
+			// don't interfere with the other tests
+			session.delete( session.get( Insurance.class, id ) );
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+	}
+
 	@After
 	public void tearDown() throws Exception {
 		FileHelper.delete( getBaseIndexDir() );
@@ -121,6 +295,16 @@ private void startAndWaitMassIndexing(Class<?> entityType) throws InterruptedExc
 		session.createIndexer( entityType ).purgeAllOnStart( true ).startAndWait();
 	}
 
+	private int countDocuments(Class<?> entityType) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			return session.createFullTextQuery( new MatchAllDocsQuery(), entityType ).getResultSize();
+		}
+		finally {
+			session.close();
+		}
+	}
+
 	private void purgeAll(Class<?> entityType) {
 		FullTextSession session = Search.getFullTextSession( openSession() );
 		session.purgeAll( entityType );
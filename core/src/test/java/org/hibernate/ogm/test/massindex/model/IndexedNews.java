@@ -33,6 +33,7 @@
 import org.hibernate.search.annotations.DocumentId;
 import org.hibernate.search.annotations.FieldBridge;
 import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
 
 /**
  * @author Davide D'Alto <davide@hibernate.org>
@@ -51,6 +52,7 @@ public class IndexedNews {
 	@OneToMany(cascade = CascadeType.ALL)
 	@JoinColumns({ @JoinColumn(name = "news_topic_fk", referencedColumnName = "newsid.title", nullable = false),
 			@JoinColumn(name = "news_author_fk", referencedColumnName = "newsid.author", nullable = false) })
+	@IndexedEmbedded
 	private List<IndexedLabel> labels;
 
 	public IndexedNews() {
@@ -0,0 +1,201 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.nearcache;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.map.MapDialect;
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.CachingGridDialect;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.NearCacheStatistics;
+import org.hibernate.ogm.dialect.impl.GridDialects;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.test.simpleentity.Hypothesis;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the near cache kept for the entities annotated with {@link org.hibernate.ogm.options.cache.NearCache}.
+ */
+public class NearCacheTest extends OgmTestCase {
+
+	static int tupleReads = 0;
+	static int associationReads = 0;
+
+	private static final String[][] COUNTRIES = { { "fr", "France" }, { "de", "Germany" }, { "it", "Italy" }, { "es", "Spain" } };
+
+	@Before
+	public void populateDb() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( String[] country : COUNTRIES ) {
+			Country entity = new Country( country[0], country[1] );
+			entity.getLanguages().add( country[0] );
+			session.persist( entity );
+		}
+		transaction.commit();
+		session.close();
+
+		tupleReads = 0;
+		associationReads = 0;
+	}
+
+	@After
+	public void deleteAll() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( String[] country : COUNTRIES ) {
+			session.delete( session.get( Country.class, country[0] ) );
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testReadsAreServedFromTheCache() throws Exception {
+		assertThat( load( "fr" ).getName() ).isEqualTo( "France" );
+		long hits = statistics( "Country" ).getHitCount();
+
+		assertThat( load( "fr" ).getName() ).isEqualTo( "France" );
+		assertThat( tupleReads ).isEqualTo( 1 );
+		assertThat( statistics( "Country" ).getHitCount() ).isEqualTo( hits + 1 );
+	}
+
+	@Test
+	public void testWritesInvalidateTheCache() throws Exception {
+		load( "fr" );
+
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Country france = (Country) session.get( Country.class, "fr" );
+		france.setName( "French Republic" );
+		transaction.commit();
+		session.close();
+
+		int reads = tupleReads;
+		assertThat( load( "fr" ).getName() ).isEqualTo( "French Republic" );
+		assertThat( tupleReads ).isEqualTo( reads + 1 );
+		assertThat( statistics( "Country" ).getInvalidationCount() ).isGreaterThan( 0 );
+	}
+
+	@Test
+	public void testLeastRecentlyUsedElementsAreEvicted() throws Exception {
+		for ( String[] country : COUNTRIES ) {
+			load( country[0] );
+		}
+
+		assertThat( statistics( "Country" ).getSize() ).isLessThanOrEqualTo( 3 );
+		assertThat( statistics( "Country" ).getEvictionCount() ).isGreaterThan( 0 );
+	}
+
+	@Test
+	public void testAssociationsAreCached() throws Exception {
+		assertThat( load( "fr" ).getLanguages() ).containsOnly( "fr" );
+		assertThat( load( "fr" ).getLanguages() ).containsOnly( "fr" );
+		assertThat( associationReads ).isEqualTo( 1 );
+
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Country france = (Country) session.get( Country.class, "fr" );
+		france.getLanguages().add( "br" );
+		transaction.commit();
+		session.close();
+
+		assertThat( load( "fr" ).getLanguages() ).containsOnly( "fr", "br" );
+		assertThat( associationReads ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testEntitiesWithoutNearCacheAreNotCached() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Hypothesis hypothesis = new Hypothesis();
+		hypothesis.setId( "hyp-1" );
+		hypothesis.setDescription( "Near caches are useful" );
+		session.persist( hypothesis );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		session.delete( session.get( Hypothesis.class, "hyp-1" ) );
+		transaction.commit();
+		session.close();
+
+		assertThat( statistics( Hypothesis.class.getSimpleName() ) ).isNull();
+	}
+
+	private Country load(String code) {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Country country = (Country) session.get( Country.class, code );
+		country.getLanguages().size();
+		transaction.commit();
+		session.close();
+		return country;
+	}
+
+	private NearCacheStatistics statistics(String table) {
+		GridDialect gridDialect = sfi().getServiceRegistry().getService( GridDialect.class );
+		return GridDialects.getDialectOfType( gridDialect, CachingGridDialect.class ).getStatistics( table );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmProperties.DATASTORE_PROVIDER, MapDatastoreProvider.class.getName() );
+		cfg.setProperty( OgmProperties.GRID_DIALECT, CountingDialect.class.getName() );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Country.class, Hypothesis.class };
+	}
+
+	public static class CountingDialect extends MapDialect {
+
+		public CountingDialect(MapDatastoreProvider provider) {
+			super( provider );
+		}
+
+		@Override
+		public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+			tupleReads++;
+			return super.getTuple( key, tupleContext );
+		}
+
+		@Override
+		public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+			associationReads++;
+			return super.getAssociation( key, associationContext );
+		}
+	}
+}
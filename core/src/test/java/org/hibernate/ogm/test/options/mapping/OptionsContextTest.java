@@ -25,8 +25,11 @@
 
 import java.lang.annotation.ElementType;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.HibernateException;
+import org.hibernate.ogm.options.cache.impl.NearCacheConfiguration;
+import org.hibernate.ogm.options.cache.impl.NearCacheOption;
 import org.hibernate.ogm.options.navigation.impl.ConfigurationContext;
 import org.hibernate.ogm.options.navigation.impl.WritableOptionsServiceContext;
 import org.hibernate.ogm.options.spi.OptionsContainer;
@@ -152,6 +155,22 @@ public void uniqueEntityOptionShouldHaveLastValueWhenSetSeveralTimes() throws Ex
 		assertThat( refrigatorOptions.getUnique( ForceExampleOption.class ) ).isFalse();
 	}
 
+	@Test
+	public void shouldBeAbleToAddNearCacheOptions() throws Exception {
+		configuration
+			.nearCache( 100, 0, TimeUnit.SECONDS )
+			.entity( Refrigerator.class )
+				.nearCache( 10, 1, TimeUnit.MINUTES );
+
+		NearCacheConfiguration globalCache = optionsContext.getGlobalOptions().getUnique( NearCacheOption.class );
+		assertThat( globalCache.getMaxEntries() ).isEqualTo( 100 );
+		assertThat( globalCache.getTimeToLive() ).isEqualTo( 0 );
+
+		NearCacheConfiguration refrigeratorCache = optionsContext.getEntityOptions( Refrigerator.class ).getUnique( NearCacheOption.class );
+		assertThat( refrigeratorCache.getMaxEntries() ).isEqualTo( 10 );
+		assertThat( refrigeratorCache.getTimeToLive() ).isEqualTo( 60000 );
+	}
+
 	private static class ContextExample {
 
 		private String property;
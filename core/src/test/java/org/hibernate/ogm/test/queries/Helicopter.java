@@ -23,6 +23,7 @@
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
 
 import org.hibernate.annotations.GenericGenerator;
@@ -35,10 +36,14 @@
  */
 @Entity
 @Indexed
-@NamedQuery(name = Helicopter.BY_NAME, query = "FROM Helicopter WHERE name = :name")
+@NamedQueries({
+	@NamedQuery(name = Helicopter.BY_NAME, query = "FROM Helicopter WHERE name = :name"),
+	@NamedQuery(name = Helicopter.ALL, query = "FROM Helicopter")
+})
 public class Helicopter {
 
 	public static final String BY_NAME = "HelicopterNameQuery";
+	public static final String ALL = "HelicopterAllQuery";
 
 	private String uuid;
 	private String name;
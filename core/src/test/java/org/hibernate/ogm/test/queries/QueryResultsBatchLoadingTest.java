@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.queries;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.map.MapDialect;
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies that the entities matching a query are loaded with a single multi-get operation and that the ones already
+ * contained in the persistence context are not fetched from the datastore again.
+ */
+public class QueryResultsBatchLoadingTest extends OgmTestCase {
+
+	static final List<Integer> multiGetSizes = new ArrayList<Integer>();
+	static int singleGets = 0;
+
+	@Before
+	public void populateDb() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.persist( helicopter( "Lama" ) );
+		session.persist( helicopter( "Puma" ) );
+		session.persist( helicopter( "Tiger" ) );
+		transaction.commit();
+		session.close();
+
+		multiGetSizes.clear();
+		singleGets = 0;
+	}
+
+	@After
+	public void deleteAll() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( Object helicopter : session.createQuery( "from Helicopter" ).list() ) {
+			session.delete( helicopter );
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testQueryResultsAreLoadedWithOneMultiGet() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		List<?> helicopters = session.createQuery( "from Helicopter" ).list();
+
+		assertThat( helicopters ).hasSize( 3 );
+		assertThat( multiGetSizes ).containsExactly( 3 );
+		assertThat( singleGets ).isEqualTo( 0 );
+
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testEntitiesInThePersistenceContextAreNotLoadedAgain() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		Helicopter lama = (Helicopter) session.createQuery( "from Helicopter h where h.name = 'Lama'" ).uniqueResult();
+		List<?> helicopters = session.createQuery( "from Helicopter" ).list();
+
+		assertThat( helicopters ).hasSize( 3 );
+		assertThat( helicopters ).contains( lama );
+		assertThat( multiGetSizes ).containsExactly( 1, 2 );
+		assertThat( singleGets ).isEqualTo( 0 );
+
+		transaction.commit();
+		session.close();
+	}
+
+	private Helicopter helicopter(String name) {
+		Helicopter helicopter = new Helicopter();
+		helicopter.setName( name );
+		return helicopter;
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmProperties.DATASTORE_PROVIDER, MapDatastoreProvider.class.getName() );
+		cfg.setProperty( OgmProperties.GRID_DIALECT, CountingDialect.class.getName() );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Helicopter.class };
+	}
+
+	public static class CountingDialect extends MapDialect {
+
+		public CountingDialect(MapDatastoreProvider provider) {
+			super( provider );
+		}
+
+		@Override
+		public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+			singleGets++;
+			return super.getTuple( key, tupleContext );
+		}
+
+		@Override
+		public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+			multiGetSizes.add( keys.length );
+			List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+			for ( EntityKey key : keys ) {
+				tuples.add( super.getTuple( key, tupleContext ) );
+			}
+			return tuples;
+		}
+	}
+}
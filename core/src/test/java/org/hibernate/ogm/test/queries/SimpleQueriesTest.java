@@ -26,7 +26,9 @@
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TimeZone;
 
 import org.hibernate.HibernateException;
@@ -34,7 +36,11 @@
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.hql.ParsingException;
+import org.hibernate.ogm.service.impl.BaseQueryParserService;
+import org.hibernate.ogm.service.impl.ParsingResultCache;
+import org.hibernate.ogm.service.impl.QueryParserService;
 import org.hibernate.ogm.test.utils.GridDialectType;
 import org.hibernate.ogm.test.utils.OgmTestCase;
 import org.hibernate.ogm.test.utils.SkipByGridDialect;
@@ -399,6 +405,54 @@ public void testGetNamedQuery() throws Exception {
 		assertThat( result.getName() ).isEqualTo( "Lama" );
 	}
 
+	@Test
+	public void testFirstResultAndMaxResults() throws Exception {
+		assertQuery( session, 3, session.createQuery( "from Hypothesis" ).setFirstResult( 2 ).setMaxResults( 3 ) );
+		assertQuery( session, 2, session.createQuery( "from Hypothesis" ).setFirstResult( 6 ) );
+		assertQuery( session, 5, session.createQuery( "from Hypothesis" ).setMaxResults( 5 ) );
+	}
+
+	@Test
+	public void testPagesDoNotOverlap() throws Exception {
+		Set<Object> hypotheses = new HashSet<Object>();
+		hypotheses.addAll( session.createQuery( "from Hypothesis" ).setMaxResults( 4 ).setFetchSize( 2 ).list() );
+		hypotheses.addAll( session.createQuery( "from Hypothesis" ).setFirstResult( 4 ).setFetchSize( 2 ).list() );
+
+		assertThat( hypotheses ).hasSize( 8 );
+	}
+
+	@Test
+	public void testParsingResultsAreCached() throws Exception {
+		ParsingResultCache<?> cache = getParsingResultCache();
+		long hits = cache.getHitCount();
+		long misses = cache.getMissCount();
+
+		String query = "from Hypothesis h where h.description = :description";
+		assertQuery( session, 1, session.createQuery( query ).setString( "description", "stuff works" ) );
+		assertQuery( session, 1, session.createQuery( query ).setString( "description", "stuff works" ) );
+		assertQuery( session, 1, session.createQuery( query ).setString( "description", "Is the truth out there?" ) );
+
+		assertThat( cache.getMissCount() - misses ).isEqualTo( 2 );
+		assertThat( cache.getHitCount() - hits ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testNamedQueriesWithoutParametersArePrecompiled() throws Exception {
+		ParsingResultCache<?> cache = getParsingResultCache();
+		long hits = cache.getHitCount();
+		long misses = cache.getMissCount();
+
+		assertQuery( session, 3, session.getNamedQuery( Helicopter.ALL ) );
+
+		assertThat( cache.getMissCount() - misses ).isEqualTo( 0 );
+		assertThat( cache.getHitCount() - hits ).isEqualTo( 1 );
+	}
+
+	private ParsingResultCache<?> getParsingResultCache() {
+		QueryParserService queryParserService = ( (SessionFactoryImplementor) sessions ).getServiceRegistry().getService( QueryParserService.class );
+		return ( (BaseQueryParserService<?>) queryParserService ).getParsingResultCache();
+	}
+
 	@BeforeClass
 	public static void insertTestEntities() throws Exception {
 		final Session session = sessions.openSession();
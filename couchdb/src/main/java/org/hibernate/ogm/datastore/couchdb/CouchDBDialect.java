@@ -21,10 +21,14 @@
 package org.hibernate.ogm.datastore.couchdb;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
@@ -32,6 +36,7 @@
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.impl.CouchDBDatastore;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.AssociationDocument;
+import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.DeletedDocument;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.Document;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.EntityDocument;
 import org.hibernate.ogm.datastore.couchdb.dialect.model.impl.CouchDBAssociation;
@@ -50,7 +55,13 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
-import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.BatchableGridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.AssociationKind;
 import org.hibernate.ogm.grid.EntityKey;
@@ -69,11 +80,14 @@
  * <p>
  * Tuples are stored in CouchDB documents obtained as a JSON serialization of a {@link EntityDocument} object.
  * Associations are stored in CouchDB documents obtained as a JSON serialization of a {@link AssociationDocument} object.
+ * <p>
+ * Batched operations are written with as few requests to the {@code _bulk_docs} endpoint as possible; the maximum
+ * number of documents per request can be set via {@link CouchDBProperties#BULK_SIZE}.
  *
  * @author Andrea Boriero <dreborier@gmail.com/>
  * @author Gunnar Morling
  */
-public class CouchDBDialect implements GridDialect {
+public class CouchDBDialect implements BatchableGridDialect {
 
 	private static final Log log = LoggerFactory.getLogger();
 
@@ -90,17 +104,43 @@ public LockingStrategy getLockingStrategy(Lockable lockable, LockMode lockMode)
 
 	@Override
 	public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+		if ( isInTheQueue( key, tupleContext ) ) {
+			applyOperations( tupleContext.getOperationsQueue() );
+		}
+
 		EntityDocument entity = getDataStore().getEntity( Identifier.createEntityId( key ) );
 		if ( entity != null ) {
-			return new Tuple( new CouchDBTupleSnapshot( entity.getProperties() ) );
+			return new Tuple( new CouchDBTupleSnapshot( entity.getProperties() ), tupleContext.getTupleSchema() );
 		}
 
 		return null;
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
-		return new Tuple( new CouchDBTupleSnapshot( key ) );
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		List<String> ids = new ArrayList<String>( keys.length );
+		for ( EntityKey key : keys ) {
+			if ( isInTheQueue( key, tupleContext ) ) {
+				applyOperations( tupleContext.getOperationsQueue() );
+			}
+			ids.add( Identifier.createEntityId( key ) );
+		}
+
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( EntityDocument entity : getDataStore().getEntities( ids ) ) {
+			tuples.add( entity != null ? new Tuple( new CouchDBTupleSnapshot( entity.getProperties() ), tupleContext.getTupleSchema() ) : null );
+		}
+		return tuples;
+	}
+
+	private boolean isInTheQueue(EntityKey key, TupleContext tupleContext) {
+		OperationsQueue queue = tupleContext.getOperationsQueue();
+		return queue != null && queue.contains( key );
+	}
+
+	@Override
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
+		return new Tuple( new CouchDBTupleSnapshot( key ), tupleContext.getTupleSchema() );
 	}
 
 	@Override
@@ -126,6 +166,7 @@ public void removeTuple(EntityKey key) {
 
 	@Override
 	public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+		applyPendingOperations( associationContext );
 		CouchDBAssociation couchDBAssociation = null;
 
 		if ( isStoredInEntityStructure( key, associationContext ) ) {
@@ -144,8 +185,59 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return couchDBAssociation != null ? new Association( new CouchDBAssociationSnapshot( couchDBAssociation, key ) ) : null;
 	}
 
+	/**
+	 * Fetches the documents hosting all the given associations with one request to the {@code _all_docs} endpoint.
+	 */
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		if ( keys.length == 0 ) {
+			return Collections.emptyList();
+		}
+
+		applyPendingOperations( associationContext );
+
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		List<String> ids = new ArrayList<String>( keys.length );
+
+		if ( isStoredInEntityStructure( keys[0], associationContext ) ) {
+			for ( AssociationKey key : keys ) {
+				ids.add( Identifier.createEntityId( key.getEntityKey() ) );
+			}
+			List<EntityDocument> owningEntities = getDataStore().getEntities( ids );
+			for ( int i = 0; i < keys.length; i++ ) {
+				EntityDocument owningEntity = owningEntities.get( i );
+				if ( owningEntity != null && owningEntity.getProperties().containsKey( keys[i].getCollectionRole() ) ) {
+					CouchDBAssociation couchDBAssociation = CouchDBAssociation.fromEmbeddedAssociation( owningEntity, keys[i].getCollectionRole() );
+					associations.add( new Association( new CouchDBAssociationSnapshot( couchDBAssociation, keys[i] ) ) );
+				}
+				else {
+					associations.add( null );
+				}
+			}
+		}
+		else {
+			for ( AssociationKey key : keys ) {
+				ids.add( Identifier.createAssociationId( key ) );
+			}
+			List<AssociationDocument> associationDocuments = getDataStore().getAssociations( ids );
+			for ( int i = 0; i < keys.length; i++ ) {
+				AssociationDocument association = associationDocuments.get( i );
+				if ( association != null ) {
+					CouchDBAssociation couchDBAssociation = CouchDBAssociation.fromAssociationDocument( association );
+					associations.add( new Association( new CouchDBAssociationSnapshot( couchDBAssociation, keys[i] ) ) );
+				}
+				else {
+					associations.add( null );
+				}
+			}
+		}
+
+		return associations;
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
+		applyPendingOperations( associationContext );
 		CouchDBAssociation couchDBAssociation = null;
 
 		if ( isStoredInEntityStructure( key, associationContext ) ) {
@@ -166,12 +258,21 @@ public Association createAssociation(AssociationKey key, AssociationContext asso
 
 	@Override
 	public void updateAssociation(Association association, AssociationKey associationKey, AssociationContext associationContext) {
+		getDataStore().saveDocument( getUpdatedOwningDocument( association, associationKey ) );
+	}
+
+	/**
+	 * Applies the rows of the given association to the document hosting it.
+	 *
+	 * @return the updated document, i.e. the association document or the owning entity document
+	 */
+	private Document getUpdatedOwningDocument(Association association, AssociationKey associationKey) {
 		List<Map<String, Object>> rows = getAssociationRows( association, associationKey );
 
 		CouchDBAssociation couchDBAssociation = ( (CouchDBAssociationSnapshot) association.getSnapshot() ).getCouchDbAssociation();
 		couchDBAssociation.setRows( rows );
 
-		getDataStore().saveDocument( couchDBAssociation.getOwningDocument() );
+		return couchDBAssociation.getOwningDocument();
 	}
 
 	private List<Map<String, Object>> getAssociationRows(Association association, AssociationKey associationKey) {
@@ -292,6 +393,147 @@ private void removeDocumentIfPresent(String id) {
 		}
 	}
 
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		if ( !queue.isClosed() ) {
+			applyOperations( queue );
+			queue.close();
+		}
+	}
+
+	private void applyPendingOperations(AssociationContext associationContext) {
+		if ( associationContext != null ) {
+			applyOperations( associationContext.getOperationsQueue() );
+		}
+	}
+
+	/**
+	 * Writes the documents affected by the queued operations using the {@code _bulk_docs} endpoint. Removals of
+	 * associations stored within the owning entity need to read the entity first, so they are applied one by one after
+	 * the documents collected so far have been written.
+	 */
+	private void applyOperations(OperationsQueue queue) {
+		if ( queue == null || queue.isClosed() || queue.size() == 0 ) {
+			return;
+		}
+
+		DocumentBulk bulk = new DocumentBulk();
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			if ( operation instanceof UpdateTupleOperation ) {
+				UpdateTupleOperation update = (UpdateTupleOperation) operation;
+				CouchDBTupleSnapshot snapshot = (CouchDBTupleSnapshot) update.getTuple().getSnapshot();
+				String revision = (String) snapshot.get( Document.REVISION_FIELD_NAME );
+				bulk.add(
+						new EntityDocument( update.getEntityKey(), revision, update.getTuple() ),
+						revision == null && !snapshot.isCreatedOnInsert()
+				);
+			}
+			else if ( operation instanceof RemoveTupleOperation ) {
+				EntityKey key = ( (RemoveTupleOperation) operation ).getEntityKey();
+				bulk.add( new DeletedDocument( Identifier.createEntityId( key ) ), true );
+			}
+			else if ( operation instanceof UpdateAssociationOperation ) {
+				UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
+				bulk.add( getUpdatedOwningDocument( update.getAssociation(), update.getAssociationKey() ), false );
+			}
+			else if ( operation instanceof RemoveAssociationOperation ) {
+				RemoveAssociationOperation remove = (RemoveAssociationOperation) operation;
+				if ( isStoredInEntityStructure( remove.getAssociationKey(), remove.getContext() ) ) {
+					bulk.write();
+					removeAssociation( remove.getAssociationKey(), remove.getContext() );
+				}
+				else {
+					bulk.add( new DeletedDocument( Identifier.createAssociationId( remove.getAssociationKey() ) ), true );
+				}
+			}
+			else {
+				throw new UnsupportedOperationException( "Operation not supported on CouchDB: " + operation.getClass().getName() );
+			}
+			operation = queue.poll();
+		}
+		bulk.write();
+	}
+
+	/**
+	 * Collects the documents to be written by a batch of operations. As a document may only be contained once in a
+	 * bulk request, the collected documents are written as soon as a document with the same id is added again.
+	 */
+	private class DocumentBulk {
+
+		private final Map<String, Document> documents = new LinkedHashMap<String, Document>();
+
+		private final Set<String> idsWithUnknownRevision = new HashSet<String>();
+
+		/**
+		 * @param document the document to write
+		 * @param revisionUnknown whether the current revision of the document needs to be retrieved before writing it
+		 */
+		void add(Document document, boolean revisionUnknown) {
+			if ( documents.containsKey( document.getId() ) ) {
+				write();
+			}
+
+			documents.put( document.getId(), document );
+			if ( revisionUnknown ) {
+				idsWithUnknownRevision.add( document.getId() );
+			}
+		}
+
+		/**
+		 * Writes all collected documents, split into requests of the configured bulk size. As the collected documents
+		 * have distinct ids, these requests are independent and may be sent concurrently.
+		 */
+		void write() {
+			if ( documents.isEmpty() ) {
+				return;
+			}
+
+			resolveRevisions();
+
+			List<Document> toWrite = new ArrayList<Document>( documents.values() );
+			documents.clear();
+
+			int bulkSize = provider.getBulkSize();
+			List<Runnable> requests = new ArrayList<Runnable>();
+			for ( int i = 0; i < toWrite.size(); i += bulkSize ) {
+				final List<Document> chunk = toWrite.subList( i, Math.min( i + bulkSize, toWrite.size() ) );
+				requests.add( new Runnable() {
+
+					@Override
+					public void run() {
+						getDataStore().saveDocuments( chunk );
+					}
+				} );
+			}
+			provider.getFlushExecutor().execute( requests );
+		}
+
+		/**
+		 * Retrieves the current revisions of all documents requiring it with one request; documents to be deleted
+		 * which don't exist are dropped from the bulk.
+		 */
+		private void resolveRevisions() {
+			if ( idsWithUnknownRevision.isEmpty() ) {
+				return;
+			}
+
+			List<String> ids = new ArrayList<String>( idsWithUnknownRevision );
+			idsWithUnknownRevision.clear();
+
+			List<String> revisions = getDataStore().getCurrentRevisions( ids );
+			for ( int i = 0; i < ids.size(); i++ ) {
+				String revision = revisions.get( i );
+				if ( revision != null ) {
+					documents.get( ids.get( i ) ).setRevision( revision );
+				}
+				else if ( documents.get( ids.get( i ) ) instanceof DeletedDocument ) {
+					documents.remove( ids.get( i ) );
+				}
+			}
+		}
+	}
+
 	@Override
 	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
 		throw new UnsupportedOperationException( "Native queries not supported for CouchDB" );
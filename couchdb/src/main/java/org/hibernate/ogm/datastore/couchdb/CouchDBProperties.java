@@ -30,6 +30,13 @@
  */
 public final class CouchDBProperties implements OgmProperties {
 
+	/**
+	 * The maximum number of documents written with one request to the {@code _bulk_docs} endpoint when flushing a
+	 * batch of changes. Larger batches are split into several requests of this size. Accepts positive integers;
+	 * defaults to {@code 1000}.
+	 */
+	public static final String BULK_SIZE = "hibernate.ogm.couchdb.bulk_size";
+
 	private CouchDBProperties() {
 	}
 }
@@ -24,6 +24,7 @@
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
+import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -33,7 +34,9 @@
 
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.designdocument.impl.DesignDocument;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.designdocument.impl.TuplesDesignDocument;
+import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.BulkDocuments;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.Document;
+import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.DocumentIds;
 
 /**
  * The Interface used by RESTEasy to create the REST calls used to interact with the CouchDB database instance. The
@@ -57,6 +60,16 @@ public interface DatabaseClient {
 	@Path("{id}")
 	Response saveDocument(Document document, @PathParam("id") String id);
 
+	/**
+	 * Save, update or delete several documents in one request
+	 *
+	 * @param documents the documents to be written
+	 * @return the {@link Response} with one result per given document, in the same order
+	 */
+	@POST
+	@Path("_bulk_docs")
+	Response saveDocuments(BulkDocuments documents);
+
 	/**
 	 * Save a {@link DesignDocument} with the given id
 	 *
@@ -98,6 +111,18 @@ public interface DatabaseClient {
 	@Path("{id}")
 	Response getEntityById(@PathParam("id") String id);
 
+	/**
+	 * Retrieve the documents with the given ids in one request
+	 *
+	 * @param ids the ids of the documents to retrieve
+	 * @param includeDocs whether to include the documents themselves into the response or only their revisions
+	 * @return the {@link Response} with the
+	 * {@link org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.DocumentRows}
+	 */
+	@POST
+	@Path("_all_docs")
+	Response getDocumentsByIds(DocumentIds ids, @QueryParam("include_docs") boolean includeDocs);
+
 	/**
 	 * Retrieve the {@link org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.AssociationDocument} with the given id
 	 *
@@ -31,7 +31,10 @@
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.designdocument.impl.EntityTupleRows;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.designdocument.impl.TuplesDesignDocument;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.AssociationDocument;
+import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.BulkDocuments;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.Document;
+import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.DocumentIds;
+import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.DocumentRows;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.EntityDocument;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.GenericResponse;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.SequenceDocument;
@@ -61,6 +64,11 @@ public class CouchDBDatastore {
 	 */
 	private static final int CONNECTION_POOL_SIZE = 10;
 
+	/**
+	 * Error reported by the {@code _bulk_docs} endpoint for documents whose given revision is not the current one
+	 */
+	private static final String CONFLICT_ERROR = "conflict";
+
 	private static final Log logger = LoggerFactory.getLogger();
 
 	private final DatabaseIdentifier database;
@@ -138,6 +146,47 @@ public Document saveDocument(DesignDocument design) {
 		return doSaveDocument( design, true );
 	}
 
+	/**
+	 * Saves, updates or deletes the given documents with a single request to the {@code _bulk_docs} endpoint. The
+	 * revisions of the given documents are updated with the ones assigned by CouchDB.
+	 *
+	 * @param documents the documents to write; documents to be deleted are represented by
+	 * {@link org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.DeletedDocument}s
+	 */
+	public void saveDocuments(List<Document> documents) {
+		Response response = null;
+		try {
+			response = databaseClient.saveDocuments( new BulkDocuments( documents ) );
+			if ( response.getStatus() == Response.Status.CREATED.getStatusCode() ) {
+				GenericResponse[] results = response.readEntity( GenericResponse[].class );
+				for ( int i = 0; i < results.length; i++ ) {
+					GenericResponse result = results[i];
+					if ( result.getError() == null ) {
+						updateDocumentRevision( documents.get( i ), result.getRev() );
+					}
+					else if ( CONFLICT_ERROR.equals( result.getError() ) ) {
+						throw logger.getDocumentHasBeenConcurrentlyModifiedException( result.getId() );
+					}
+					else {
+						throw logger.errorCreatingDocument( response.getStatus(), result.getError(), result.getReason() );
+					}
+				}
+			}
+			else {
+				GenericResponse entity = response.readEntity( GenericResponse.class );
+				throw logger.errorSavingDocuments( response.getStatus(), entity.getError(), entity.getReason() );
+			}
+		}
+		catch (ResteasyClientException e) {
+			throw logger.couchDBConnectionProblem( e );
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
+	}
+
 	private Document doSaveDocument(Document document, boolean isDesignDocument) {
 		Response response = null;
 		try {
@@ -201,6 +250,34 @@ else if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
 		}
 	}
 
+	/**
+	 * Retrieves several {@link EntityDocument}s from the database with a single request
+	 *
+	 * @param ids the ids of the entities to retrieve
+	 * @return the found entities in the order of the given ids; {@code null} for ids without entity
+	 */
+	public List<EntityDocument> getEntities(List<String> ids) {
+		Response response = null;
+		try {
+			response = databaseClient.getDocumentsByIds( new DocumentIds( ids ), true );
+			if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
+				return response.readEntity( DocumentRows.class ).getDocuments( EntityDocument.class );
+			}
+			else {
+				GenericResponse responseEntity = response.readEntity( GenericResponse.class );
+				throw logger.errorRetrievingEntities( ids, response.getStatus(), responseEntity.getError(), responseEntity.getReason() );
+			}
+		}
+		catch (ResteasyClientException e) {
+			throw logger.couchDBConnectionProblem( e );
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
+	}
+
 	/**
 	 * Returns the current revision of the document with the given id.
 	 *
@@ -242,6 +319,34 @@ else if ( response.getStatus() == Response.Status.NOT_FOUND.getStatusCode() ) {
 		}
 	}
 
+	/**
+	 * Returns the current revisions of the documents with the given ids with a single request.
+	 *
+	 * @param documentIds the ids of the documents
+	 * @return the current revisions in the order of the given ids; {@code null} for ids without existing document
+	 */
+	public List<String> getCurrentRevisions(List<String> documentIds) {
+		Response response = null;
+		try {
+			response = databaseClient.getDocumentsByIds( new DocumentIds( documentIds ), false );
+			if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
+				return response.readEntity( DocumentRows.class ).getRevisions();
+			}
+			else {
+				GenericResponse responseEntity = response.readEntity( GenericResponse.class );
+				throw logger.errorRetrievingCurrentRevisions( documentIds, response.getStatus(), responseEntity.getError(), responseEntity.getReason() );
+			}
+		}
+		catch (ResteasyClientException e) {
+			throw logger.couchDBConnectionProblem( e );
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
+	}
+
 	/**
 	 * Whether the given document exists in the datastore or not.
 	 */
@@ -280,6 +385,34 @@ else if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
 		}
 	}
 
+	/**
+	 * Retrieves the {@link AssociationDocument}s with the given ids from the database in one request.
+	 *
+	 * @param ids the ids of the associations to retrieve
+	 * @return the found associations in the order of the given ids; {@code null} for ids without association
+	 */
+	public List<AssociationDocument> getAssociations(List<String> ids) {
+		Response response = null;
+		try {
+			response = databaseClient.getDocumentsByIds( new DocumentIds( ids ), true );
+			if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
+				return response.readEntity( DocumentRows.class ).getDocuments( AssociationDocument.class );
+			}
+			else {
+				GenericResponse responseEntity = response.readEntity( GenericResponse.class );
+				throw logger.errorRetrievingAssociations( ids, response.getStatus(), responseEntity.getError(), responseEntity.getReason() );
+			}
+		}
+		catch (ResteasyClientException e) {
+			throw logger.couchDBConnectionProblem( e );
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
+	}
+
 	/**
 	 * Retrieves all the tuples matching the {@link EntityKeyMetadata}
 	 *
@@ -292,16 +425,19 @@ public List<Tuple> getTuples(EntityKeyMetadata entityKeyMetadata) {
 	}
 
 	public long nextValue(RowKey key, int increment, int initialValue) {
-		long value;
+		String id = createId( key );
 		try {
-			SequenceDocument identifier = getNextKeyValue( createId( key ), initialValue );
-			value = identifier.getValue();
-			saveIntegralIncreasedValue( increment, identifier );
+			while ( true ) {
+				SequenceDocument identifier = getNextKeyValue( id, initialValue );
+				long value = identifier.getValue();
+				if ( saveIntegralIncreasedValue( increment, identifier ) ) {
+					return value;
+				}
+			}
 		}
 		catch (ResteasyClientException crf) {
 			throw logger.errorCalculatingNextValue( crf );
 		}
-		return value;
 	}
 
 	/**
@@ -440,9 +576,34 @@ private List<Tuple> getTuplesByTableName(String tableName) {
 		}
 	}
 
-	private void saveIntegralIncreasedValue(int increment, SequenceDocument identifier) {
+	/**
+	 * Saves the increased value of a sequence.
+	 *
+	 * @return {@code false} if the sequence has been increased concurrently, in which case it must be read again
+	 */
+	private boolean saveIntegralIncreasedValue(int increment, SequenceDocument identifier) {
 		identifier.increase( increment );
-		saveDocument( identifier );
+		Response response = null;
+		try {
+			response = databaseClient.saveDocument( identifier, identifier.getId() );
+			if ( response.getStatus() == Response.Status.CREATED.getStatusCode() ) {
+				GenericResponse entity = response.readEntity( GenericResponse.class );
+				updateDocumentRevision( identifier, entity.getRev() );
+				return true;
+			}
+			else if ( response.getStatus() == Response.Status.CONFLICT.getStatusCode() ) {
+				return false;
+			}
+			else {
+				GenericResponse entity = response.readEntity( GenericResponse.class );
+				throw logger.errorCreatingDocument( response.getStatus(), entity.getError(), entity.getReason() );
+			}
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
 	}
 
 	private String getTableName(EntityKeyMetadata entityKeyMetadata) {
@@ -0,0 +1,123 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.jackson.annotate.JsonIgnore;
+import org.codehaus.jackson.annotate.JsonIgnoreProperties;
+
+/**
+ * Represents the result of fetching several documents via the {@code _all_docs} endpoint, either including the
+ * documents themselves or only their current revisions.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DocumentRows {
+
+	private List<Row> rows;
+
+	List<Row> getRows() {
+		return rows;
+	}
+
+	void setRows(List<Row> rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * Returns the retrieved documents in the order of the requested ids.
+	 *
+	 * @param documentType the expected type of the retrieved documents
+	 * @return the retrieved documents; the element for an id without existing document is {@code null}
+	 */
+	@JsonIgnore
+	public <T extends Document> List<T> getDocuments(Class<T> documentType) {
+		List<T> documents = new ArrayList<T>( rows.size() );
+		for ( Row row : rows ) {
+			documents.add( documentType.cast( row.getDoc() ) );
+		}
+		return documents;
+	}
+
+	/**
+	 * Returns the current revisions of the retrieved documents in the order of the requested ids.
+	 *
+	 * @return the current revisions; the element for an id without existing document is {@code null}
+	 */
+	@JsonIgnore
+	public List<String> getRevisions() {
+		List<String> revisions = new ArrayList<String>( rows.size() );
+		for ( Row row : rows ) {
+			revisions.add( row.getValue() != null && !row.getValue().isDeleted() ? row.getValue().getRev() : null );
+		}
+		return revisions;
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	private static class Row {
+
+		// null for non-existing or deleted documents
+		private Document doc;
+
+		// null for non-existing documents
+		private Value value;
+
+		public Document getDoc() {
+			return doc;
+		}
+
+		void setDoc(Document doc) {
+			this.doc = doc;
+		}
+
+		public Value getValue() {
+			return value;
+		}
+
+		void setValue(Value value) {
+			this.value = value;
+		}
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	private static class Value {
+
+		private String rev;
+		private boolean deleted;
+
+		public String getRev() {
+			return rev;
+		}
+
+		void setRev(String rev) {
+			this.rev = rev;
+		}
+
+		public boolean isDeleted() {
+			return deleted;
+		}
+
+		void setDeleted(boolean deleted) {
+			this.deleted = deleted;
+		}
+	}
+}
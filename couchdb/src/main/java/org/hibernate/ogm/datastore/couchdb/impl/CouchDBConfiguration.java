@@ -22,7 +22,13 @@
 
 import java.util.Map;
 
+import org.hibernate.HibernateException;
 import org.hibernate.ogm.cfg.impl.DocumentStoreConfiguration;
+import org.hibernate.ogm.datastore.couchdb.CouchDBProperties;
+import org.hibernate.ogm.datastore.couchdb.logging.impl.Log;
+import org.hibernate.ogm.datastore.couchdb.logging.impl.LoggerFactory;
+import org.hibernate.ogm.util.configurationreader.impl.ConfigurationPropertyReader;
+import org.hibernate.ogm.util.configurationreader.impl.PropertyValidator;
 
 /**
  * Provides utility methods to access the CouchDB configuration value
@@ -34,7 +40,45 @@ public class CouchDBConfiguration extends DocumentStoreConfiguration {
 
 	public static final int DEFAULT_PORT = 5984;
 
+	/**
+	 * The default maximum number of documents written with one bulk request.
+	 *
+	 * @see CouchDBProperties#BULK_SIZE
+	 */
+	public static final int DEFAULT_BULK_SIZE = 1000;
+
+	private static final Log log = LoggerFactory.getLogger();
+
+	private static final BulkSizeValidator BULK_SIZE_VALIDATOR = new BulkSizeValidator();
+
+	private final int bulkSize;
+
 	public CouchDBConfiguration(Map<?, ?> configurationValues) {
 		super( configurationValues, DEFAULT_PORT );
+
+		ConfigurationPropertyReader propertyReader = new ConfigurationPropertyReader( configurationValues );
+
+		this.bulkSize = propertyReader.property( CouchDBProperties.BULK_SIZE, int.class )
+				.withDefault( DEFAULT_BULK_SIZE )
+				.withValidator( BULK_SIZE_VALIDATOR )
+				.getValue();
+	}
+
+	/**
+	 * @see CouchDBProperties#BULK_SIZE
+	 * @return the maximum number of documents to write with one bulk request
+	 */
+	public int getBulkSize() {
+		return bulkSize;
+	}
+
+	private static class BulkSizeValidator implements PropertyValidator<Integer> {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value <= 0 ) {
+				throw log.illegalBulkSizeValue( value );
+			}
+		}
 	}
 }
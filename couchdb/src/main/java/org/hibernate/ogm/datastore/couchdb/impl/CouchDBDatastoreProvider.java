@@ -22,6 +22,7 @@
 
 import java.util.Map;
 
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.ogm.datastore.couchdb.CouchDBDialect;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.impl.CouchDBDatastore;
 import org.hibernate.ogm.datastore.couchdb.logging.impl.Log;
@@ -30,6 +31,7 @@
 import org.hibernate.ogm.datastore.document.options.AssociationStorageType;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.FlushExecutor;
 import org.hibernate.ogm.service.impl.LuceneBasedQueryParserService;
 import org.hibernate.ogm.service.impl.QueryParserService;
 import org.hibernate.service.spi.Configurable;
@@ -52,16 +54,23 @@ public class CouchDBDatastoreProvider implements DatastoreProvider, Startable, S
 
 	private CouchDBConfiguration configuration;
 
+	private ServiceRegistryImplementor serviceRegistry;
+
+	private FlushExecutor flushExecutor;
+
 	public CouchDBDatastoreProvider() {
 	}
 
 	@Override
 	public void configure(Map configurationValues) {
 		configuration = new CouchDBConfiguration( configurationValues );
+		ClassLoaderService classLoaderService = serviceRegistry != null ? serviceRegistry.getService( ClassLoaderService.class ) : null;
+		flushExecutor = new FlushExecutor( configurationValues, classLoaderService );
 	}
 
 	@Override
 	public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+		this.serviceRegistry = serviceRegistry;
 	}
 
 	@Override
@@ -70,6 +79,7 @@ public void stop() {
 			datastore.shutDown();
 			datastore = null;
 		}
+		flushExecutor.stop();
 	}
 
 	@Override
@@ -111,6 +121,26 @@ public AssociationStorageType getDefaultAssociationStorageStrategy() {
 		return configuration.getAssociationStorageStrategy();
 	}
 
+	/**
+	 * Returns the maximum number of documents to write with one request when flushing a batch of changes, as given
+	 * via the {@link org.hibernate.ogm.datastore.couchdb.CouchDBProperties#BULK_SIZE} property.
+	 *
+	 * @return the maximum number of documents to write with one bulk request
+	 */
+	public int getBulkSize() {
+		return configuration.getBulkSize();
+	}
+
+	/**
+	 * Returns the executor used for sending the bulk requests of a batch, see
+	 * {@link org.hibernate.ogm.cfg.OgmProperties#FLUSH_PARALLELISM}.
+	 *
+	 * @return the executor used for sending the bulk requests of a batch
+	 */
+	public FlushExecutor getFlushExecutor() {
+		return flushExecutor;
+	}
+
 	private boolean isDatastoreNotInitialized() {
 		return datastore == null;
 	}
@@ -24,11 +24,13 @@
 import static org.jboss.logging.Logger.Level.WARN;
 
 import java.text.ParseException;
+import java.util.List;
 
 import javax.persistence.OptimisticLockException;
 
 import org.hibernate.HibernateException;
 import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.couchdb.CouchDBProperties;
 import org.jboss.logging.Cause;
 import org.jboss.logging.LogMessage;
 import org.jboss.logging.Message;
@@ -108,4 +110,19 @@ HibernateException malformedDataBaseUrl(@Cause Exception e, String databaseHost,
 	@Message(id = 1322, value = "Entity '%s' does not have a revision property; In order to make use of CouchDB's "
 			+ "built-in optimistic locking mechanism, it is recommended to define a property '@Generated @Version String _rev'.")
 	void entityShouldHaveRevisionProperty(String entityName);
+
+	@Message(id = 1323, value = "An error occurred retrieving entities with ids %s, " + ERROR_DESCRIPTION)
+	HibernateException errorRetrievingEntities(List<String> entityIds, int status, String error, String reason);
+
+	@Message(id = 1324, value = "An error occurred retrieving associations with ids %s, " + ERROR_DESCRIPTION)
+	HibernateException errorRetrievingAssociations(List<String> associationIds, int status, String error, String reason);
+
+	@Message(id = 1325, value = "The value set for the configuration property '" + CouchDBProperties.BULK_SIZE + "' must be a number greater than 0. Found '%s'.")
+	HibernateException illegalBulkSizeValue(int value);
+
+	@Message(id = 1326, value = "An error occurred writing documents in bulk, " + ERROR_DESCRIPTION)
+	HibernateException errorSavingDocuments(int status, String error, String reason);
+
+	@Message(id = 1327, value = "An error occurred retrieving the current revisions of documents with ids %s, " + ERROR_DESCRIPTION)
+	HibernateException errorRetrievingCurrentRevisions(List<String> documentIds, int status, String error, String reason);
 }
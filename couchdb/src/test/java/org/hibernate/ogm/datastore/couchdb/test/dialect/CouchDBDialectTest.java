@@ -81,7 +81,7 @@ public void tearDown() throws Exception {
 	public void createTupleShouldReturnANewTuple() {
 
 		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
-		Tuple createdTuple = dialect.createTuple( key );
+		Tuple createdTuple = dialect.createTuple( key, new TupleContext( Collections.<String>emptyList() ) );
 
 		int actualIdValue = (Integer) createdTuple.get( "age" );
 		assertThat( actualIdValue, is( 36 ) );
@@ -90,7 +90,7 @@ public void createTupleShouldReturnANewTuple() {
 	@Test
 	public void getTupleShouldReturnTheSearchedOne() {
 		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
-		Tuple createdTuple = dialect.createTuple( key );
+		Tuple createdTuple = dialect.createTuple( key, new TupleContext( Collections.<String>emptyList() ) );
 
 		dialect.updateTuple( createdTuple, key );
 
@@ -102,7 +102,7 @@ public void getTupleShouldReturnTheSearchedOne() {
 	@Test
 	public void removeTupleShouldDeleteTheCreatedTuple() {
 		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
-		dialect.createTuple( key );
+		dialect.createTuple( key, new TupleContext( Collections.<String>emptyList() ) );
 
 		dialect.removeTuple( key );
 
@@ -113,7 +113,7 @@ public void removeTupleShouldDeleteTheCreatedTuple() {
 	public void updateTupleShouldAddTheNewColumnValue() {
 
 		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
-		Tuple createdTuple = dialect.createTuple( key );
+		Tuple createdTuple = dialect.createTuple( key, new TupleContext( Collections.<String>emptyList() ) );
 		createdTuple.put( "name", "and" );
 
 		dialect.updateTuple( createdTuple, key );
@@ -145,7 +145,7 @@ public void updateAnAssociationShouldAddATuple() {
 		String[] rowKeyColumnNames = new String[] { "user_id", "addresses_id" };
 		Object[] rowKeyColumnValues = new Object[] { "Emmanuel", 1 };
 		EntityKey entityKey = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
-		Tuple tuple = dialect.createTuple( entityKey );
+		Tuple tuple = dialect.createTuple( entityKey, new TupleContext( Collections.<String>emptyList() ) );
 		dialect.updateTuple( tuple, entityKey );
 
 		AssociationKey key = createAssociationKey(
@@ -20,6 +20,8 @@
  */
 package org.hibernate.ogm.datastore.couchdb.test.dialect.backend.impl;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hibernate.ogm.datastore.couchdb.utils.CouchDBTestHelper.environmentProperties;
@@ -27,6 +29,8 @@
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 import javax.persistence.OptimisticLockException;
@@ -34,6 +38,7 @@
 import org.hibernate.HibernateException;
 import org.hibernate.ogm.cfg.OgmProperties;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.impl.CouchDBDatastore;
+import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.DeletedDocument;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.Document;
 import org.hibernate.ogm.datastore.couchdb.dialect.backend.json.impl.EntityDocument;
 import org.hibernate.ogm.datastore.couchdb.test.dialect.CouchDBDialectTest;
@@ -137,6 +142,57 @@ public void testGetEntityWithWrongIdReturnNullValue() {
 		assertThat( entity, nullValue() );
 	}
 
+	@Test
+	public void testSaveSeveralDocumentsWithOneBulkRequest() {
+		EntityDocument first = createEntity( "1" );
+		EntityDocument second = createEntity( "2" );
+		EntityDocument third = createEntity( "3" );
+
+		dataStore.saveDocuments( Arrays.<Document>asList( first, second, third ) );
+
+		assertThat( first.getRevision(), notNullValue() );
+		assertThat( second.getRevision(), notNullValue() );
+		assertThat( third.getRevision(), notNullValue() );
+		assertThat( dataStore.getEntity( first.getId() ), notNullValue() );
+		assertThat( dataStore.getEntity( second.getId() ), notNullValue() );
+		assertThat( dataStore.getEntity( third.getId() ), notNullValue() );
+	}
+
+	@Test
+	public void testUpdateAndDeleteDocumentsWithOneBulkRequest() {
+		Document updated = dataStore.saveDocument( createEntity( "1" ) );
+		Document deleted = dataStore.saveDocument( createEntity( "2" ) );
+		String revisionBeforeUpdate = updated.getRevision();
+
+		DeletedDocument deletion = new DeletedDocument( deleted.getId() );
+		deletion.setRevision( deleted.getRevision() );
+		dataStore.saveDocuments( Arrays.<Document>asList( updated, deletion ) );
+
+		assertThat( updated.getRevision(), not( equalTo( revisionBeforeUpdate ) ) );
+		assertThat( dataStore.getEntity( deleted.getId() ), nullValue() );
+	}
+
+	@Test(expected = OptimisticLockException.class)
+	public void testSaveDocumentsWithWrongRevisionOfOneDocument() {
+		Document createdDocument = dataStore.saveDocument( createEntity( "1" ) );
+		String firstVersion = createdDocument.getRevision();
+
+		createdDocument = dataStore.saveDocument( createdDocument );
+		createdDocument.setRevision( firstVersion );
+
+		dataStore.saveDocuments( Arrays.<Document>asList( createEntity( "2" ), createdDocument ) );
+	}
+
+	@Test
+	public void testGetCurrentRevisions() {
+		Document createdDocument = dataStore.saveDocument( createEntity( "1" ) );
+
+		List<String> revisions = dataStore.getCurrentRevisions( Arrays.asList( createdDocument.getId(), createdDocument.getId() + "_1" ) );
+
+		assertThat( revisions.get( 0 ), equalTo( createdDocument.getRevision() ) );
+		assertThat( revisions.get( 1 ), nullValue() );
+	}
+
 	private void setUpDatastore() throws Exception {
 		dataBaseDropped = false;
 		loadProperties();
@@ -190,7 +246,11 @@ private String getDatabaseHost() {
 	}
 
 	private EntityDocument createEntity() {
-		return new EntityDocument( createEntityKey( "tableName", new String[] { "id", "name" }, new String[] { "1",
+		return createEntity( "1" );
+	}
+
+	private EntityDocument createEntity(String id) {
+		return new EntityDocument( createEntityKey( "tableName", new String[] { "id", "name" }, new String[] { id,
 				"Andrea" } ) );
 	}
 
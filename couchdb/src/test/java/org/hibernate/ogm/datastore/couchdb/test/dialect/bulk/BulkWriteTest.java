@@ -0,0 +1,177 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.couchdb.test.dialect.bulk;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.couchdb.CouchDBProperties;
+import org.hibernate.ogm.datastore.couchdb.impl.CouchDBDatastoreProvider;
+import org.hibernate.ogm.datastore.couchdb.test.dialect.authenticated.Flower;
+import org.hibernate.ogm.dialect.batch.FlushExecutor;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the changes of a flush are written with as few {@code _bulk_docs} requests as the configured bulk size
+ * allows.
+ */
+public class BulkWriteTest extends OgmTestCase {
+
+	private static final int BULK_SIZE = 3;
+
+	@Before
+	public void resetRecordedRequests() {
+		RecordingCouchDBDatastoreProvider.bulkRequests.clear();
+	}
+
+	@After
+	public void deleteFlowers() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( int i = 0; i < 7; i++ ) {
+			Flower flower = (Flower) session.get( Flower.class, "flower-" + i );
+			if ( flower != null ) {
+				session.delete( flower );
+			}
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testEntitiesOfAFlushAreWrittenWithOneBulkRequest() {
+		persistFlowers( 3 );
+
+		assertThat( RecordingCouchDBDatastoreProvider.bulkRequests ).containsExactly( 1 );
+		assertFlowersExist( 3 );
+	}
+
+	@Test
+	public void testBulkRequestsAreSplitAtBulkSize() {
+		persistFlowers( 7 );
+
+		// 3 + 3 + 1 documents
+		assertThat( RecordingCouchDBDatastoreProvider.bulkRequests ).containsExactly( 3 );
+		assertFlowersExist( 7 );
+	}
+
+	@Test
+	public void testUpdatesAndRemovalsAreWrittenWithOneBulkRequest() {
+		persistFlowers( 3 );
+		RecordingCouchDBDatastoreProvider.bulkRequests.clear();
+
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		( (Flower) session.get( Flower.class, "flower-0" ) ).setName( "Rose" );
+		session.delete( session.get( Flower.class, "flower-1" ) );
+		transaction.commit();
+		session.close();
+
+		assertThat( RecordingCouchDBDatastoreProvider.bulkRequests ).containsExactly( 1 );
+
+		session = openSession();
+		transaction = session.beginTransaction();
+		assertThat( ( (Flower) session.get( Flower.class, "flower-0" ) ).getName() ).isEqualTo( "Rose" );
+		assertThat( session.get( Flower.class, "flower-1" ) ).isNull();
+		transaction.commit();
+		session.close();
+	}
+
+	private void persistFlowers(int count) {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			Flower flower = new Flower();
+			flower.setId( "flower-" + i );
+			flower.setName( "Flower " + i );
+			session.persist( flower );
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	private void assertFlowersExist(int count) {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			Flower flower = (Flower) session.get( Flower.class, "flower-" + i );
+			assertThat( flower ).isNotNull();
+			assertThat( flower.getName() ).isEqualTo( "Flower " + i );
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.getProperties().put( OgmProperties.DATASTORE_PROVIDER, RecordingCouchDBDatastoreProvider.class );
+		cfg.setProperty( CouchDBProperties.BULK_SIZE, String.valueOf( BULK_SIZE ) );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Flower.class };
+	}
+
+	/**
+	 * Records the number of bulk requests sent for each batch of documents.
+	 */
+	public static class RecordingCouchDBDatastoreProvider extends CouchDBDatastoreProvider {
+
+		static final List<Integer> bulkRequests = new CopyOnWriteArrayList<Integer>();
+
+		private FlushExecutor flushExecutor;
+
+		@Override
+		public void configure(@SuppressWarnings("rawtypes") Map configurationValues) {
+			super.configure( configurationValues );
+			flushExecutor = new FlushExecutor( configurationValues, null ) {
+
+				@Override
+				public void execute(List<? extends Runnable> tasks) {
+					bulkRequests.add( tasks.size() );
+					super.execute( tasks );
+				}
+			};
+		}
+
+		@Override
+		public FlushExecutor getFlushExecutor() {
+			return flushExecutor;
+		}
+
+		@Override
+		public void stop() {
+			super.stop();
+			flushExecutor.stop();
+		}
+	}
+}
@@ -20,8 +20,10 @@
  */
 package org.hibernate.ogm.datastore.ehcache;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import net.sf.ehcache.Element;
@@ -44,6 +46,7 @@
 import org.hibernate.ogm.datastore.spi.AssociationOperation;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.datastore.spi.TupleSchema;
 import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
@@ -91,25 +94,42 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		final Cache<SerializableKey> entityCache = datastoreProvider.getEntityCache();
 		final Element element = entityCache.get( new SerializableKey( key ) );
 		if ( element != null ) {
-			return createTuple( element );
+			return createTuple( element, tupleContext.getTupleSchema() );
 		}
 		else {
 			return null;
 		}
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		final Cache<SerializableKey> entityCache = datastoreProvider.getEntityCache();
+		List<SerializableKey> serializableKeys = new ArrayList<SerializableKey>( keys.length );
+		for ( EntityKey key : keys ) {
+			serializableKeys.add( new SerializableKey( key ) );
+		}
+
+		Map<SerializableKey, Element> elements = entityCache.getAll( serializableKeys );
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( SerializableKey key : serializableKeys ) {
+			Element element = elements.get( key );
+			tuples.add( element != null ? createTuple( element, tupleContext.getTupleSchema() ) : null );
+		}
+		return tuples;
+	}
+
 	@SuppressWarnings("unchecked")
-	private Tuple createTuple(final Element element) {
-		return new Tuple( new MapTupleSnapshot( (Map<String, Object>) element.getObjectValue() ) );
+	private Tuple createTuple(final Element element, TupleSchema tupleSchema) {
+		return new Tuple( new MapTupleSnapshot( (Map<String, Object>) element.getObjectValue() ), tupleSchema );
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
 		final Cache<SerializableKey> entityCache = datastoreProvider.getEntityCache();
 		final HashMap<String, Object> tuple = new HashMap<String, Object>();
 		entityCache.put( new Element( new SerializableKey( key ), tuple ) );
 
-		return new Tuple( new MapTupleSnapshot( tuple ) );
+		return new Tuple( new MapTupleSnapshot( tuple ), tupleContext.getTupleSchema() );
 	}
 
 	@Override
@@ -141,6 +161,30 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		}
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		final Cache<SerializableKey> associationCache = datastoreProvider.getAssociationCache();
+		List<SerializableKey> serializableKeys = new ArrayList<SerializableKey>( keys.length );
+		for ( AssociationKey key : keys ) {
+			serializableKeys.add( new SerializableKey( key ) );
+		}
+
+		Map<SerializableKey, Element> elements = associationCache.getAll( serializableKeys );
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( SerializableKey key : serializableKeys ) {
+			Element element = elements.get( key );
+			if ( element == null ) {
+				associations.add( null );
+			}
+			else {
+				@SuppressWarnings("unchecked")
+				Map<SerializableKey, Map<String, Object>> associationRows = (Map<SerializableKey, Map<String, Object>>) element.getObjectValue();
+				associations.add( new Association( new SerializableMapAssociationSnapshot( associationRows ) ) );
+			}
+		}
+		return associations;
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 		final Cache<SerializableKey> associationCache = datastoreProvider.getAssociationCache();
@@ -220,7 +264,7 @@ public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetada
 				// Check if there is a way to load keys applying a filter
 				if ( key.getTable().equals( entityKeyMetadata.getTable() ) ) {
 					Element element = entityCache.get( key );
-					consumer.consume( createTuple( element ) );
+					consumer.consume( createTuple( element, null ) );
 				}
 			}
 		}
@@ -20,7 +20,9 @@
  */
 package org.hibernate.ogm.datastore.ehcache.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import net.sf.ehcache.Element;
 
@@ -41,6 +43,11 @@ public Element get(K key) {
 		return delegate.get( key );
 	}
 
+	@SuppressWarnings("unchecked")
+	public Map<K, Element> getAll(Collection<K> keys) {
+		return (Map<K, Element>) (Map<?, ?>) delegate.getAll( keys );
+	}
+
 	public List<K> getKeys() {
 		return delegate.getKeys();
 	}
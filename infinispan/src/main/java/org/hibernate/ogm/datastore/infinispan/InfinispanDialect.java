@@ -24,11 +24,23 @@
 import static org.hibernate.ogm.datastore.spi.DefaultDatastoreNames.ENTITY_STORE;
 import static org.hibernate.ogm.datastore.spi.DefaultDatastoreNames.IDENTIFIER_STORE;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.transaction.NotSupportedException;
+import javax.transaction.SystemException;
+import javax.transaction.TransactionManager;
 
 import org.hibernate.LockMode;
+import org.hibernate.annotations.common.AssertionFailure;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.dialect.lock.OptimisticForceIncrementLockingStrategy;
 import org.hibernate.dialect.lock.OptimisticLockingStrategy;
@@ -44,13 +56,25 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
-import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.datastore.spi.TupleSchema;
+import org.hibernate.ogm.dialect.BatchableGridDialect;
+import org.hibernate.ogm.dialect.PartitionableGridDialect;
+import org.hibernate.ogm.dialect.TuplePartition;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.hibernate.ogm.type.GridType;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.type.Type;
 import org.infinispan.AdvancedCache;
@@ -66,7 +90,9 @@
 /**
  * @author Emmanuel Bernard
  */
-public class InfinispanDialect implements GridDialect {
+public class InfinispanDialect implements BatchableGridDialect, PartitionableGridDialect {
+
+	private static final Log log = LoggerFactory.make();
 
 	private final InfinispanDatastoreProvider provider;
 
@@ -107,23 +133,41 @@ else if ( lockMode == LockMode.OPTIMISTIC_FORCE_INCREMENT ) {
 
 	@Override
 	public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+		if ( isInTheQueue( key, tupleContext ) ) {
+			applyOperations( tupleContext.getOperationsQueue() );
+		}
+		return getTuple( key, tupleContext.getTupleSchema() );
+	}
+
+	private boolean isInTheQueue(EntityKey key, TupleContext tupleContext) {
+		OperationsQueue queue = tupleContext.getOperationsQueue();
+		return queue != null && queue.contains( key );
+	}
+
+	private Tuple getTuple(EntityKey key, TupleSchema tupleSchema) {
 		Cache<EntityKey, Map<String, Object>> cache = provider.getCache( ENTITY_STORE );
 		FineGrainedAtomicMap<String, Object> atomicMap = AtomicMapLookup.getFineGrainedAtomicMap( cache, key, false );
 		if ( atomicMap == null ) {
 			return null;
 		}
 		else {
-			return new Tuple( new InfinispanTupleSnapshot( atomicMap ) );
+			return new Tuple( new InfinispanTupleSnapshot( atomicMap ), tupleSchema );
 		}
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		// Tuples are stored as atomic maps which can only be obtained one by one via AtomicMapLookup
+		return GridDialects.getTuplesOneByOne( this, keys, tupleContext );
+	}
+
+	@Override
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
 		//TODO we don't verify that it does not yet exist assuming that this has been done before by the calling code
 		//should we improve?
 		Cache<EntityKey, Map<String, Object>> cache = provider.getCache( ENTITY_STORE );
 		FineGrainedAtomicMap<String,Object> atomicMap =  AtomicMapLookup.getFineGrainedAtomicMap( cache, key, true );
-		return new Tuple( new InfinispanTupleSnapshot( atomicMap ) );
+		return new Tuple( new InfinispanTupleSnapshot( atomicMap ), tupleContext.getTupleSchema() );
 	}
 
 	@Override
@@ -140,11 +184,20 @@ public void removeTuple(EntityKey key) {
 
 	@Override
 	public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+		// the returned association must reflect the changes pending in the current flush
+		applyPendingOperations( associationContext );
 		Cache<AssociationKey, Map<RowKey, Map<String, Object>>> cache = provider.getCache( ASSOCIATION_STORE );
 		Map<RowKey, Map<String, Object>> atomicMap = AtomicMapLookup.getFineGrainedAtomicMap( cache, key, false );
 		return atomicMap == null ? null : new Association( new MapAssociationSnapshot( atomicMap ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		applyPendingOperations( associationContext );
+		// Associations are stored as atomic maps which can only be obtained one by one via AtomicMapLookup
+		return GridDialects.getAssociationsOneByOne( this, keys, associationContext );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 		//TODO we don't verify that it does not yet exist assuming that this ahs been done before by the calling code
@@ -212,6 +265,118 @@ public void nextValue(RowKey key, IntegralDataTypeHolder value, int increment, i
 	}
 
 
+	/**
+	 * Applies the operations collected during a flush. They are grouped per cache, i.e. all the entity changes are
+	 * written before all the association changes. If no transaction is running, all the writes happen within one
+	 * transaction instead of one implicit transaction per write.
+	 */
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		if ( !queue.isClosed() ) {
+			applyOperations( queue );
+			queue.close();
+		}
+	}
+
+	private void applyPendingOperations(AssociationContext associationContext) {
+		if ( associationContext != null ) {
+			applyOperations( associationContext.getOperationsQueue() );
+		}
+	}
+
+	private void applyOperations(OperationsQueue queue) {
+		if ( queue == null || queue.isClosed() || queue.size() == 0 ) {
+			return;
+		}
+
+		List<Operation> entityOperations = new ArrayList<Operation>( queue.size() );
+		List<Operation> associationOperations = new ArrayList<Operation>( queue.size() );
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			if ( operation instanceof UpdateTupleOperation || operation instanceof RemoveTupleOperation ) {
+				entityOperations.add( operation );
+			}
+			else if ( operation instanceof UpdateAssociationOperation || operation instanceof RemoveAssociationOperation ) {
+				associationOperations.add( operation );
+			}
+			else {
+				throw new AssertionFailure( "Unexpected operation: " + operation.getClass().getName() );
+			}
+			operation = queue.poll();
+		}
+
+		TransactionManager transactionManager = beginTransactionIfRequired();
+		boolean success = false;
+		try {
+			for ( Operation entityOperation : entityOperations ) {
+				applyOperation( entityOperation );
+			}
+			for ( Operation associationOperation : associationOperations ) {
+				applyOperation( associationOperation );
+			}
+			success = true;
+		}
+		finally {
+			if ( transactionManager != null ) {
+				endTransaction( transactionManager, success );
+			}
+		}
+	}
+
+	private void applyOperation(Operation operation) {
+		if ( operation instanceof UpdateTupleOperation ) {
+			UpdateTupleOperation update = (UpdateTupleOperation) operation;
+			updateTuple( update.getTuple(), update.getEntityKey() );
+		}
+		else if ( operation instanceof RemoveTupleOperation ) {
+			removeTuple( ( (RemoveTupleOperation) operation ).getEntityKey() );
+		}
+		else if ( operation instanceof UpdateAssociationOperation ) {
+			UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
+			updateAssociation( update.getAssociation(), update.getAssociationKey(), update.getContext() );
+		}
+		else {
+			RemoveAssociationOperation remove = (RemoveAssociationOperation) operation;
+			removeAssociation( remove.getAssociationKey(), remove.getContext() );
+		}
+	}
+
+	/**
+	 * Begins a transaction if the caches are transactional and no transaction is running yet.
+	 *
+	 * @return the transaction manager if a transaction has been started, {@code null} otherwise
+	 */
+	private TransactionManager beginTransactionIfRequired() {
+		TransactionManager transactionManager = provider.getCache( ENTITY_STORE ).getAdvancedCache().getTransactionManager();
+		try {
+			if ( transactionManager == null || transactionManager.getTransaction() != null ) {
+				return null;
+			}
+			transactionManager.begin();
+			return transactionManager;
+		}
+		catch (SystemException e) {
+			throw log.jtaTransactionBeginFailed( e );
+		}
+		catch (NotSupportedException e) {
+			throw log.jtaTransactionBeginFailed( e );
+		}
+	}
+
+	private void endTransaction(TransactionManager transactionManager, boolean commit) {
+		try {
+			if ( commit ) {
+				transactionManager.commit();
+			}
+			else {
+				transactionManager.rollback();
+			}
+		}
+		catch (Exception e) {
+			throw commit ? log.jtaCommitFailed( e ) : log.jtaRollbackFailed( e );
+		}
+	}
+
 	@Override
 	public GridType overrideType(Type type) {
 		return null;
@@ -223,45 +388,172 @@ public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMet
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetadatas) {
-		Cache<EntityKey, Map<String, Object>> cache = provider.getCache( ENTITY_STORE );
-		Map<EntityKey, Map<String, Object>> queryResult = retrieveKeys( cache, entityKeyMetadatas );
-		for ( Entry<EntityKey, Map<String, Object>> entry : queryResult.entrySet() ) {
-			consumer.consume( getTuple( entry.getKey(), null ) );
+		for ( List<EntityKey> keys : retrieveKeys( 1, entityKeyMetadatas ).values() ) {
+			new KeysPartition( new KeyHashCursor( 1, 0 ), keys ).forEachTuple( consumer );
 		}
 	}
 
-	private Map<EntityKey, Map<String, Object>> retrieveKeys(Cache<EntityKey, Map<String, Object>> cache, EntityKeyMetadata... entityKeyMetadatas) {
-		MapReduceTask<EntityKey, Map<String, Object>, EntityKey, Map<String, Object>> queryTask = new MapReduceTask<EntityKey, Map<String, Object>, EntityKey, Map<String, Object>>( cache );
-		queryTask.mappedWith( new TupleMapper( entityKeyMetadatas ) ).reducedWith( new TupleReducer() );
+	/**
+	 * Groups the keys of the entities by their hash code, so that a partition contains the same keys in every scan.
+	 */
+	@Override
+	public List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		Map<Integer, List<EntityKey>> keysPerPartition = retrieveKeys( partitions, entityKeyMetadatas );
+
+		List<TuplePartition> result = new ArrayList<TuplePartition>( partitions );
+		for ( int i = 0; i < partitions; i++ ) {
+			List<EntityKey> keys = keysPerPartition.get( i );
+			if ( keys != null ) {
+				result.add( new KeysPartition( new KeyHashCursor( partitions, i ), keys ) );
+			}
+		}
+		if ( result.isEmpty() ) {
+			result.add( new KeysPartition( new KeyHashCursor( 1, 0 ), Collections.<EntityKey>emptyList() ) );
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the keys of all the partitions to resume with a single Map/Reduce task.
+	 */
+	@Override
+	public List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas) {
+		// the cursors of a scan share their number of partitions, so a single task is usually run
+		Map<Integer, Set<Integer>> partitionsToResume = new HashMap<Integer, Set<Integer>>();
+		for ( Serializable cursor : cursors ) {
+			KeyHashCursor keyHashCursor = (KeyHashCursor) cursor;
+			Set<Integer> partitions = partitionsToResume.get( keyHashCursor.partitions );
+			if ( partitions == null ) {
+				partitions = new HashSet<Integer>();
+				partitionsToResume.put( keyHashCursor.partitions, partitions );
+			}
+			partitions.add( keyHashCursor.partition );
+		}
+
+		Map<Integer, Map<Integer, List<EntityKey>>> keysPerPartitions = new HashMap<Integer, Map<Integer, List<EntityKey>>>();
+		for ( Entry<Integer, Set<Integer>> entry : partitionsToResume.entrySet() ) {
+			keysPerPartitions.put( entry.getKey(), retrieveKeys( entry.getKey(), entry.getValue(), entityKeyMetadatas ) );
+		}
+
+		List<TuplePartition> result = new ArrayList<TuplePartition>( cursors.size() );
+		for ( Serializable cursor : cursors ) {
+			KeyHashCursor keyHashCursor = (KeyHashCursor) cursor;
+			List<EntityKey> keys = keysPerPartitions.get( keyHashCursor.partitions ).get( keyHashCursor.partition );
+			result.add( new KeysPartition( keyHashCursor, keys != null ? keys : Collections.<EntityKey>emptyList() ) );
+		}
+		return result;
+	}
+
+	private Map<Integer, List<EntityKey>> retrieveKeys(int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		return retrieveKeys( partitions, null, entityKeyMetadatas );
+	}
+
+	/**
+	 * Collects the keys of the given entities, grouped by partition. Only the keys are sent back by the nodes of the
+	 * cluster, each node combining the keys of its own entries before.
+	 *
+	 * @param partitionsToScan the partitions whose keys should be collected, {@code null} for all of them
+	 */
+	private Map<Integer, List<EntityKey>> retrieveKeys(int partitions, Set<Integer> partitionsToScan, EntityKeyMetadata... entityKeyMetadatas) {
+		Cache<EntityKey, Map<String, Object>> cache = provider.getCache( ENTITY_STORE );
+		MapReduceTask<EntityKey, Map<String, Object>, Integer, List<EntityKey>> queryTask = new MapReduceTask<EntityKey, Map<String, Object>, Integer, List<EntityKey>>( cache );
+		queryTask.mappedWith( new KeyMapper( partitions, partitionsToScan, entityKeyMetadatas ) )
+				.combinedWith( new KeyReducer() )
+				.reducedWith( new KeyReducer() );
 		return queryTask.execute();
 	}
 
-	static class TupleMapper implements Mapper<EntityKey, Map<String, Object>, EntityKey, Map<String, Object>> {
+	/**
+	 * The keys of a partition; as the keys are not sorted, a scan of the partition can only be resumed from the
+	 * beginning.
+	 */
+	private class KeysPartition implements TuplePartition {
+
+		private final KeyHashCursor cursor;
+		private final List<EntityKey> keys;
+
+		public KeysPartition(KeyHashCursor cursor, List<EntityKey> keys) {
+			this.cursor = cursor;
+			this.keys = keys;
+		}
+
+		@Override
+		public void forEachTuple(Consumer consumer) {
+			for ( EntityKey key : keys ) {
+				Tuple tuple = getTuple( key, (TupleSchema) null );
+				// might have been removed since the partitions have been created
+				if ( tuple != null ) {
+					consumer.consume( tuple );
+				}
+			}
+		}
+
+		@Override
+		public Serializable getCursor() {
+			return cursor;
+		}
+
+		@Override
+		public Serializable getCursorAfter(Tuple tuple) {
+			return cursor;
+		}
+	}
+
+	/**
+	 * Identifies the keys whose hash code modulo the number of partitions is the given partition.
+	 */
+	@SuppressWarnings("serial")
+	private static class KeyHashCursor implements Serializable {
+
+		private final int partitions;
+		private final int partition;
 
+		public KeyHashCursor(int partitions, int partition) {
+			this.partitions = partitions;
+			this.partition = partition;
+		}
+	}
+
+	private static int getPartition(EntityKey key, int partitions) {
+		return ( key.hashCode() & Integer.MAX_VALUE ) % partitions;
+	}
+
+	static class KeyMapper implements Mapper<EntityKey, Map<String, Object>, Integer, List<EntityKey>> {
+
+		private final int partitions;
+		private final Set<Integer> partitionsToScan;
 		private final EntityKeyMetadata[] entityKeyMetadatas;
 
-		public TupleMapper(EntityKeyMetadata... entityKeyMetadatas) {
+		public KeyMapper(int partitions, Set<Integer> partitionsToScan, EntityKeyMetadata... entityKeyMetadatas) {
+			this.partitions = partitions;
+			this.partitionsToScan = partitionsToScan;
 			this.entityKeyMetadatas = entityKeyMetadatas;
 		}
 
 		@Override
-		public void map(EntityKey key, Map<String, Object> value, Collector<EntityKey, Map<String, Object>> collector) {
+		public void map(EntityKey key, Map<String, Object> value, Collector<Integer, List<EntityKey>> collector) {
 			for ( EntityKeyMetadata entityKeyMetadata : entityKeyMetadatas ) {
 				if ( key.getTable().equals( entityKeyMetadata.getTable() ) ) {
-					collector.emit( key, value );
+					int partition = getPartition( key, partitions );
+					if ( partitionsToScan == null || partitionsToScan.contains( partition ) ) {
+						collector.emit( partition, Collections.singletonList( key ) );
+					}
 				}
 			}
 		}
 
 	}
 
-	static class TupleReducer implements Reducer<EntityKey, Map<String, Object>> {
+	static class KeyReducer implements Reducer<Integer, List<EntityKey>> {
 
 		@Override
-		public Map<String, Object> reduce(EntityKey reducedKey, Iterator<Map<String, Object>> iter) {
-			return iter.next();
+		public List<EntityKey> reduce(Integer partition, Iterator<List<EntityKey>> iter) {
+			List<EntityKey> keys = new ArrayList<EntityKey>();
+			while ( iter.hasNext() ) {
+				keys.addAll( iter.next() );
+			}
+			return keys;
 		}
 
 	}
@@ -24,6 +24,7 @@
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,6 +37,10 @@
 import org.hibernate.ogm.datastore.infinispan.impl.InfinispanDatastoreProvider;
 import org.hibernate.ogm.datastore.spi.Association;
 import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.AssociationKeyMetadata;
 import org.hibernate.ogm.grid.EntityKey;
@@ -88,14 +93,15 @@ public void shouldWriteAndReadTupleInClusteredMode() throws Exception {
 		Object[] values = { 123, "Hello", 456L };
 
 		EntityKey key = new EntityKey( keyMetadata, values );
+		TupleContext tupleContext = new TupleContext( Arrays.asList( columnNames ) );
 
 		// when
-		Tuple tuple = dialect1.createTuple( key );
+		Tuple tuple = dialect1.createTuple( key, tupleContext );
 		tuple.put( "foo", "bar" );
 		dialect1.updateTuple( tuple, key );
 
 		// then
-		Tuple readTuple = dialect2.getTuple( key, null );
+		Tuple readTuple = dialect2.getTuple( key, tupleContext );
 		assertThat( readTuple.get( "foo" ) ).isEqualTo( "bar" );
 	}
 
@@ -124,6 +130,37 @@ public void shouldWriteAndReadAssociationInClusteredMode() throws Exception {
 		assertThat( readKey.get( "zip" ) ).isEqualTo( "zap" );
 	}
 
+	@Test
+	public void shouldWriteBatchedOperationsInClusteredMode() throws Exception {
+		// given
+		String[] columnNames = { "foo", "bar", "baz" };
+		Object[] values = { 789, "Batch", 12L };
+		EntityKey entityKey = new EntityKey( new EntityKeyMetadata( "Foobar", columnNames ), values );
+		AssociationKey associationKey = new AssociationKey( new AssociationKeyMetadata( "Foobar", columnNames ), values, null, null, null );
+		RowKey rowKey = new RowKey( "QaxZup", columnNames, values );
+		TupleContext tupleContext = new TupleContext( Arrays.asList( columnNames ) );
+
+		OperationsQueue queue = new OperationsQueue();
+
+		Tuple tuple = dialect1.createTuple( entityKey, tupleContext );
+		tuple.put( "foo", "batched" );
+		queue.add( new UpdateTupleOperation( tuple, entityKey ) );
+
+		Tuple associationRow = new Tuple();
+		associationRow.put( "zip", "batched" );
+		Association association = dialect1.createAssociation( associationKey, null );
+		association.put( rowKey, associationRow );
+		queue.add( new UpdateAssociationOperation( association, associationKey, null ) );
+
+		// when
+		dialect1.executeBatch( queue );
+
+		// then
+		assertThat( queue.isClosed() ).isTrue();
+		assertThat( dialect2.getTuple( entityKey, tupleContext ).get( "foo" ) ).isEqualTo( "batched" );
+		assertThat( dialect2.getAssociation( associationKey, null ).get( rowKey ).get( "zip" ) ).isEqualTo( "batched" );
+	}
+
 	private static InfinispanDatastoreProvider createAndStartNewProvider() {
 		Map<String, Object> configurationValues = new HashMap<String, Object>();
 		configurationValues.put( InfinispanProperties.CONFIGURATION_RESOURCE_NAME, "infinispan-dist-duplicate-domains-allowed.xml" );
@@ -26,8 +26,8 @@
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -44,6 +44,7 @@
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.ogm.datastore.document.options.AssociationStorageType;
 import org.hibernate.ogm.datastore.document.options.impl.AssociationStorageOption;
+import org.hibernate.ogm.datastore.mongodb.dialect.impl.BulkWrite;
 import org.hibernate.ogm.datastore.mongodb.dialect.impl.MassIndexingMongoDBTupleSnapshot;
 import org.hibernate.ogm.datastore.mongodb.dialect.impl.MongoDBAssociationSnapshot;
 import org.hibernate.ogm.datastore.mongodb.dialect.impl.MongoDBTupleSnapshot;
@@ -64,6 +65,8 @@
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.datastore.spi.TupleOperation;
 import org.hibernate.ogm.dialect.BatchableGridDialect;
+import org.hibernate.ogm.dialect.PartitionableGridDialect;
+import org.hibernate.ogm.dialect.TuplePartition;
 import org.hibernate.ogm.dialect.batch.Operation;
 import org.hibernate.ogm.dialect.batch.OperationsQueue;
 import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
@@ -86,6 +89,8 @@
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
 
 /**
  * Each Tuple entry is stored as a property in a MongoDB document.
@@ -112,7 +117,7 @@
  * @author Alan Fitton <alan at eth0.org.uk>
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  */
-public class MongoDBDialect implements BatchableGridDialect {
+public class MongoDBDialect implements BatchableGridDialect, PartitionableGridDialect {
 
 	public static final String ID_FIELDNAME = "_id";
 	public static final String PROPERTY_SEPARATOR = ".";
@@ -143,26 +148,74 @@ public LockingStrategy getLockingStrategy(Lockable lockable, LockMode lockMode)
 	public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		DBObject found = this.getObject( key, tupleContext );
 		if ( found != null ) {
-			return new Tuple( new MongoDBTupleSnapshot( found, key, UPDATE ) );
+			return new Tuple( new MongoDBTupleSnapshot( found, key, UPDATE ), tupleContext.getTupleSchema() );
 		}
 		else if ( isInTheQueue( key, tupleContext ) ) {
 			// The key has not been inserted in the db but it is in the queue
-			return new Tuple( new MongoDBTupleSnapshot( prepareIdObject( key ), key, INSERT ) );
+			return new Tuple( new MongoDBTupleSnapshot( prepareIdObject( key ), key, INSERT ), tupleContext.getTupleSchema() );
 		}
 		else {
 			return null;
 		}
 	}
 
+	/**
+	 * Fetches the documents of all the given keys with a single {@code $in} query per collection.
+	 */
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		Map<String, List<Object>> idsByCollection = new HashMap<String, List<Object>>();
+		for ( EntityKey key : keys ) {
+			List<Object> ids = idsByCollection.get( key.getTable() );
+			if ( ids == null ) {
+				ids = new ArrayList<Object>();
+				idsByCollection.put( key.getTable(), ids );
+			}
+			ids.add( prepareIdObject( key ).get( ID_FIELDNAME ) );
+		}
+
+		Map<String, Map<Object, DBObject>> documentsByCollection = new HashMap<String, Map<Object, DBObject>>();
+		BasicDBObject projection = getSearchObject( tupleContext );
+		for ( Map.Entry<String, List<Object>> entry : idsByCollection.entrySet() ) {
+			DBObject query = new BasicDBObject( ID_FIELDNAME, new BasicDBObject( "$in", entry.getValue() ) );
+			Map<Object, DBObject> documents = new HashMap<Object, DBObject>();
+			DBCursor cursor = getCollection( entry.getKey() ).find( query, projection );
+			try {
+				for ( DBObject document : cursor ) {
+					documents.put( document.get( ID_FIELDNAME ), document );
+				}
+			}
+			finally {
+				cursor.close();
+			}
+			documentsByCollection.put( entry.getKey(), documents );
+		}
+
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( EntityKey key : keys ) {
+			DBObject found = documentsByCollection.get( key.getTable() ).get( prepareIdObject( key ).get( ID_FIELDNAME ) );
+			if ( found != null ) {
+				tuples.add( new Tuple( new MongoDBTupleSnapshot( found, key, UPDATE ), tupleContext.getTupleSchema() ) );
+			}
+			else if ( isInTheQueue( key, tupleContext ) ) {
+				tuples.add( new Tuple( new MongoDBTupleSnapshot( prepareIdObject( key ), key, INSERT ), tupleContext.getTupleSchema() ) );
+			}
+			else {
+				tuples.add( null );
+			}
+		}
+		return tuples;
+	}
+
 	private boolean isInTheQueue(EntityKey key, TupleContext tupleContext) {
 		OperationsQueue queue = tupleContext.getOperationsQueue();
 		return queue != null && queue.contains( key );
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
 		DBObject toSave = this.prepareIdObject( key );
-		return new Tuple( new MongoDBTupleSnapshot( toSave, key, SnapshotType.INSERT ) );
+		return new Tuple( new MongoDBTupleSnapshot( toSave, key, SnapshotType.INSERT ), tupleContext.getTupleSchema() );
 	}
 
 	private DBObject getObjectAsEmbeddedAssociation(AssociationKey key) {
@@ -371,6 +424,60 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		}
 	}
 
+	/**
+	 * Fetches the documents hosting all the given associations with a single {@code $in} query. All the keys are
+	 * expected to refer to the same association role and thus to share the same storage strategy.
+	 */
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		if ( keys.length == 0 ) {
+			return Collections.emptyList();
+		}
+
+		AssociationStorageStrategy storageStrategy = getAssociationStorageStrategy( keys[0], associationContext );
+		executeBatch( associationContext.getOperationsQueue() );
+
+		boolean embedded = storageStrategy.isEmbeddedInEntity();
+		DBCollection collection = embedded ? getCollection( keys[0].getEntityKey() ) : getAssociationCollection( keys[0], storageStrategy );
+		List<Object> ids = new ArrayList<Object>( keys.length );
+		for ( AssociationKey key : keys ) {
+			ids.add( getAssociationDocumentId( key, storageStrategy ) );
+		}
+
+		Map<Object, DBObject> documents = new HashMap<Object, DBObject>();
+		DBObject query = new BasicDBObject( ID_FIELDNAME, new BasicDBObject( "$in", ids ) );
+		DBCursor cursor = collection.find( query, getSearchObject( keys[0], embedded ) );
+		try {
+			for ( DBObject document : cursor ) {
+				documents.put( document.get( ID_FIELDNAME ), document );
+			}
+		}
+		finally {
+			cursor.close();
+		}
+
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( int i = 0; i < keys.length; i++ ) {
+			DBObject document = documents.get( ids.get( i ) );
+			if ( document == null || ( embedded && getAssociationFieldOrNull( keys[i], document ) == null ) ) {
+				associations.add( null );
+			}
+			else {
+				associations.add( new Association( new MongoDBAssociationSnapshot( document, keys[i], storageStrategy ) ) );
+			}
+		}
+		return associations;
+	}
+
+	private Object getAssociationDocumentId(AssociationKey key, AssociationStorageStrategy storageStrategy) {
+		if ( storageStrategy.isEmbeddedInEntity() ) {
+			return prepareIdObject( key.getEntityKey() ).get( ID_FIELDNAME );
+		}
+		else {
+			return associationKeyToObject( key, storageStrategy ).get( ID_FIELDNAME );
+		}
+	}
+
 	private DBObject getAssociationFieldOrNull(AssociationKey key, DBObject entity) {
 		String[] path = DOT_SEPARATOR_PATTERN.split( key.getCollectionRole() );
 		DBObject field = entity;
@@ -422,7 +529,7 @@ private DBObject removeAssociationRowKey(MongoDBAssociationSnapshot snapshot, Ro
 		return new BasicDBObject( "$pull", pull );
 	}
 
-	private DBObject putAssociationRowKey(Tuple value, String associationField, AssociationKey associationKey) {
+	private DBObject getAssociationRow(Tuple value, AssociationKey associationKey) {
 		DBObject rowTupleMap = new BasicDBObject();
 		for ( String valueKeyName : value.getColumnNames() ) {
 			boolean add = true;
@@ -437,12 +544,33 @@ private DBObject putAssociationRowKey(Tuple value, String associationField, Asso
 				rowTupleMap.put( valueKeyName, value.get( valueKeyName ) );
 			}
 		}
-		DBObject row = rowTupleMap;
-		return new BasicDBObject( "$push", new BasicDBObject( associationField, row ) );
+		return rowTupleMap;
+	}
+
+	private DBObject putAssociationRows(List<DBObject> rows, String associationField) {
+		if ( rows.size() == 1 ) {
+			return new BasicDBObject( "$push", new BasicDBObject( associationField, rows.get( 0 ) ) );
+		}
+		// $pushAll rather than $push with $each for compatibility with MongoDB 2.2
+		return new BasicDBObject( "$pushAll", new BasicDBObject( associationField, new ArrayList<DBObject>( rows ) ) );
 	}
 
 	@Override
 	public void updateAssociation(Association association, AssociationKey key, AssociationContext associationContext) {
+		// We need to execute the previous operations first or it won't be able to find the key that should have
+		// been created
+		executeBatch( associationContext.getOperationsQueue() );
+
+		BulkWrite bulk = new BulkWrite( true, provider.getBulkSize() );
+		updateAssociation( bulk, association, key, associationContext );
+		bulk.execute();
+	}
+
+	/**
+	 * Adds the updates needed for applying the operations of the given association to the given bulk. Subsequent
+	 * additions of rows are merged into one {@code $push} update.
+	 */
+	private void updateAssociation(BulkWrite bulk, Association association, AssociationKey key, AssociationContext associationContext) {
 		DBCollection collection;
 		DBObject query;
 		MongoDBAssociationSnapshot assocSnapshot = (MongoDBAssociationSnapshot) association.getSnapshot();
@@ -450,9 +578,6 @@ public void updateAssociation(Association association, AssociationKey key, Assoc
 
 		AssociationStorageStrategy storageStrategy = getAssociationStorageStrategy( key, associationContext );
 
-		// We need to execute the previous operations first or it won't be able to find the key that should have
-		// been created
-		executeBatch( associationContext.getOperationsQueue() );
 		if ( storageStrategy.isEmbeddedInEntity() ) {
 			collection = this.getCollection( key.getEntityKey() );
 			query = this.prepareIdObject( key.getEntityKey() );
@@ -464,28 +589,46 @@ public void updateAssociation(Association association, AssociationKey key, Assoc
 			associationField = ROWS_FIELDNAME;
 		}
 
+		List<DBObject> addedRows = new ArrayList<DBObject>();
 		for ( AssociationOperation action : association.getOperations() ) {
 			RowKey rowKey = action.getKey();
 			Tuple rowValue = action.getValue();
 
-			DBObject update = null;
-
 			switch ( action.getType() ) {
 			case CLEAR:
-				update = new BasicDBObject( "$set", new BasicDBObject( associationField, Collections.EMPTY_LIST ) );
+				pushAssociationRows( bulk, collection, query, addedRows, associationField );
+				bulk.update( collection, query, new BasicDBObject( "$set", new BasicDBObject( associationField, Collections.EMPTY_LIST ) ) );
 				break;
 			case PUT_NULL:
 			case PUT:
-				update = putAssociationRowKey( rowValue, associationField, key );
+				addedRows.add( getAssociationRow( rowValue, key ) );
 				break;
 			case REMOVE:
-				update = removeAssociationRowKey( assocSnapshot, rowKey, associationField );
+				pushAssociationRows( bulk, collection, query, addedRows, associationField );
+				bulk.update( collection, query, removeAssociationRowKey( assocSnapshot, rowKey, associationField ) );
 				break;
 			}
+		}
+		pushAssociationRows( bulk, collection, query, addedRows, associationField );
+	}
 
-			if ( update != null ) {
-				collection.update( query, update, true, false );
-			}
+	private void pushAssociationRows(BulkWrite bulk, DBCollection collection, DBObject query, List<DBObject> rows, String associationField) {
+		if ( !rows.isEmpty() ) {
+			bulk.update( collection, query, putAssociationRows( rows, associationField ) );
+			rows.clear();
+		}
+	}
+
+	private void removeAssociation(BulkWrite bulk, AssociationKey key, AssociationContext associationContext) {
+		AssociationStorageStrategy storageStrategy = getAssociationStorageStrategy( key, associationContext );
+
+		if ( storageStrategy.isEmbeddedInEntity() ) {
+			BasicDBObject updater = new BasicDBObject();
+			this.addSubQuery( "$unset", updater, key.getCollectionRole(), ONE );
+			bulk.update( getCollection( key.getEntityKey() ), prepareIdObject( key.getEntityKey() ), updater );
+		}
+		else {
+			bulk.remove( getAssociationCollection( key, storageStrategy ), associationKeyToObject( key, storageStrategy ) );
 		}
 	}
 
@@ -517,28 +660,24 @@ public Tuple createTupleAssociation(AssociationKey associationKey, RowKey rowKey
 
 	@Override
 	public void nextValue(RowKey key, IntegralDataTypeHolder value, int increment, int initialValue) {
-		DBCollection currentCollection = this.currentDB.getCollection( key.getTable() );
+		DBCollection currentCollection = getCollection( key.getTable() );
 		DBObject query = this.prepareIdObject( key );
 		//all columns should match to find the value
 
 		BasicDBObject update = new BasicDBObject();
 		//FIXME should "value" be hardcoded?
-		//FIXME how to set the initialValue if the document is not present? It seems the inc value is used as initial new value
 		Integer incrementObject = increment == 1 ? ONE : Integer.valueOf( increment );
 		this.addSubQuery( "$inc", update, SEQUENCE_VALUE, incrementObject );
-		DBObject result = currentCollection.findAndModify( query, null, null, false, update, false, true );
-		Object idFromDB;
-		idFromDB = result == null ? null : result.get( SEQUENCE_VALUE );
-		if ( idFromDB == null ) {
-			//not inserted yet so we need to add initial value to increment to have the right next value in the DB
-			//FIXME that means there is a small hole as when there was not value in the DB, we do add initial value in a non atomic way
-			BasicDBObject updateForInitial = new BasicDBObject();
-			this.addSubQuery( "$inc", updateForInitial, SEQUENCE_VALUE, initialValue );
-			currentCollection.findAndModify( query, null, null, false, updateForInitial, false, true );
-			idFromDB = initialValue; //first time we ask this value
-		}
-		else {
-			idFromDB = result.get( SEQUENCE_VALUE );
+		Object idFromDB = null;
+		while ( idFromDB == null ) {
+			//the document contains the next available value, the previous one is the one handed out
+			DBObject result = currentCollection.findAndModify( query, null, null, false, update, false, false );
+			if ( result != null ) {
+				idFromDB = result.get( SEQUENCE_VALUE );
+			}
+			else if ( insertSequence( currentCollection, key, initialValue + increment ) ) {
+				idFromDB = initialValue; //first time we ask this value
+			}
 		}
 		if ( idFromDB.getClass().equals( Integer.class ) || idFromDB.getClass().equals( Long.class ) ) {
 			Number id = (Number) idFromDB;
@@ -550,6 +689,23 @@ public void nextValue(RowKey key, IntegralDataTypeHolder value, int increment, i
 		}
 	}
 
+	/**
+	 * Creates the document of a sequence holding the given next available value.
+	 *
+	 * @return {@code false} if the document has been created concurrently, in which case it must be incremented instead
+	 */
+	private boolean insertSequence(DBCollection collection, RowKey key, int nextValue) {
+		DBObject sequence = this.prepareIdObject( key );
+		sequence.put( SEQUENCE_VALUE, nextValue );
+		try {
+			collection.insert( sequence, WriteConcern.ACKNOWLEDGED );
+			return true;
+		}
+		catch (MongoException.DuplicateKey e) {
+			return false;
+		}
+	}
+
 	@Override
 	public boolean isStoredInEntityStructure(AssociationKey associationKey, AssociationContext associationContext) {
 		AssociationStorageStrategy storageStrategy = getAssociationStorageStrategy( associationKey, associationContext );
@@ -579,6 +735,79 @@ public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetada
 		}
 	}
 
+	/**
+	 * Splits each collection in ranges of {@code _id} containing about the same number of documents. The bounds of the
+	 * ranges are retrieved by skipping the right number of documents in the collection sorted by {@code _id}. As
+	 * MongoDB only compares values of the same type in range queries, this requires the ids of a collection to be of
+	 * the same type, which is the case for the entities of a given table.
+	 * <p>
+	 * The documents of a range are scanned in the order of their {@code _id}, so that a scan can be resumed after the
+	 * last document indexed.
+	 */
+	@Override
+	public List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		DB db = provider.getDatabase();
+		List<TuplePartition> result = new ArrayList<TuplePartition>();
+		for ( EntityKeyMetadata entityKeyMetadata : entityKeyMetadatas ) {
+			DBCollection collection = db.getCollection( entityKeyMetadata.getTable() );
+			Object lowerBound = null;
+			for ( Object upperBound : getIdBounds( collection, partitions ) ) {
+				result.add( new IdRangePartition( collection, entityKeyMetadata, new IdRangeCursor( entityKeyMetadata.getTable(), lowerBound, true, upperBound ) ) );
+				lowerBound = upperBound;
+			}
+			result.add( new IdRangePartition( collection, entityKeyMetadata, new IdRangeCursor( entityKeyMetadata.getTable(), lowerBound, true, null ) ) );
+		}
+		return result;
+	}
+
+	@Override
+	public List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas) {
+		List<TuplePartition> result = new ArrayList<TuplePartition>( cursors.size() );
+		for ( Serializable cursor : cursors ) {
+			result.add( resumePartition( cursor, entityKeyMetadatas ) );
+		}
+		return result;
+	}
+
+	private TuplePartition resumePartition(Serializable cursor, EntityKeyMetadata... entityKeyMetadatas) {
+		IdRangeCursor idRangeCursor = (IdRangeCursor) cursor;
+		for ( EntityKeyMetadata entityKeyMetadata : entityKeyMetadatas ) {
+			if ( entityKeyMetadata.getTable().equals( idRangeCursor.table ) ) {
+				DBCollection collection = provider.getDatabase().getCollection( idRangeCursor.table );
+				return new IdRangePartition( collection, entityKeyMetadata, idRangeCursor );
+			}
+		}
+		throw new IllegalArgumentException( "The cursor on " + idRangeCursor.table + " doesn't belong to any of the given entities" );
+	}
+
+	private List<Object> getIdBounds(DBCollection collection, int partitions) {
+		List<Object> bounds = new ArrayList<Object>();
+		if ( partitions < 2 ) {
+			return bounds;
+		}
+		long count = collection.count();
+		DBObject idOnly = new BasicDBObject( ID_FIELDNAME, 1 );
+		for ( int i = 1; i < partitions; i++ ) {
+			int skip = (int) ( count * i / partitions );
+			if ( skip == 0 ) {
+				continue;
+			}
+			DBCursor cursor = collection.find( new BasicDBObject(), idOnly ).sort( idOnly ).skip( skip ).limit( 1 );
+			try {
+				if ( cursor.hasNext() ) {
+					Object bound = cursor.next().get( ID_FIELDNAME );
+					if ( bounds.isEmpty() || !bounds.get( bounds.size() - 1 ).equals( bound ) ) {
+						bounds.add( bound );
+					}
+				}
+			}
+			finally {
+				cursor.close();
+			}
+		}
+		return bounds;
+	}
+
 	@Override
 	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
 		BasicDBObject mongodbQuery = (BasicDBObject) com.mongodb.util.JSON.parse( customQuery.getSQL() );
@@ -658,98 +887,127 @@ private boolean columnNamesAllowBatchInsert(UpdateTupleOperation tupleOperation)
 		return true;
 	}
 
+	/**
+	 * Applies all the operations of the given queue with one {@link BulkWrite}. Inserts and removals of a collection
+	 * are sent with as few calls as possible, see {@link MongoDBProperties#BULK_SIZE} and
+	 * {@link MongoDBProperties#ORDERED_BULK}.
+	 */
 	@Override
 	public void executeBatch(OperationsQueue queue) {
 		if ( !queue.isClosed() ) {
+			BulkWrite bulk = new BulkWrite( provider.isOrderedBulk(), provider.getBulkSize() );
 			Operation operation = queue.poll();
-			Map<DBCollection, Map<DBObject, DBObject>> inserts = new HashMap<DBCollection, Map<DBObject, DBObject>>();
 			while ( operation != null ) {
 				if ( operation instanceof UpdateTupleOperation ) {
 					UpdateTupleOperation update = (UpdateTupleOperation) operation;
-					executeBatchUpdate( inserts, update );
+					executeBatchUpdate( bulk, update );
 				}
 				else if ( operation instanceof RemoveTupleOperation ) {
 					RemoveTupleOperation tupleOp = (RemoveTupleOperation) operation;
-					executeBatchRemove( inserts, tupleOp );
+					bulk.remove( getCollection( tupleOp.getEntityKey() ), prepareIdObject( tupleOp.getEntityKey() ) );
 				}
 				else if ( operation instanceof UpdateAssociationOperation ) {
 					UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
-					updateAssociation( update.getAssociation(), update.getAssociationKey(), update.getContext() );
+					updateAssociation( bulk, update.getAssociation(), update.getAssociationKey(), update.getContext() );
 				}
 				else if ( operation instanceof RemoveAssociationOperation ) {
 					RemoveAssociationOperation remove = (RemoveAssociationOperation) operation;
-					removeAssociation( remove.getAssociationKey(), remove.getContext() );
+					removeAssociation( bulk, remove.getAssociationKey(), remove.getContext() );
 				}
 				else {
 					throw new UnsupportedOperationException( "Operation not supported on MongoDB: " + operation.getClass().getName() );
 				}
 				operation = queue.poll();
 			}
-			flushInserts( inserts );
+			bulk.execute( provider.getFlushExecutor() );
 			queue.close();
 		}
 	}
 
-	private void executeBatchRemove(Map<DBCollection, Map<DBObject, DBObject>> inserts, RemoveTupleOperation tupleOperation) {
-		EntityKey entityKey = tupleOperation.getEntityKey();
-		DBCollection collection = getCollection( entityKey );
-		BasicDBObject idObject = prepareIdObject( entityKey );
-		Map<DBObject, DBObject> documents = inserts.get( collection );
-		if ( documents != null && documents.containsKey( idObject ) ) {
-			documents.remove( entityKey );
-		}
-		else {
-			removeTuple( entityKey );
-		}
-	}
-
-	private void executeBatchUpdate(Map<DBCollection, Map<DBObject, DBObject>> inserts, UpdateTupleOperation tupleOperation) {
+	private void executeBatchUpdate(BulkWrite bulk, UpdateTupleOperation tupleOperation) {
 		EntityKey entityKey = tupleOperation.getEntityKey();
 		Tuple tuple = tupleOperation.getTuple();
 		MongoDBTupleSnapshot snapshot = (MongoDBTupleSnapshot) tupleOperation.getTuple().getSnapshot();
+		DBCollection collection = getCollection( entityKey );
+		BasicDBObject idObject = prepareIdObject( entityKey );
 		if ( INSERT == snapshot.getOperationType() && columnNamesAllowBatchInsert( tupleOperation ) ) {
-			prepareForInsert( inserts, snapshot, entityKey, tuple );
+			DBObject document = bulk.getInsert( collection, idObject );
+			if ( document == null ) {
+				bulk.insert( collection, idObject, objectForInsert( tuple, entityKey, (BasicDBObject) snapshot.getDbObject() ) );
+			}
+			else {
+				objectForInsert( tuple, entityKey, (BasicDBObject) document );
+			}
 		}
 		else {
 			// Object already exists in the db or has invalid fields:
-			updateTuple( tuple, entityKey );
+			bulk.update( collection, idObject, objectForUpdate( tuple, entityKey, idObject ) );
 		}
 	}
 
-	private void prepareForInsert(Map<DBCollection, Map<DBObject, DBObject>> inserts, MongoDBTupleSnapshot snapshot, EntityKey entityKey, Tuple tuple) {
-		DBCollection collection = getCollection( entityKey );
-		Map<DBObject, DBObject> documents = getOrCreateDocuments( inserts, collection );
-		DBObject idObject = prepareIdObject( entityKey );
-		DBObject document = getCurrentDocument( snapshot, idObject, documents );
-		DBObject newDocument = objectForInsert( tuple, entityKey, (BasicDBObject) document );
-		inserts.get( collection ).put( idObject, newDocument );
-	}
+	private static class IdRangePartition implements TuplePartition {
+
+		private final DBCollection collection;
+		private final EntityKeyMetadata entityKeyMetadata;
+		private final IdRangeCursor range;
 
-	private DBObject getCurrentDocument(MongoDBTupleSnapshot snapshot, DBObject idObject, Map<DBObject, DBObject> documents) {
-		if ( documents.containsKey( idObject ) ) {
-			return documents.get( idObject );
+		public IdRangePartition(DBCollection collection, EntityKeyMetadata entityKeyMetadata, IdRangeCursor range) {
+			this.collection = collection;
+			this.entityKeyMetadata = entityKeyMetadata;
+			this.range = range;
 		}
-		else {
-			return snapshot.getDbObject();
+
+		@Override
+		public void forEachTuple(Consumer consumer) {
+			BasicDBObject idRange = new BasicDBObject();
+			if ( range.lowerBound != null ) {
+				idRange.append( range.lowerBoundIncluded ? "$gte" : "$gt", range.lowerBound );
+			}
+			if ( range.upperBound != null ) {
+				idRange.append( "$lt", range.upperBound );
+			}
+			DBObject query = idRange.isEmpty() ? new BasicDBObject() : new BasicDBObject( ID_FIELDNAME, idRange );
+			DBCursor cursor = collection.find( query ).sort( new BasicDBObject( ID_FIELDNAME, 1 ) );
+			try {
+				for ( DBObject dbObject : cursor ) {
+					consumer.consume( new Tuple( new MassIndexingMongoDBTupleSnapshot( dbObject, entityKeyMetadata ) ) );
+				}
+			}
+			finally {
+				cursor.close();
+			}
+		}
+
+		@Override
+		public Serializable getCursor() {
+			return range;
 		}
-	}
 
-	private Map<DBObject, DBObject> getOrCreateDocuments(Map<DBCollection, Map<DBObject, DBObject>> inserts, DBCollection collection) {
-		if ( !inserts.containsKey( collection ) ) {
-			Map<DBObject, DBObject> map = new HashMap<DBObject, DBObject>();
-			inserts.put( collection, map );
+		@Override
+		public Serializable getCursorAfter(Tuple tuple) {
+			Object id = ( (MassIndexingMongoDBTupleSnapshot) tuple.getSnapshot() ).getDbObject().get( ID_FIELDNAME );
+			return new IdRangeCursor( range.table, id, false, range.upperBound );
 		}
-		Map<DBObject, DBObject> documents = inserts.get( collection );
-		return documents;
 	}
 
-	private void flushInserts(Map<DBCollection, Map<DBObject, DBObject>> inserts) {
-		for ( Map.Entry<DBCollection, Map<DBObject, DBObject>> entry : inserts.entrySet() ) {
-			DBCollection collection = entry.getKey();
-			Collection<DBObject> documents = entry.getValue().values();
-			collection.insert( new ArrayList<DBObject>( documents ) );
+	/**
+	 * The documents of a collection whose {@code _id} is within the given bounds; a {@code null} bound means the range
+	 * is not bounded on that side.
+	 */
+	@SuppressWarnings("serial")
+	private static class IdRangeCursor implements Serializable {
+
+		private final String table;
+		private final Object lowerBound;
+		private final boolean lowerBoundIncluded;
+		private final Object upperBound;
+
+		public IdRangeCursor(String table, Object lowerBound, boolean lowerBoundIncluded, Object upperBound) {
+			this.table = table;
+			this.lowerBound = lowerBound;
+			this.lowerBoundIncluded = lowerBoundIncluded;
+			this.upperBound = upperBound;
 		}
-		inserts.clear();
 	}
 
 	private static class MongoDBResultsCursor implements Iterator<Tuple>, Closeable {
@@ -53,6 +53,20 @@ public final class MongoDBProperties implements DocumentStoreProperties {
 	 */
 	public static final String ASSOCIATION_DOCUMENT_STORAGE = "hibernate.ogm.mongodb.association_document_storage";
 
+	/**
+	 * The maximum number of documents sent with one insert or removal when executing the operations of a flush.
+	 * Defaults to {@link org.hibernate.ogm.datastore.mongodb.impl.configuration.MongoDBConfiguration#DEFAULT_BULK_SIZE}.
+	 */
+	public static final String BULK_SIZE = "hibernate.ogm.mongodb.bulk_size";
+
+	/**
+	 * Whether the write requests of a flush are applied to each collection in the order of the corresponding
+	 * operations ({@code true}, the default) or whether the inserts of a collection may be sent before its updates and
+	 * removals ({@code false}). The latter requires fewer calls to the datastore; the requests applying to one document
+	 * are still applied in their order.
+	 */
+	public static final String ORDERED_BULK = "hibernate.ogm.mongodb.ordered_bulk";
+
 	private MongoDBProperties() {
 	}
 }
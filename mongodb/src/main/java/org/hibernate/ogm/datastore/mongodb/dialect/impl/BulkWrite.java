@@ -0,0 +1,346 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.dialect.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.ogm.dialect.batch.FlushExecutor;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+
+/**
+ * Collects the write requests resulting from the execution of a batch and sends them to MongoDB with as few calls as
+ * possible.
+ * <p>
+ * Per collection, subsequent inserts are sent as one multi-document insert and subsequent removals as one
+ * {@code $in} removal, each split into chunks of at most {@code bulkSize} documents. Updates are sent one by one.
+ * If the write is ordered, the requests of a collection are applied in the order they were added; otherwise the
+ * inserts of a collection are sent first, then its updates and finally its removals, allowing for fewer calls. The
+ * requests applying to the same document are kept in their order though, e.g. an update following the removal of its
+ * document is sent after that removal.
+ * <p>
+ * The requests of different collections are independent of each other and may be sent concurrently using a
+ * {@link FlushExecutor}.
+ */
+public class BulkWrite {
+
+	private static final String ID_FIELDNAME = "_id";
+
+	private final boolean ordered;
+	private final int bulkSize;
+	private final Map<DBCollection, List<WriteRequest>> requests = new LinkedHashMap<DBCollection, List<WriteRequest>>();
+	private final Map<DBCollection, Map<Object, InsertRequest>> inserts = new HashMap<DBCollection, Map<Object, InsertRequest>>();
+
+	public BulkWrite(boolean ordered, int bulkSize) {
+		this.ordered = ordered;
+		this.bulkSize = bulkSize;
+	}
+
+	/**
+	 * Returns the document pending for insertion into the given collection with the given id, if any. That document
+	 * can still be modified, the modifications will be inserted.
+	 *
+	 * @param collection the collection
+	 * @param idObject an object with the {@code _id} of the document
+	 * @return the pending document or {@code null}
+	 */
+	public DBObject getInsert(DBCollection collection, DBObject idObject) {
+		Map<Object, InsertRequest> documents = inserts.get( collection );
+		if ( documents == null ) {
+			return null;
+		}
+		InsertRequest insert = documents.get( idObject.get( ID_FIELDNAME ) );
+		return insert == null ? null : insert.document;
+	}
+
+	public void insert(DBCollection collection, DBObject idObject, DBObject document) {
+		Map<Object, InsertRequest> documents = inserts.get( collection );
+		if ( documents == null ) {
+			documents = new HashMap<Object, InsertRequest>();
+			inserts.put( collection, documents );
+		}
+		InsertRequest insert = new InsertRequest( idObject.get( ID_FIELDNAME ), document );
+		documents.put( insert.id, insert );
+		getRequests( collection ).add( insert );
+	}
+
+	public void update(DBCollection collection, DBObject query, DBObject update) {
+		getRequests( collection ).add( new UpdateRequest( query, update ) );
+	}
+
+	/**
+	 * Removes the document with the given id. If the document is pending for insertion, the insertion is cancelled
+	 * instead.
+	 *
+	 * @param collection the collection
+	 * @param idObject an object with the {@code _id} of the document
+	 */
+	public void remove(DBCollection collection, DBObject idObject) {
+		Object id = idObject.get( ID_FIELDNAME );
+		Map<Object, InsertRequest> documents = inserts.get( collection );
+		InsertRequest insert = documents == null ? null : documents.remove( id );
+		List<WriteRequest> collectionRequests = getRequests( collection );
+		if ( insert != null ) {
+			collectionRequests.remove( insert );
+		}
+		// pending upserts might have created the document even if its insertion has been cancelled
+		if ( insert == null || containsUpdates( collectionRequests ) ) {
+			collectionRequests.add( new RemoveRequest( id ) );
+		}
+	}
+
+	/**
+	 * Sends all the collected requests to the datastore, collection by collection.
+	 */
+	public void execute() {
+		for ( Map.Entry<DBCollection, List<WriteRequest>> entry : requests.entrySet() ) {
+			execute( entry.getKey(), entry.getValue() );
+		}
+		clear();
+	}
+
+	/**
+	 * Sends all the collected requests to the datastore, passing the requests of each collection to the given
+	 * executor.
+	 *
+	 * @param executor the executor used to send the requests of the different collections
+	 */
+	public void execute(FlushExecutor executor) {
+		List<Runnable> tasks = new ArrayList<Runnable>( requests.size() );
+		for ( final Map.Entry<DBCollection, List<WriteRequest>> entry : requests.entrySet() ) {
+			tasks.add( new Runnable() {
+
+				@Override
+				public void run() {
+					execute( entry.getKey(), entry.getValue() );
+				}
+			} );
+		}
+		executor.execute( tasks );
+		clear();
+	}
+
+	private void clear() {
+		requests.clear();
+		inserts.clear();
+	}
+
+	private List<WriteRequest> getRequests(DBCollection collection) {
+		List<WriteRequest> collectionRequests = requests.get( collection );
+		if ( collectionRequests == null ) {
+			collectionRequests = new ArrayList<WriteRequest>();
+			requests.put( collection, collectionRequests );
+		}
+		return collectionRequests;
+	}
+
+	private boolean containsUpdates(List<WriteRequest> collectionRequests) {
+		for ( WriteRequest request : collectionRequests ) {
+			if ( request instanceof UpdateRequest ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sorts the given requests by type, inserts first, then updates and finally removals, without changing the order of
+	 * the requests applying to one document. A request following a request of a later type for the same document, e.g.
+	 * an upsert following the removal of the document, goes into a further round of inserts, updates and removals.
+	 * Requests which don't target a single document by its id keep their position relative to all the others.
+	 */
+	private List<WriteRequest> sortByType(List<WriteRequest> collectionRequests) {
+		// the position of a request is three times its round plus the index of its type
+		List<List<WriteRequest>> requestsByPosition = new ArrayList<List<WriteRequest>>();
+		Map<Object, Integer> positionsById = new HashMap<Object, Integer>();
+		int lastPosition = -1;
+		int barrier = -1;
+
+		for ( WriteRequest request : collectionRequests ) {
+			Object id = request.getId();
+			int predecessor = barrier;
+			if ( id == null ) {
+				predecessor = lastPosition;
+			}
+			else if ( positionsById.containsKey( id ) ) {
+				predecessor = Math.max( predecessor, positionsById.get( id ) );
+			}
+
+			int position = nextPosition( predecessor, request.getTypeIndex() );
+			if ( id == null ) {
+				barrier = position;
+			}
+			else {
+				positionsById.put( id, position );
+			}
+			lastPosition = Math.max( lastPosition, position );
+
+			while ( requestsByPosition.size() <= position ) {
+				requestsByPosition.add( new ArrayList<WriteRequest>() );
+			}
+			requestsByPosition.get( position ).add( request );
+		}
+
+		List<WriteRequest> sorted = new ArrayList<WriteRequest>( collectionRequests.size() );
+		for ( List<WriteRequest> requests : requestsByPosition ) {
+			sorted.addAll( requests );
+		}
+		return sorted;
+	}
+
+	/**
+	 * Returns the first position after the given one which is reserved to requests of the given type.
+	 */
+	private static int nextPosition(int predecessor, int typeIndex) {
+		int position = predecessor + 1;
+		return position + ( typeIndex - position % 3 + 3 ) % 3;
+	}
+
+	private void execute(DBCollection collection, List<WriteRequest> collectionRequests) {
+		if ( !ordered ) {
+			collectionRequests = sortByType( collectionRequests );
+		}
+
+		List<DBObject> documents = new ArrayList<DBObject>();
+		List<Object> ids = new ArrayList<Object>();
+		for ( WriteRequest request : collectionRequests ) {
+			if ( request instanceof InsertRequest ) {
+				removeAll( collection, ids );
+				documents.add( ( (InsertRequest) request ).document );
+				if ( documents.size() == bulkSize ) {
+					insertAll( collection, documents );
+				}
+			}
+			else if ( request instanceof RemoveRequest ) {
+				insertAll( collection, documents );
+				ids.add( ( (RemoveRequest) request ).id );
+				if ( ids.size() == bulkSize ) {
+					removeAll( collection, ids );
+				}
+			}
+			else {
+				insertAll( collection, documents );
+				removeAll( collection, ids );
+				UpdateRequest update = (UpdateRequest) request;
+				collection.update( update.query, update.update, true, false );
+			}
+		}
+		insertAll( collection, documents );
+		removeAll( collection, ids );
+	}
+
+	private void insertAll(DBCollection collection, List<DBObject> documents) {
+		if ( !documents.isEmpty() ) {
+			collection.insert( new ArrayList<DBObject>( documents ) );
+			documents.clear();
+		}
+	}
+
+	private void removeAll(DBCollection collection, List<Object> ids) {
+		if ( ids.size() == 1 ) {
+			collection.remove( new BasicDBObject( ID_FIELDNAME, ids.get( 0 ) ) );
+		}
+		else if ( ids.size() > 1 ) {
+			collection.remove( new BasicDBObject( ID_FIELDNAME, new BasicDBObject( "$in", new ArrayList<Object>( ids ) ) ) );
+		}
+		ids.clear();
+	}
+
+	private interface WriteRequest {
+
+		/**
+		 * @return the id of the document the request applies to or {@code null} if it isn't given
+		 */
+		Object getId();
+
+		/**
+		 * @return the index of the type of the request, in the order the types are sent in unordered writes
+		 */
+		int getTypeIndex();
+	}
+
+	private static class InsertRequest implements WriteRequest {
+
+		private final Object id;
+		private final DBObject document;
+
+		public InsertRequest(Object id, DBObject document) {
+			this.id = id;
+			this.document = document;
+		}
+
+		@Override
+		public Object getId() {
+			return id;
+		}
+
+		@Override
+		public int getTypeIndex() {
+			return 0;
+		}
+	}
+
+	private static class UpdateRequest implements WriteRequest {
+
+		private final DBObject query;
+		private final DBObject update;
+
+		public UpdateRequest(DBObject query, DBObject update) {
+			this.query = query;
+			this.update = update;
+		}
+
+		@Override
+		public Object getId() {
+			return query.keySet().size() == 1 ? query.get( ID_FIELDNAME ) : null;
+		}
+
+		@Override
+		public int getTypeIndex() {
+			return 1;
+		}
+	}
+
+	private static class RemoveRequest implements WriteRequest {
+
+		private final Object id;
+
+		public RemoveRequest(Object id) {
+			this.id = id;
+		}
+
+		@Override
+		public Object getId() {
+			return id;
+		}
+
+		@Override
+		public int getTypeIndex() {
+			return 2;
+		}
+	}
+}
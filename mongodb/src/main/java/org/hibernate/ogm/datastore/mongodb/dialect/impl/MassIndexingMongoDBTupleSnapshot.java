@@ -69,6 +69,10 @@ public Set<String> getColumnNames() {
 		return dbObject.keySet();
 	}
 
+	public DBObject getDbObject() {
+		return dbObject;
+	}
+
 	public boolean columnInIdField(String column) {
 		for ( String idColumn : entityKeyMetadata.getColumnNames() ) {
 			if ( idColumn.equals( column ) ) {
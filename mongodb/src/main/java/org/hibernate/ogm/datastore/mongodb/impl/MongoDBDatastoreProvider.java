@@ -24,6 +24,7 @@
 import java.util.Map;
 
 import org.hibernate.HibernateException;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.ogm.datastore.document.options.AssociationStorageType;
 import org.hibernate.ogm.datastore.mongodb.MongoDBDialect;
 import org.hibernate.ogm.datastore.mongodb.impl.configuration.MongoDBConfiguration;
@@ -33,8 +34,11 @@
 import org.hibernate.ogm.datastore.mongodb.query.parsing.impl.MongoDBBasedQueryParserService;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.FlushExecutor;
 import org.hibernate.ogm.service.impl.QueryParserService;
 import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.hibernate.service.spi.Startable;
 import org.hibernate.service.spi.Stoppable;
 
@@ -48,7 +52,7 @@
  *
  * @author Guillaume Scheibel<guillaume.scheibel@gmail.com>
  */
-public class MongoDBDatastoreProvider implements DatastoreProvider, Startable, Stoppable, Configurable {
+public class MongoDBDatastoreProvider implements DatastoreProvider, Startable, Stoppable, ServiceRegistryAwareService, Configurable {
 
 	private static final Log log = LoggerFactory.getLogger();
 
@@ -56,10 +60,19 @@ public class MongoDBDatastoreProvider implements DatastoreProvider, Startable, S
 	private MongoClient mongo;
 	private DB mongoDb;
 	private MongoDBConfiguration config;
+	private ServiceRegistryImplementor serviceRegistry;
+	private FlushExecutor flushExecutor;
+
+	@Override
+	public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+		this.serviceRegistry = serviceRegistry;
+	}
 
 	@Override
 	public void configure(Map configurationValues) {
 		this.config = new MongoDBConfiguration( configurationValues );
+		ClassLoaderService classLoaderService = serviceRegistry != null ? serviceRegistry.getService( ClassLoaderService.class ) : null;
+		this.flushExecutor = new FlushExecutor( configurationValues, classLoaderService );
 	}
 
 	public AssociationStorageType getAssociationStorage() {
@@ -70,6 +83,18 @@ public AssociationDocumentType getAssociationDocumentStorage() {
 		return config.getAssociationDocumentStorage();
 	}
 
+	public int getBulkSize() {
+		return config.getBulkSize();
+	}
+
+	public boolean isOrderedBulk() {
+		return config.isOrderedBulk();
+	}
+
+	public FlushExecutor getFlushExecutor() {
+		return flushExecutor;
+	}
+
 	@Override
 	public Class<? extends GridDialect> getDefaultDialect() {
 		return MongoDBDialect.class;
@@ -106,6 +131,7 @@ public void start() {
 	public void stop() {
 		log.disconnectingFromMongo();
 		this.mongo.close();
+		this.flushExecutor.stop();
 	}
 
 	public DB getDatabase() {
@@ -58,15 +58,26 @@ public class MongoDBConfiguration extends DocumentStoreConfiguration {
 	 */
 	public static final int DEFAULT_TIMEOUT = 5000;
 
+	/**
+	 * The default maximum number of documents sent with one insert or removal.
+	 *
+	 * @see MongoDBProperties#BULK_SIZE
+	 */
+	public static final int DEFAULT_BULK_SIZE = 1000;
+
 	private static final int DEFAULT_PORT = 27017;
 
 	private static final Log log = LoggerFactory.getLogger();
 
 	private static final TimeoutValidator TIMEOUT_VALIDATOR = new TimeoutValidator();
 
+	private static final BulkSizeValidator BULK_SIZE_VALIDATOR = new BulkSizeValidator();
+
 	private final AssociationDocumentType associationDocumentStorage;
 	private final int timeout;
 	private final WriteConcern writeConcern;
+	private final int bulkSize;
+	private final boolean orderedBulk;
 
 	public MongoDBConfiguration(Map<?, ?> configurationValues) {
 		super( configurationValues, DEFAULT_PORT );
@@ -82,9 +93,34 @@ public MongoDBConfiguration(Map<?, ?> configurationValues) {
 				.withDefault( AssociationDocumentType.GLOBAL_COLLECTION )
 				.getValue();
 
+		this.bulkSize = propertyReader.property( MongoDBProperties.BULK_SIZE, int.class )
+				.withDefault( DEFAULT_BULK_SIZE )
+				.withValidator( BULK_SIZE_VALIDATOR )
+				.getValue();
+
+		this.orderedBulk = propertyReader.property( MongoDBProperties.ORDERED_BULK, boolean.class )
+				.withDefault( true )
+				.getValue();
+
 		this.writeConcern = this.buildWriteConcern( configurationValues );
 	}
 
+	/**
+	 * @see MongoDBProperties#BULK_SIZE
+	 * @return the maximum number of documents sent with one insert or removal
+	 */
+	public int getBulkSize() {
+		return bulkSize;
+	}
+
+	/**
+	 * @see MongoDBProperties#ORDERED_BULK
+	 * @return whether the write requests of a flush are applied in order
+	 */
+	public boolean isOrderedBulk() {
+		return orderedBulk;
+	}
+
 	/**
 	 * @see MongoDBProperties#ASSOCIATION_DOCUMENT_STORAGE
 	 * @return how to store association documents
@@ -136,4 +172,14 @@ public void validate(Integer value) throws HibernateException {
 			}
 		}
 	}
+
+	private static class BulkSizeValidator implements PropertyValidator<Integer> {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value <= 0 ) {
+				throw log.illegalBulkSizeValue( value );
+			}
+		}
+	}
 }
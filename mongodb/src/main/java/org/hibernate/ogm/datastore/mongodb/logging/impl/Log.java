@@ -87,4 +87,7 @@ public interface Log extends org.hibernate.ogm.util.impl.Log {
 
 	@Message(id = 1217, value = "The result of a native query in MongoDB must be mapped by an entity")
 	HibernateException requireMetadatas();
+
+	@Message(id = 1218, value = "The value set for the configuration property '" + MongoDBProperties.BULK_SIZE + "' must be a number greater than 0. Found '%s'.")
+	HibernateException illegalBulkSizeValue(int value);
 }
@@ -20,19 +20,25 @@
  */
 package org.hibernate.ogm.datastore.mongodb.query.impl;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.Query;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
+import org.hibernate.engine.HibernateIterator;
 import org.hibernate.engine.query.spi.ParameterMetadata;
+import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.internal.AbstractQueryImpl;
+import org.hibernate.ogm.datastore.mongodb.MongoDBDialect;
 import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
 import org.hibernate.ogm.datastore.mongodb.impl.MongoDBResultTupleIterable;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
@@ -42,6 +48,7 @@
 import org.hibernate.ogm.loader.OgmLoader;
 import org.hibernate.ogm.loader.OgmLoadingContext;
 import org.hibernate.ogm.persister.OgmEntityPersister;
+import org.hibernate.type.Type;
 
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
@@ -54,33 +61,53 @@
  */
 public class MongoDBQueryImpl extends AbstractQueryImpl {
 
+	/**
+	 * The number of results loaded at once if no fetch size is given.
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = 100;
+
 	private final DBObject query;
 	private final MongoDBDatastoreProvider provider;
 	private final Class<?> entityType;
 	private final DBObject projections;
+	private final DBObject orderBy;
 
-	public MongoDBQueryImpl(Class<?> entityType, DBObject query, DBObject projections, OgmSession session) {
+	public MongoDBQueryImpl(Class<?> entityType, DBObject query, DBObject projections, DBObject orderBy, OgmSession session) {
 		super( query.toString(), null, session, new ParameterMetadata( null, null ) );
 		this.query = query;
 		this.entityType = entityType;
 		this.projections = projections;
+		this.orderBy = orderBy;
 		this.provider = (MongoDBDatastoreProvider) session.getSessionFactory().getServiceRegistry().getService( DatastoreProvider.class );
 	}
 
+	/**
+	 * Returns an iterator over the live cursor of this query. The results are loaded in chunks whose size is given by
+	 * the fetch size of the query, if set, or by the {@code hibernate.jdbc.fetch_size} setting. The cursor gets closed
+	 * when the iterator is exhausted or passed to {@link org.hibernate.Hibernate#close(Iterator)}.
+	 */
 	@Override
 	public Iterator<?> iterate() throws HibernateException {
 		MongoDBResultTupleIterable resultsCursor = getResultsCursor();
-		return new ObjectLoadingIterator( resultsCursor );
+		return new ObjectLoadingIterator( resultsCursor, getChunkSize() );
 	}
 
 	@Override
 	public ScrollableResults scroll() throws HibernateException {
-		throw new UnsupportedOperationException( "Not implemented yet" );
+		return scroll( ScrollMode.FORWARD_ONLY );
 	}
 
+	/**
+	 * Returns a forward-only view on the live cursor of this query, which is loaded in chunks as {@link #iterate()}.
+	 * The cursor gets closed when the results are closed.
+	 */
 	@Override
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException {
-		throw new UnsupportedOperationException( "Not implemented yet" );
+		if ( scrollMode != ScrollMode.FORWARD_ONLY ) {
+			throw new UnsupportedOperationException( "Only forward-only scrolling is supported by MongoDB queries" );
+		}
+
+		return new MongoDBScrollableResults( new ObjectLoadingIterator( getResultsCursor(), getChunkSize() ), getReturnTypes() );
 	}
 
 	@Override
@@ -96,10 +123,55 @@ public List<?> list() throws HibernateException {
 		return result;
 	}
 
+	/**
+	 * Returns the type of the queried entity or, for projections, the types of the properties mapped to the projected
+	 * columns.
+	 */
+	@Override
+	public Type[] getReturnTypes() throws HibernateException {
+		if ( !isProjection() ) {
+			return new Type[] { session.getFactory().getTypeHelper().entity( entityType ) };
+		}
+
+		OgmEntityPersister persister = getPersister();
+		Type[] returnTypes = new Type[projections.keySet().size()];
+		int i = 0;
+
+		for ( String column : projections.keySet() ) {
+			returnTypes[i] = getColumnType( persister, column );
+			i++;
+		}
+
+		return returnTypes;
+	}
+
+	private Type getColumnType(OgmEntityPersister persister, String column) {
+		if ( column.equals( MongoDBDialect.ID_FIELDNAME ) ) {
+			return persister.getIdentifierType();
+		}
+
+		for ( int i = 0; i < persister.getPropertyNames().length; i++ ) {
+			String[] columnNames = persister.getPropertyColumnNames( i );
+			if ( columnNames.length > 0 && columnNames[0].equals( column ) ) {
+				return persister.getPropertyTypes()[i];
+			}
+		}
+
+		throw new AssertionFailure( "No property of " + entityType.getName() + " is mapped to the projected column " + column );
+	}
+
 	private boolean isProjection() {
 		return !projections.keySet().isEmpty();
 	}
 
+	private int getChunkSize() {
+		Integer fetchSize = getRowSelection().getFetchSize();
+		if ( fetchSize == null ) {
+			fetchSize = session.getFactory().getSettings().getJdbcFetchSize();
+		}
+		return fetchSize != null && fetchSize > 0 ? fetchSize : DEFAULT_CHUNK_SIZE;
+	}
+
 	@Override
 	public int executeUpdate() throws HibernateException {
 		throw new UnsupportedOperationException( "Not implemented yet" );
@@ -125,38 +197,85 @@ private MongoDBResultTupleIterable getResultsCursor() {
 		DBCollection collection = provider.getDatabase().getCollection( keyMetaData.getTable() );
 
 		DBCursor cursor = isProjection() ? collection.find( query, projections ) : collection.find( query );
+		applySelection( cursor );
 
 		return new MongoDBResultTupleIterable( cursor, keyMetaData );
 	}
 
+	/**
+	 * Applies the ordering, the first result, the maximum results and the fetch size of this query to the given
+	 * cursor, so that only the requested page of results is fetched from the datastore.
+	 */
+	private void applySelection(DBCursor cursor) {
+		if ( !orderBy.keySet().isEmpty() ) {
+			cursor.sort( orderBy );
+		}
+
+		RowSelection selection = getRowSelection();
+		if ( selection.getFirstRow() != null ) {
+			cursor.skip( selection.getFirstRow() );
+		}
+		if ( selection.getMaxRows() != null ) {
+			cursor.limit( selection.getMaxRows() );
+		}
+		if ( selection.getFetchSize() != null ) {
+			cursor.batchSize( selection.getFetchSize() );
+		}
+	}
+
 	private EntityKeyMetadata getKeyMetaData(Class<?> entityType) {
-		OgmEntityPersister persister = (OgmEntityPersister) ( session.getFactory() ).getEntityPersister( entityType.getName() );
+		OgmEntityPersister persister = getPersister();
 		return new EntityKeyMetadata( persister.getTableName(), persister.getRootTableIdentifierColumnNames() );
 	}
 
-	private class ObjectLoadingIterator implements Iterator<Object> {
+	private OgmEntityPersister getPersister() {
+		return (OgmEntityPersister) ( session.getFactory() ).getEntityPersister( entityType.getName() );
+	}
 
-		private final Iterator<Tuple> resultIterator;
+	/**
+	 * Loads the results of the cursor chunk by chunk. The entities of one chunk are loaded by one loader invocation,
+	 * so their associations get resolved together.
+	 */
+	private class ObjectLoadingIterator implements HibernateIterator {
 
-		private ObjectLoadingIterator(MongoDBResultTupleIterable resultsCursor) {
-			resultIterator = resultsCursor.iterator();
+		private final MongoDBResultTupleIterable resultsCursor;
+		private final Iterator<Tuple> resultIterator;
+		private final OgmLoader loader;
+		private final int chunkSize;
+		private Iterator<?> currentChunk = Collections.emptyList().iterator();
+		private boolean closed;
+
+		private ObjectLoadingIterator(MongoDBResultTupleIterable resultsCursor, int chunkSize) {
+			this.resultsCursor = resultsCursor;
+			this.resultIterator = resultsCursor.iterator();
+			this.loader = isProjection() ? null : new OgmLoader( new OgmEntityPersister[] { getPersister() } );
+			this.chunkSize = chunkSize;
 		}
 
 		@Override
 		public boolean hasNext() {
-			return resultIterator.hasNext();
+			if ( currentChunk.hasNext() ) {
+				return true;
+			}
+			if ( closed ) {
+				return false;
+			}
+
+			currentChunk = loadNextChunk().iterator();
+			if ( !currentChunk.hasNext() ) {
+				close();
+				return false;
+			}
+
+			return true;
 		}
 
 		@Override
 		public Object next() {
-			Tuple next = resultIterator.next();
-
-			if ( isProjection() ) {
-				return getAsProjection( next );
-			}
-			else {
-				return getAsManagedEntity( next );
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
 			}
+			return currentChunk.next();
 		}
 
 		@Override
@@ -164,25 +283,60 @@ public void remove() {
 			throw new UnsupportedOperationException( "Not implemented yet" );
 		}
 
-		private Object getAsManagedEntity(Tuple tuple) {
-			OgmEntityPersister persister = (OgmEntityPersister) ( session.getFactory() ).getEntityPersister( entityType.getName() );
-			OgmLoader loader = new OgmLoader( new OgmEntityPersister[] { persister } );
+		@Override
+		public void close() {
+			if ( !closed ) {
+				closed = true;
+				currentChunk = Collections.emptyList().iterator();
+				try {
+					resultsCursor.close();
+				}
+				catch (IOException e) {
+					throw new HibernateException( e );
+				}
+			}
+		}
+
+		private List<?> loadNextChunk() {
+			List<Tuple> tuples = new ArrayList<Tuple>( chunkSize );
+			while ( tuples.size() < chunkSize && resultIterator.hasNext() ) {
+				tuples.add( resultIterator.next() );
+			}
+
+			if ( tuples.isEmpty() ) {
+				return tuples;
+			}
+			else if ( isProjection() ) {
+				return getAsProjections( tuples );
+			}
+			else {
+				return getAsManagedEntities( tuples );
+			}
+		}
+
+		private List<Object> getAsManagedEntities(List<Tuple> tuples) {
 			OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
-			ogmLoadingContext.setTuples( Arrays.asList( tuple ) );
+			ogmLoadingContext.setTuples( tuples );
 
-			return loader.loadEntities( session, LockOptions.NONE, ogmLoadingContext ).iterator().next();
+			return loader.loadEntities( session, LockOptions.NONE, ogmLoadingContext );
 		}
 
-		private Object[] getAsProjection(Tuple tuple) {
-			Object[] projectionResult = new Object[projections.keySet().size()];
-			int i = 0;
+		private List<Object[]> getAsProjections(List<Tuple> tuples) {
+			List<Object[]> projectionResults = new ArrayList<Object[]>( tuples.size() );
+
+			for ( Tuple tuple : tuples ) {
+				Object[] projectionResult = new Object[projections.keySet().size()];
+				int i = 0;
+
+				for ( String column : projections.keySet() ) {
+					projectionResult[i] = tuple.get( column );
+					i++;
+				}
 
-			for ( String column : projections.keySet() ) {
-				projectionResult[i] = tuple.get( column );
-				i++;
+				projectionResults.add( projectionResult );
 			}
 
-			return projectionResult;
+			return projectionResults;
 		}
 	}
 }
@@ -0,0 +1,266 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.query.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.HibernateIterator;
+import org.hibernate.type.Type;
+
+/**
+ * Forward-only {@link ScrollableResults} based on the chunk-wise loading iterator of a {@link MongoDBQueryImpl}, so
+ * only the current chunk of results is held in memory. Moving backwards is not supported.
+ */
+public class MongoDBScrollableResults implements ScrollableResults {
+
+	private static final String FORWARD_ONLY = "Only forward-only scrolling is supported by MongoDB queries";
+
+	private final HibernateIterator results;
+	private final Type[] types;
+	private Object current;
+	private boolean onRow;
+	private int rowNumber = -1;
+
+	public MongoDBScrollableResults(HibernateIterator results, Type[] types) {
+		this.results = results;
+		this.types = types;
+	}
+
+	@Override
+	public boolean next() {
+		if ( results.hasNext() ) {
+			current = results.next();
+			onRow = true;
+			rowNumber++;
+		}
+		else if ( onRow ) {
+			current = null;
+			onRow = false;
+			rowNumber++;
+		}
+		return onRow;
+	}
+
+	@Override
+	public boolean previous() {
+		throw new UnsupportedOperationException( FORWARD_ONLY );
+	}
+
+	@Override
+	public boolean scroll(int positions) {
+		if ( positions < 0 ) {
+			throw new UnsupportedOperationException( FORWARD_ONLY );
+		}
+
+		for ( int i = 0; i < positions; i++ ) {
+			if ( !next() ) {
+				return false;
+			}
+		}
+		return onRow;
+	}
+
+	@Override
+	public boolean last() {
+		while ( results.hasNext() ) {
+			current = results.next();
+			onRow = true;
+			rowNumber++;
+		}
+		return onRow;
+	}
+
+	@Override
+	public boolean first() {
+		if ( rowNumber == -1 ) {
+			return next();
+		}
+		else if ( rowNumber == 0 ) {
+			return onRow;
+		}
+		throw new UnsupportedOperationException( FORWARD_ONLY );
+	}
+
+	@Override
+	public void beforeFirst() {
+		if ( rowNumber != -1 ) {
+			throw new UnsupportedOperationException( FORWARD_ONLY );
+		}
+	}
+
+	@Override
+	public void afterLast() {
+		while ( next() ) {
+			// skip the remaining results
+		}
+	}
+
+	@Override
+	public boolean isFirst() {
+		return onRow && rowNumber == 0;
+	}
+
+	@Override
+	public boolean isLast() {
+		return onRow && !results.hasNext();
+	}
+
+	@Override
+	public int getRowNumber() {
+		return onRow ? rowNumber : -1;
+	}
+
+	@Override
+	public boolean setRowNumber(int rowNumber) {
+		if ( rowNumber < this.rowNumber ) {
+			throw new UnsupportedOperationException( FORWARD_ONLY );
+		}
+		return scroll( rowNumber - this.rowNumber );
+	}
+
+	@Override
+	public void close() {
+		current = null;
+		onRow = false;
+		results.close();
+	}
+
+	@Override
+	public Object[] get() {
+		if ( !onRow ) {
+			return null;
+		}
+		return current instanceof Object[] ? (Object[]) current : new Object[] { current };
+	}
+
+	@Override
+	public Object get(int col) {
+		return get()[col];
+	}
+
+	@Override
+	public Type getType(int i) {
+		return types[i];
+	}
+
+	@Override
+	public Integer getInteger(int col) {
+		return (Integer) get( col );
+	}
+
+	@Override
+	public Long getLong(int col) {
+		return (Long) get( col );
+	}
+
+	@Override
+	public Float getFloat(int col) {
+		return (Float) get( col );
+	}
+
+	@Override
+	public Boolean getBoolean(int col) {
+		return (Boolean) get( col );
+	}
+
+	@Override
+	public Double getDouble(int col) {
+		return (Double) get( col );
+	}
+
+	@Override
+	public Short getShort(int col) {
+		return (Short) get( col );
+	}
+
+	@Override
+	public Byte getByte(int col) {
+		return (Byte) get( col );
+	}
+
+	@Override
+	public Character getCharacter(int col) {
+		return (Character) get( col );
+	}
+
+	@Override
+	public byte[] getBinary(int col) {
+		return (byte[]) get( col );
+	}
+
+	@Override
+	public String getText(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public Blob getBlob(int col) {
+		return (Blob) get( col );
+	}
+
+	@Override
+	public Clob getClob(int col) {
+		return (Clob) get( col );
+	}
+
+	@Override
+	public String getString(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int col) {
+		return (BigDecimal) get( col );
+	}
+
+	@Override
+	public BigInteger getBigInteger(int col) {
+		return (BigInteger) get( col );
+	}
+
+	@Override
+	public Date getDate(int col) {
+		return (Date) get( col );
+	}
+
+	@Override
+	public Locale getLocale(int col) {
+		return (Locale) get( col );
+	}
+
+	@Override
+	public Calendar getCalendar(int col) {
+		return (Calendar) get( col );
+	}
+
+	@Override
+	public TimeZone getTimeZone(int col) {
+		return (TimeZone) get( col );
+	}
+}
@@ -23,10 +23,8 @@
 import java.util.Map;
 
 import org.hibernate.Query;
-import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
-import org.hibernate.hql.QueryParser;
 import org.hibernate.hql.ast.spi.EntityNamesResolver;
 import org.hibernate.ogm.datastore.mongodb.logging.impl.Log;
 import org.hibernate.ogm.datastore.mongodb.logging.impl.LoggerFactory;
@@ -41,7 +39,7 @@
  *
  * @author Gunnar Morling
  */
-public class MongoDBBasedQueryParserService extends BaseQueryParserService {
+public class MongoDBBasedQueryParserService extends BaseQueryParserService<MongoDBQueryParsingResult> {
 
 	private static final Log log = LoggerFactory.getLogger();
 
@@ -49,20 +47,18 @@ public class MongoDBBasedQueryParserService extends BaseQueryParserService {
 
 	@Override
 	public Query getParsedQueryExecutor(OgmSession session, String queryString, Map<String, Object> namedParameters) {
-		QueryParser queryParser = new QueryParser();
-		MongoDBProcessingChain processingChain = createProcessingChain( session, unwrap( namedParameters ) );
-
-		MongoDBQueryParsingResult result = queryParser.parseQuery( queryString, processingChain );
+		MongoDBQueryParsingResult result = parseQuery( session.getFactory(), queryString, namedParameters );
 		log.createdQuery( queryString, result );
 
-		return new MongoDBQueryImpl( result.getEntityType(), result.getQuery(), result.getProjection(), session );
+		return new MongoDBQueryImpl( result.getEntityType(), result.getQuery(), result.getProjection(), result.getOrderBy(), session );
 	}
 
-	private MongoDBProcessingChain createProcessingChain(Session session, Map<String, Object> namedParameters) {
-		EntityNamesResolver entityNamesResolver = getDefinedEntityNames( session.getSessionFactory() );
+	@Override
+	protected MongoDBProcessingChain createProcessingChain(SessionFactoryImplementor sessionFactory, Map<String, Object> namedParameters) {
+		EntityNamesResolver entityNamesResolver = getDefinedEntityNames( sessionFactory );
 
 		return new MongoDBProcessingChain(
-				(SessionFactoryImplementor) session.getSessionFactory(),
+				sessionFactory,
 				entityNamesResolver,
 				namedParameters );
 	}
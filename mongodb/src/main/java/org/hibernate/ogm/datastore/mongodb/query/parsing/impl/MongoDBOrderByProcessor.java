@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.query.parsing.impl;
+
+import org.antlr.runtime.TokenStream;
+import org.antlr.runtime.tree.CommonTree;
+import org.antlr.runtime.tree.Tree;
+import org.hibernate.hql.ast.origin.hql.parse.HQLParser;
+import org.hibernate.hql.ast.spi.AstProcessor;
+import org.hibernate.hql.ast.tree.PropertyPathTree;
+
+/**
+ * Passes the sort specifications of the ORDER BY clause of a resolved query on to a
+ * {@link MongoDBQueryRendererDelegate}, as the renderer of the HQL parser does not propagate them to its delegate.
+ */
+public class MongoDBOrderByProcessor implements AstProcessor {
+
+	private final MongoDBQueryRendererDelegate rendererDelegate;
+
+	public MongoDBOrderByProcessor(MongoDBQueryRendererDelegate rendererDelegate) {
+		this.rendererDelegate = rendererDelegate;
+	}
+
+	@Override
+	public CommonTree process(TokenStream tokens, CommonTree tree) {
+		addSortFields( tree );
+		return tree;
+	}
+
+	private void addSortFields(Tree tree) {
+		if ( tree.getType() == HQLParser.SORT_SPEC ) {
+			if ( !( tree.getChild( 0 ) instanceof PropertyPathTree ) ) {
+				throw new UnsupportedOperationException( "Sorting by expressions other than properties not yet implemented." );
+			}
+
+			PropertyPathTree path = (PropertyPathTree) tree.getChild( 0 );
+			boolean ascending = tree.getChildCount() < 2 || !"desc".equalsIgnoreCase( tree.getChild( 1 ).getText() );
+			rendererDelegate.addSortField( path.getPropertyPath(), ascending );
+		}
+		else {
+			for ( int i = 0; i < tree.getChildCount(); i++ ) {
+				addSortFields( tree.getChild( i ) );
+			}
+		}
+	}
+}
@@ -39,6 +39,7 @@
 public class MongoDBProcessingChain implements AstProcessingChain<MongoDBQueryParsingResult> {
 
 	private final QueryResolverProcessor resolverProcessor;
+	private final MongoDBOrderByProcessor orderByProcessor;
 	private final QueryRendererProcessor rendererProcessor;
 	private final MongoDBQueryRendererDelegate rendererDelegate;
 
@@ -50,13 +51,14 @@ public MongoDBProcessingChain(SessionFactoryImplementor sessionFactory, EntityNa
 				entityNames,
 				propertyHelper,
 				namedParameters );
+		this.orderByProcessor = new MongoDBOrderByProcessor( rendererDelegate );
 		this.rendererProcessor = new QueryRendererProcessor( rendererDelegate );
 		this.rendererDelegate = rendererDelegate;
 	}
 
 	@Override
 	public Iterator<AstProcessor> iterator() {
-		return Arrays.asList( resolverProcessor, rendererProcessor ).iterator();
+		return Arrays.asList( resolverProcessor, orderByProcessor, rendererProcessor ).iterator();
 	}
 
 	@Override
@@ -32,11 +32,13 @@ public class MongoDBQueryParsingResult {
 	private final Class<?> entityType;
 	private final DBObject query;
 	private final DBObject projection;
+	private final DBObject orderBy;
 
-	public MongoDBQueryParsingResult(Class<?> entityType, DBObject query, DBObject projection) {
+	public MongoDBQueryParsingResult(Class<?> entityType, DBObject query, DBObject projection, DBObject orderBy) {
 		this.entityType = entityType;
 		this.query = query;
 		this.projection = projection;
+		this.orderBy = orderBy;
 	}
 
 	/**
@@ -60,8 +62,15 @@ public DBObject getProjection() {
 		return projection;
 	}
 
+	/**
+	 * @return the sort order, empty if the results are unordered
+	 */
+	public DBObject getOrderBy() {
+		return orderBy;
+	}
+
 	@Override
 	public String toString() {
-		return "MongoDBQueryParsingResult [entityType=" + entityType.getSimpleName() + ", query=" + query + ", projection=" + projection + "]";
+		return "MongoDBQueryParsingResult [entityType=" + entityType.getSimpleName() + ", query=" + query + ", projection=" + projection + ", orderBy=" + orderBy + "]";
 	}
 }
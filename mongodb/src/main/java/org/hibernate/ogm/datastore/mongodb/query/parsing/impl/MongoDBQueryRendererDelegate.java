@@ -20,6 +20,8 @@
  */
 package org.hibernate.ogm.datastore.mongodb.query.parsing.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.hql.ast.origin.hql.resolve.path.PropertyPath;
@@ -38,6 +40,8 @@
 public class MongoDBQueryRendererDelegate extends SingleEntityQueryRendererDelegate<DBObject, MongoDBQueryParsingResult> {
 
 	private final MongoDBPropertyHelper propertyHelper;
+	private final List<PropertyPath> sortPaths = new ArrayList<PropertyPath>();
+	private final List<Boolean> sortDirections = new ArrayList<Boolean>();
 
 	public MongoDBQueryRendererDelegate(EntityNamesResolver entityNames, MongoDBPropertyHelper propertyHelper, Map<String, Object> namedParameters) {
 		super(
@@ -50,15 +54,30 @@ public MongoDBQueryRendererDelegate(EntityNamesResolver entityNames, MongoDBProp
 
 	@Override
 	public MongoDBQueryParsingResult getResult() {
-		return new MongoDBQueryParsingResult( targetType, builder.build(), getProjectionDBObject() );
+		return new MongoDBQueryParsingResult( targetType, builder.build(), getProjectionDBObject(), getOrderByDBObject() );
+	}
+
+	/**
+	 * Adds a field of the ORDER BY clause of the query; the fields are expected in the order of their declaration.
+	 *
+	 * @param propertyPath the path of the property to sort by
+	 * @param ascending whether to sort in ascending or in descending order
+	 */
+	public void addSortField(PropertyPath propertyPath, boolean ascending) {
+		//currently only support sorting by non-nested properties (either qualified or unqualified)
+		if ( !isSimpleProperty( propertyPath ) ) {
+			throw new UnsupportedOperationException( "Sorting by nested/associated properties not yet implemented." );
+		}
+
+		sortPaths.add( propertyPath );
+		sortDirections.add( ascending );
 	}
 
 	@Override
 	public void setPropertyPath(PropertyPath propertyPath) {
 		if ( status == Status.DEFINING_SELECT ) {
 			//currently only support selecting non-nested properties (either qualified or unqualified)
-			if ( ( propertyPath.getNodes().size() == 1 && !propertyPath.getLastNode().isAlias() )
-					|| ( propertyPath.getNodes().size() == 2 && propertyPath.getNodes().get( 0 ).isAlias() ) ) {
+			if ( isSimpleProperty( propertyPath ) ) {
 				projections.add( propertyHelper.getColumnName( targetTypeName, propertyPath.asStringPathWithoutAlias() ) );
 			}
 			else if ( propertyPath.getNodes().size() != 1 ) {
@@ -70,6 +89,11 @@ else if ( propertyPath.getNodes().size() != 1 ) {
 		}
 	}
 
+	private boolean isSimpleProperty(PropertyPath propertyPath) {
+		return ( propertyPath.getNodes().size() == 1 && !propertyPath.getLastNode().isAlias() )
+				|| ( propertyPath.getNodes().size() == 2 && propertyPath.getNodes().get( 0 ).isAlias() );
+	}
+
 	/**
 	 * Returns the projection columns of the parsed query in form of a {@code DBObject} as expected by MongoDB.
 	 *
@@ -84,4 +108,20 @@ private DBObject getProjectionDBObject() {
 
 		return projectionDBObject;
 	}
+
+	/**
+	 * Returns the sort order of the parsed query in form of a {@code DBObject} as expected by MongoDB.
+	 *
+	 * @return a {@code DBObject} representing the sort order of the query, empty if the query has no ORDER BY clause
+	 */
+	private DBObject getOrderByDBObject() {
+		DBObject orderByDBObject = new BasicDBObject();
+
+		for ( int i = 0; i < sortPaths.size(); i++ ) {
+			String column = propertyHelper.getColumnName( targetTypeName, sortPaths.get( i ).asStringPathWithoutAlias() );
+			orderByDBObject.put( column, sortDirections.get( i ) ? 1 : -1 );
+		}
+
+		return orderByDBObject;
+	}
 }
@@ -61,7 +61,6 @@ public void testImplicitFlushWithInserts() throws Exception {
 	@Test
 	public void testImplicitFlushWithUpdates() throws Exception {
 		int numInsert = 3;
-		int numUpdate = 1;
 
 		Session session = openSession();
 		session.beginTransaction();
@@ -74,7 +73,8 @@ public void testImplicitFlushWithUpdates() throws Exception {
 		session.getTransaction().commit();
 		session.close();
 
-		Assertions.assertThat( LeakingMongoDBDialect.queueSize ).isEqualTo( numUpdate + ( numInsert + 1 ) );
+		// the update of the new helicopter is merged into its insert
+		Assertions.assertThat( LeakingMongoDBDialect.queueSize ).isEqualTo( numInsert + 1 );
 	}
 
 	@Test
@@ -121,7 +121,8 @@ public void testImplicitFlushWithInsertsAndDelete() throws Exception {
 		session.getTransaction().commit();
 		session.close();
 
-		Assertions.assertThat( LeakingMongoDBDialect.queueSize ).isEqualTo( 2 * numInsert );
+		// the removals cancel out the inserts of the new helicopters
+		Assertions.assertThat( LeakingMongoDBDialect.queueSize ).isEqualTo( 0 );
 	}
 
 	@After
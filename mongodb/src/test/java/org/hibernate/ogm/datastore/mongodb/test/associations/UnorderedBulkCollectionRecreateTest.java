@@ -0,0 +1,107 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.associations;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.hibernate.ogm.test.utils.TestHelper.getNumberOfAssociations;
+import static org.hibernate.ogm.test.utils.TestHelper.getNumberOfEntities;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.DocumentStoreProperties;
+import org.hibernate.ogm.datastore.document.options.AssociationStorageType;
+import org.hibernate.ogm.datastore.mongodb.MongoDBProperties;
+import org.hibernate.ogm.datastore.mongodb.options.AssociationDocumentType;
+import org.hibernate.ogm.test.associations.collection.unidirectional.Cloud;
+import org.hibernate.ogm.test.associations.collection.unidirectional.SnowFlake;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+/**
+ * Recreates a collection stored in an association document with unordered bulk writes. The removal of the association
+ * document and its re-creation are written by the same flush and must not be swapped.
+ */
+public class UnorderedBulkCollectionRecreateTest extends OgmTestCase {
+
+	@Test
+	public void testRecreatedCollectionIsKept() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		SnowFlake sf = new SnowFlake();
+		sf.setDescription( "Snowflake 1" );
+		session.persist( sf );
+		SnowFlake sf2 = new SnowFlake();
+		sf2.setDescription( "Snowflake 2" );
+		session.persist( sf2 );
+		Cloud cloud = new Cloud();
+		cloud.setLength( 23 );
+		cloud.getProducedSnowFlakes().add( sf );
+		cloud.getProducedSnowFlakes().add( sf2 );
+		session.persist( cloud );
+		transaction.commit();
+		session.clear();
+
+		// replacing the collection removes the association document and creates it again
+		transaction = session.beginTransaction();
+		cloud = (Cloud) session.get( Cloud.class, cloud.getId() );
+		SnowFlake sf3 = new SnowFlake();
+		sf3.setDescription( "Snowflake 3" );
+		session.persist( sf3 );
+		Set<SnowFlake> snowFlakes = new HashSet<SnowFlake>( cloud.getProducedSnowFlakes() );
+		snowFlakes.add( sf3 );
+		cloud.setProducedSnowFlakes( snowFlakes );
+		transaction.commit();
+		session.clear();
+
+		assertThat( getNumberOfAssociations( sessions ) ).isEqualTo( 1 );
+
+		transaction = session.beginTransaction();
+		cloud = (Cloud) session.get( Cloud.class, cloud.getId() );
+		assertThat( cloud.getProducedSnowFlakes() ).hasSize( 3 );
+		for ( SnowFlake current : cloud.getProducedSnowFlakes() ) {
+			session.delete( current );
+		}
+		cloud.getProducedSnowFlakes().clear();
+		session.delete( cloud );
+		transaction.commit();
+		session.close();
+
+		assertThat( getNumberOfEntities( sessions ) ).isEqualTo( 0 );
+		assertThat( getNumberOfAssociations( sessions ) ).isEqualTo( 0 );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.getProperties().put( DocumentStoreProperties.ASSOCIATIONS_STORE, AssociationStorageType.ASSOCIATION_DOCUMENT );
+		cfg.getProperties().put( MongoDBProperties.ASSOCIATION_DOCUMENT_STORAGE, AssociationDocumentType.COLLECTION_PER_ASSOCIATION );
+		cfg.getProperties().put( MongoDBProperties.ORDERED_BULK, "false" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Cloud.class, SnowFlake.class };
+	}
+}
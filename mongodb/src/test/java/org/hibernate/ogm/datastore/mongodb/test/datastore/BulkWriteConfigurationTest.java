@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.datastore;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.mongodb.MongoDBProperties;
+import org.hibernate.ogm.datastore.mongodb.impl.configuration.MongoDBConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the configuration of the bulk writes used when executing the operations of a flush.
+ */
+public class BulkWriteConfigurationTest {
+
+	private Map<String, String> cfg;
+
+	@Before
+	public void initCfg() {
+		cfg = new HashMap<String, String>();
+		cfg.put( OgmProperties.HOST, "localhost" );
+		cfg.put( OgmProperties.DATABASE, "database" );
+	}
+
+	@Test
+	public void testDefaultConfiguration() {
+		MongoDBConfiguration config = new MongoDBConfiguration( cfg );
+
+		assertThat( config.getBulkSize() ).isEqualTo( MongoDBConfiguration.DEFAULT_BULK_SIZE );
+		assertThat( config.isOrderedBulk() ).isTrue();
+	}
+
+	@Test
+	public void testCustomConfiguration() {
+		cfg.put( MongoDBProperties.BULK_SIZE, "50" );
+		cfg.put( MongoDBProperties.ORDERED_BULK, "false" );
+
+		MongoDBConfiguration config = new MongoDBConfiguration( cfg );
+
+		assertThat( config.getBulkSize() ).isEqualTo( 50 );
+		assertThat( config.isOrderedBulk() ).isFalse();
+	}
+
+	@Test(expected = HibernateException.class)
+	public void testInvalidBulkSize() {
+		cfg.put( MongoDBProperties.BULK_SIZE, "0" );
+
+		new MongoDBConfiguration( cfg );
+	}
+}
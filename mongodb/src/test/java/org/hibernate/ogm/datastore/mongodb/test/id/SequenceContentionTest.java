@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.id;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.test.simpleentity.Helicopter;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test that a sequence hands out each value exactly once when it is incremented concurrently
+ */
+public class SequenceContentionTest extends OgmTestCase {
+
+	private static final String SEQUENCE_TABLE = "contended_sequences";
+	private static final int THREADS = 8;
+	private static final int VALUES_PER_THREAD = 250;
+	private static final int INCREMENT = 10;
+	private static final int INITIAL_VALUE = 3;
+
+	@Test
+	public void testFirstValueIsInitialValue() throws Exception {
+		assertThat( nextValue( rowKey( "seeded" ) ) ).isEqualTo( INITIAL_VALUE );
+		assertThat( nextValue( rowKey( "seeded" ) ) ).isEqualTo( INITIAL_VALUE + INCREMENT );
+	}
+
+	@Test
+	public void testConcurrentIncrementsHandOutEachValueOnce() throws Exception {
+		final RowKey key = rowKey( "contended" );
+		final CountDownLatch start = new CountDownLatch( 1 );
+		ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+		try {
+			List<Future<List<Long>>> futures = new ArrayList<Future<List<Long>>>();
+			for ( int i = 0; i < THREADS; i++ ) {
+				futures.add( executor.submit( new Callable<List<Long>>() {
+
+					@Override
+					public List<Long> call() throws Exception {
+						start.await();
+						List<Long> values = new ArrayList<Long>( VALUES_PER_THREAD );
+						for ( int j = 0; j < VALUES_PER_THREAD; j++ ) {
+							values.add( nextValue( key ) );
+						}
+						return values;
+					}
+				} ) );
+			}
+			start.countDown();
+
+			List<Long> values = new ArrayList<Long>();
+			for ( Future<List<Long>> future : futures ) {
+				values.addAll( future.get() );
+			}
+			Collections.sort( values );
+
+			// no duplicates and no gap beyond the increment: the values are exactly the first ones of the sequence
+			assertThat( values ).hasSize( THREADS * VALUES_PER_THREAD );
+			for ( int i = 0; i < values.size(); i++ ) {
+				assertThat( values.get( i ) ).isEqualTo( INITIAL_VALUE + (long) i * INCREMENT );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@After
+	public void dropSequences() {
+		MongoDBDatastoreProvider provider = (MongoDBDatastoreProvider) sfi().getServiceRegistry().getService( DatastoreProvider.class );
+		provider.getDatabase().getCollection( SEQUENCE_TABLE ).drop();
+	}
+
+	private long nextValue(RowKey key) {
+		IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( Long.class );
+		getGridDialect().nextValue( key, value, INCREMENT, INITIAL_VALUE );
+		return value.makeValue().longValue();
+	}
+
+	private RowKey rowKey(String sequenceName) {
+		return new RowKey( SEQUENCE_TABLE, new String[] { "sequence_name" }, new Object[] { sequenceName } );
+	}
+
+	private GridDialect getGridDialect() {
+		return sfi().getServiceRegistry().getService( GridDialect.class );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Helicopter.class };
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.query;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.hibernate.ogm.test.utils.TestSessionFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for ordering and paginating the results of JP-QL queries on MongoDB.
+ */
+public class MongoDBPaginationQueryTest extends OgmTestCase {
+
+	@TestSessionFactory
+	private static SessionFactory sessions;
+
+	private Session session;
+	private Transaction transaction;
+
+	@BeforeClass
+	public static void addTestEntities() {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 6; i++ ) {
+			Hypothesis hypothesis = new Hypothesis();
+			hypothesis.setId( String.valueOf( i ) );
+			hypothesis.setPosition( i );
+			hypothesis.setDescription( i % 2 == 0 ? "even" : "odd" );
+			session.persist( hypothesis );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@AfterClass
+	public static void deleteTestEntities() throws Exception {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 6; i++ ) {
+			session.delete( new Hypothesis( String.valueOf( i ) ) );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@Before
+	public void startTransaction() {
+		session = sessions.openSession();
+		transaction = session.getTransaction();
+		transaction.begin();
+	}
+
+	@After
+	public void commitTransaction() {
+		session.close();
+		transaction.commit();
+	}
+
+	@Test
+	public void shouldApplyOrderBy() throws Exception {
+		List<?> results = session.createQuery( "from Hypothesis h order by h.position desc" ).list();
+		assertThat( results ).onProperty( "id" ).containsExactly( "6", "5", "4", "3", "2", "1" );
+
+		results = session.createQuery( "from Hypothesis h order by h.description, h.position desc" ).list();
+		assertThat( results ).onProperty( "id" ).containsExactly( "6", "4", "2", "5", "3", "1" );
+	}
+
+	@Test
+	public void shouldApplyFirstResultAndMaxResults() throws Exception {
+		List<?> results = session.createQuery( "from Hypothesis h order by h.position" )
+				.setFirstResult( 2 )
+				.setMaxResults( 3 )
+				.list();
+		assertThat( results ).onProperty( "id" ).containsExactly( "3", "4", "5" );
+
+		results = session.createQuery( "from Hypothesis h where h.description = 'odd' order by h.position desc" )
+				.setFirstResult( 1 )
+				.list();
+		assertThat( results ).onProperty( "id" ).containsExactly( "3", "1" );
+	}
+
+	@Test
+	public void shouldApplyPaginationToProjections() throws Exception {
+		List<?> results = session.createQuery( "select h.id, h.position from Hypothesis h order by h.position desc" )
+				.setMaxResults( 2 )
+				.setFetchSize( 1 )
+				.list();
+		assertThat( results ).hasSize( 2 );
+		assertThat( ( (Object[]) results.get( 0 ) )[1] ).isEqualTo( 6 );
+		assertThat( ( (Object[]) results.get( 1 ) )[1] ).isEqualTo( 5 );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Hypothesis.class };
+	}
+}
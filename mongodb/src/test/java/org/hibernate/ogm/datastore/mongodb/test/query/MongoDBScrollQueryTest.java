@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.query;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.hibernate.ogm.test.utils.TestSessionFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for scrolling and iterating over the results of JP-QL queries on MongoDB.
+ */
+public class MongoDBScrollQueryTest extends OgmTestCase {
+
+	@TestSessionFactory
+	private static SessionFactory sessions;
+
+	private Session session;
+	private Transaction transaction;
+
+	@BeforeClass
+	public static void addTestEntities() {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			Hypothesis hypothesis = new Hypothesis();
+			hypothesis.setId( String.valueOf( i ) );
+			hypothesis.setPosition( i );
+			hypothesis.setDescription( "Hypothesis " + i );
+			session.persist( hypothesis );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@AfterClass
+	public static void deleteTestEntities() throws Exception {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			session.delete( new Hypothesis( String.valueOf( i ) ) );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@Before
+	public void startTransaction() {
+		session = sessions.openSession();
+		transaction = session.getTransaction();
+		transaction.begin();
+	}
+
+	@After
+	public void commitTransaction() {
+		session.close();
+		transaction.commit();
+	}
+
+	@Test
+	public void shouldScrollThroughEntitiesInChunks() throws Exception {
+		ScrollableResults results = session.createQuery( "from Hypothesis h order by h.position" )
+				.setFetchSize( 2 )
+				.scroll();
+
+		assertThat( results.getType( 0 ).getReturnedClass() ).isEqualTo( Hypothesis.class );
+
+		List<String> ids = new ArrayList<String>();
+		while ( results.next() ) {
+			if ( ids.isEmpty() ) {
+				assertThat( results.isFirst() ).isTrue();
+			}
+			assertThat( results.getRowNumber() ).isEqualTo( ids.size() );
+			ids.add( ( (Hypothesis) results.get( 0 ) ).getId() );
+		}
+		results.close();
+
+		assertThat( ids ).containsExactly( "1", "2", "3", "4", "5" );
+	}
+
+	@Test
+	public void shouldScrollThroughProjections() throws Exception {
+		ScrollableResults results = session.createQuery( "select h.id, h.position from Hypothesis h order by h.position desc" )
+				.setFetchSize( 3 )
+				.scroll( ScrollMode.FORWARD_ONLY );
+
+		assertThat( results.getType( 0 ).getReturnedClass() ).isEqualTo( String.class );
+		assertThat( results.getType( 1 ).getReturnedClass() ).isEqualTo( Integer.class );
+
+		assertThat( results.scroll( 2 ) ).isTrue();
+		assertThat( results.getString( 0 ) ).isEqualTo( "4" );
+		assertThat( results.getInteger( 1 ) ).isEqualTo( 4 );
+
+		assertThat( results.last() ).isTrue();
+		assertThat( results.isLast() ).isTrue();
+		assertThat( results.getString( 0 ) ).isEqualTo( "1" );
+		assertThat( results.next() ).isFalse();
+		results.close();
+	}
+
+	@Test
+	public void shouldIterateLazily() throws Exception {
+		Iterator<?> results = session.createQuery( "from Hypothesis h order by h.position" )
+				.setFetchSize( 2 )
+				.iterate();
+
+		assertThat( ( (Hypothesis) results.next() ).getId() ).isEqualTo( "1" );
+		assertThat( ( (Hypothesis) results.next() ).getId() ).isEqualTo( "2" );
+		assertThat( ( (Hypothesis) results.next() ).getId() ).isEqualTo( "3" );
+		Hibernate.close( results );
+
+		assertThat( results.hasNext() ).isFalse();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotSupportScrollingBackwards() throws Exception {
+		session.createQuery( "from Hypothesis h" ).scroll( ScrollMode.SCROLL_INSENSITIVE );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Hypothesis.class };
+	}
+}
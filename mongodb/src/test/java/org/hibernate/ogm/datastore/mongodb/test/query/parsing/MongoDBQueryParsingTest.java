@@ -236,6 +236,21 @@ public void shouldCreateIsNotNullQuery() {
 				"}" );
 	}
 
+	@Test
+	public void shouldCreateOrderBy() {
+		MongoDBQueryParsingResult parsingResult = parseQuery( "select e from IndexedEntity e where e.title = 'same' order by e.position desc, name" );
+
+		assertThat( parsingResult.getQuery().toString() ).isEqualTo( "{ \"title\" : \"same\"}" );
+		assertThat( parsingResult.getOrderBy().toString() ).isEqualTo( "{ \"position\" : -1 , \"entityName\" : 1}" );
+	}
+
+	@Test
+	public void shouldCreateEmptyOrderByForUnorderedQuery() {
+		MongoDBQueryParsingResult parsingResult = parseQuery( "select e from IndexedEntity e where e.title = 'same'" );
+
+		assertThat( parsingResult.getOrderBy().keySet() ).isEmpty();
+	}
+
 	private void assertMongoDbQuery(String queryString, String expectedMongoDbQuery) {
 		assertMongoDbQuery( queryString, null, expectedMongoDbQuery );
 	}
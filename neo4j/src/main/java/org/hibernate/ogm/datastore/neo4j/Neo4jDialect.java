@@ -20,14 +20,20 @@
  */
 package org.hibernate.ogm.datastore.neo4j;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.loader.custom.CustomQuery;
+import org.hibernate.ogm.datastore.impl.EmptyTupleSnapshot;
 import org.hibernate.ogm.datastore.neo4j.dialect.impl.Neo4jAssociationSnapshot;
+import org.hibernate.ogm.datastore.neo4j.dialect.impl.Neo4jBatchIndexManager;
 import org.hibernate.ogm.datastore.neo4j.dialect.impl.Neo4jIndexManager;
 import org.hibernate.ogm.datastore.neo4j.dialect.impl.Neo4jTupleSnapshot;
 import org.hibernate.ogm.datastore.neo4j.impl.Neo4jDatastoreProvider;
@@ -38,7 +44,16 @@
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.datastore.spi.TupleOperation;
-import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.BatchableGridDialect;
+import org.hibernate.ogm.dialect.PartitionableGridDialect;
+import org.hibernate.ogm.dialect.TuplePartition;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
@@ -53,6 +68,8 @@
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.index.IndexHits;
+import org.neo4j.kernel.GraphDatabaseAPI;
+import org.neo4j.kernel.impl.core.NodeManager;
 
 /**
  * Abstracts Hibernate OGM from Neo4j.
@@ -60,10 +77,14 @@
  * A {@link Tuple} is saved as a {@link Node} where the columns are converted into properties of the node.<br>
  * An {@link Association} is converted into a {@link Relationship} identified by the {@link AssociationKey} and the
  * {@link RowKey}.
+ * <p>
+ * When applying a batch of operations, all the nodes required by the batch are created first. Nodes and relationships
+ * created during the batch are kept in memory for subsequent look-ups and are added to the index in one pass at the
+ * end of the batch.
  *
  * @author Davide D'Alto <davide@hibernate.org>
  */
-public class Neo4jDialect implements GridDialect {
+public class Neo4jDialect implements BatchableGridDialect, PartitionableGridDialect {
 
 	/**
 	 * Contains the name of the property with the table name.
@@ -86,34 +107,59 @@ public LockingStrategy getLockingStrategy(Lockable lockable, LockMode lockMode)
 
 	@Override
 	public Tuple getTuple(EntityKey key, TupleContext context) {
-		Node entityNode = findNode( key );
+		if ( isInTheQueue( key, context ) ) {
+			applyOperations( context.getOperationsQueue() );
+		}
+
+		Node entityNode = indexer.findNode( key );
 		if ( entityNode == null ) {
 			return null;
 		}
-		return createTuple( entityNode );
+		return createTuple( entityNode, context );
+	}
+
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		return GridDialects.getTuplesOneByOne( this, keys, tupleContext );
+	}
+
+	private boolean isInTheQueue(EntityKey key, TupleContext tupleContext) {
+		if ( tupleContext == null ) {
+			return false;
+		}
+		OperationsQueue queue = tupleContext.getOperationsQueue();
+		return queue != null && queue.contains( key );
 	}
 
-	private Tuple createTuple(Node entityNode) {
-		return new Tuple( new Neo4jTupleSnapshot( entityNode ) );
+	private Tuple createTuple(Node entityNode, TupleContext tupleContext) {
+		return new Tuple( new Neo4jTupleSnapshot( entityNode ), tupleContext.getTupleSchema() );
 	}
 
 	@Override
-	public Tuple createTuple(EntityKey key) {
-		return new Tuple();
+	public Tuple createTuple(EntityKey key, TupleContext tupleContext) {
+		return new Tuple( EmptyTupleSnapshot.INSTANCE, tupleContext.getTupleSchema() );
 	}
 
 	@Override
 	public void updateTuple(Tuple tuple, EntityKey key) {
-		Node node = createNodeUnlessExists( key );
+		updateTuple( tuple, key, indexer );
+	}
+
+	private void updateTuple(Tuple tuple, EntityKey key, Neo4jIndexManager indexManager) {
+		Node node = createNodeUnlessExists( key, indexManager );
 		applyTupleOperations( node, tuple.getOperations() );
 	}
 
 	@Override
 	public void removeTuple(EntityKey key) {
-		Node entityNode = findNode( key );
+		removeTuple( key, indexer );
+	}
+
+	private void removeTuple(EntityKey key, Neo4jIndexManager indexManager) {
+		Node entityNode = indexManager.findNode( key );
 		if ( entityNode != null ) {
-			removeRelationships( entityNode );
-			removeNode( entityNode );
+			removeRelationships( entityNode, indexManager );
+			removeNode( entityNode, indexManager );
 		}
 	}
 
@@ -124,13 +170,20 @@ public Tuple createTupleAssociation(AssociationKey associationKey, RowKey rowKey
 
 	@Override
 	public Association getAssociation(AssociationKey associationKey, AssociationContext associationContext) {
-		Node entityNode = findNode( associationKey.getEntityKey() );
+		applyPendingOperations( associationContext );
+
+		Node entityNode = indexer.findNode( associationKey.getEntityKey() );
 		if ( entityNode == null ) {
 			return null;
 		}
 		return new Association( new Neo4jAssociationSnapshot( entityNode, relationshipType( associationKey ), associationKey ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		return GridDialects.getAssociationsOneByOne( this, keys, associationContext );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey associationKey, AssociationContext associationContext) {
 		return new Association();
@@ -138,8 +191,12 @@ public Association createAssociation(AssociationKey associationKey, AssociationC
 
 	@Override
 	public void updateAssociation(Association association, AssociationKey key, AssociationContext associationContext) {
+		updateAssociation( association, key, indexer );
+	}
+
+	private void updateAssociation(Association association, AssociationKey key, Neo4jIndexManager indexManager) {
 		for ( AssociationOperation action : association.getOperations() ) {
-			applyAssociationOperation( key, action, associationContext );
+			applyAssociationOperation( key, action, indexManager );
 		}
 	}
 
@@ -161,59 +218,60 @@ public GridType overrideType(Type type) {
 
 	@Override
 	public void removeAssociation(AssociationKey key, AssociationContext associationContext) {
+		removeAssociation( key, indexer );
+	}
+
+	private void removeAssociation(AssociationKey key, Neo4jIndexManager indexManager) {
 		if ( key != null ) {
-			Node node = findNode( key.getEntityKey() );
+			Node node = indexManager.findNode( key.getEntityKey() );
 			Iterable<Relationship> relationships = node.getRelationships( Direction.OUTGOING, relationshipType( key ) );
 			for ( Relationship rel : relationships ) {
-				removeRelationship( rel );
+				removeRelationship( rel, indexManager );
 			}
 		}
 	}
 
-	private void applyAssociationOperation(AssociationKey key, AssociationOperation operation, AssociationContext associationContext) {
+	private void applyAssociationOperation(AssociationKey key, AssociationOperation operation, Neo4jIndexManager indexManager) {
 		switch ( operation.getType() ) {
 		case CLEAR:
-			removeAssociation( key, associationContext );
+			removeAssociation( key, indexManager );
 			break;
 		case PUT:
-			putAssociationOperation( key, operation );
+			putAssociationOperation( key, operation, indexManager );
 			break;
 		case PUT_NULL:
-			removeAssociationOperation( key, operation );
+			removeAssociationOperation( key, operation, indexManager );
 			break;
 		case REMOVE:
-			removeAssociationOperation( key, operation );
+			removeAssociationOperation( key, operation, indexManager );
 			break;
 		}
 	}
 
-	private void putAssociationOperation(AssociationKey associationKey, AssociationOperation action) {
+	private void putAssociationOperation(AssociationKey associationKey, AssociationOperation action, Neo4jIndexManager indexManager) {
 		RowKey rowKey = action.getKey();
-		Relationship relationship = createRelationshipUnlessExists( findNode( associationKey.getEntityKey() ), associationKey, rowKey );
+		Node startNode = indexManager.findNode( associationKey.getEntityKey() );
+		Relationship relationship = createRelationshipUnlessExists( startNode, associationKey, rowKey, indexManager );
 		applyTupleOperations( relationship.getEndNode(), action.getValue().getOperations() );
 	}
 
-	private Relationship createRelationshipUnlessExists(Node startNode, AssociationKey associationKey, RowKey rowKey) {
-		Relationship relationship = indexer.findRelationship( relationshipType( associationKey ), rowKey );
+	private Relationship createRelationshipUnlessExists(Node startNode, AssociationKey associationKey, RowKey rowKey, Neo4jIndexManager indexManager) {
+		Relationship relationship = indexManager.findRelationship( relationshipType( associationKey ), rowKey );
 		if ( relationship == null ) {
-			return createRelationship( startNode, associationKey, rowKey );
+			return createRelationship( startNode, associationKey, rowKey, indexManager );
 		}
 		return relationship;
 	}
 
-	private Node findNode(EntityKey entityKey) {
-		return indexer.findNode( entityKey );
-	}
-
-	private void removeAssociationOperation(AssociationKey associationKey, AssociationOperation action) {
+	private void removeAssociationOperation(AssociationKey associationKey, AssociationOperation action, Neo4jIndexManager indexManager) {
 		RowKey rowKey = action.getKey();
-		Relationship relationship = indexer.findRelationship( relationshipType( associationKey ), rowKey );
-		removeRelationship( relationship );
+		Relationship relationship = indexManager.findRelationship( relationshipType( associationKey ), rowKey );
+		removeRelationship( relationship, indexManager );
 	}
 
-	private void removeRelationship(Relationship relationship) {
+	private void removeRelationship(Relationship relationship, Neo4jIndexManager indexManager) {
 		if ( relationship != null ) {
-			indexer.remove( relationship );
+			indexManager.remove( relationship );
 			relationship.delete();
 		}
 	}
@@ -248,36 +306,36 @@ private void putTupleOperation(Node node, TupleOperation operation) {
 		node.setProperty( operation.getColumn(), operation.getValue() );
 	}
 
-	private Node createNodeUnlessExists(EntityKey key) {
-		Node node = findNode( key );
+	private Node createNodeUnlessExists(EntityKey key, Neo4jIndexManager indexManager) {
+		Node node = indexManager.findNode( key );
 		if ( node == null ) {
-			node = createNode( key );
+			node = createNode( key, indexManager );
 		}
 		return node;
 	}
 
-	private Node createNode(EntityKey key) {
+	private Node createNode(EntityKey key, Neo4jIndexManager indexManager) {
 		Node node = provider.createNode();
 		node.setProperty( TABLE_PROPERTY, key.getTable() );
 		for ( int i = 0; i < key.getColumnNames().length; i++ ) {
 			node.setProperty( key.getColumnNames()[i], key.getColumnValues()[i] );
 		}
-		indexer.index( node, key );
+		indexManager.index( node, key );
 		return node;
 	}
 
-	private void removeNode(Node entityNode) {
-		removeRelationships( entityNode );
-		indexer.remove( entityNode );
+	private void removeNode(Node entityNode, Neo4jIndexManager indexManager) {
+		removeRelationships( entityNode, indexManager );
+		indexManager.remove( entityNode );
 		entityNode.delete();
 	}
 
-	private Relationship createRelationship(Node startNode, AssociationKey associationKey, RowKey rowKey) {
+	private Relationship createRelationship(Node startNode, AssociationKey associationKey, RowKey rowKey, Neo4jIndexManager indexManager) {
 		Relationship relationship = startNode.createRelationshipTo( provider.createNode(), relationshipType( associationKey ) );
 		for ( int i = 0; i < rowKey.getColumnNames().length; i++ ) {
 			relationship.setProperty( rowKey.getColumnNames()[i], rowKey.getColumnValues()[i] );
 		}
-		indexer.index( relationship );
+		indexManager.index( relationship );
 		return relationship;
 	}
 
@@ -288,10 +346,10 @@ private RelationshipType relationshipType(AssociationKey associationKey) {
 		return DynamicRelationshipType.withName( builder.toString() );
 	}
 
-	private void removeRelationships(Node node) {
+	private void removeRelationships(Node node, Neo4jIndexManager indexManager) {
 		if ( node != null ) {
 			for ( Relationship rel : node.getRelationships() ) {
-				removeRelationship( rel );
+				removeRelationship( rel, indexManager );
 			}
 		}
 	}
@@ -302,7 +360,7 @@ public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetada
 			IndexHits<Node> queryNodes = indexer.findNodes( entityKeyMetadata.getTable() );
 			try {
 				for ( Node node : queryNodes ) {
-					Tuple tuple = createTuple( node );
+					Tuple tuple = new Tuple( new Neo4jTupleSnapshot( node ) );
 					consumer.consume( tuple );
 				}
 			}
@@ -312,9 +370,179 @@ public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetada
 		}
 	}
 
+	/**
+	 * Partitions the nodes by contiguous ranges of node ids, so that each partition only reads the nodes of its own
+	 * range.
+	 */
+	@Override
+	public List<TuplePartition> partitionTuples(int partitions, EntityKeyMetadata... entityKeyMetadatas) {
+		long maxId = nodeManager().getHighestPossibleIdInUse( Node.class ) + 1;
+		long rangeSize = maxId / partitions + 1;
+		List<TuplePartition> result = new ArrayList<TuplePartition>( partitions );
+		for ( int i = 0; i < partitions; i++ ) {
+			long fromId = Math.min( i * rangeSize, maxId );
+			long toId = Math.min( fromId + rangeSize, maxId );
+			result.add( new NodeIdPartition( new NodeIdRange( fromId, toId ), entityKeyMetadatas ) );
+		}
+		return result;
+	}
+
+	@Override
+	public List<TuplePartition> resumePartitions(List<Serializable> cursors, EntityKeyMetadata... entityKeyMetadatas) {
+		List<TuplePartition> result = new ArrayList<TuplePartition>( cursors.size() );
+		for ( Serializable cursor : cursors ) {
+			result.add( new NodeIdPartition( (NodeIdRange) cursor, entityKeyMetadatas ) );
+		}
+		return result;
+	}
+
+	private void forEachTuple(Consumer consumer, NodeIdRange range, EntityKeyMetadata... entityKeyMetadatas) {
+		Set<String> tables = new HashSet<String>( entityKeyMetadatas.length );
+		for ( EntityKeyMetadata entityKeyMetadata : entityKeyMetadatas ) {
+			tables.add( entityKeyMetadata.getTable() );
+		}
+
+		NodeManager nodeManager = nodeManager();
+		for ( long id = range.fromId; id < range.toId; id++ ) {
+			Node node = nodeManager.getNodeByIdOrNull( id );
+			if ( node != null && tables.contains( node.getProperty( TABLE_PROPERTY, null ) ) ) {
+				Tuple tuple = new Tuple( new Neo4jTupleSnapshot( node ) );
+				consumer.consume( tuple );
+			}
+		}
+	}
+
+	private NodeManager nodeManager() {
+		return ( (GraphDatabaseAPI) provider.getDataBase() ).getNodeManager();
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		if ( !queue.isClosed() ) {
+			applyOperations( queue );
+			queue.close();
+		}
+	}
+
+	private void applyPendingOperations(AssociationContext associationContext) {
+		if ( associationContext != null ) {
+			applyOperations( associationContext.getOperationsQueue() );
+		}
+	}
+
+	private void applyOperations(OperationsQueue queue) {
+		if ( queue == null || queue.isClosed() || queue.size() == 0 ) {
+			return;
+		}
+
+		List<Operation> operations = new ArrayList<Operation>( queue.size() );
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			operations.add( operation );
+			operation = queue.poll();
+		}
+
+		Neo4jBatchIndexManager batchIndexer = new Neo4jBatchIndexManager( provider );
+		createNodes( operations, batchIndexer );
+		for ( Operation batchedOperation : operations ) {
+			applyOperation( batchedOperation, batchIndexer );
+		}
+		batchIndexer.applyIndexUpdates();
+	}
+
+	/**
+	 * Creates the nodes of all the entities written by the given operations, unless they are removed before within the
+	 * same batch. Nodes already loaded are taken from the tuple snapshots, avoiding an index look-up.
+	 */
+	private void createNodes(List<Operation> operations, Neo4jBatchIndexManager batchIndexer) {
+		Set<EntityKey> removedKeys = new HashSet<EntityKey>();
+		for ( Operation operation : operations ) {
+			if ( operation instanceof UpdateTupleOperation ) {
+				UpdateTupleOperation update = (UpdateTupleOperation) operation;
+				if ( !removedKeys.contains( update.getEntityKey() ) ) {
+					if ( update.getTuple().getSnapshot() instanceof Neo4jTupleSnapshot ) {
+						Neo4jTupleSnapshot snapshot = (Neo4jTupleSnapshot) update.getTuple().getSnapshot();
+						batchIndexer.register( (Node) snapshot.getPropertyContainer(), update.getEntityKey() );
+					}
+					else {
+						createNodeUnlessExists( update.getEntityKey(), batchIndexer );
+					}
+				}
+			}
+			else if ( operation instanceof RemoveTupleOperation ) {
+				removedKeys.add( ( (RemoveTupleOperation) operation ).getEntityKey() );
+			}
+		}
+	}
+
+	private void applyOperation(Operation operation, Neo4jBatchIndexManager batchIndexer) {
+		if ( operation instanceof UpdateTupleOperation ) {
+			UpdateTupleOperation update = (UpdateTupleOperation) operation;
+			updateTuple( update.getTuple(), update.getEntityKey(), batchIndexer );
+		}
+		else if ( operation instanceof RemoveTupleOperation ) {
+			removeTuple( ( (RemoveTupleOperation) operation ).getEntityKey(), batchIndexer );
+		}
+		else if ( operation instanceof UpdateAssociationOperation ) {
+			UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
+			updateAssociation( update.getAssociation(), update.getAssociationKey(), batchIndexer );
+		}
+		else if ( operation instanceof RemoveAssociationOperation ) {
+			removeAssociation( ( (RemoveAssociationOperation) operation ).getAssociationKey(), batchIndexer );
+		}
+		else {
+			throw new UnsupportedOperationException( "Operation not supported on Neo4j: " + operation.getClass().getName() );
+		}
+	}
+
 	@Override
 	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
 		throw new UnsupportedOperationException( "Native queries not suported for Neo4j" );
 	}
 
+	/**
+	 * The nodes of a partition are not returned in the order of their id, so a scan of the partition can only be
+	 * resumed from the beginning.
+	 */
+	private class NodeIdPartition implements TuplePartition {
+
+		private final NodeIdRange range;
+		private final EntityKeyMetadata[] entityKeyMetadatas;
+
+		public NodeIdPartition(NodeIdRange range, EntityKeyMetadata[] entityKeyMetadatas) {
+			this.range = range;
+			this.entityKeyMetadatas = entityKeyMetadatas;
+		}
+
+		@Override
+		public void forEachTuple(Consumer consumer) {
+			Neo4jDialect.this.forEachTuple( consumer, range, entityKeyMetadatas );
+		}
+
+		@Override
+		public Serializable getCursor() {
+			return range;
+		}
+
+		@Override
+		public Serializable getCursorAfter(Tuple tuple) {
+			Node node = (Node) ( (Neo4jTupleSnapshot) tuple.getSnapshot() ).getPropertyContainer();
+			return new NodeIdRange( node.getId() + 1, range.toId );
+		}
+	}
+
+	/**
+	 * The node ids from {@code fromId} (inclusive) to {@code toId} (exclusive).
+	 */
+	@SuppressWarnings("serial")
+	private static class NodeIdRange implements Serializable {
+
+		private final long fromId;
+		private final long toId;
+
+		public NodeIdRange(long fromId, long toId) {
+			this.fromId = fromId;
+			this.toId = toId;
+		}
+	}
 }
@@ -0,0 +1,169 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.neo4j.dialect.impl;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.ogm.datastore.neo4j.impl.Neo4jDatastoreProvider;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.RowKey;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+
+/**
+ * A {@link Neo4jIndexManager} used while applying a batch of operations.
+ * <p>
+ * Nodes and relationships looked up or created during the batch are kept in memory, so they are found again without
+ * querying the index. The index additions for created elements are deferred until {@link #applyIndexUpdates()} is
+ * invoked at the end of the batch.
+ */
+public class Neo4jBatchIndexManager extends Neo4jIndexManager {
+
+	private final Map<EntityKey, Node> nodes = new HashMap<EntityKey, Node>();
+
+	private final Map<Node, EntityKey> entityKeys = new HashMap<Node, EntityKey>();
+
+	private final Map<String, Map<Map<String, Object>, Relationship>> relationships = new HashMap<String, Map<Map<String, Object>, Relationship>>();
+
+	private final Map<Node, EntityKey> unindexedNodes = new LinkedHashMap<Node, EntityKey>();
+
+	private final Set<Relationship> unindexedRelationships = new LinkedHashSet<Relationship>();
+
+	public Neo4jBatchIndexManager(Neo4jDatastoreProvider provider) {
+		super( provider );
+	}
+
+	/**
+	 * Registers a node already known to represent the given entity, e.g. because it has been loaded before.
+	 *
+	 * @param node the node
+	 * @param entityKey the {@link EntityKey} represented by the node
+	 */
+	public void register(Node node, EntityKey entityKey) {
+		nodes.put( entityKey, node );
+		entityKeys.put( node, entityKey );
+	}
+
+	@Override
+	public void index(Node node, EntityKey entityKey) {
+		register( node, entityKey );
+		unindexedNodes.put( node, entityKey );
+	}
+
+	@Override
+	public void index(Relationship relationship) {
+		relationshipsOfType( relationship.getType() ).put( properties( relationship ), relationship );
+		unindexedRelationships.add( relationship );
+	}
+
+	@Override
+	public Node findNode(EntityKey entityKey) {
+		Node node = nodes.get( entityKey );
+		if ( node == null ) {
+			node = super.findNode( entityKey );
+			if ( node != null ) {
+				register( node, entityKey );
+			}
+		}
+		return node;
+	}
+
+	@Override
+	public Relationship findRelationship(RelationshipType type, RowKey rowKey) {
+		Map<Map<String, Object>, Relationship> relationshipsOfType = relationshipsOfType( type );
+		Map<String, Object> properties = properties( rowKey );
+		Relationship relationship = relationshipsOfType.get( properties );
+		if ( relationship == null ) {
+			relationship = super.findRelationship( type, rowKey );
+			if ( relationship != null ) {
+				relationshipsOfType.put( properties, relationship );
+			}
+		}
+		return relationship;
+	}
+
+	@Override
+	public void remove(Node node) {
+		EntityKey entityKey = entityKeys.remove( node );
+		if ( entityKey != null ) {
+			nodes.remove( entityKey );
+		}
+		if ( unindexedNodes.remove( node ) == null ) {
+			super.remove( node );
+		}
+	}
+
+	@Override
+	public void remove(Relationship relationship) {
+		Map<Map<String, Object>, Relationship> relationshipsOfType = relationshipsOfType( relationship.getType() );
+		Map<String, Object> properties = properties( relationship );
+		if ( relationship.equals( relationshipsOfType.get( properties ) ) ) {
+			relationshipsOfType.remove( properties );
+		}
+		if ( !unindexedRelationships.remove( relationship ) ) {
+			super.remove( relationship );
+		}
+	}
+
+	/**
+	 * Adds all the nodes and relationships created during the batch to the index in one pass.
+	 */
+	public void applyIndexUpdates() {
+		for ( Map.Entry<Node, EntityKey> entry : unindexedNodes.entrySet() ) {
+			super.index( entry.getKey(), entry.getValue() );
+		}
+		for ( Relationship relationship : unindexedRelationships ) {
+			super.index( relationship );
+		}
+		unindexedNodes.clear();
+		unindexedRelationships.clear();
+	}
+
+	private Map<Map<String, Object>, Relationship> relationshipsOfType(RelationshipType type) {
+		Map<Map<String, Object>, Relationship> relationshipsOfType = relationships.get( type.name() );
+		if ( relationshipsOfType == null ) {
+			relationshipsOfType = new HashMap<Map<String, Object>, Relationship>();
+			relationships.put( type.name(), relationshipsOfType );
+		}
+		return relationshipsOfType;
+	}
+
+	private Map<String, Object> properties(RowKey rowKey) {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		for ( int i = 0; i < rowKey.getColumnNames().length; i++ ) {
+			properties.put( rowKey.getColumnNames()[i], rowKey.getColumnValues()[i] );
+		}
+		return properties;
+	}
+
+	private Map<String, Object> properties(Relationship relationship) {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		for ( String key : relationship.getPropertyKeys() ) {
+			properties.put( key, relationship.getProperty( key ) );
+		}
+		return properties;
+	}
+}
@@ -41,6 +41,13 @@ public Neo4jTupleSnapshot(PropertyContainer node) {
 		this.node = node;
 	}
 
+	/**
+	 * @return the node or relationship backing this snapshot
+	 */
+	public PropertyContainer getPropertyContainer() {
+		return node;
+	}
+
 	@Override
 	public Object get(String column) {
 		if ( node.hasProperty( column ) ) {
@@ -0,0 +1,192 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.neo4j.test;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.fest.util.Files;
+import org.hibernate.boot.registry.classloading.internal.ClassLoaderServiceImpl;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.ogm.datastore.neo4j.Neo4jDialect;
+import org.hibernate.ogm.datastore.neo4j.Neo4jProperties;
+import org.hibernate.ogm.datastore.neo4j.dialect.impl.Neo4jBatchIndexManager;
+import org.hibernate.ogm.datastore.neo4j.dialect.impl.Neo4jIndexManager;
+import org.hibernate.ogm.datastore.neo4j.impl.Neo4jDatastoreProvider;
+import org.hibernate.ogm.datastore.neo4j.utils.Neo4jTestHelper;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * Tests the application of a batch of operations by the {@link Neo4jDialect}.
+ */
+public class Neo4jBatchOperationsTest {
+
+	private static final EntityKeyMetadata FLOWER = new EntityKeyMetadata( "Flower", new String[] { "id" } );
+
+	private static final TupleContext TUPLE_CONTEXT = new TupleContext( Arrays.asList( "id", "name" ) );
+
+	private Neo4jDialect dialect;
+
+	private String dbLocation;
+
+	private Neo4jDatastoreProvider provider;
+
+	private Transaction tx;
+
+	@Before
+	public void setUp() {
+		dbLocation = Neo4jTestHelper.dbLocation();
+		Properties configurationValues = new Properties();
+		configurationValues.put( Neo4jProperties.DATABASE_PATH, dbLocation );
+		provider = new Neo4jDatastoreProvider();
+
+		ServiceRegistryImplementor serviceRegistry = mock( ServiceRegistryImplementor.class );
+		when( serviceRegistry.getService( ClassLoaderService.class ) ).thenReturn( new ClassLoaderServiceImpl() );
+		provider.injectServices( serviceRegistry );
+
+		provider.configure( configurationValues );
+		provider.start();
+		dialect = new Neo4jDialect( provider );
+		tx = provider.getDataBase().beginTx();
+	}
+
+	@After
+	public void tearDown() {
+		tx.finish();
+		provider.stop();
+		Files.delete( new File( dbLocation ) );
+	}
+
+	@Test
+	public void testIndexOfCreatedNodesIsUpdatedAtTheEndOfTheBatch() {
+		EntityKey key = key( 1 );
+		Neo4jIndexManager indexManager = new Neo4jIndexManager( provider );
+		Neo4jBatchIndexManager batchIndexManager = new Neo4jBatchIndexManager( provider );
+
+		Node node = provider.createNode();
+		batchIndexManager.index( node, key );
+
+		assertThat( batchIndexManager.findNode( key ) ).isEqualTo( node );
+		assertThat( indexManager.findNode( key ) ).isNull();
+
+		batchIndexManager.applyIndexUpdates();
+
+		assertThat( indexManager.findNode( key ) ).isEqualTo( node );
+	}
+
+	@Test
+	public void testNodeCreatedAndRemovedWithinTheBatchIsNeverIndexed() {
+		EntityKey key = key( 1 );
+		Neo4jBatchIndexManager batchIndexManager = new Neo4jBatchIndexManager( provider );
+
+		Node node = provider.createNode();
+		batchIndexManager.index( node, key );
+		batchIndexManager.remove( node );
+		node.delete();
+		batchIndexManager.applyIndexUpdates();
+
+		assertThat( batchIndexManager.findNode( key ) ).isNull();
+		assertThat( new Neo4jIndexManager( provider ).findNode( key ) ).isNull();
+	}
+
+	@Test
+	public void testExecuteBatchCreatesAndIndexesTheEntities() {
+		OperationsQueue queue = new OperationsQueue();
+		queue.add( new UpdateTupleOperation( tuple( 1, "Rose" ), key( 1 ) ) );
+		queue.add( new UpdateTupleOperation( tuple( 2, "Lily" ), key( 2 ) ) );
+
+		dialect.executeBatch( queue );
+
+		assertThat( queue.isClosed() ).isTrue();
+		assertThat( dialect.getTuple( key( 1 ), TUPLE_CONTEXT ).get( "name" ) ).isEqualTo( "Rose" );
+		assertThat( dialect.getTuple( key( 2 ), TUPLE_CONTEXT ).get( "name" ) ).isEqualTo( "Lily" );
+	}
+
+	@Test
+	public void testEntityCreatedAndRemovedWithinOneBatchIsNotStored() {
+		OperationsQueue queue = new OperationsQueue();
+		queue.add( new UpdateTupleOperation( tuple( 1, "Rose" ), key( 1 ) ) );
+		queue.add( new UpdateTupleOperation( tuple( 2, "Lily" ), key( 2 ) ) );
+		queue.add( new RemoveTupleOperation( key( 1 ) ) );
+
+		dialect.executeBatch( queue );
+
+		assertThat( dialect.getTuple( key( 1 ), TUPLE_CONTEXT ) ).isNull();
+		assertThat( new Neo4jIndexManager( provider ).findNode( key( 1 ) ) ).isNull();
+		assertThat( dialect.getTuple( key( 2 ), TUPLE_CONTEXT ).get( "name" ) ).isEqualTo( "Lily" );
+	}
+
+	@Test
+	public void testEntityRemovedAndInsertedAgainWithinOneBatchIsStoredOnce() {
+		dialect.updateTuple( tuple( 1, "Rose" ), key( 1 ) );
+
+		OperationsQueue queue = new OperationsQueue();
+		queue.add( new RemoveTupleOperation( key( 1 ) ) );
+		queue.add( new UpdateTupleOperation( tuple( 1, "Tulip" ), key( 1 ) ) );
+
+		dialect.executeBatch( queue );
+
+		// the look-up fails if more than one node is indexed for the key
+		assertThat( dialect.getTuple( key( 1 ), TUPLE_CONTEXT ).get( "name" ) ).isEqualTo( "Tulip" );
+	}
+
+	@Test
+	public void testGetTupleAppliesTheQueuedOperationsOfTheEntity() {
+		OperationsQueue queue = new OperationsQueue();
+		queue.add( new UpdateTupleOperation( tuple( 1, "Rose" ), key( 1 ) ) );
+		TupleContext tupleContext = new TupleContext( TUPLE_CONTEXT.getSelectableColumns() );
+		tupleContext.setOperationsQueue( queue );
+
+		Tuple tuple = dialect.getTuple( key( 1 ), tupleContext );
+
+		assertThat( tuple ).isNotNull();
+		assertThat( tuple.get( "name" ) ).isEqualTo( "Rose" );
+		assertThat( queue.size() ).isEqualTo( 0 );
+	}
+
+	private EntityKey key(int id) {
+		return new EntityKey( FLOWER, new Object[] { id } );
+	}
+
+	private Tuple tuple(int id, String name) {
+		Tuple tuple = new Tuple();
+		tuple.put( "id", id );
+		tuple.put( "name", name );
+		return tuple;
+	}
+}
@@ -22,6 +22,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -38,6 +39,7 @@
 import org.hibernate.ogm.datastore.neo4j.Neo4jProperties;
 import org.hibernate.ogm.datastore.neo4j.impl.Neo4jDatastoreProvider;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.datastore.spi.TupleSnapshot;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.options.navigation.GlobalContext;
@@ -83,7 +85,7 @@ public long getNumberOfAssociations(SessionFactory sessionFactory) {
 	public Map<String, Object> extractEntityTuple(SessionFactory sessionFactory, EntityKey key) {
 		Map<String, Object> tuple = new HashMap<String, Object>();
 		Neo4jDialect dialect = new Neo4jDialect( getProvider( sessionFactory ) );
-		TupleSnapshot snapshot = dialect.getTuple( key, null ).getSnapshot();
+		TupleSnapshot snapshot = dialect.getTuple( key, new TupleContext( Collections.<String>emptyList() ) ).getSnapshot();
 		for ( String column : snapshot.getColumnNames() ) {
 			tuple.put( column, snapshot.get( column ) );
 		}